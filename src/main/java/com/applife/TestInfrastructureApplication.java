@@ -2,8 +2,12 @@ package com.applife;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableAsync(proxyTargetClass = true)
+@EnableScheduling
 public class TestInfrastructureApplication {
 
     public static void main(String[] args) {
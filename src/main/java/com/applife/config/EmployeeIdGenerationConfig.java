@@ -0,0 +1,90 @@
+package com.applife.config;
+
+import com.applife.model.id.EmployeeIdGenerator;
+import com.applife.model.id.PooledIdGenerator;
+import com.applife.model.id.SnowflakeIdGenerator;
+import org.hibernate.jpa.spi.IdentifierGeneratorStrategyProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+import java.util.Map;
+
+/**
+ * Selects how new employee ids are generated: {@code identity} (auto-increment, the default),
+ * {@code pooled} (blocks from a sequence table) or {@code snowflake} (node id + timestamp + counter).
+ * The last two assign ids before the insert, which lets Hibernate batch inserts.
+ */
+@Configuration
+public class EmployeeIdGenerationConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeIdGenerationConfig.class);
+
+    @Bean
+    public HibernatePropertiesCustomizer employeeIdGenerationCustomizer(@Value("${employee.id.strategy:identity}") String strategy,
+                                                                        @Value("${employee.id.node-id:0}") long nodeId,
+                                                                        @Value("${employee.id.block-size:100}") int blockSize) {
+        return properties -> {
+            Class<?> generator = generatorFor(strategy);
+            if (generator != null) {
+                properties.put("hibernate.identifier_generator_strategy_provider",
+                        (IdentifierGeneratorStrategyProvider) () -> Map.of(EmployeeIdGenerator.STRATEGY, generator));
+            }
+            properties.put(SnowflakeIdGenerator.NODE_ID_SETTING, String.valueOf(nodeId));
+            properties.put(PooledIdGenerator.BLOCK_SIZE_SETTING, String.valueOf(blockSize));
+        };
+    }
+
+    /**
+     * Moves the sequence table past the ids that the auto-increment column already handed out. Runs as soon as
+     * the entity manager factory is built, which is when the schema update has created the table, and before
+     * the factory is handed to anything that could insert an employee.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "employee.id.strategy", havingValue = "pooled")
+    public static BeanPostProcessor employeeSequenceSeeder() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractEntityManagerFactoryBean) {
+                    AbstractEntityManagerFactoryBean factory = (AbstractEntityManagerFactoryBean) bean;
+                    // waits for a deferred bootstrap to finish building the factory
+                    factory.getNativeEntityManagerFactory();
+                    seedSequence(new JdbcTemplate(factory.getDataSource()));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static void seedSequence(JdbcTemplate jdbcTemplate) {
+        try {
+            jdbcTemplate.update("update " + PooledIdGenerator.SEQUENCE_TABLE
+                    + " set next_val = greatest(next_val, (select coalesce(max(id), 0) + 1 from employees))");
+        } catch (BadSqlGrammarException e) {
+            // databases with native sequences have no table to move
+            log.warn("Could not seed {} from existing employee ids: {}", PooledIdGenerator.SEQUENCE_TABLE, e.getMessage());
+        }
+    }
+
+    private static Class<?> generatorFor(String strategy) {
+        switch (strategy) {
+            case "identity":
+                return null;
+            case "pooled":
+                return PooledIdGenerator.class;
+            case "snowflake":
+                return SnowflakeIdGenerator.class;
+            default:
+                throw new IllegalArgumentException("Unknown employee.id.strategy: " + strategy);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.applife.config;
+
+import com.applife.repository.shard.EmployeeShardRoutingDataSource;
+import com.applife.repository.shard.EmployeeShards;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits the employees table over the databases listed in {@code employee.sharding.shards[n].url/username/password};
+ * the list position is the shard number, so new shards are only ever appended. {@code spring.datasource} becomes
+ * the directory database holding the email index and the bucket map. The JPA data source routes to the shard
+ * that {@code EmployeeShardingAspect} selected for the current repository call.
+ * <p>
+ * Shard tables are created from {@code db/employee-shard-schema.sql}, not by Hibernate, so schema changes to
+ * {@code Employee} have to be added there too.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.sharding.enabled", havingValue = "true")
+public class EmployeeShardingConfig {
+
+    public EmployeeShardingConfig(@Value("${employee.id.strategy:identity}") String idStrategy,
+                                  @Value("${employee.write-behind.enabled:false}") boolean writeBehindEnabled,
+                                  @Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+        if (!"snowflake".equals(idStrategy)) {
+            throw new IllegalStateException("employee.sharding.enabled requires employee.id.strategy=snowflake, the id picks the shard");
+        }
+        if (writeBehindEnabled) {
+            throw new IllegalStateException("employee.write-behind.enabled cannot be combined with employee.sharding.enabled");
+        }
+        if (openInView) {
+            // an entity manager held open for the whole request would keep the connection of the first shard it used
+            throw new IllegalStateException("employee.sharding.enabled requires spring.jpa.open-in-view=false");
+        }
+    }
+
+    @Bean
+    public DataSource employeeDirectoryDataSource(DataSourceProperties properties) {
+        DataSource directory = properties.initializeDataSourceBuilder().build();
+        new ResourceDatabasePopulator(new ClassPathResource("db/employee-directory-schema.sql")).execute(directory);
+        return directory;
+    }
+
+    @Bean(destroyMethod = "close")
+    public EmployeeShards employeeShards(Environment environment) {
+        List<DataSourceProperties> shardProperties = Binder.get(environment)
+                .bind("employee.sharding.shards", Bindable.listOf(DataSourceProperties.class))
+                .orElseThrow(() -> new IllegalStateException("employee.sharding.shards must list the shard databases"));
+        Map<Integer, DataSource> dataSources = new LinkedHashMap<>();
+        for (int shard = 0; shard < shardProperties.size(); shard++) {
+            DataSource dataSource = shardProperties.get(shard).initializeDataSourceBuilder().build();
+            new ResourceDatabasePopulator(new ClassPathResource("db/employee-shard-schema.sql")).execute(dataSource);
+            dataSources.put(shard, dataSource);
+        }
+        return new EmployeeShards(dataSources);
+    }
+
+    @Bean
+    @Primary
+    public DataSource employeeShardRoutingDataSource(@Qualifier("employeeDirectoryDataSource") DataSource directory,
+                                                     EmployeeShards shards) {
+        EmployeeShardRoutingDataSource routingDataSource = new EmployeeShardRoutingDataSource();
+        routingDataSource.setDefaultTargetDataSource(directory);
+        routingDataSource.setTargetDataSources(new HashMap<>(shards.dataSources()));
+        return routingDataSource;
+    }
+}
@@ -0,0 +1,55 @@
+package com.applife.config;
+
+import com.applife.deadline.DeadlineDataSource;
+import com.applife.deadline.DeadlineQueryTimeouts;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts every data source behind a {@link DeadlineDataSource} for connection acquisition and a datasource-proxy
+ * applying {@link DeadlineQueryTimeouts}. Runs before the other data source post processors, which add their
+ * listeners to the same proxy, so acquisition goes straight to the pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.deadline.enabled", havingValue = "true")
+public class RequestDeadlineConfig {
+
+    @Bean
+    public static RequestDeadlinePostProcessor requestDeadlinePostProcessor() {
+        return new RequestDeadlinePostProcessor();
+    }
+
+    // declared with its own type, the bean factory only sees PriorityOrdered on the factory method's return type
+    static class RequestDeadlinePostProcessor implements BeanPostProcessor, PriorityOrdered {
+
+        private final DeadlineQueryTimeouts queryTimeouts = new DeadlineQueryTimeouts();
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource)) {
+                return bean;
+            }
+            if (bean instanceof ProxyDataSource) {
+                ((ProxyDataSource) bean).addListener(queryTimeouts);
+                return bean;
+            }
+            return ProxyDataSourceBuilder.create(new DeadlineDataSource((DataSource) bean))
+                    .name(beanName)
+                    .listener(queryTimeouts)
+                    .build();
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.applife.config;
+
+import com.applife.profiling.SqlStatementCounter;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.Set;
+
+/**
+ * Wraps the data sources in a datasource-proxy that feeds {@link SqlStatementCounter}. The data sources listed
+ * in {@code employee.sql-statements.excluded-data-sources} are left alone; the sharding directory is excluded
+ * by default because the routing data source already counts the statements it forwards there. Data sources
+ * that already are a datasource-proxy get the counter added to their listeners.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.sql-statements.enabled", havingValue = "true")
+public class SqlStatementCountingConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlStatementCountingPostProcessor(Environment environment) {
+        Set<String> excluded = Set.of(environment.getProperty("employee.sql-statements.excluded-data-sources",
+                String[].class, new String[]{"employeeDirectoryDataSource"}));
+        SqlStatementCounter counter = new SqlStatementCounter();
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource) || excluded.contains(beanName)) {
+                    return bean;
+                }
+                if (bean instanceof ProxyDataSource) {
+                    ((ProxyDataSource) bean).addListener(counter);
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create((DataSource) bean)
+                        .name(beanName)
+                        .listener(counter)
+                        .build();
+            }
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.applife.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Settings of the {@code fast-startup} profile that need code. With {@code spring.main.lazy-initialization} beans
+ * are only created when first used, except the ones with {@link Scheduled} methods: nothing would ever create
+ * them, so their jobs would never run. {@code employee.startup.training-run} stops the application once it is
+ * ready, which is how the {@code appcds} Maven profile records the classes a startup loads.
+ */
+@Configuration
+public class StartupConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupConfig.class);
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.main.lazy-initialization", havingValue = "true")
+    public static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && !MethodIntrospector.selectMethods(beanType,
+                (MethodIntrospector.MetadataLookup<Scheduled>) method ->
+                        AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class)).isEmpty();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "employee.startup.training-run", havingValue = "true")
+    public ApplicationListener<ApplicationReadyEvent> trainingRunExit() {
+        return event -> {
+            log.info("Training run finished after {} ms, exiting", event.getTimeTaken() == null ? -1 : event.getTimeTaken().toMillis());
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        };
+    }
+}
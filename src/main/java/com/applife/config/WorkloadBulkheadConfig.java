@@ -0,0 +1,80 @@
+package com.applife.config;
+
+import com.applife.service.bulkhead.WorkloadBulkheads;
+import com.applife.service.bulkhead.WorkloadClass;
+import com.applife.service.bulkhead.WorkloadRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Replaces the single {@code spring.datasource} pool with one pool per {@link WorkloadClass}, each configured
+ * like {@code spring.datasource.hikari} but sized by {@code employee.bulkhead.<class>.pool-size}, next to a limit of
+ * {@code employee.bulkhead.<class>.max-concurrent} calls that wait at most {@code employee.bulkhead.<class>.max-wait-ms}
+ * to get in. The JPA data source routes to the pool of the workload the current call runs in; unclassified
+ * work uses the bulk pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.bulkhead.enabled", havingValue = "true")
+public class WorkloadBulkheadConfig {
+
+    private static final Map<WorkloadClass, int[]> DEFAULTS = Map.of(
+            // pool size, max concurrent calls, max wait ms
+            WorkloadClass.INTERACTIVE, new int[]{10, 50, 500},
+            WorkloadClass.WRITE, new int[]{5, 20, 1000},
+            WorkloadClass.BULK, new int[]{2, 2, 5000},
+            WorkloadClass.BATCH, new int[]{2, 2, 30000});
+
+    public WorkloadBulkheadConfig(@Value("${employee.sharding.enabled:false}") boolean shardingEnabled,
+                                  @Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+        if (shardingEnabled) {
+            // the shard pools would need a bulkhead each, the routing data sources cannot be stacked
+            throw new IllegalStateException("employee.bulkhead.enabled cannot be combined with employee.sharding.enabled");
+        }
+        if (openInView) {
+            // an entity manager held open for the whole request would keep the connection of the first workload
+            // it ran, a write after a lookup would go to the interactive pool outside of the write bulkhead
+            throw new IllegalStateException("employee.bulkhead.enabled requires spring.jpa.open-in-view=false");
+        }
+    }
+
+    @Bean(destroyMethod = "close")
+    public WorkloadBulkheads workloadBulkheads(DataSourceProperties properties, Environment environment) {
+        Map<WorkloadClass, DataSource> dataSources = new EnumMap<>(WorkloadClass.class);
+        Map<WorkloadClass, WorkloadBulkheads.Bulkhead> bulkheads = new EnumMap<>(WorkloadClass.class);
+        for (WorkloadClass workload : WorkloadClass.values()) {
+            String prefix = "employee.bulkhead." + workload.key() + ".";
+            int[] defaults = DEFAULTS.get(workload);
+            HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+            pool.setPoolName("employee-" + workload.key());
+            pool.setMaximumPoolSize(environment.getProperty(prefix + "pool-size", Integer.class, defaults[0]));
+            dataSources.put(workload, pool);
+            bulkheads.put(workload, new WorkloadBulkheads.Bulkhead(workload.key(),
+                    environment.getProperty(prefix + "max-concurrent", Integer.class, defaults[1]),
+                    environment.getProperty(prefix + "max-wait-ms", Long.class, (long) defaults[2])));
+        }
+        return new WorkloadBulkheads(dataSources, bulkheads);
+    }
+
+    @Bean
+    @Primary
+    public DataSource workloadRoutingDataSource(WorkloadBulkheads bulkheads) {
+        WorkloadRoutingDataSource routingDataSource = new WorkloadRoutingDataSource();
+        routingDataSource.setDefaultTargetDataSource(bulkheads.dataSources().get(WorkloadClass.BULK));
+        routingDataSource.setTargetDataSources(new HashMap<>(bulkheads.dataSources()));
+        return routingDataSource;
+    }
+}
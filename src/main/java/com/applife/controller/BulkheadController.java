@@ -0,0 +1,27 @@
+package com.applife.controller;
+
+import com.applife.model.BulkheadStats;
+import com.applife.service.bulkhead.WorkloadBulkheads;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/bulkheads")
+@ConditionalOnProperty(name = "employee.bulkhead.enabled", havingValue = "true")
+public class BulkheadController {
+
+    private final WorkloadBulkheads bulkheads;
+
+    public BulkheadController(WorkloadBulkheads bulkheads) {
+        this.bulkheads = bulkheads;
+    }
+
+    @GetMapping
+    public List<BulkheadStats> getBulkheadStats() {
+        return bulkheads.stats();
+    }
+}
@@ -0,0 +1,61 @@
+package com.applife.controller;
+
+import com.applife.model.Department;
+import com.applife.model.DepartmentStats;
+import com.applife.model.Employee;
+import com.applife.service.DepartmentService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/departments")
+public class DepartmentController {
+
+    private final DepartmentService departmentService;
+
+    public DepartmentController(DepartmentService departmentService) {
+        this.departmentService = departmentService;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Department createDepartment(@RequestBody Department department) {
+        return departmentService.createDepartment(department);
+    }
+
+    @GetMapping
+    public List<Department> getAllDepartments() {
+        return departmentService.getAllDepartments();
+    }
+
+    @GetMapping("stats")
+    public List<DepartmentStats> getDepartmentStats() {
+        return departmentService.getDepartmentStats();
+    }
+
+    @GetMapping("{id}")
+    public ResponseEntity<Department> getDepartmentById(@PathVariable("id") long departmentId) {
+
+        return departmentService.getDepartmentById(departmentId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("{id}/employees")
+    public List<Employee> getEmployees(@PathVariable("id") long departmentId,
+                                       @RequestParam(value = "after", defaultValue = "0") long afterId,
+                                       @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        return departmentService.getEmployees(departmentId, afterId, Math.min(limit, 1000));
+    }
+
+    @DeleteMapping("{id}")
+    public ResponseEntity<String> deleteDepartment(@PathVariable("id") long departmentId) {
+
+        departmentService.deleteDepartment(departmentId);
+
+        return new ResponseEntity<>("Department deleted successfully", HttpStatus.OK);
+    }
+}
@@ -0,0 +1,60 @@
+package com.applife.controller;
+
+import com.applife.model.EmployeeBatchJobStatus;
+import com.applife.service.batch.EmployeeBatchJobs;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/employees/jobs")
+@ConditionalOnProperty(name = "employee.batch.enabled", havingValue = "true")
+public class EmployeeBatchJobController {
+
+    private final EmployeeBatchJobs batchJobs;
+
+    public EmployeeBatchJobController(EmployeeBatchJobs batchJobs) {
+        this.batchJobs = batchJobs;
+    }
+
+    @GetMapping
+    public List<EmployeeBatchJobStatus> getJobs() {
+        return batchJobs.statuses();
+    }
+
+    @GetMapping("{name}")
+    public ResponseEntity<EmployeeBatchJobStatus> getJob(@PathVariable("name") String name) {
+
+        return batchJobs.status(name)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("{name}")
+    public ResponseEntity<String> startJob(@PathVariable("name") String name,
+                                           @RequestParam Map<String, String> parameters) {
+
+        if (!batchJobs.exists(name)) {
+            return new ResponseEntity<>("No batch job named " + name, HttpStatus.NOT_FOUND);
+        }
+        if (!batchJobs.start(name, parameters)) {
+            return new ResponseEntity<>("Batch job " + name + " is already running", HttpStatus.CONFLICT);
+        }
+
+        return new ResponseEntity<>("Batch job " + name + " started", HttpStatus.ACCEPTED);
+    }
+
+    @DeleteMapping("{name}")
+    public ResponseEntity<String> cancelJob(@PathVariable("name") String name) {
+
+        if (!batchJobs.cancel(name)) {
+            return new ResponseEntity<>("Batch job " + name + " is not running on this node", HttpStatus.NOT_FOUND);
+        }
+
+        return new ResponseEntity<>("Batch job " + name + " stops after the pages already read", HttpStatus.ACCEPTED);
+    }
+}
@@ -1,11 +1,19 @@
 package com.applife.controller;
 
 import com.applife.model.Employee;
+import com.applife.model.EmployeeChange;
+import com.applife.model.EmployeeFields;
+import com.applife.model.EmployeeStats;
 import com.applife.service.EmployeeService;
+import com.applife.service.history.EmployeeHistory;
+import com.applife.service.stats.EmployeeDirectoryStats;
+import com.applife.service.writebehind.WriteBehindEmployeeUpdater;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.util.List;
 
 @RestController
@@ -14,8 +22,20 @@ public class EmployeeController {
 
     private final EmployeeService employeeService;
 
-    public EmployeeController(EmployeeService employeeService) {
+    private final ObjectProvider<WriteBehindEmployeeUpdater> writeBehindUpdater;
+
+    private final ObjectProvider<EmployeeHistory> history;
+
+    private final ObjectProvider<EmployeeDirectoryStats> stats;
+
+    public EmployeeController(EmployeeService employeeService,
+                              ObjectProvider<WriteBehindEmployeeUpdater> writeBehindUpdater,
+                              ObjectProvider<EmployeeHistory> history,
+                              ObjectProvider<EmployeeDirectoryStats> stats) {
         this.employeeService = employeeService;
+        this.writeBehindUpdater = writeBehindUpdater;
+        this.history = history;
+        this.stats = stats;
     }
 
     @PostMapping
@@ -29,6 +49,43 @@ public class EmployeeController {
         return employeeService.getAllEmployees();
     }
 
+    @GetMapping(params = "fields")
+    public List<SparseEmployee> getAllEmployeeFields(@RequestParam("fields") String fields) {
+        EmployeeFields employeeFields = EmployeeFields.parse(fields);
+        return SparseEmployee.of(employeeService.getAllEmployees(employeeFields), employeeFields);
+    }
+
+    @GetMapping(params = "after")
+    public List<Employee> getEmployeesAfter(@RequestParam("after") long afterId,
+                                            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        return employeeService.getEmployeesAfter(afterId, Math.min(limit, 1000));
+    }
+
+    @GetMapping(params = {"after", "fields"})
+    public List<SparseEmployee> getEmployeeFieldsAfter(@RequestParam("after") long afterId,
+                                                       @RequestParam(value = "limit", defaultValue = "100") int limit,
+                                                       @RequestParam("fields") String fields) {
+        EmployeeFields employeeFields = EmployeeFields.parse(fields);
+        return SparseEmployee.of(employeeService.getEmployeesAfter(afterId, Math.min(limit, 1000), employeeFields), employeeFields);
+    }
+
+    @GetMapping("typeahead")
+    public List<Employee> typeahead(@RequestParam("q") String query,
+                                    @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return employeeService.searchEmployees(query, Math.min(limit, 100));
+    }
+
+    @GetMapping("stats")
+    public ResponseEntity<EmployeeStats> getStats() {
+
+        EmployeeDirectoryStats directoryStats = stats.getIfAvailable();
+        if (directoryStats == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok(directoryStats.stats());
+    }
+
     @GetMapping("{id}")
     public ResponseEntity<Employee> getEmployeeById(@PathVariable("id") long employeeId) {
 
@@ -37,6 +94,54 @@ public class EmployeeController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    @GetMapping(value = "{id}", params = "fields")
+    public ResponseEntity<SparseEmployee> getEmployeeFieldsById(@PathVariable("id") long employeeId,
+                                                                @RequestParam("fields") String fields) {
+
+        EmployeeFields employeeFields = EmployeeFields.parse(fields);
+
+        return employeeService.getEmployeeById(employeeId, employeeFields)
+                .map(employee -> ResponseEntity.ok(new SparseEmployee(employee, employeeFields)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "{id}", params = "asOf")
+    public ResponseEntity<Employee> getEmployeeAsOf(@PathVariable("id") long employeeId,
+                                                    @RequestParam("asOf") Instant asOf) {
+
+        EmployeeHistory employeeHistory = history.getIfAvailable();
+        if (employeeHistory == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return employeeHistory.asOf(employeeId, asOf, () -> employeeService.getEmployeeById(employeeId))
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("{id}/history")
+    public ResponseEntity<List<EmployeeChange>> getHistory(@PathVariable("id") long employeeId,
+                                                           @RequestParam(value = "limit", defaultValue = "100") int limit) {
+
+        EmployeeHistory employeeHistory = history.getIfAvailable();
+        if (employeeHistory == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok(employeeHistory.history(employeeId, Math.min(limit, 1000)));
+    }
+
+    @GetMapping("{id}/reports")
+    public List<Employee> getReports(@PathVariable("id") long employeeId,
+                                     @RequestParam(value = "depth", required = false) Integer depth) {
+        return employeeService.getReports(employeeId, depth == null ? Integer.MAX_VALUE : depth);
+    }
+
+    @GetMapping("{id}/chain")
+    public List<Employee> getManagementChain(@PathVariable("id") long employeeId) {
+        return employeeService.getManagementChain(employeeId);
+    }
+
     @PutMapping("{id}")
     public ResponseEntity<Employee> updateEmployee(@PathVariable("id") long employeeId, @RequestBody Employee employee) {
 
@@ -45,6 +150,14 @@ public class EmployeeController {
                     savedEmployee.setFirstName(employee.getFirstName());
                     savedEmployee.setLastName(employee.getLastName());
                     savedEmployee.setEmail(employee.getEmail());
+                    savedEmployee.setManagerId(employee.getManagerId());
+                    savedEmployee.setDepartment(employee.getDepartment());
+
+                    WriteBehindEmployeeUpdater updater = writeBehindUpdater.getIfAvailable();
+                    if (updater != null) {
+                        updater.enqueue(savedEmployee);
+                        return new ResponseEntity<>(savedEmployee, HttpStatus.ACCEPTED);
+                    }
 
                     Employee updatedEmployee = employeeService.updateEmployee(savedEmployee);
 
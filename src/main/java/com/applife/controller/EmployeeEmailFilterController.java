@@ -0,0 +1,35 @@
+package com.applife.controller;
+
+import com.applife.service.emailfilter.EmployeeEmailFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/employees/email-filter")
+@ConditionalOnProperty(name = "employee.email-filter.enabled", havingValue = "true")
+public class EmployeeEmailFilterController {
+
+    private final EmployeeEmailFilter emailFilter;
+
+    public EmployeeEmailFilterController(EmployeeEmailFilter emailFilter) {
+        this.emailFilter = emailFilter;
+    }
+
+    @GetMapping
+    public ResponseEntity<String> describeEmailFilter() {
+        return new ResponseEntity<>(emailFilter.describe(), HttpStatus.OK);
+    }
+
+    @PostMapping("rebuild")
+    public ResponseEntity<String> rebuildEmailFilter() {
+
+        long count = emailFilter.rebuild();
+
+        return new ResponseEntity<>("Employee email filter rebuilt with " + count + " emails", HttpStatus.OK);
+    }
+}
@@ -0,0 +1,34 @@
+package com.applife.controller;
+
+import com.applife.service.export.EmployeeArrowExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/employees/export")
+@ConditionalOnProperty(name = "employee.export.enabled", havingValue = "true")
+public class EmployeeExportController {
+
+    public static final String ARROW_STREAM = "application/vnd.apache.arrow.stream";
+
+    private final EmployeeArrowExporter exporter;
+
+    public EmployeeExportController(EmployeeArrowExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    @GetMapping(produces = ARROW_STREAM)
+    public void exportEmployees(HttpServletResponse response) throws IOException {
+        // written on the request thread: an async StreamingResponseBody would be cut off by the async request timeout
+        response.setContentType(ARROW_STREAM);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("employees.arrows").build().toString());
+        exporter.export(response.getOutputStream());
+    }
+}
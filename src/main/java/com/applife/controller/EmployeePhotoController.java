@@ -0,0 +1,138 @@
+package com.applife.controller;
+
+import com.applife.service.photo.EmployeePhotoStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Uploads and serves profile photos. Bodies are never buffered: uploads are streamed into the store, and
+ * downloads are handed to Tomcat's sendfile when the connector offers it, so the kernel copies the file to the
+ * socket, or written with {@link FileChannel#transferTo} otherwise. A single byte range ({@code Range}, honoured
+ * only when {@code If-Range} still matches) is answered with 206; several ranges get the whole photo.
+ */
+@RestController
+@RequestMapping("/api/employees/{id}/photo")
+@ConditionalOnProperty(name = "employee.photo.enabled", havingValue = "true")
+public class EmployeePhotoController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final EmployeePhotoStore photoStore;
+
+    public EmployeePhotoController(EmployeePhotoStore photoStore) {
+        this.photoStore = photoStore;
+    }
+
+    @PutMapping(consumes = {"image/jpeg", "image/png", "image/gif"})
+    public ResponseEntity<Void> putPhoto(@PathVariable("id") long employeeId, HttpServletRequest request) throws IOException {
+
+        if (!photoStore.exists(employeeId)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String reference = photoStore.store(request.getInputStream());
+        if (!photoStore.attach(employeeId, reference)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.noContent().eTag(reference.substring(0, reference.indexOf('.'))).build();
+    }
+
+    @GetMapping
+    public void getPhoto(@PathVariable("id") long employeeId,
+                         @RequestParam(value = "size", required = false) String size,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+
+        Optional<EmployeePhotoStore.Photo> found = photoStore.find(employeeId, "thumbnail".equals(size));
+        if (found.isEmpty()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        EmployeePhotoStore.Photo photo = found.get();
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified(photo.getEtag())) {
+            return;
+        }
+
+        long length = photo.getFile().toFile().length();
+        long start = 0;
+        long end = length - 1;
+        HttpRange range = range(request, photo.getEtag());
+        if (range != null) {
+            start = range.getRangeStart(length);
+            end = Math.min(range.getRangeEnd(length), length - 1);
+            if (start >= length || start > end) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        response.setContentType(photo.getMediaType().toString());
+        response.setContentLengthLong(end - start + 1);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat writes the file after the servlet returns, the end is exclusive
+            request.setAttribute(SENDFILE_FILENAME, photo.getFile().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel file = FileChannel.open(photo.getFile(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            for (long position = start, sent; position <= end; position += sent) {
+                sent = file.transferTo(position, end + 1 - position, out);
+                if (sent == 0) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private static HttpRange range(HttpServletRequest request, String etag) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            // a malformed range is ignored, the whole photo is sent
+            return null;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.applife.controller;
+
+import com.applife.model.EmployeeReadModelStats;
+import com.applife.service.readmodel.EmployeeReadModel;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/employees/read-model")
+@ConditionalOnProperty(name = "employee.read-model.enabled", havingValue = "true")
+public class EmployeeReadModelController {
+
+    private final EmployeeReadModel readModel;
+
+    public EmployeeReadModelController(EmployeeReadModel readModel) {
+        this.readModel = readModel;
+    }
+
+    @GetMapping
+    public EmployeeReadModelStats getReadModelStats() {
+        return readModel.stats();
+    }
+
+    @PostMapping("reload")
+    public ResponseEntity<String> reloadReadModel() {
+
+        readModel.requestReload();
+
+        return new ResponseEntity<>("Employee read model reload requested", HttpStatus.ACCEPTED);
+    }
+}
@@ -0,0 +1,40 @@
+package com.applife.controller;
+
+import com.applife.repository.shard.EmployeeShardRebalancer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/admin/employees/shards")
+@ConditionalOnProperty(name = "employee.sharding.enabled", havingValue = "true")
+public class EmployeeShardController {
+
+    private final EmployeeShardRebalancer rebalancer;
+
+    public EmployeeShardController(EmployeeShardRebalancer rebalancer) {
+        this.rebalancer = rebalancer;
+    }
+
+    @GetMapping
+    public ResponseEntity<String> describeShards() {
+
+        String shards = rebalancer.describe().entrySet().stream()
+                .map(shard -> "shard " + shard.getKey() + ": " + shard.getValue())
+                .collect(Collectors.joining("\n"));
+
+        return new ResponseEntity<>(shards, HttpStatus.OK);
+    }
+
+    @PostMapping("{source}/split")
+    public ResponseEntity<String> splitShard(@PathVariable("source") int source,
+                                             @RequestParam("target") int target) throws InterruptedException {
+
+        int moved = rebalancer.split(source, target);
+
+        return new ResponseEntity<>("Moved " + moved + " employees from shard " + source + " to shard " + target, HttpStatus.OK);
+    }
+}
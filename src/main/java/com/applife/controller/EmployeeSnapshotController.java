@@ -0,0 +1,31 @@
+package com.applife.controller;
+
+import com.applife.service.snapshot.EmployeeSnapshotStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/admin/employees/snapshot")
+@ConditionalOnProperty(name = "employee.snapshot.enabled", havingValue = "true")
+public class EmployeeSnapshotController {
+
+    private final EmployeeSnapshotStore snapshotStore;
+
+    public EmployeeSnapshotController(EmployeeSnapshotStore snapshotStore) {
+        this.snapshotStore = snapshotStore;
+    }
+
+    @PostMapping
+    public ResponseEntity<String> writeSnapshot() throws IOException {
+
+        int count = snapshotStore.writeSnapshot();
+
+        return new ResponseEntity<>("Employee snapshot written with " + count + " employees", HttpStatus.OK);
+    }
+}
@@ -0,0 +1,31 @@
+package com.applife.controller;
+
+import com.applife.service.stream.EmployeeChangeStream;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/employees/stream")
+@ConditionalOnProperty(name = "employee.stream.enabled", havingValue = "true")
+public class EmployeeStreamController {
+
+    private final EmployeeChangeStream changeStream;
+
+    public EmployeeStreamController(EmployeeChangeStream changeStream) {
+        this.changeStream = changeStream;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEmployeeChanges(@RequestParam(value = "ids", required = false) Set<Long> employeeIds,
+                                            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return changeStream.subscribe(employeeIds == null ? Set.of() : employeeIds, lastEventId);
+    }
+}
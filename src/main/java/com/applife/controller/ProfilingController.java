@@ -0,0 +1,50 @@
+package com.applife.controller;
+
+import com.applife.profiling.JfrRequestAnalyzer;
+import com.applife.profiling.ProfilingRecorder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/admin/profiling/recording")
+@ConditionalOnProperty(name = "employee.profiling.enabled", havingValue = "true")
+public class ProfilingController {
+
+    private final ProfilingRecorder profilingRecorder;
+
+    public ProfilingController(ProfilingRecorder profilingRecorder) {
+        this.profilingRecorder = profilingRecorder;
+    }
+
+    @PostMapping
+    public ResponseEntity<String> startRecording(@RequestParam(value = "profile", defaultValue = "profile") String profile,
+                                                 @RequestParam(value = "durationSeconds", required = false) Long durationSeconds)
+            throws IOException, ParseException {
+
+        Duration duration = durationSeconds == null ? null : Duration.ofSeconds(durationSeconds);
+        if (!profilingRecorder.start(profile, duration)) {
+            return new ResponseEntity<>("A recording is already running", HttpStatus.CONFLICT);
+        }
+
+        return new ResponseEntity<>("Recording started with profile " + profile, HttpStatus.OK);
+    }
+
+    @DeleteMapping(produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> stopRecording() throws IOException {
+
+        Path file = profilingRecorder.stop();
+        if (file == null) {
+            return new ResponseEntity<>("No recording is running", HttpStatus.NOT_FOUND);
+        }
+
+        return new ResponseEntity<>("Recording written to " + file + "\n\n" + JfrRequestAnalyzer.summarize(file), HttpStatus.OK);
+    }
+}
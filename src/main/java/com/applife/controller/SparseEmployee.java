@@ -0,0 +1,48 @@
+package com.applife.controller;
+
+import com.applife.model.Employee;
+import com.applife.model.EmployeeFields;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * An employee written with only the requested {@link EmployeeFields}.
+ */
+@JsonSerialize(using = SparseEmployee.Serializer.class)
+public class SparseEmployee {
+
+    private final Employee employee;
+
+    private final EmployeeFields fields;
+
+    public SparseEmployee(Employee employee, EmployeeFields fields) {
+        this.employee = employee;
+        this.fields = fields;
+    }
+
+    public static List<SparseEmployee> of(List<Employee> employees, EmployeeFields fields) {
+        return employees.stream().map(employee -> new SparseEmployee(employee, fields)).collect(Collectors.toList());
+    }
+
+    public static class Serializer extends StdSerializer<SparseEmployee> {
+
+        public Serializer() {
+            super(SparseEmployee.class);
+        }
+
+        @Override
+        public void serialize(SparseEmployee value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject();
+            for (String name : value.fields.names()) {
+                provider.defaultSerializeField(name, EmployeeFields.read(value.employee, name), generator);
+            }
+            generator.writeEndObject();
+        }
+    }
+}
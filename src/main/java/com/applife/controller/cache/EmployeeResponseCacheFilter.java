@@ -0,0 +1,162 @@
+package com.applife.controller.cache;
+
+import com.applife.event.EmployeeWriteVersion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caches the encoded bytes of {@code GET /api/employees} responses (the full list and the {@code after=} pages)
+ * per set of request parameters, plain and gzipped. A hit is copied to the servlet output as is: no Jackson, no compression.
+ * Entries belong to the {@link EmployeeWriteVersion} that was current before the controller ran and are not
+ * served once any employee write has moved it on.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.response-cache.enabled", havingValue = "true")
+public class EmployeeResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final String PATH = "/api/employees";
+
+    private final EmployeeWriteVersion writeVersion;
+
+    private final int maxEntries;
+
+    private final int maxBodyBytes;
+
+    private final boolean gzip;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public EmployeeResponseCacheFilter(EmployeeWriteVersion writeVersion,
+                                       @Value("${employee.response-cache.max-entries:256}") int maxEntries,
+                                       @Value("${employee.response-cache.max-body-bytes:16777216}") int maxBodyBytes,
+                                       @Value("${employee.response-cache.gzip:true}") boolean gzip) {
+        this.writeVersion = writeVersion;
+        this.maxEntries = maxEntries;
+        this.maxBodyBytes = maxBodyBytes;
+        this.gzip = gzip;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || !PATH.equals(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean gzipped = gzip && acceptsGzip(request);
+        String query = query(request);
+        long version = writeVersion.current();
+
+        Entry entry = entries.get(key(gzipped, query));
+        if (entry != null && entry.version == version) {
+            write(response, entry);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+        byte[] body = wrapper.getContentAsByteArray();
+        String contentType = wrapper.getContentType();
+        if (wrapper.getStatus() != HttpStatus.OK.value() || body.length > maxBodyBytes
+                || contentType == null || !contentType.contains("json") || !makeRoom(version)) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        Entry plain = new Entry(version, contentType, body, false);
+        entries.put(key(false, query), plain);
+        Entry compressed = null;
+        if (gzip) {
+            compressed = new Entry(version, contentType, gzip(body), true);
+            entries.put(key(true, query), compressed);
+        }
+        write(response, gzipped ? compressed : plain);
+    }
+
+    /**
+     * Drops entries of older versions once the cache is full; false if it is still full with current ones.
+     */
+    private boolean makeRoom(long version) {
+        if (entries.size() + 2 <= maxEntries) {
+            return true;
+        }
+        entries.values().removeIf(entry -> entry.version != version);
+        return entries.size() + 2 <= maxEntries;
+    }
+
+    private static void write(HttpServletResponse response, Entry entry) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(entry.contentType);
+        response.setContentLength(entry.body.length);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (entry.gzipped) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.getOutputStream().write(entry.body);
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
+    }
+
+    /**
+     * The request parameters in name order, so {@code ?limit=10&after=0} and {@code ?after=0&limit=10} share an entry.
+     */
+    private static String query(HttpServletRequest request) {
+        StringBuilder query = new StringBuilder();
+        new TreeMap<>(request.getParameterMap()).forEach((name, values) -> {
+            for (String value : values) {
+                query.append(name).append('=').append(value).append('&');
+            }
+        });
+        return query.toString();
+    }
+
+    private static String key(boolean gzipped, String query) {
+        return (gzipped ? "gzip:" : "identity:") + query;
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    private static final class Entry {
+
+        private final long version;
+
+        private final String contentType;
+
+        private final byte[] body;
+
+        private final boolean gzipped;
+
+        private Entry(long version, String contentType, byte[] body, boolean gzipped) {
+            this.version = version;
+            this.contentType = contentType;
+            this.body = body;
+            this.gzipped = gzipped;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.applife.deadline;
+
+import com.applife.exception.DeadlineExceededException;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.pool.HikariPool;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Waits for a pooled connection no longer than the request has left. Without a deadline, or in front of a data
+ * source that is not a Hikari pool, the pool's own {@code connectionTimeout} applies; an exhausted budget fails
+ * right away either way.
+ */
+public class DeadlineDataSource extends DelegatingDataSource {
+
+    public DeadlineDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long remaining = RequestDeadline.remainingMillis();
+        if (remaining == Long.MAX_VALUE) {
+            return super.getConnection();
+        }
+        RequestDeadline.check("acquiring a connection");
+        HikariPool pool = pool();
+        if (pool == null) {
+            return super.getConnection();
+        }
+        try {
+            return pool.getConnection(remaining);
+        } catch (SQLTransientConnectionException e) {
+            throw new DeadlineExceededException("Request deadline exceeded while waiting for a connection", e);
+        }
+    }
+
+    private HikariPool pool() {
+        DataSource target = obtainTargetDataSource();
+        if (!(target instanceof HikariDataSource)) {
+            return null;
+        }
+        // null until the pool has been started by its first getConnection
+        HikariPoolMXBean pool = ((HikariDataSource) target).getHikariPoolMXBean();
+        return pool instanceof HikariPool ? (HikariPool) pool : null;
+    }
+}
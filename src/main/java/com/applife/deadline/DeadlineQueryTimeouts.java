@@ -0,0 +1,40 @@
+package com.applife.deadline;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Gives every statement of a request with a deadline a JDBC query timeout of the time that is left, rounded up
+ * to whole seconds as the driver counts them, so the database cancels it rather than letting it hold the
+ * connection after the client has been answered. Statements with a shorter timeout of their own keep it.
+ */
+public class DeadlineQueryTimeouts implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long remaining = RequestDeadline.remainingMillis();
+        if (remaining == Long.MAX_VALUE) {
+            return;
+        }
+        RequestDeadline.check("running a statement");
+        int seconds = (int) Math.min(Integer.MAX_VALUE, (remaining + 999) / 1000);
+        try {
+            Statement statement = execInfo.getStatement();
+            int timeout = statement.getQueryTimeout();
+            if (timeout == 0 || timeout > seconds) {
+                statement.setQueryTimeout(seconds);
+            }
+        } catch (SQLException e) {
+            // the driver does not support timeouts, the statement runs without one
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.applife.deadline;
+
+import com.applife.exception.DeadlineExceededException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The point in time by which the current thread's request has to be answered, as a {@link System#nanoTime}
+ * value. Set by {@link RequestDeadlineFilter} and read where the request waits on the database: connection
+ * acquisition ({@link DeadlineDataSource}) and statement execution ({@link DeadlineQueryTimeouts}). Work handed
+ * to other threads takes the deadline along with {@link #current} and {@link #select}.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    /**
+     * Starts a deadline {@code budgetMillis} from now, or keeps the current one when that is earlier, and
+     * returns the previous deadline for {@link #restore}.
+     */
+    public static Long start(long budgetMillis) {
+        Long previous = DEADLINE.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        DEADLINE.set(previous != null && previous - deadline < 0 ? previous : deadline);
+        return previous;
+    }
+
+    public static Long current() {
+        return DEADLINE.get();
+    }
+
+    /**
+     * Makes {@code deadline}, taken from another thread's {@link #current}, the current thread's deadline and
+     * returns the previous one for {@link #restore}.
+     */
+    public static Long select(Long deadline) {
+        Long previous = DEADLINE.get();
+        restore(deadline);
+        return previous;
+    }
+
+    public static void restore(Long previous) {
+        if (previous == null) {
+            DEADLINE.remove();
+        } else {
+            DEADLINE.set(previous);
+        }
+    }
+
+    /**
+     * Milliseconds left until the deadline, {@link Long#MAX_VALUE} without one.
+     */
+    public static long remainingMillis() {
+        Long deadline = DEADLINE.get();
+        return deadline == null ? Long.MAX_VALUE : TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+    }
+
+    public static void check(String before) {
+        if (remainingMillis() <= 0) {
+            throw new DeadlineExceededException("Request deadline exceeded before " + before);
+        }
+    }
+}
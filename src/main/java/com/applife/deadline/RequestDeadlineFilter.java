@@ -0,0 +1,112 @@
+package com.applife.deadline;
+
+import com.applife.exception.DeadlineExceededException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.sql.SQLTimeoutException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Gives every API request a {@link RequestDeadline}: the budget of the first {@code employee.deadline.routes}
+ * pattern matching its path ({@code pattern=millis}, 0 for none), {@code employee.deadline.default-ms} otherwise,
+ * shortened by the client's remaining budget in the {@value #HEADER} header. Requests whose budget is spent before
+ * they reach the database, or whose statements are cancelled by their query timeout, are answered with a 503
+ * instead of holding on to a connection.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.deadline.enabled", havingValue = "true")
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Request-Deadline-Ms";
+
+    private static final long NO_DEADLINE = -1;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final long defaultMillis;
+
+    private final Map<String, Long> routeMillis = new LinkedHashMap<>();
+
+    public RequestDeadlineFilter(@Value("${employee.deadline.default-ms:5000}") long defaultMillis,
+                                 @Value("${employee.deadline.routes:}") String[] routes) {
+        this.defaultMillis = defaultMillis;
+        for (String route : routes) {
+            int separator = route.lastIndexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Request deadline routes are pattern=millis, not " + route);
+            }
+            routeMillis.put(route.substring(0, separator).trim(), Long.parseLong(route.substring(separator + 1).trim()));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long budget = budgetMillis(request);
+        if (budget == NO_DEADLINE) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (budget <= 0) {
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Request deadline exceeded");
+            return;
+        }
+        Long previous = RequestDeadline.start(budget);
+        try {
+            filterChain.doFilter(request, response);
+        } catch (ServletException | RuntimeException e) {
+            if (!timedOut(e) || response.isCommitted()) {
+                throw e;
+            }
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Request deadline exceeded");
+        } finally {
+            RequestDeadline.restore(previous);
+        }
+    }
+
+    private long budgetMillis(HttpServletRequest request) {
+        long budget = defaultMillis;
+        for (Map.Entry<String, Long> route : routeMillis.entrySet()) {
+            if (pathMatcher.match(route.getKey(), request.getRequestURI())) {
+                budget = route.getValue();
+                break;
+            }
+        }
+        budget = budget > 0 ? budget : NO_DEADLINE;
+        String header = request.getHeader(HEADER);
+        if (header != null) {
+            try {
+                long clientBudget = Long.parseLong(header.trim());
+                budget = budget == NO_DEADLINE ? Math.max(clientBudget, 0) : Math.min(budget, clientBudget);
+            } catch (NumberFormatException e) {
+                // not a budget, the route's applies
+            }
+        }
+        return budget;
+    }
+
+    private static boolean timedOut(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DeadlineExceededException || cause instanceof SQLTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
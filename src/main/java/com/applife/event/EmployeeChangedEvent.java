@@ -0,0 +1,37 @@
+package com.applife.event;
+
+import com.applife.model.Employee;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published after an employee has been created, updated or deleted. {@code employee} is null for deletes.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class EmployeeChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+
+    private final long employeeId;
+
+    private final Employee employee;
+
+    public static EmployeeChangedEvent created(Employee employee) {
+        return new EmployeeChangedEvent(Type.CREATED, employee.getId(), employee);
+    }
+
+    public static EmployeeChangedEvent updated(Employee employee) {
+        return new EmployeeChangedEvent(Type.UPDATED, employee.getId(), employee);
+    }
+
+    public static EmployeeChangedEvent deleted(long employeeId) {
+        return new EmployeeChangedEvent(Type.DELETED, employeeId, null);
+    }
+}
@@ -0,0 +1,30 @@
+package com.applife.event;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counter that moves forward after every committed employee write, on this node through the service's change
+ * events and for other nodes' writes through the invalidation bus. Caches of derived data tag their entries
+ * with the version read <em>before</em> they read the data and treat any other version as stale.
+ */
+@Component
+public class EmployeeWriteVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    public void bump() {
+        version.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        bump();
+    }
+}
@@ -0,0 +1,16 @@
+package com.applife.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class DepartmentNotEmptyException extends RuntimeException {
+
+    public DepartmentNotEmptyException(String message) {
+        super(message);
+    }
+
+    public DepartmentNotEmptyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,16 @@
+package com.applife.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+public class EmployeePhotoTooLargeException extends RuntimeException {
+
+    public EmployeePhotoTooLargeException(String message) {
+        super(message);
+    }
+
+    public EmployeePhotoTooLargeException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,16 @@
+package com.applife.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class EmployeeShardMovingException extends RuntimeException {
+
+    public EmployeeShardMovingException(String message) {
+        super(message);
+    }
+
+    public EmployeeShardMovingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
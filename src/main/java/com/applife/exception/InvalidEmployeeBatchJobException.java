@@ -0,0 +1,16 @@
+package com.applife.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidEmployeeBatchJobException extends RuntimeException {
+
+    public InvalidEmployeeBatchJobException(String message) {
+        super(message);
+    }
+
+    public InvalidEmployeeBatchJobException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,16 @@
+package com.applife.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidEmployeeDepartmentException extends RuntimeException {
+
+    public InvalidEmployeeDepartmentException(String message) {
+        super(message);
+    }
+
+    public InvalidEmployeeDepartmentException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
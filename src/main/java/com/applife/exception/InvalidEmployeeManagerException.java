@@ -0,0 +1,16 @@
+package com.applife.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidEmployeeManagerException extends RuntimeException {
+
+    public InvalidEmployeeManagerException(String message) {
+        super(message);
+    }
+
+    public InvalidEmployeeManagerException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
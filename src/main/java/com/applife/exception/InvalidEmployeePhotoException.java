@@ -0,0 +1,16 @@
+package com.applife.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+public class InvalidEmployeePhotoException extends RuntimeException {
+
+    public InvalidEmployeePhotoException(String message) {
+        super(message);
+    }
+
+    public InvalidEmployeePhotoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,31 @@
+package com.applife.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkheadStats {
+
+    private String workload;
+
+    private int maxConcurrent;
+
+    private int active;
+
+    private int waiting;
+
+    private long completed;
+
+    private long rejected;
+
+    private int poolSize;
+
+    private int activeConnections;
+
+    private int idleConnections;
+
+    private int threadsAwaitingConnection;
+}
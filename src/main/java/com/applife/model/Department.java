@@ -0,0 +1,34 @@
+package com.applife.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+
+import javax.persistence.*;
+
+/**
+ * A department employees belong to. Departments are never renamed, so cached employees can keep
+ * a copy of theirs. Uninitialized proxies are loaded in batches when an employee list was read
+ * without its department.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+
+@Entity
+@Table(name = "departments")
+@BatchSize(size = 100)
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class Department {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Column(nullable = false, unique = true)
+    private String name;
+}
@@ -0,0 +1,21 @@
+package com.applife.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DepartmentStats {
+
+    private long id;
+
+    private String name;
+
+    private long employees;
+
+    private Instant lastUpdatedAt;
+}
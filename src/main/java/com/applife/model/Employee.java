@@ -1,12 +1,20 @@
 package com.applife.model;
 
 
+import com.applife.model.id.EmployeeIdGenerator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import javax.persistence.*;
+import java.time.Instant;
 
 @Data
 @AllArgsConstructor
@@ -14,11 +22,15 @@ import javax.persistence.*;
 @Builder
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+        @Index(name = "employees_manager_id", columnList = "manager_id"),
+        @Index(name = "employees_department_id", columnList = "department_id, id")
+})
 public class Employee {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "employee-id")
+    @GenericGenerator(name = "employee-id", strategy = EmployeeIdGenerator.STRATEGY)
     private long id;
 
     @Column(name = "first_name", nullable = false)
@@ -29,4 +41,45 @@ public class Employee {
 
     @Column(nullable = false)
     private String email;
+
+    @Column(name = "manager_id")
+    private Long managerId;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "department_id")
+    private Department department;
+
+    // content reference of the profile photo, written only through EmployeeRepository.updatePhoto
+    @JsonIgnore
+    @Column(name = "photo", length = 80, insertable = false, updatable = false)
+    private String photo;
+
+    @JsonIgnore
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    /**
+     * A detached copy of the fields the API returns, for the copies kept or streamed outside of the persistence
+     * context.
+     */
+    public Employee copy() {
+        return copyWith(department);
+    }
+
+    /**
+     * Like {@link #copy()}, with {@code department} in place of this employee's.
+     */
+    public Employee copyWith(Department department) {
+        return Employee.builder()
+                .id(id)
+                .managerId(managerId)
+                .department(department)
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(email)
+                .build();
+    }
 }
@@ -0,0 +1,38 @@
+package com.applife.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeBatchJobStatus {
+
+    private String name;
+
+    private String status;
+
+    private Map<String, String> parameters;
+
+    // every employee up to this id is done
+    private long lastId;
+
+    private long processed;
+
+    private long changed;
+
+    // throughput and rows read but not checkpointed yet, only known on the node running the job
+    private double rowsPerSecond;
+
+    private long lagRows;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    private String error;
+}
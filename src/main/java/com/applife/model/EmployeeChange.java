@@ -0,0 +1,31 @@
+package com.applife.model;
+
+import com.applife.event.EmployeeChangedEvent;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One entry of an employee's history: the row before and after a committed change, as JSON.
+ * {@code before} is null for creations and {@code after} for deletions.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeChange {
+
+    private long employeeId;
+
+    private Instant changedAt;
+
+    private EmployeeChangedEvent.Type type;
+
+    @JsonRawValue
+    private String before;
+
+    @JsonRawValue
+    private String after;
+}
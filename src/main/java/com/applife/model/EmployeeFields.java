@@ -0,0 +1,113 @@
+package com.applife.model;
+
+import com.applife.exception.InvalidEmployeeFieldsException;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import javax.persistence.ManyToOne;
+import javax.persistence.Transient;
+import java.beans.IntrospectionException;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * The {@link Employee} attributes a caller asked for with {@code ?fields=}. Valid names are the persistent
+ * attributes that are also part of the JSON representation, in declaration order, so new columns become
+ * selectable without touching this class.
+ */
+public final class EmployeeFields {
+
+    public static final String ID = "id";
+
+    private static final Map<String, PropertyDescriptor> ATTRIBUTES = attributes();
+
+    public static final EmployeeFields ALL = new EmployeeFields(List.copyOf(ATTRIBUTES.keySet()));
+
+    private final List<String> names;
+
+    private EmployeeFields(List<String> names) {
+        this.names = names;
+    }
+
+    /**
+     * Parses a comma separated list of attribute names; unknown names are rejected.
+     */
+    public static EmployeeFields parse(String fields) {
+        Set<String> requested = new HashSet<>();
+        for (String field : fields.split(",")) {
+            if (!field.isBlank()) {
+                requested.add(field.trim());
+            }
+        }
+        if (requested.isEmpty()) {
+            throw new InvalidEmployeeFieldsException("fields must name at least one of " + ATTRIBUTES.keySet());
+        }
+        Set<String> unknown = new TreeSet<>(requested);
+        unknown.removeAll(ATTRIBUTES.keySet());
+        if (!unknown.isEmpty()) {
+            throw new InvalidEmployeeFieldsException("Unknown employee fields " + unknown + ", expected some of " + ATTRIBUTES.keySet());
+        }
+        List<String> names = new ArrayList<>();
+        ATTRIBUTES.keySet().stream().filter(requested::contains).forEach(names::add);
+        return names.size() == ATTRIBUTES.size() ? ALL : new EmployeeFields(Collections.unmodifiableList(names));
+    }
+
+    public List<String> names() {
+        return names;
+    }
+
+    public boolean isAll() {
+        return names.size() == ATTRIBUTES.size();
+    }
+
+    public static Object read(Employee employee, String name) {
+        try {
+            return ATTRIBUTES.get(name).getReadMethod().invoke(employee);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot read employee attribute " + name, e);
+        }
+    }
+
+    public static void write(Employee employee, String name, Object value) {
+        try {
+            ATTRIBUTES.get(name).getWriteMethod().invoke(employee, value);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot write employee attribute " + name, e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof EmployeeFields && names.equals(((EmployeeFields) other).names);
+    }
+
+    @Override
+    public int hashCode() {
+        return names.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return String.join(",", names);
+    }
+
+    private static Map<String, PropertyDescriptor> attributes() {
+        Map<String, PropertyDescriptor> attributes = new LinkedHashMap<>();
+        for (Field field : Employee.class.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())
+                    || field.isAnnotationPresent(Transient.class) || field.isAnnotationPresent(JsonIgnore.class)
+                    // a tuple of columns cannot carry an association, sparse reads leave it out
+                    || field.isAnnotationPresent(ManyToOne.class)) {
+                continue;
+            }
+            try {
+                attributes.put(field.getName(), new PropertyDescriptor(field.getName(), Employee.class));
+            } catch (IntrospectionException e) {
+                throw new IllegalStateException("Employee attribute " + field.getName() + " has no getter and setter", e);
+            }
+        }
+        return attributes;
+    }
+}
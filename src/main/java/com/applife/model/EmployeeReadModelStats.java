@@ -0,0 +1,33 @@
+package com.applife.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeReadModelStats {
+
+    private long employees;
+
+    private boolean fresh;
+
+    private long lagMs;
+
+    private long maxLagMs;
+
+    private long writesBehind;
+
+    private int queued;
+
+    private long applied;
+
+    private long servedReads;
+
+    private long staleReads;
+
+    private Instant loadedAt;
+}
@@ -0,0 +1,22 @@
+package com.applife.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeStats {
+
+    private long headcount;
+
+    private Map<String, Long> byEmailDomain;
+
+    private Map<String, Long> byLastNameInitial;
+
+    private Instant reconciledAt;
+}
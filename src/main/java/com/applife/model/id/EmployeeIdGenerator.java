@@ -0,0 +1,12 @@
+package com.applife.model.id;
+
+import org.hibernate.id.IdentityGenerator;
+
+/**
+ * Strategy name of the employee id generator. Unless {@code employee.id.strategy} re-registers it with
+ * {@link PooledIdGenerator} or {@link SnowflakeIdGenerator}, ids keep coming from the auto-increment column.
+ */
+public class EmployeeIdGenerator extends IdentityGenerator {
+
+    public static final String STRATEGY = "com.applife.model.id.EmployeeIdGenerator";
+}
@@ -0,0 +1,29 @@
+package com.applife.model.id;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Block allocation from the {@code employees_seq} table (MySQL has no sequences): every node reserves
+ * {@code employee.id.block-size} ids with one round trip and hands them out from memory.
+ */
+public class PooledIdGenerator extends SequenceStyleGenerator {
+
+    public static final String SEQUENCE_TABLE = "employees_seq";
+
+    public static final String BLOCK_SIZE_SETTING = "employee.id.block-size";
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        Object blockSize = serviceRegistry.getService(ConfigurationService.class).getSettings().get(BLOCK_SIZE_SETTING);
+        params.putIfAbsent(SEQUENCE_PARAM, SEQUENCE_TABLE);
+        params.putIfAbsent(INCREMENT_PARAM, blockSize == null ? "100" : blockSize.toString());
+        params.putIfAbsent(OPT_PARAM, "pooled-lo");
+        super.configure(type, params, serviceRegistry);
+    }
+}
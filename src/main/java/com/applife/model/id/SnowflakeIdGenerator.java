@@ -0,0 +1,37 @@
+package com.applife.model.id;
+
+import com.applife.model.Employee;
+import org.hibernate.HibernateException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.util.Properties;
+
+/**
+ * Assigns {@link SnowflakeIds} in the application, so inserts no longer wait for the auto-increment value.
+ */
+public class SnowflakeIdGenerator implements IdentifierGenerator {
+
+    public static final String NODE_ID_SETTING = "employee.id.node-id";
+
+    private SnowflakeIds ids;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) {
+        Object nodeId = serviceRegistry.getService(ConfigurationService.class).getSettings().get(NODE_ID_SETTING);
+        this.ids = SnowflakeIds.forNode(nodeId == null ? 0 : Long.parseLong(nodeId.toString()));
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) throws HibernateException {
+        // ids assigned up front (e.g. to route the row to its shard) are kept
+        if (object instanceof Employee && ((Employee) object).getId() != 0) {
+            return ((Employee) object).getId();
+        }
+        return ids.next();
+    }
+}
@@ -0,0 +1,62 @@
+package com.applife.model.id;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free source of time-ordered 63-bit ids: 41 bits of milliseconds since 2022-01-01, 10 bits of node id
+ * and a 12 bit counter. Ids are strictly increasing per node; when the counter overflows or the clock moves
+ * backwards the generator keeps counting on its last timestamp instead of waiting.
+ */
+public class SnowflakeIds {
+
+    public static final long EPOCH_MILLIS = 1640995200000L;
+
+    public static final int NODE_BITS = 10;
+
+    public static final int SEQUENCE_BITS = 12;
+
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    // one generator per node id in this JVM, otherwise two of them could hand out the same id
+    private static final Map<Long, SnowflakeIds> NODES = new ConcurrentHashMap<>();
+
+    private final long nodeId;
+
+    // (milliseconds since epoch << SEQUENCE_BITS) | sequence of the last id handed out
+    private final AtomicLong last = new AtomicLong();
+
+    public SnowflakeIds(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + " but was " + nodeId);
+        }
+        this.nodeId = nodeId;
+    }
+
+    public static SnowflakeIds forNode(long nodeId) {
+        return NODES.computeIfAbsent(nodeId, SnowflakeIds::new);
+    }
+
+    public long next() {
+        long now = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        while (true) {
+            long previous = last.get();
+            // either the first id of a new millisecond or the next counter value after the previous id
+            long candidate = Math.max(now, previous + 1);
+            if (last.compareAndSet(previous, candidate)) {
+                long millis = candidate >>> SEQUENCE_BITS;
+                long sequence = candidate & ((1L << SEQUENCE_BITS) - 1);
+                return (millis << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+            }
+        }
+    }
+
+    public static long timestampMillis(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    public static long nodeId(long id) {
+        return (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+}
@@ -0,0 +1,86 @@
+package com.applife.profiling;
+
+import com.applife.model.Employee;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Wraps every {@code EmployeeService} and {@code EmployeeRepository} call in a JFR event. When no recording
+ * has the events enabled the only cost is the {@code isEnabled()} check.
+ */
+@Aspect
+@Component
+public class EmployeeCallEventAspect {
+
+    @Around("target(com.applife.service.EmployeeService)")
+    public Object aroundServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        EmployeeServiceEvent event = new EmployeeServiceEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        try {
+            Object result = joinPoint.proceed();
+            event.employeeId = employeeId(joinPoint.getArgs(), result);
+            event.rowCount = rowCount(result);
+            return result;
+        } catch (Throwable e) {
+            event.failed = true;
+            throw e;
+        } finally {
+            event.operation = joinPoint.getSignature().getName();
+            event.commit();
+        }
+    }
+
+    @Around("target(com.applife.repository.EmployeeRepository)")
+    public Object aroundRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        EmployeeRepositoryEvent event = new EmployeeRepositoryEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        try {
+            Object result = joinPoint.proceed();
+            event.employeeId = employeeId(joinPoint.getArgs(), result);
+            event.rowCount = rowCount(result);
+            return result;
+        } catch (Throwable e) {
+            event.failed = true;
+            throw e;
+        } finally {
+            event.operation = joinPoint.getSignature().getName();
+            event.commit();
+        }
+    }
+
+    static long employeeId(Object[] args, Object result) {
+        for (Object arg : args) {
+            if (arg instanceof Long) {
+                return (Long) arg;
+            }
+            if (arg instanceof Employee) {
+                return ((Employee) arg).getId();
+            }
+        }
+        if (result instanceof Optional && ((Optional<?>) result).isPresent()) {
+            result = ((Optional<?>) result).get();
+        }
+        return result instanceof Employee ? ((Employee) result).getId() : 0;
+    }
+
+    static int rowCount(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        return result instanceof Employee ? 1 : 0;
+    }
+}
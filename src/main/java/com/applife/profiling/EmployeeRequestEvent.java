@@ -0,0 +1,30 @@
+package com.applife.profiling;
+
+import jdk.jfr.*;
+
+@Name(EmployeeRequestEvent.NAME)
+@Label("Employee Request")
+@Category({"Application", "Employees"})
+@Description("An HTTP request handled by an employee endpoint")
+@StackTrace(false)
+public class EmployeeRequestEvent extends Event {
+
+    public static final String NAME = "com.applife.EmployeeRequest";
+
+    @Label("Method")
+    public String method;
+
+    @Label("Endpoint")
+    @Description("Matched route pattern, e.g. /api/employees/{id}")
+    public String endpoint;
+
+    @Label("Status")
+    public int status;
+
+    @Label("Employee Id")
+    public long employeeId;
+
+    @Label("Bytes Written")
+    @DataAmount
+    public long bytesWritten;
+}
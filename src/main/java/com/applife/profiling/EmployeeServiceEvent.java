@@ -0,0 +1,24 @@
+package com.applife.profiling;
+
+import jdk.jfr.*;
+
+@Name(EmployeeServiceEvent.NAME)
+@Label("Employee Service Call")
+@Category({"Application", "Employees"})
+@StackTrace(false)
+public class EmployeeServiceEvent extends Event {
+
+    public static final String NAME = "com.applife.EmployeeServiceCall";
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Employee Id")
+    public long employeeId;
+
+    @Label("Row Count")
+    public int rowCount;
+
+    @Label("Failed")
+    public boolean failed;
+}
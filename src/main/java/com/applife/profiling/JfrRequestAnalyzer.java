@@ -0,0 +1,158 @@
+package com.applife.profiling;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Summarizes a {@code .jfr} file per employee endpoint: request count, latency, bytes written and the
+ * allocation, lock, park and socket time that happened on the request thread while it was being served.
+ * <p>
+ * Usage: {@code java -cp app.jar com.applife.profiling.JfrRequestAnalyzer recording.jfr}
+ */
+public class JfrRequestAnalyzer {
+
+    private static final Set<String> ALLOCATION_EVENTS = Set.of(
+            "jdk.ObjectAllocationInNewTLAB", "jdk.ObjectAllocationOutsideTLAB", "jdk.ObjectAllocationSample");
+
+    private static final Map<String, String> BLOCKING_EVENTS = Map.of(
+            "jdk.JavaMonitorEnter", "monitor",
+            "jdk.JavaMonitorWait", "monitor",
+            "jdk.ThreadPark", "park",
+            "jdk.SocketRead", "socket",
+            "jdk.SocketWrite", "socket");
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: JfrRequestAnalyzer <recording.jfr>");
+            System.exit(1);
+        }
+        System.out.print(summarize(Paths.get(args[0])));
+    }
+
+    public static String summarize(Path recording) throws IOException {
+        Map<Long, List<Request>> requestsByThread = new HashMap<>();
+        List<RecordedEvent> attributable = new ArrayList<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(recording)) {
+            String name = event.getEventType().getName();
+            RecordedThread thread = event.getThread();
+            if (thread == null) {
+                continue;
+            }
+            if (EmployeeRequestEvent.NAME.equals(name)) {
+                requestsByThread.computeIfAbsent(thread.getJavaThreadId(), id -> new ArrayList<>())
+                        .add(new Request(event));
+            } else if (ALLOCATION_EVENTS.contains(name) || BLOCKING_EVENTS.containsKey(name)) {
+                attributable.add(event);
+            }
+        }
+        requestsByThread.values().forEach(requests -> requests.sort(Comparator.comparing(request -> request.start)));
+
+        Map<String, Breakdown> breakdowns = new TreeMap<>();
+        for (List<Request> requests : requestsByThread.values()) {
+            for (Request request : requests) {
+                breakdowns.computeIfAbsent(request.endpoint, endpoint -> new Breakdown()).add(request);
+            }
+        }
+        for (RecordedEvent event : attributable) {
+            List<Request> requests = requestsByThread.get(event.getThread().getJavaThreadId());
+            Request request = requests == null ? null : enclosing(requests, event.getStartTime());
+            if (request == null) {
+                continue;
+            }
+            Breakdown breakdown = breakdowns.get(request.endpoint);
+            String name = event.getEventType().getName();
+            if (ALLOCATION_EVENTS.contains(name)) {
+                breakdown.allocatedBytes += allocationWeight(event);
+            } else {
+                breakdown.blockedNanos.merge(BLOCKING_EVENTS.get(name), event.getDuration().toNanos(), Long::sum);
+            }
+        }
+
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("%-34s %8s %10s %10s %12s %14s %10s %10s %10s%n",
+                "endpoint", "requests", "p50 ms", "p99 ms", "bytes out", "allocated", "monitor ms", "park ms", "socket ms"));
+        breakdowns.forEach((endpoint, breakdown) -> summary.append(String.format("%-34s %8d %10.2f %10.2f %12d %14d %10.2f %10.2f %10.2f%n",
+                endpoint, breakdown.durations.size(), breakdown.percentile(0.50), breakdown.percentile(0.99),
+                breakdown.bytesWritten, breakdown.allocatedBytes,
+                breakdown.blockedMillis("monitor"), breakdown.blockedMillis("park"), breakdown.blockedMillis("socket"))));
+        return summary.toString();
+    }
+
+    private static Request enclosing(List<Request> requests, Instant time) {
+        int low = 0;
+        int high = requests.size() - 1;
+        Request candidate = null;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (requests.get(mid).start.isAfter(time)) {
+                high = mid - 1;
+            } else {
+                candidate = requests.get(mid);
+                low = mid + 1;
+            }
+        }
+        return candidate != null && !time.isAfter(candidate.end) ? candidate : null;
+    }
+
+    private static long allocationWeight(RecordedEvent event) {
+        if (event.hasField("weight")) {
+            return event.getLong("weight");
+        }
+        if (event.hasField("tlabSize")) {
+            return event.getLong("tlabSize");
+        }
+        return event.getLong("allocationSize");
+    }
+
+    private static class Request {
+
+        private final String endpoint;
+
+        private final Instant start;
+
+        private final Instant end;
+
+        private final long bytesWritten;
+
+        Request(RecordedEvent event) {
+            this.endpoint = event.getString("method") + " " + event.getString("endpoint");
+            this.start = event.getStartTime();
+            this.end = event.getEndTime();
+            this.bytesWritten = event.getLong("bytesWritten");
+        }
+    }
+
+    private static class Breakdown {
+
+        private final List<Long> durations = new ArrayList<>();
+
+        private final Map<String, Long> blockedNanos = new HashMap<>();
+
+        private long bytesWritten;
+
+        private long allocatedBytes;
+
+        void add(Request request) {
+            durations.add(Duration.between(request.start, request.end).toNanos());
+            bytesWritten += request.bytesWritten;
+        }
+
+        double percentile(double percentile) {
+            List<Long> sorted = new ArrayList<>(durations);
+            Collections.sort(sorted);
+            return sorted.get(Math.min(sorted.size() - 1, (int) (sorted.size() * percentile))) / 1_000_000.0;
+        }
+
+        double blockedMillis(String kind) {
+            return blockedNanos.getOrDefault(kind, 0L) / 1_000_000.0;
+        }
+    }
+}
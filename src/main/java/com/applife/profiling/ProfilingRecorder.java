@@ -0,0 +1,104 @@
+package com.applife.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Starts and stops a JFR recording at runtime with one of the JDK's settings profiles ("default" or "profile")
+ * plus the employee events and lock/park/socket events at a low threshold.
+ */
+@Service
+@ConditionalOnProperty(name = "employee.profiling.enabled", havingValue = "true")
+public class ProfilingRecorder {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Path directory;
+
+    private final Duration blockingThreshold;
+
+    private Recording recording;
+
+    public ProfilingRecorder(@Value("${employee.profiling.directory:./profiling}") String directory,
+                             @Value("${employee.profiling.blocking-threshold-ms:1}") long blockingThresholdMs) {
+        this.directory = Paths.get(directory);
+        this.blockingThreshold = Duration.ofMillis(blockingThresholdMs);
+    }
+
+    public synchronized boolean start(String profile, Duration maxDuration) throws IOException, ParseException {
+        if (recording != null) {
+            return false;
+        }
+        Recording newRecording = new Recording(Configuration.getConfiguration(profile));
+        newRecording.setName("employee-" + profile);
+        newRecording.enable(EmployeeRequestEvent.class);
+        newRecording.enable(EmployeeServiceEvent.class);
+        newRecording.enable(EmployeeRepositoryEvent.class);
+        newRecording.enable("jdk.JavaMonitorEnter").withThreshold(blockingThreshold);
+        newRecording.enable("jdk.ThreadPark").withThreshold(blockingThreshold);
+        newRecording.enable("jdk.SocketRead").withThreshold(blockingThreshold);
+        newRecording.enable("jdk.SocketWrite").withThreshold(blockingThreshold);
+        if (maxDuration != null) {
+            Files.createDirectories(directory);
+            newRecording.setDestination(nextFile());
+            newRecording.setDuration(maxDuration);
+        }
+        newRecording.start();
+        recording = newRecording;
+        return true;
+    }
+
+    /**
+     * Stops the running recording, writes it to the profiling directory and returns the file.
+     */
+    public synchronized Path stop() throws IOException {
+        if (recording == null) {
+            return null;
+        }
+        try {
+            Files.createDirectories(directory);
+            Path file = recording.getDestination();
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+            }
+            if (file == null) {
+                file = nextFile();
+                recording.dump(file);
+            }
+            return file;
+        } finally {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    public synchronized boolean isRecording() {
+        return recording != null;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private Path nextFile() {
+        return directory.resolve("employees-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr").toAbsolutePath();
+    }
+}
@@ -0,0 +1,57 @@
+package com.applife.profiling;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * datasource-proxy listener that counts the statements the current thread executes while a scope is open.
+ * Scopes nest, a statement is counted in every open scope of its thread, so a sampled request inside a
+ * test method shows up in both. Statements outside a scope cost a thread-local lookup and nothing else.
+ */
+public class SqlStatementCounter implements QueryExecutionListener {
+
+    private static final ThreadLocal<Deque<SqlStatementCounts>> SCOPES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    public static SqlStatementCounts start() {
+        SqlStatementCounts counts = new SqlStatementCounts();
+        SCOPES.get().push(counts);
+        return counts;
+    }
+
+    public static void stop(SqlStatementCounts counts) {
+        Deque<SqlStatementCounts> scopes = SCOPES.get();
+        scopes.remove(counts);
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+        }
+    }
+
+    static QueryType typeOf(String sql) {
+        return QueryUtils.getQueryType(sql);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Deque<SqlStatementCounts> scopes = SCOPES.get();
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+            return;
+        }
+        for (QueryInfo queryInfo : queryInfoList) {
+            String sql = queryInfo.getQuery();
+            QueryType type = typeOf(sql);
+            scopes.forEach(counts -> counts.record(type, sql));
+        }
+    }
+}
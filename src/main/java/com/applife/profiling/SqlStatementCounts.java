@@ -0,0 +1,75 @@
+package com.applife.profiling;
+
+import net.ttddyy.dsproxy.QueryType;
+
+import java.util.*;
+
+/**
+ * Statements executed within one {@link SqlStatementCounter} scope, by type and by SQL text.
+ * A JDBC batch counts as one statement, it is one round trip.
+ */
+public class SqlStatementCounts {
+
+    private final EnumMap<QueryType, Integer> byType = new EnumMap<>(QueryType.class);
+
+    private final Map<String, Integer> bySql = new LinkedHashMap<>();
+
+    void record(QueryType type, String sql) {
+        byType.merge(type, 1, Integer::sum);
+        bySql.merge(sql, 1, Integer::sum);
+    }
+
+    public int get(QueryType type) {
+        return byType.getOrDefault(type, 0);
+    }
+
+    public int select() {
+        return get(QueryType.SELECT);
+    }
+
+    public int insert() {
+        return get(QueryType.INSERT);
+    }
+
+    public int update() {
+        return get(QueryType.UPDATE);
+    }
+
+    public int delete() {
+        return get(QueryType.DELETE);
+    }
+
+    public int other() {
+        return get(QueryType.OTHER);
+    }
+
+    public int total() {
+        return byType.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * Every distinct statement with the number of times it ran, in order of first execution.
+     */
+    public Map<String, Integer> statements() {
+        return Collections.unmodifiableMap(bySql);
+    }
+
+    /**
+     * SELECTs that ran at least {@code threshold} times with different parameters, the signature of an N+1.
+     */
+    public Map<String, Integer> repeatedSelects(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        bySql.forEach((sql, count) -> {
+            if (count >= threshold && SqlStatementCounter.typeOf(sql) == QueryType.SELECT) {
+                repeated.put(sql, count);
+            }
+        });
+        return repeated;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("select=%d, insert=%d, update=%d, delete=%d, other=%d",
+                select(), insert(), update(), delete(), other());
+    }
+}
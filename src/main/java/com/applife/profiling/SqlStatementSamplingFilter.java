@@ -0,0 +1,58 @@
+package com.applife.profiling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Counts the statements of a sample of API requests and logs the ones that ran the same SELECT
+ * {@code employee.sql-statements.n-plus-one-threshold} times or more, which is what an N+1 looks like.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.sql-statements.enabled", havingValue = "true")
+public class SqlStatementSamplingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementSamplingFilter.class);
+
+    private final double sampleRate;
+
+    private final int nPlusOneThreshold;
+
+    public SqlStatementSamplingFilter(@Value("${employee.sql-statements.sample-rate:0.01}") double sampleRate,
+                                      @Value("${employee.sql-statements.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+        this.sampleRate = sampleRate;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/") || ThreadLocalRandom.current().nextDouble() >= sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCounts counts = SqlStatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementCounter.stop(counts);
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String endpoint = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+            counts.repeatedSelects(nPlusOneThreshold)
+                    .forEach((sql, times) -> log.warn("Possible N+1 in {}: {} x {}", endpoint, times, sql));
+            log.debug("{}: {}", endpoint, counts);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.applife.repository;
+
+import java.time.Instant;
+
+/**
+ * Per-department employee aggregates. Sharded deployments get one row per department and shard.
+ */
+public interface DepartmentEmployeeCount {
+
+    long getDepartmentId();
+
+    long getEmployees();
+
+    Instant getLastUpdatedAt();
+}
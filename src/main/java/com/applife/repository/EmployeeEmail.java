@@ -0,0 +1,11 @@
+package com.applife.repository;
+
+/**
+ * Id and email of an employee, for the jobs that only need the email column.
+ */
+public interface EmployeeEmail {
+
+    long getId();
+
+    String getEmail();
+}
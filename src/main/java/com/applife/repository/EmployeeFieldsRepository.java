@@ -0,0 +1,21 @@
+package com.applife.repository;
+
+import com.applife.model.Employee;
+import com.applife.model.EmployeeFields;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Queries that select only the requested columns. The returned employees carry the id and those attributes,
+ * everything else is left unset, so they must not be saved or cached.
+ */
+public interface EmployeeFieldsRepository {
+
+    List<Employee> findAllFields(EmployeeFields fields);
+
+    Optional<Employee> findFieldsById(long id, EmployeeFields fields);
+
+    List<Employee> findFieldsByIdGreaterThan(EmployeeFields fields, long id, Pageable pageable);
+}
@@ -0,0 +1,85 @@
+package com.applife.repository;
+
+import com.applife.model.Employee;
+import com.applife.model.EmployeeFields;
+import org.springframework.data.domain.Pageable;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.TupleElement;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+class EmployeeFieldsRepositoryImpl implements EmployeeFieldsRepository {
+
+    private final EntityManager entityManager;
+
+    EmployeeFieldsRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Employee> findAllFields(EmployeeFields fields) {
+        CriteriaQuery<Tuple> query = entityManager.getCriteriaBuilder().createTupleQuery();
+        select(query, query.from(Employee.class), fields);
+        return toEmployees(entityManager.createQuery(query));
+    }
+
+    @Override
+    public Optional<Employee> findFieldsById(long id, EmployeeFields fields) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Employee> employee = query.from(Employee.class);
+        ParameterExpression<Long> idParameter = builder.parameter(Long.class);
+        select(query, employee, fields).where(builder.equal(employee.get(EmployeeFields.ID), idParameter));
+        return toEmployees(entityManager.createQuery(query).setParameter(idParameter, id)).stream().findFirst();
+    }
+
+    @Override
+    public List<Employee> findFieldsByIdGreaterThan(EmployeeFields fields, long id, Pageable pageable) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Employee> employee = query.from(Employee.class);
+        ParameterExpression<Long> idParameter = builder.parameter(Long.class);
+        select(query, employee, fields)
+                .where(builder.greaterThan(employee.get(EmployeeFields.ID), idParameter))
+                .orderBy(builder.asc(employee.get(EmployeeFields.ID)));
+        // a bound parameter rather than an inlined literal, so the statement text is the same for every page
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query).setParameter(idParameter, id);
+        typedQuery.setFirstResult((int) pageable.getOffset());
+        typedQuery.setMaxResults(pageable.getPageSize());
+        return toEmployees(typedQuery);
+    }
+
+    /**
+     * The id is always selected: keyset paging and shard routing need it, and it is the primary key anyway.
+     */
+    private static CriteriaQuery<Tuple> select(CriteriaQuery<Tuple> query, Root<Employee> employee, EmployeeFields fields) {
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(employee.get(EmployeeFields.ID).alias(EmployeeFields.ID));
+        for (String name : fields.names()) {
+            if (!name.equals(EmployeeFields.ID)) {
+                selections.add(employee.get(name).alias(name));
+            }
+        }
+        return query.multiselect(selections);
+    }
+
+    private static List<Employee> toEmployees(TypedQuery<Tuple> query) {
+        return query.getResultList().stream().map(tuple -> {
+            Employee employee = new Employee();
+            for (TupleElement<?> element : tuple.getElements()) {
+                EmployeeFields.write(employee, element.getAlias(), tuple.get(element));
+            }
+            return employee;
+        }).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,56 @@
+package com.applife.repository;
+
+import com.applife.model.Employee;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Walks the whole employees table in ascending id order, one keyset page ({@code id > lastId}) at a time,
+ * so memory stays bounded by the page size regardless of the table size.
+ */
+public class EmployeeKeysetIterator implements Iterator<Employee> {
+
+    private final EmployeeRepository employeeRepository;
+
+    private final int pageSize;
+
+    private List<Employee> page = List.of();
+
+    private int position;
+
+    private long lastId;
+
+    private boolean lastPage;
+
+    public EmployeeKeysetIterator(EmployeeRepository employeeRepository, int pageSize) {
+        this.employeeRepository = employeeRepository;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (position < page.size()) {
+            return true;
+        }
+        if (lastPage) {
+            return false;
+        }
+        page = employeeRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, pageSize));
+        position = 0;
+        lastPage = page.size() < pageSize;
+        return !page.isEmpty();
+    }
+
+    @Override
+    public Employee next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Employee employee = page.get(position++);
+        lastId = employee.getId();
+        return employee;
+    }
+}
@@ -1,18 +1,68 @@
 package com.applife.repository;
 
 import com.applife.model.Employee;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeFieldsRepository {
 
+    // reads that hand out whole employees join their department, so serializing a list costs one statement
+
+    @Override
+    @EntityGraph(attributePaths = "department")
+    List<Employee> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "department")
+    Optional<Employee> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "department")
+    List<Employee> findAllById(Iterable<Long> ids);
+
+    @EntityGraph(attributePaths = "department")
     Optional<Employee> findByEmail(String email);
 
+    @EntityGraph(attributePaths = "department")
+    List<Employee> findByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = "department")
+    List<Employee> findByUpdatedAtAfterAndIdGreaterThanOrderByIdAsc(Instant updatedAt, long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = "department")
+    List<Employee> findByDepartmentIdAndIdGreaterThanOrderByIdAsc(long departmentId, long id, Pageable pageable);
+
+    boolean existsByDepartmentId(long departmentId);
+
+    @Query("select e.department.id as departmentId, count(e) as employees, max(e.updatedAt) as lastUpdatedAt"
+            + " from Employee e where e.department is not null group by e.department.id")
+    List<DepartmentEmployeeCount> countByDepartment();
+
+    @Query("select e.id from Employee e where e.id > ?1 order by e.id")
+    List<Long> findIdsGreaterThan(long id, Pageable pageable);
+
+    @Query("select e.id as id, e.email as email from Employee e where e.id > ?1 order by e.id")
+    List<EmployeeEmail> findEmailsGreaterThan(long id, Pageable pageable);
+
+    @Query("select e.photo from Employee e where e.id = ?1")
+    Optional<String> findPhotoById(long id);
+
+    @Modifying
+    @Transactional
+    @Query("update Employee e set e.photo = ?2 where e.id = ?1")
+    int updatePhoto(long id, String photo);
+
     @Query("select e from Employee e where e.firstName = ?1 and e.lastName = ?2")
     Employee findByJPQL(String firstName, String lastName);
 
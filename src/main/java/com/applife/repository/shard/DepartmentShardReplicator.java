@@ -0,0 +1,62 @@
+package com.applife.repository.shard;
+
+import com.applife.model.Department;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Departments live in the directory database and a copy of the table is kept on every shard, so the
+ * shards can join an employee's department instead of loading it one query per employee.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.sharding.enabled", havingValue = "true")
+public class DepartmentShardReplicator {
+
+    private static final Logger log = LoggerFactory.getLogger(DepartmentShardReplicator.class);
+
+    private static final String UPSERT = "insert into departments (id, name) values (?, ?) on duplicate key update name = values(name)";
+
+    private final EmployeeShards shards;
+
+    private final JdbcTemplate directory;
+
+    public DepartmentShardReplicator(EmployeeShards shards,
+                                     @Qualifier("employeeDirectoryDataSource") DataSource directory) {
+        this.shards = shards;
+        this.directory = new JdbcTemplate(directory);
+    }
+
+    /**
+     * Copies every department to every shard, for shards that were added or were down while departments changed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void synchronize() {
+        List<Object[]> departments = directory.query("select id, name from departments",
+                (resultSet, rowNum) -> new Object[]{resultSet.getLong(1), resultSet.getString(2)});
+        for (int shard : shards.ids()) {
+            shards.jdbcTemplate(shard).batchUpdate(UPSERT, departments);
+        }
+        log.info("Replicated {} departments to {} employee shards", departments.size(), shards.ids().size());
+    }
+
+    public void replicate(Department department) {
+        for (int shard : shards.ids()) {
+            shards.jdbcTemplate(shard).update(UPSERT, department.getId(), department.getName());
+        }
+    }
+
+    public void remove(long departmentId) {
+        for (int shard : shards.ids()) {
+            shards.jdbcTemplate(shard).update("delete from departments where id = ?", departmentId);
+        }
+    }
+}
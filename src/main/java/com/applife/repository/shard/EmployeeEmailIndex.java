@@ -0,0 +1,81 @@
+package com.applife.repository.shard;
+
+import com.applife.exception.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Global {@code email -> employee id} index in the directory database. Email lookups read it to find the one
+ * shard to ask; the id's bucket gives the shard, so moving buckets never touches the index.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.sharding.enabled", havingValue = "true")
+public class EmployeeEmailIndex {
+
+    private final JdbcTemplate directory;
+
+    public EmployeeEmailIndex(@Qualifier("employeeDirectoryDataSource") DataSource directoryDataSource) {
+        this.directory = new JdbcTemplate(directoryDataSource);
+    }
+
+    public Optional<Long> find(String email) {
+        List<Long> ids = directory.queryForList("select employee_id from employee_email_index where email = ?", Long.class, email);
+        return ids.stream().findFirst();
+    }
+
+    /**
+     * Claims the email for a new employee before its row is inserted, so two shards cannot both accept it.
+     */
+    public void reserve(String email, long id) {
+        try {
+            directory.update("insert into employee_email_index (email, employee_id) values (?, ?)", email, id);
+        } catch (DuplicateKeyException e) {
+            throw new ResourceNotFoundException("Employee already exist with given email:" + email);
+        }
+    }
+
+    public void release(String email, long id) {
+        directory.update("delete from employee_email_index where email = ? and employee_id = ?", email, id);
+    }
+
+    /**
+     * Claims the email for an existing employee before its row is updated. Returns false when the employee owns
+     * it already, fails like {@link #reserve} when another employee does.
+     */
+    public boolean claim(String email, long id) {
+        try {
+            directory.update("insert into employee_email_index (email, employee_id) values (?, ?)", email, id);
+            return true;
+        } catch (DuplicateKeyException e) {
+            if (find(email).filter(owner -> owner == id).isPresent()) {
+                return false;
+            }
+            throw new ResourceNotFoundException("Employee already exist with given email:" + email);
+        }
+    }
+
+    /**
+     * Releases the employee's other addresses once its row carries {@code email}.
+     */
+    public void releaseOthers(String email, long id) {
+        directory.update("delete from employee_email_index where employee_id = ? and email <> ?", id, email);
+    }
+
+    public void remove(Collection<Long> ids) {
+        directory.batchUpdate("delete from employee_email_index where employee_id = ?",
+                ids.stream().map(id -> new Object[]{id}).collect(Collectors.toList()));
+    }
+
+    public void clear() {
+        directory.update("delete from employee_email_index");
+    }
+}
@@ -0,0 +1,142 @@
+package com.applife.repository.shard;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Moves buckets of employees between shards while the application keeps running:
+ * <ol>
+ *     <li>the buckets are marked as moving, which makes every instance reject writes to them;</li>
+ *     <li>their rows are copied to the target shard in keyset-ordered pages;</li>
+ *     <li>the buckets are assigned to the target, reads and writes follow as instances refresh their map;</li>
+ *     <li>the copied rows are deleted from the source shard.</li>
+ * </ol>
+ * Each step waits two map refresh intervals before the next one so that no instance still acts on the old map.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.sharding.enabled", havingValue = "true")
+public class EmployeeShardRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeShardRebalancer.class);
+
+    private final EmployeeShardRouter router;
+
+    private final EmployeeShards shards;
+
+    private final long graceMillis;
+
+    private final int pageSize;
+
+    public EmployeeShardRebalancer(EmployeeShardRouter router,
+                                   EmployeeShards shards,
+                                   @Value("${employee.sharding.refresh-interval-ms:5000}") long refreshIntervalMs,
+                                   @Value("${employee.sharding.move-page-size:1000}") int pageSize) {
+        this.router = router;
+        this.shards = shards;
+        this.graceMillis = 2 * refreshIntervalMs;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Moves the upper half of the source shard's buckets to the target shard, e.g. a newly added empty one.
+     */
+    public int split(int source, int target) throws InterruptedException {
+        List<Integer> buckets = router.bucketsOf(source);
+        if (buckets.size() < 2) {
+            throw new IllegalArgumentException("Shard " + source + " has " + buckets.size() + " buckets, nothing to split");
+        }
+        return move(buckets.subList(buckets.size() / 2, buckets.size()), target);
+    }
+
+    public synchronized int move(Collection<Integer> buckets, int target) throws InterruptedException {
+        Map<Integer, Set<Integer>> bucketsBySource = new TreeMap<>();
+        for (int bucket : buckets) {
+            int source = router.shardOfBucket(bucket);
+            if (source != target) {
+                bucketsBySource.computeIfAbsent(source, shard -> new HashSet<>()).add(bucket);
+            }
+        }
+        if (bucketsBySource.isEmpty()) {
+            return 0;
+        }
+        Set<Integer> moving = bucketsBySource.values().stream().flatMap(Set::stream).collect(Collectors.toSet());
+        router.markMoving(moving);
+
+        Map<Integer, List<Long>> copiedBySource = new TreeMap<>();
+        try {
+            Thread.sleep(graceMillis);
+            for (Map.Entry<Integer, Set<Integer>> source : bucketsBySource.entrySet()) {
+                copiedBySource.put(source.getKey(), copy(source.getKey(), target, source.getValue()));
+            }
+        } catch (RuntimeException | InterruptedException e) {
+            // nothing was switched yet: drop the partial copy and give the buckets back to their sources
+            copiedBySource.values().forEach(ids -> delete(target, ids));
+            bucketsBySource.forEach((source, sourceBuckets) -> router.assign(sourceBuckets, source));
+            throw e;
+        }
+        router.assign(moving, target);
+
+        Thread.sleep(graceMillis);
+        int moved = 0;
+        for (Map.Entry<Integer, List<Long>> copied : copiedBySource.entrySet()) {
+            delete(copied.getKey(), copied.getValue());
+            moved += copied.getValue().size();
+            log.info("Moved {} employees from shard {} to shard {}", copied.getValue().size(), copied.getKey(), target);
+        }
+        return moved;
+    }
+
+    private List<Long> copy(int source, int target, Set<Integer> buckets) {
+        JdbcTemplate from = shards.jdbcTemplate(source);
+        JdbcTemplate to = shards.jdbcTemplate(target);
+        List<Long> copied = new ArrayList<>();
+        long lastId = 0;
+        List<Object[]> page;
+        do {
+            page = from.query("select id, first_name, last_name, email, updated_at, manager_id, department_id, photo from employees where id > ? order by id limit ?",
+                    (resultSet, rowNum) -> new Object[]{resultSet.getLong(1), resultSet.getString(2), resultSet.getString(3),
+                            resultSet.getString(4), resultSet.getTimestamp(5), resultSet.getObject(6, Long.class),
+                            resultSet.getObject(7, Long.class), resultSet.getString(8)},
+                    lastId, pageSize);
+            List<Object[]> rows = new ArrayList<>();
+            for (Object[] row : page) {
+                long id = (Long) row[0];
+                if (buckets.contains(EmployeeShardRouter.bucketFor(id))) {
+                    rows.add(row);
+                    copied.add(id);
+                }
+                lastId = id;
+            }
+            // upsert, so a move that was interrupted and is started again does not fail on rows it already copied
+            to.batchUpdate("insert into employees (id, first_name, last_name, email, updated_at, manager_id, department_id, photo)"
+                    + " values (?, ?, ?, ?, ?, ?, ?, ?) on duplicate key update first_name = values(first_name),"
+                    + " last_name = values(last_name), email = values(email), updated_at = values(updated_at),"
+                    + " manager_id = values(manager_id), department_id = values(department_id), photo = values(photo)", rows);
+        } while (page.size() == pageSize);
+        return copied;
+    }
+
+    private void delete(int shard, List<Long> ids) {
+        shards.jdbcTemplate(shard).batchUpdate("delete from employees where id = ?",
+                ids.stream().map(id -> new Object[]{id}).collect(Collectors.toList()));
+    }
+
+    /**
+     * Rows and buckets per shard, for the admin endpoint.
+     */
+    public Map<Integer, String> describe() {
+        Map<Integer, String> shardStates = new TreeMap<>();
+        for (int shard : router.shards()) {
+            Long rows = shards.jdbcTemplate(shard).queryForObject("select count(*) from employees", Long.class);
+            shardStates.put(shard, router.bucketsOf(shard).size() + " buckets, " + rows + " employees");
+        }
+        return shardStates;
+    }
+}
@@ -0,0 +1,145 @@
+package com.applife.repository.shard;
+
+import com.applife.exception.EmployeeShardMovingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Maps employee ids to shards. An id hashes to one of {@link #BUCKETS} fixed buckets and the bucket to a shard
+ * through the {@code employee_shard_buckets} table in the directory database, so moving a bucket to another
+ * shard only moves its own rows. The map is re-read periodically to pick up moves made by other instances.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.sharding.enabled", havingValue = "true")
+public class EmployeeShardRouter {
+
+    public static final int BUCKETS = 1024;
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeShardRouter.class);
+
+    private final JdbcTemplate directory;
+
+    private final EmployeeShards shards;
+
+    private volatile int[] shardOfBucket;
+
+    private volatile boolean[] moving;
+
+    public EmployeeShardRouter(@Qualifier("employeeDirectoryDataSource") DataSource directoryDataSource, EmployeeShards shards) {
+        this.directory = new JdbcTemplate(directoryDataSource);
+        this.shards = shards;
+        initialize();
+        load();
+    }
+
+    public static int bucketFor(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & (BUCKETS - 1);
+    }
+
+    public int shardFor(long id) {
+        return shardOfBucket[bucketFor(id)];
+    }
+
+    public int shardOfBucket(int bucket) {
+        return shardOfBucket[bucket];
+    }
+
+    public List<Integer> shards() {
+        return shards.ids();
+    }
+
+    /**
+     * Rejects writes to buckets that are being copied to another shard; they would be lost by the move.
+     */
+    public void checkWritable(long id) {
+        if (moving[bucketFor(id)]) {
+            throw new EmployeeShardMovingException("Employee " + id + " is being moved to another shard, retry later");
+        }
+    }
+
+    public List<Integer> bucketsOf(int shard) {
+        int[] current = shardOfBucket;
+        List<Integer> buckets = new ArrayList<>();
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            if (current[bucket] == shard) {
+                buckets.add(bucket);
+            }
+        }
+        return buckets;
+    }
+
+    public void markMoving(Collection<Integer> buckets) {
+        directory.batchUpdate("update employee_shard_buckets set moving = true where bucket = ?",
+                buckets.stream().map(bucket -> new Object[]{bucket}).collect(Collectors.toList()));
+        load();
+    }
+
+    public void assign(Collection<Integer> buckets, int shard) {
+        if (!shards.contains(shard)) {
+            throw new IllegalArgumentException("Unknown employee shard " + shard);
+        }
+        directory.batchUpdate("update employee_shard_buckets set shard = ?, moving = false where bucket = ?",
+                buckets.stream().map(bucket -> new Object[]{shard, bucket}).collect(Collectors.toList()));
+        load();
+    }
+
+    @Scheduled(fixedDelayString = "${employee.sharding.refresh-interval-ms:5000}")
+    public void refresh() {
+        try {
+            load();
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh the employee shard map, keeping the previous one", e);
+        }
+    }
+
+    private void initialize() {
+        Integer assigned = directory.queryForObject("select count(*) from employee_shard_buckets", Integer.class);
+        if (assigned != null && assigned > 0) {
+            return;
+        }
+        List<Integer> ids = shards.ids();
+        List<Object[]> rows = new ArrayList<>(BUCKETS);
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            rows.add(new Object[]{bucket, ids.get(bucket % ids.size())});
+        }
+        try {
+            directory.batchUpdate("insert into employee_shard_buckets (bucket, shard, moving) values (?, ?, false)", rows);
+            log.info("Spread {} employee buckets over shards {}", BUCKETS, ids);
+        } catch (DuplicateKeyException e) {
+            // another instance initialized the map at the same time
+        }
+    }
+
+    private synchronized void load() {
+        int[] newShards = new int[BUCKETS];
+        boolean[] newMoving = new boolean[BUCKETS];
+        int[] loaded = {0};
+        directory.query("select bucket, shard, moving from employee_shard_buckets", resultSet -> {
+            int bucket = resultSet.getInt(1);
+            newShards[bucket] = resultSet.getInt(2);
+            newMoving[bucket] = resultSet.getBoolean(3);
+            loaded[0]++;
+        });
+        if (loaded[0] != BUCKETS) {
+            throw new IllegalStateException("Employee shard map has " + loaded[0] + " buckets, expected " + BUCKETS);
+        }
+        for (int shard : newShards) {
+            if (!shards.contains(shard)) {
+                throw new IllegalStateException("Employee shard map refers to unconfigured shard " + shard);
+            }
+        }
+        shardOfBucket = newShards;
+        moving = newMoving;
+    }
+}
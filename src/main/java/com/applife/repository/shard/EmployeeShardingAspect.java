@@ -0,0 +1,415 @@
+package com.applife.repository.shard;
+
+import com.applife.deadline.RequestDeadline;
+import com.applife.model.Employee;
+import com.applife.model.id.SnowflakeIds;
+import com.applife.repository.EmployeeEmail;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes every {@code EmployeeRepository} call to the shard(s) that hold the rows: by id for single-row calls,
+ * through {@link EmployeeEmailIndex} for email lookups, grouped per shard for multi-row calls and scattered
+ * to all shards in parallel otherwise. Keyset queries are merged back into one ascending id order.
+ * <p>
+ * Ids are assigned here, before the insert, because the id decides the shard.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "employee.sharding.enabled", havingValue = "true")
+public class EmployeeShardingAspect {
+
+    private static final Set<String> KEYSET_QUERIES = Set.of(
+            "findByIdGreaterThanOrderByIdAsc", "findByUpdatedAtAfterAndIdGreaterThanOrderByIdAsc", "findIdsGreaterThan",
+            "findEmailsGreaterThan", "findFieldsByIdGreaterThan", "findByDepartmentIdAndIdGreaterThanOrderByIdAsc");
+
+    private final EmployeeShardRouter router;
+
+    private final EmployeeEmailIndex emailIndex;
+
+    private final EmployeeShards shards;
+
+    private final SnowflakeIds ids;
+
+    private final ExecutorService executor;
+
+    public EmployeeShardingAspect(EmployeeShardRouter router,
+                                  EmployeeEmailIndex emailIndex,
+                                  EmployeeShards shards,
+                                  @Value("${employee.id.node-id:0}") long nodeId) {
+        this.router = router;
+        this.emailIndex = emailIndex;
+        this.shards = shards;
+        this.ids = SnowflakeIds.forNode(nodeId);
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(router.shards().size(), runnable -> {
+            Thread thread = new Thread(runnable, "employee-shard-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Around("target(com.applife.repository.EmployeeRepository)")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // the outer transaction has already bound a connection, the call would run on whichever shard that is
+            throw new IllegalStateException("EmployeeRepository calls cannot join an outer transaction when employees are sharded");
+        }
+        Object[] args = joinPoint.getArgs();
+        String method = joinPoint.getSignature().getName();
+        switch (method) {
+            case "findById":
+            case "findFieldsById":
+            case "existsById":
+            case "getById":
+            case "getOne":
+            case "findPhotoById":
+                return onShard(router.shardFor((Long) args[0]), joinPoint, args);
+            case "updatePhoto":
+                router.checkWritable((Long) args[0]);
+                return onShard(router.shardFor((Long) args[0]), joinPoint, args);
+            case "findByEmail":
+                Optional<Long> id = emailIndex.find((String) args[0]);
+                return id.isPresent() ? onShard(router.shardFor(id.get()), joinPoint, args) : Optional.empty();
+            case "save":
+            case "saveAndFlush":
+                return save(joinPoint, (Employee) args[0]);
+            case "saveAll":
+            case "saveAllAndFlush":
+                return saveAll(joinPoint, args);
+            case "findAllById":
+                return concat(scatter(joinPoint, groupByShard(args, false)).values());
+            case "deleteById":
+            case "delete":
+            case "deleteAllById":
+            case "deleteAllByIdInBatch":
+            case "deleteInBatch":
+            case "deleteAll":
+            case "deleteAllInBatch":
+                return delete(joinPoint, args);
+            default:
+                if (method.equals("findAll") && args.length == 0 || method.equals("findAllFields")) {
+                    return sortedById(owned(scatter(joinPoint, everyShard(args))), Integer.MAX_VALUE);
+                }
+                if (KEYSET_QUERIES.contains(method)) {
+                    return keysetPage(joinPoint, args);
+                }
+                return broadcast(joinPoint, args);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private Object save(ProceedingJoinPoint joinPoint, Employee employee) throws Throwable {
+        boolean created = employee.getId() == 0;
+        if (created) {
+            employee.setId(ids.next());
+        }
+        router.checkWritable(employee.getId());
+        // the new address is claimed before the row changes, the old one released only after
+        boolean claimed = created ? reserveEmail(employee) : emailIndex.claim(employee.getEmail(), employee.getId());
+        try {
+            Object saved = onShard(router.shardFor(employee.getId()), joinPoint, new Object[]{employee});
+            if (!created) {
+                emailIndex.releaseOthers(employee.getEmail(), employee.getId());
+            }
+            return saved;
+        } catch (Throwable e) {
+            if (claimed) {
+                emailIndex.release(employee.getEmail(), employee.getId());
+            }
+            if (created) {
+                employee.setId(0);
+            }
+            throw e;
+        }
+    }
+
+    private Object saveAll(ProceedingJoinPoint joinPoint, Object[] args) throws Throwable {
+        List<Employee> employees = new ArrayList<>();
+        List<Employee> created = new ArrayList<>();
+        Set<Long> createdIds = new HashSet<>();
+        for (Object element : (Iterable<?>) args[0]) {
+            Employee employee = (Employee) element;
+            if (employee.getId() == 0) {
+                employee.setId(ids.next());
+                created.add(employee);
+                createdIds.add(employee.getId());
+            }
+            router.checkWritable(employee.getId());
+            employees.add(employee);
+        }
+        Set<Employee> reserved = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Employee> claimed = new ArrayList<>();
+        try {
+            for (Employee employee : created) {
+                reserveEmail(employee);
+                reserved.add(employee);
+            }
+            for (Employee employee : employees) {
+                if (!createdIds.contains(employee.getId()) && emailIndex.claim(employee.getEmail(), employee.getId())) {
+                    claimed.add(employee);
+                }
+            }
+            Map<Long, Object> saved = new HashMap<>();
+            for (Object result : concat(scatter(joinPoint, groupByShard(new Object[]{employees}, true)).values())) {
+                saved.put(((Employee) result).getId(), result);
+            }
+            for (Employee employee : employees) {
+                if (!createdIds.contains(employee.getId())) {
+                    emailIndex.releaseOthers(employee.getEmail(), employee.getId());
+                }
+            }
+            List<Object> ordered = new ArrayList<>(employees.size());
+            employees.forEach(employee -> ordered.add(saved.get(employee.getId())));
+            return ordered;
+        } catch (Throwable e) {
+            // a shard that failed rolled back on its own, the others keep their rows and their index entries
+            for (Employee employee : created) {
+                if (!reserved.contains(employee)) {
+                    employee.setId(0);
+                } else if (!existsOnShard(employee.getId())) {
+                    emailIndex.release(employee.getEmail(), employee.getId());
+                    employee.setId(0);
+                }
+            }
+            for (Employee employee : claimed) {
+                if (employee.getEmail().equals(emailOnShard(employee.getId()))) {
+                    emailIndex.releaseOthers(employee.getEmail(), employee.getId());
+                } else {
+                    emailIndex.release(employee.getEmail(), employee.getId());
+                }
+            }
+            throw e;
+        }
+    }
+
+    private Object delete(ProceedingJoinPoint joinPoint, Object[] args) throws Throwable {
+        if (args.length == 0) {
+            scatter(joinPoint, everyShard(args));
+            emailIndex.clear();
+            return null;
+        }
+        List<Long> deleted = new ArrayList<>();
+        if (args[0] instanceof Iterable) {
+            for (Object element : (Iterable<?>) args[0]) {
+                deleted.add(idOf(element));
+            }
+            deleted.forEach(router::checkWritable);
+            scatter(joinPoint, groupByShard(args, true));
+        } else {
+            long id = idOf(args[0]);
+            router.checkWritable(id);
+            deleted.add(id);
+            onShard(router.shardFor(id), joinPoint, args);
+        }
+        emailIndex.remove(deleted);
+        return null;
+    }
+
+    /**
+     * Each shard returns its own page past the key and the smallest ids of all of them form the merged page.
+     * Rows a shard no longer owns (mid-move) are dropped, so a full shard page may shrink; the merged page is
+     * then only complete up to that shard's last id and the query is repeated from there.
+     */
+    private Object keysetPage(ProceedingJoinPoint joinPoint, Object[] args) throws Throwable {
+        Pageable pageable = (Pageable) args[args.length - 1];
+        if (pageable.getPageNumber() != 0) {
+            throw new UnsupportedOperationException("Keyset queries across employee shards only support the first page");
+        }
+        int keyIndex = args.length - 2;
+        Object[] pageArgs = args.clone();
+        List<Object> page = new ArrayList<>();
+        while (true) {
+            Map<Integer, Object> results = scatter(joinPoint, everyShard(pageArgs));
+            long bound = Long.MAX_VALUE;
+            for (Object result : results.values()) {
+                List<?> rows = (List<?>) result;
+                if (rows.size() == pageable.getPageSize()) {
+                    bound = Math.min(bound, idOf(rows.get(rows.size() - 1)));
+                }
+            }
+            for (Object row : sortedById(owned(results), Integer.MAX_VALUE)) {
+                if (idOf(row) > bound || page.size() == pageable.getPageSize()) {
+                    break;
+                }
+                page.add(row);
+            }
+            if (page.size() == pageable.getPageSize() || bound == Long.MAX_VALUE) {
+                return page;
+            }
+            pageArgs[keyIndex] = bound;
+        }
+    }
+
+    private Object broadcast(ProceedingJoinPoint joinPoint, Object[] args) throws Throwable {
+        for (Object arg : args) {
+            if (arg instanceof Pageable || arg instanceof Sort) {
+                throw new UnsupportedOperationException(joinPoint.getSignature().getName() + " with paging or sorting is not supported across employee shards");
+            }
+        }
+        Map<Integer, Object> results = scatter(joinPoint, everyShard(args));
+        Class<?> returnType = ((MethodSignature) joinPoint.getSignature()).getReturnType();
+        if (returnType == void.class) {
+            return null;
+        }
+        if (Collection.class.isAssignableFrom(returnType)) {
+            return owned(results);
+        }
+        if (returnType == Optional.class) {
+            Map<Integer, Object> unwrapped = new LinkedHashMap<>();
+            results.forEach((shard, result) -> unwrapped.put(shard, ((Optional<?>) result).orElse(null)));
+            return owned(unwrapped).stream().findFirst();
+        }
+        if (returnType == Employee.class) {
+            return owned(results).stream().findFirst().orElse(null);
+        }
+        // counts include rows still being copied to or deleted from another shard during a move
+        if (returnType == long.class || returnType == Long.class) {
+            return results.values().stream().mapToLong(result -> (Long) result).sum();
+        }
+        if (returnType == boolean.class || returnType == Boolean.class) {
+            return results.values().stream().anyMatch(Boolean.TRUE::equals);
+        }
+        throw new UnsupportedOperationException(joinPoint.getSignature().getName() + " is not supported across employee shards");
+    }
+
+    private boolean reserveEmail(Employee employee) {
+        try {
+            emailIndex.reserve(employee.getEmail(), employee.getId());
+            return true;
+        } catch (RuntimeException e) {
+            employee.setId(0);
+            throw e;
+        }
+    }
+
+    private String emailOnShard(long id) {
+        List<String> emails = shards.jdbcTemplate(router.shardFor(id)).queryForList("select email from employees where id = ?", String.class, id);
+        return emails.isEmpty() ? null : emails.get(0);
+    }
+
+    private boolean existsOnShard(long id) {
+        Integer count = shards.jdbcTemplate(router.shardFor(id)).queryForObject("select count(*) from employees where id = ?", Integer.class, id);
+        return count != null && count > 0;
+    }
+
+    private Map<Integer, Object[]> everyShard(Object[] args) {
+        Map<Integer, Object[]> argsByShard = new LinkedHashMap<>();
+        router.shards().forEach(shard -> argsByShard.put(shard, args));
+        return argsByShard;
+    }
+
+    /**
+     * Splits the collection in the first argument into one call per shard.
+     */
+    private Map<Integer, Object[]> groupByShard(Object[] args, boolean asList) {
+        Map<Integer, List<Object>> elementsByShard = new LinkedHashMap<>();
+        for (Object element : (Iterable<?>) args[0]) {
+            elementsByShard.computeIfAbsent(router.shardFor(idOf(element)), shard -> new ArrayList<>()).add(element);
+        }
+        Map<Integer, Object[]> argsByShard = new LinkedHashMap<>();
+        elementsByShard.forEach((shard, elements) -> {
+            Object[] shardArgs = args.clone();
+            shardArgs[0] = asList ? elements : new LinkedHashSet<>(elements);
+            argsByShard.put(shard, shardArgs);
+        });
+        return argsByShard;
+    }
+
+    private Map<Integer, Object> scatter(ProceedingJoinPoint joinPoint, Map<Integer, Object[]> argsByShard) throws Throwable {
+        if (argsByShard.size() == 1) {
+            Map.Entry<Integer, Object[]> only = argsByShard.entrySet().iterator().next();
+            return Collections.singletonMap(only.getKey(), onShard(only.getKey(), joinPoint, only.getValue()));
+        }
+        Map<Integer, Future<Object>> futures = new LinkedHashMap<>();
+        Long deadline = RequestDeadline.current();
+        argsByShard.forEach((shard, args) -> futures.put(shard, executor.submit(() -> {
+            Long previous = RequestDeadline.select(deadline);
+            try {
+                return onShard(shard, joinPoint, args);
+            } catch (Exception e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new ExecutionException(e);
+            } finally {
+                RequestDeadline.restore(previous);
+            }
+        })));
+        Map<Integer, Object> results = new LinkedHashMap<>();
+        for (Map.Entry<Integer, Future<Object>> future : futures.entrySet()) {
+            try {
+                results.put(future.getKey(), future.getValue().get());
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof ExecutionException ? e.getCause().getCause() : e.getCause();
+            }
+        }
+        return results;
+    }
+
+    private static Object onShard(int shard, ProceedingJoinPoint joinPoint, Object[] args) throws Throwable {
+        Integer previous = EmployeeShardRoutingDataSource.select(shard);
+        try {
+            return joinPoint.proceed(args);
+        } finally {
+            EmployeeShardRoutingDataSource.restore(previous);
+        }
+    }
+
+    private static List<Object> concat(Collection<Object> results) {
+        List<Object> all = new ArrayList<>();
+        results.forEach(result -> all.addAll((Collection<?>) result));
+        return all;
+    }
+
+    /**
+     * Collects the rows each shard returned, minus the ones whose bucket now belongs to another shard.
+     */
+    private List<Object> owned(Map<Integer, Object> results) {
+        List<Object> rows = new ArrayList<>();
+        results.forEach((shard, result) -> {
+            Collection<?> shardRows = result instanceof Collection ? (Collection<?>) result : Collections.singleton(result);
+            for (Object row : shardRows) {
+                if (row == null) {
+                    continue;
+                }
+                if (!hasId(row) || router.shardFor(idOf(row)) == shard) {
+                    rows.add(row);
+                }
+            }
+        });
+        return rows;
+    }
+
+    private static List<Object> sortedById(List<Object> rows, int limit) {
+        rows.sort(Comparator.comparingLong(EmployeeShardingAspect::idOf));
+        return rows.size() > limit ? new ArrayList<>(rows.subList(0, limit)) : rows;
+    }
+
+    private static boolean hasId(Object value) {
+        return value instanceof Employee || value instanceof EmployeeEmail || value instanceof Long;
+    }
+
+    private static long idOf(Object value) {
+        if (value instanceof Employee) {
+            return ((Employee) value).getId();
+        }
+        return value instanceof EmployeeEmail ? ((EmployeeEmail) value).getId() : (Long) value;
+    }
+}
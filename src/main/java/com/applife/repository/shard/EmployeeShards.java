@@ -0,0 +1,56 @@
+package com.applife.repository.shard;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * The shard databases of the employees table by shard number, with a {@link JdbcTemplate} for each one
+ * for the tools that work on a shard directly instead of going through {@code EmployeeRepository}.
+ */
+public class EmployeeShards implements Closeable {
+
+    private final SortedMap<Integer, DataSource> dataSources;
+
+    private final Map<Integer, JdbcTemplate> jdbcTemplates = new HashMap<>();
+
+    public EmployeeShards(Map<Integer, DataSource> dataSources) {
+        if (dataSources.isEmpty()) {
+            throw new IllegalArgumentException("At least one employee shard must be configured");
+        }
+        this.dataSources = Collections.unmodifiableSortedMap(new TreeMap<>(dataSources));
+        this.dataSources.forEach((shard, dataSource) -> jdbcTemplates.put(shard, new JdbcTemplate(dataSource)));
+    }
+
+    public List<Integer> ids() {
+        return new ArrayList<>(dataSources.keySet());
+    }
+
+    public boolean contains(int shard) {
+        return dataSources.containsKey(shard);
+    }
+
+    public Map<Integer, DataSource> dataSources() {
+        return dataSources;
+    }
+
+    public JdbcTemplate jdbcTemplate(int shard) {
+        JdbcTemplate jdbcTemplate = jdbcTemplates.get(shard);
+        if (jdbcTemplate == null) {
+            throw new IllegalArgumentException("Unknown employee shard " + shard);
+        }
+        return jdbcTemplate;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource dataSource : dataSources.values()) {
+            if (dataSource instanceof Closeable) {
+                ((Closeable) dataSource).close();
+            }
+        }
+    }
+}
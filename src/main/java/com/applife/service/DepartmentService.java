@@ -0,0 +1,30 @@
+package com.applife.service;
+
+import com.applife.model.Department;
+import com.applife.model.DepartmentStats;
+import com.applife.model.Employee;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface DepartmentService {
+
+    Department createDepartment(Department department);
+
+    List<Department> getAllDepartments();
+
+    Optional<Department> getDepartmentById(long id);
+
+    void deleteDepartment(long id);
+
+    List<Employee> getEmployees(long departmentId, long afterId, int limit);
+
+    List<DepartmentStats> getDepartmentStats();
+
+    /**
+     * Replaces the department references of the employees, which may only carry an id, with the
+     * departments themselves, loaded in one query.
+     */
+    void resolveDepartments(Collection<Employee> employees);
+}
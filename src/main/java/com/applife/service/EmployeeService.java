@@ -1,6 +1,7 @@
 package com.applife.service;
 
 import com.applife.model.Employee;
+import com.applife.model.EmployeeFields;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,10 +12,24 @@ public interface EmployeeService {
 
     List<Employee> getAllEmployees();
 
+    List<Employee> getAllEmployees(EmployeeFields fields);
+
+    List<Employee> getEmployeesAfter(long afterId, int limit);
+
+    List<Employee> getEmployeesAfter(long afterId, int limit, EmployeeFields fields);
+
     Optional<Employee> getEmployeeById(long id);
 
+    Optional<Employee> getEmployeeById(long id, EmployeeFields fields);
+
     Employee updateEmployee(Employee updatedEmployee);
 
     void deleteEmployee(long id);
 
+    List<Employee> getReports(long id, int maxDepth);
+
+    List<Employee> getManagementChain(long id);
+
+    List<Employee> searchEmployees(String query, int limit);
+
 }
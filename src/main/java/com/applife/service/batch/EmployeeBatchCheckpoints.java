@@ -0,0 +1,142 @@
+package com.applife.service.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Progress of the batch jobs in {@code employee_batch_jobs}, one row per job name. A running job belongs to the
+ * node that last wrote its heartbeat; every checkpoint is conditional on still being that owner, so once a lease
+ * has run out and another node claimed the job, the old run stops at its next checkpoint.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.batch.enabled", havingValue = "true")
+public class EmployeeBatchCheckpoints {
+
+    public static final String RUNNING = "RUNNING";
+
+    public static final String SUCCEEDED = "SUCCEEDED";
+
+    public static final String FAILED = "FAILED";
+
+    public static final String CANCELLED = "CANCELLED";
+
+    private static final String COLUMNS = "name, parameters, status, last_id, processed, changed, owner, heartbeat_at,"
+            + " started_at, finished_at, error";
+
+    private static final RowMapper<Checkpoint> CHECKPOINT_MAPPER = (resultSet, rowNum) -> new Checkpoint(
+            resultSet.getString("name"),
+            resultSet.getString("parameters"),
+            resultSet.getString("status"),
+            resultSet.getLong("last_id"),
+            resultSet.getLong("processed"),
+            resultSet.getLong("changed"),
+            resultSet.getString("owner"),
+            resultSet.getTimestamp("heartbeat_at"),
+            resultSet.getTimestamp("started_at").toInstant(),
+            resultSet.getTimestamp("finished_at") == null ? null : resultSet.getTimestamp("finished_at").toInstant(),
+            resultSet.getString("error"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EmployeeBatchCheckpoints(DataSource dataSource) {
+        new ResourceDatabasePopulator(new ClassPathResource("db/employee-batch-schema.sql")).execute(dataSource);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Starts the job from the beginning for {@code owner}. False when it is running and its lease is still valid.
+     */
+    public boolean start(String name, String parameters, String owner, Instant now, Instant leaseCutoff) {
+        Timestamp at = Timestamp.from(now);
+        try {
+            jdbcTemplate.update("insert into employee_batch_jobs (" + COLUMNS + ") values (?, ?, ?, 0, 0, 0, ?, ?, ?, null, null)",
+                    name, parameters, RUNNING, owner, at, at);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return jdbcTemplate.update("update employee_batch_jobs set parameters = ?, status = ?, last_id = 0, processed = 0,"
+                    + " changed = 0, owner = ?, heartbeat_at = ?, started_at = ?, finished_at = null, error = null"
+                    + " where name = ? and (status <> ? or heartbeat_at < ?)",
+                    parameters, RUNNING, owner, at, at, name, RUNNING, Timestamp.from(leaseCutoff)) == 1;
+        }
+    }
+
+    /**
+     * Takes over the running jobs whose owner has not written a heartbeat since {@code leaseCutoff}.
+     */
+    public List<Checkpoint> claimStale(String owner, Instant now, Instant leaseCutoff) {
+        List<Checkpoint> claimed = new ArrayList<>();
+        for (Checkpoint stale : jdbcTemplate.query("select " + COLUMNS + " from employee_batch_jobs where status = ? and heartbeat_at < ?",
+                CHECKPOINT_MAPPER, RUNNING, Timestamp.from(leaseCutoff))) {
+            // another node may claim it at the same time, only one update matches the old heartbeat
+            if (jdbcTemplate.update("update employee_batch_jobs set owner = ?, heartbeat_at = ? where name = ? and owner = ? and heartbeat_at = ?",
+                    owner, Timestamp.from(now), stale.getName(), stale.getOwner(), stale.getHeartbeatAt()) == 1) {
+                claimed.add(stale);
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * Records that every employee up to {@code lastId} is done. False when the job is no longer owned by {@code owner}.
+     */
+    public boolean advance(String name, String owner, long lastId, long processed, long changed, Instant now) {
+        return jdbcTemplate.update("update employee_batch_jobs set last_id = ?, processed = ?, changed = ?, heartbeat_at = ?"
+                + " where name = ? and owner = ? and status = ?", lastId, processed, changed, Timestamp.from(now), name, owner, RUNNING) == 1;
+    }
+
+    public void finish(String name, String owner, String status, String error, Instant now) {
+        jdbcTemplate.update("update employee_batch_jobs set status = ?, error = ?, finished_at = ?, heartbeat_at = ?"
+                + " where name = ? and owner = ? and status = ?", status, error, Timestamp.from(now), Timestamp.from(now), name, owner, RUNNING);
+    }
+
+    public Optional<Checkpoint> find(String name) {
+        return jdbcTemplate.query("select " + COLUMNS + " from employee_batch_jobs where name = ?", CHECKPOINT_MAPPER, name)
+                .stream().findFirst();
+    }
+
+    public List<Checkpoint> findAll() {
+        return jdbcTemplate.query("select " + COLUMNS + " from employee_batch_jobs order by name", CHECKPOINT_MAPPER);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Checkpoint {
+
+        private final String name;
+
+        private final String parameters;
+
+        private final String status;
+
+        private final long lastId;
+
+        private final long processed;
+
+        private final long changed;
+
+        private final String owner;
+
+        // kept as read, the claim compares it with the stored value
+        private final Timestamp heartbeatAt;
+
+        private final Instant startedAt;
+
+        private final Instant finishedAt;
+
+        private final String error;
+    }
+}
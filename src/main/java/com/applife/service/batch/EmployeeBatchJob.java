@@ -0,0 +1,29 @@
+package com.applife.service.batch;
+
+import com.applife.model.Employee;
+
+import java.util.Map;
+
+/**
+ * A change applied to every employee by {@link EmployeeBatchJobs}. The job is called on a detached copy to find
+ * the employees it changes and again on each of those rows when they are written, so {@link #apply} may only
+ * depend on the employee, the parameters and what it reads from the database at the time.
+ */
+public interface EmployeeBatchJob {
+
+    /**
+     * The name the job is started with and checkpointed under.
+     */
+    String name();
+
+    /**
+     * Rejects parameters the job cannot run with, before anything is read.
+     */
+    default void validate(Map<String, String> parameters) {
+    }
+
+    /**
+     * Changes the employee, true when anything changed.
+     */
+    boolean apply(Employee employee, Map<String, String> parameters);
+}
@@ -0,0 +1,367 @@
+package com.applife.service.batch;
+
+import com.applife.model.Employee;
+import com.applife.model.EmployeeBatchJobStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs {@link EmployeeBatchJob}s over the whole employees table as a pipeline: a reader walks keyset pages from
+ * the checkpoint on, {@code workers} threads apply the job to each page to find the rows it changes, and a writer
+ * writes those in one transaction per page and checkpoints the page. Bounded queues between the stages keep at
+ * most a few pages in memory and make the reader wait for slow writes. Pages are checkpointed in id order, so
+ * the stored {@code last_id} never passes a page that is not written yet.
+ * <p>
+ * A run that dies with its node keeps its {@code RUNNING} row; once the lease has run out, the next node to
+ * look (this one after a restart included) claims it and continues after the checkpoint. Jobs re-check every
+ * row they write, so the pages done again after a crash are not changed twice.
+ */
+@Service
+@ConditionalOnProperty(name = "employee.batch.enabled", havingValue = "true")
+public class EmployeeBatchJobs {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeBatchJobs.class);
+
+    private static final TypeReference<Map<String, String>> PARAMETERS = new TypeReference<>() {
+    };
+
+    private static final Page END = new Page(-1, 0, List.of());
+
+    private final Map<String, EmployeeBatchJob> jobs;
+
+    private final EmployeeBatchSteps steps;
+
+    private final EmployeeBatchCheckpoints checkpoints;
+
+    private final ObjectMapper objectMapper;
+
+    private final int pageSize;
+
+    private final int workers;
+
+    private final int queueCapacity;
+
+    private final long leaseMillis;
+
+    private final String owner = UUID.randomUUID().toString();
+
+    private final Map<String, Run> runs = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "employee-batch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean stopping;
+
+    public EmployeeBatchJobs(List<EmployeeBatchJob> jobs,
+                             EmployeeBatchSteps steps,
+                             EmployeeBatchCheckpoints checkpoints,
+                             ObjectMapper objectMapper,
+                             @Value("${employee.batch.page-size:1000}") int pageSize,
+                             @Value("${employee.batch.workers:2}") int workers,
+                             @Value("${employee.batch.queue-capacity:4}") int queueCapacity,
+                             @Value("${employee.batch.lease-ms:60000}") long leaseMillis) {
+        this.jobs = jobs.stream().collect(Collectors.toMap(EmployeeBatchJob::name, Function.identity()));
+        this.steps = steps;
+        this.checkpoints = checkpoints;
+        this.objectMapper = objectMapper;
+        this.pageSize = pageSize;
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+        this.leaseMillis = leaseMillis;
+    }
+
+    public boolean exists(String name) {
+        return jobs.containsKey(name);
+    }
+
+    /**
+     * Starts the job from the first employee. False when it is already running, here or on another node.
+     */
+    public boolean start(String name, Map<String, String> parameters) {
+        EmployeeBatchJob job = jobs.get(name);
+        job.validate(parameters);
+        Instant now = Instant.now();
+        if (runs.containsKey(name) || !checkpoints.start(name, json(parameters), owner, now, now.minusMillis(leaseMillis))) {
+            return false;
+        }
+        launch(job, parameters, 0, 0, 0);
+        return true;
+    }
+
+    /**
+     * Stops the run of the job on this node after the pages already read. False when it does not run here.
+     */
+    public boolean cancel(String name) {
+        Run run = runs.get(name);
+        if (run == null) {
+            return false;
+        }
+        run.cancelled = true;
+        return true;
+    }
+
+    public List<EmployeeBatchJobStatus> statuses() {
+        return checkpoints.findAll().stream().map(this::status).collect(Collectors.toList());
+    }
+
+    public Optional<EmployeeBatchJobStatus> status(String name) {
+        return checkpoints.find(name).map(this::status);
+    }
+
+    @Scheduled(fixedDelayString = "${employee.batch.resume-interval-ms:30000}")
+    public void resumeStale() {
+        Instant now = Instant.now();
+        for (EmployeeBatchCheckpoints.Checkpoint checkpoint : checkpoints.claimStale(owner, now, now.minusMillis(leaseMillis))) {
+            if (runs.containsKey(checkpoint.getName())) {
+                // our own run, slow enough to miss its lease; the claim has renewed it
+                continue;
+            }
+            EmployeeBatchJob job = jobs.get(checkpoint.getName());
+            if (job == null) {
+                checkpoints.finish(checkpoint.getName(), owner, EmployeeBatchCheckpoints.FAILED, "No batch job with this name", now);
+                continue;
+            }
+            log.info("Resuming batch job {} after employee {}", checkpoint.getName(), checkpoint.getLastId());
+            launch(job, parameters(checkpoint.getParameters()), checkpoint.getLastId(), checkpoint.getProcessed(), checkpoint.getChanged());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // runs stopped here stay RUNNING and are resumed once their lease has run out
+        stopping = true;
+        executor.shutdownNow();
+    }
+
+    private void launch(EmployeeBatchJob job, Map<String, String> parameters, long afterId, long processed, long changed) {
+        Run run = new Run(job, parameters, processed, changed);
+        runs.put(job.name(), run);
+        run.start(afterId);
+    }
+
+    private EmployeeBatchJobStatus status(EmployeeBatchCheckpoints.Checkpoint checkpoint) {
+        Run run = runs.get(checkpoint.getName());
+        return new EmployeeBatchJobStatus(checkpoint.getName(), checkpoint.getStatus(), parameters(checkpoint.getParameters()),
+                checkpoint.getLastId(), checkpoint.getProcessed(), checkpoint.getChanged(),
+                run == null ? 0 : run.rowsPerSecond(), run == null ? 0 : run.lagRows(),
+                checkpoint.getStartedAt(), checkpoint.getFinishedAt(), checkpoint.getError());
+    }
+
+    private String json(Map<String, String> parameters) {
+        try {
+            return objectMapper.writeValueAsString(new TreeMap<>(parameters));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Map<String, String> parameters(String json) {
+        try {
+            return objectMapper.readValue(json, PARAMETERS);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable batch job parameters " + json, e);
+        }
+    }
+
+    private static final class Page {
+
+        private final long seq;
+
+        private final long lastId;
+
+        private final List<Employee> employees;
+
+        private final int rows;
+
+        private final List<Long> changedIds;
+
+        Page(long seq, long lastId, List<Employee> employees) {
+            this(seq, lastId, employees, employees.size(), List.of());
+        }
+
+        private Page(long seq, long lastId, List<Employee> employees, int rows, List<Long> changedIds) {
+            this.seq = seq;
+            this.lastId = lastId;
+            this.employees = employees;
+            this.rows = rows;
+            this.changedIds = changedIds;
+        }
+
+        Page filtered(List<Long> changedIds) {
+            // the employees are not needed any more, only their ids travel on to the writer
+            return new Page(seq, lastId, List.of(), rows, changedIds);
+        }
+    }
+
+    private final class Run {
+
+        private final EmployeeBatchJob job;
+
+        private final Map<String, String> parameters;
+
+        private final BlockingQueue<Page> pages = new ArrayBlockingQueue<>(queueCapacity);
+
+        private final BlockingQueue<Page> results = new ArrayBlockingQueue<>(queueCapacity);
+
+        private final List<Future<?>> tasks = new ArrayList<>();
+
+        private final AtomicBoolean ended = new AtomicBoolean();
+
+        private final AtomicLong read = new AtomicLong();
+
+        private final long startNanos = System.nanoTime();
+
+        private volatile long written;
+
+        private volatile boolean cancelled;
+
+        // owned by the writer
+        private long processed;
+
+        private long changed;
+
+        Run(EmployeeBatchJob job, Map<String, String> parameters, long processed, long changed) {
+            this.job = job;
+            this.parameters = parameters;
+            this.processed = processed;
+            this.changed = changed;
+        }
+
+        synchronized void start(long afterId) {
+            tasks.add(executor.submit(() -> read(afterId)));
+            for (int i = 0; i < workers; i++) {
+                tasks.add(executor.submit(this::filter));
+            }
+            tasks.add(executor.submit(this::write));
+        }
+
+        double rowsPerSecond() {
+            return written * 1e9 / Math.max(1, System.nanoTime() - startNanos);
+        }
+
+        long lagRows() {
+            return read.get() - written;
+        }
+
+        private void read(long afterId) {
+            try {
+                long seq = 0;
+                for (long after = afterId; !cancelled; ) {
+                    List<Employee> employees = steps.readPage(after, pageSize);
+                    if (employees.isEmpty()) {
+                        break;
+                    }
+                    after = employees.get(employees.size() - 1).getId();
+                    read.addAndGet(employees.size());
+                    pages.put(new Page(seq++, after, employees));
+                    if (employees.size() < pageSize) {
+                        break;
+                    }
+                }
+                for (int i = 0; i < workers; i++) {
+                    pages.put(END);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        private void filter() {
+            try {
+                for (Page page; (page = pages.take()) != END; ) {
+                    List<Long> changedIds = new ArrayList<>();
+                    for (Employee employee : page.employees) {
+                        if (job.apply(employee, parameters)) {
+                            changedIds.add(employee.getId());
+                        }
+                    }
+                    results.put(page.filtered(changedIds));
+                }
+                results.put(END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        private void write() {
+            try {
+                // workers finish pages out of order, they wait here until the pages before them are written
+                Map<Long, Page> early = new HashMap<>();
+                long next = 0;
+                for (int endedWorkers = 0; endedWorkers < workers; ) {
+                    Page page = results.take();
+                    if (page == END) {
+                        endedWorkers++;
+                        continue;
+                    }
+                    early.put(page.seq, page);
+                    for (Page ready; (ready = early.remove(next)) != null; next++) {
+                        if (!ready.changedIds.isEmpty()) {
+                            changed += steps.write(job, parameters, ready.changedIds);
+                        }
+                        processed += ready.rows;
+                        if (!checkpoints.advance(job.name(), owner, ready.lastId, processed, changed, Instant.now())) {
+                            log.warn("Batch job {} was taken over by another node, stopping here", job.name());
+                            end(null, null);
+                            return;
+                        }
+                        written += ready.rows;
+                    }
+                }
+                end(cancelled ? EmployeeBatchCheckpoints.CANCELLED : EmployeeBatchCheckpoints.SUCCEEDED, null);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        private void fail(RuntimeException e) {
+            if (stopping) {
+                return;
+            }
+            log.warn("Batch job {} failed, it can be started again", job.name(), e);
+            String error = String.valueOf(e.getMessage());
+            end(EmployeeBatchCheckpoints.FAILED, error.length() > 1000 ? error.substring(0, 1000) : error);
+        }
+
+        private void end(String status, String error) {
+            if (!ended.compareAndSet(false, true)) {
+                return;
+            }
+            if (status != null) {
+                checkpoints.finish(job.name(), owner, status, error, Instant.now());
+                log.info("Batch job {} {}: {} employees processed, {} changed in {} ms", job.name(), status.toLowerCase(Locale.ROOT),
+                        processed, changed, (System.nanoTime() - startNanos) / 1_000_000);
+            }
+            runs.remove(job.name(), this);
+            synchronized (this) {
+                // the other stages may be waiting on a queue nobody serves any more
+                tasks.forEach(task -> task.cancel(true));
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.applife.service.batch;
+
+import com.applife.event.EmployeeChangedEvent;
+import com.applife.model.Employee;
+import com.applife.repository.EmployeeRepository;
+import com.applife.repository.shard.EmployeeShards;
+import com.applife.service.bulkhead.Workload;
+import com.applife.service.bulkhead.WorkloadClass;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * The database side of a batch job run, a bean of its own so that the pipeline threads go through the batch
+ * workload. Every page is read and every chunk written with a persistence context of its own, so memory stays
+ * bounded by the page size. Writes go through Hibernate rather than a stateless session: the history capture
+ * listeners and the update timestamp only run for managed entities.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.batch.enabled", havingValue = "true")
+public class EmployeeBatchSteps {
+
+    private final EmployeeRepository employeeRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final boolean sharded;
+
+    public EmployeeBatchSteps(EmployeeRepository employeeRepository,
+                              PlatformTransactionManager transactionManager,
+                              ApplicationEventPublisher eventPublisher,
+                              ObjectProvider<EmployeeShards> shards) {
+        this.employeeRepository = employeeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.sharded = shards.getIfAvailable() != null;
+    }
+
+    @Workload(WorkloadClass.BATCH)
+    public List<Employee> readPage(long afterId, int pageSize) {
+        return employeeRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, pageSize));
+    }
+
+    /**
+     * For jobs that must not give an employee an email another one already has.
+     */
+    @Workload(WorkloadClass.BATCH)
+    public Optional<Employee> findByEmail(String email) {
+        return employeeRepository.findByEmail(email);
+    }
+
+    /**
+     * Applies the job to the current rows of {@code ids} in one transaction (one per shard when sharded) and
+     * returns how many changed. The rows are read again, so a change made since the page was read is not
+     * overwritten.
+     */
+    @Workload(WorkloadClass.BATCH)
+    public int write(EmployeeBatchJob job, Map<String, String> parameters, Collection<Long> ids) {
+        if (sharded) {
+            // repository calls cannot join a transaction here, saveAll writes each shard in one of its own
+            return writeChanged(job, parameters, ids);
+        }
+        Integer changed = transactionTemplate.execute(status -> writeChanged(job, parameters, ids));
+        return changed == null ? 0 : changed;
+    }
+
+    private int writeChanged(EmployeeBatchJob job, Map<String, String> parameters, Collection<Long> ids) {
+        // one SELECT ... IN for the chunk; rows deleted in the meantime simply drop out
+        List<Employee> employees = employeeRepository.findAllById(ids).stream()
+                .filter(employee -> job.apply(employee, parameters))
+                .collect(Collectors.toList());
+        employeeRepository.saveAll(employees)
+                .forEach(employee -> eventPublisher.publishEvent(EmployeeChangedEvent.updated(employee)));
+        return employees.size();
+    }
+}
@@ -0,0 +1,62 @@
+package com.applife.service.batch;
+
+import com.applife.model.Employee;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Trims emails and lower-cases their domain. The local part is left alone, mail servers may treat its case as
+ * significant. An email whose normalized form another employee already has is left as it is and logged, so the
+ * duplicate can be resolved by hand.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.batch.enabled", havingValue = "true")
+public class NormalizeEmailsJob implements EmployeeBatchJob {
+
+    private static final Logger log = LoggerFactory.getLogger(NormalizeEmailsJob.class);
+
+    private final EmployeeBatchSteps steps;
+
+    public NormalizeEmailsJob(EmployeeBatchSteps steps) {
+        this.steps = steps;
+    }
+
+    @Override
+    public String name() {
+        return "normalize-emails";
+    }
+
+    @Override
+    public boolean apply(Employee employee, Map<String, String> parameters) {
+        String email = employee.getEmail().trim();
+        int at = email.lastIndexOf('@');
+        if (at >= 0) {
+            email = email.substring(0, at + 1) + email.substring(at + 1).toLowerCase(Locale.ROOT);
+        }
+        if (email.equals(employee.getEmail())) {
+            return false;
+        }
+        if (takenByAnother(email, employee.getId())) {
+            log.warn("Not normalizing the email of employee {}, another employee already has its normalized form", employee.getId());
+            return false;
+        }
+        employee.setEmail(email);
+        return true;
+    }
+
+    private boolean takenByAnother(String email, long id) {
+        try {
+            // the collation may match the employee itself, only a different id is a collision
+            return steps.findByEmail(email).filter(other -> other.getId() != id).isPresent();
+        } catch (IncorrectResultSizeDataAccessException e) {
+            // the employee and at least one other
+            return true;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.applife.service.batch;
+
+import com.applife.exception.InvalidEmployeeBatchJobException;
+import com.applife.model.Employee;
+import com.applife.service.hierarchy.EmployeeHierarchy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Moves every direct report of manager {@code from} to manager {@code to}.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.batch.enabled", havingValue = "true")
+public class ReassignManagerJob implements EmployeeBatchJob {
+
+    private final EmployeeHierarchy hierarchy;
+
+    public ReassignManagerJob(EmployeeHierarchy hierarchy) {
+        this.hierarchy = hierarchy;
+    }
+
+    @Override
+    public String name() {
+        return "reassign-manager";
+    }
+
+    @Override
+    public void validate(Map<String, String> parameters) {
+        long from = id(parameters, "from");
+        long to = id(parameters, "to");
+        // the reports of "from" would form a loop under anyone in its own subtree, the same check as for "from" itself
+        hierarchy.checkManager(Employee.builder().id(from).managerId(to).build());
+    }
+
+    @Override
+    public boolean apply(Employee employee, Map<String, String> parameters) {
+        if (!Objects.equals(employee.getManagerId(), id(parameters, "from"))) {
+            return false;
+        }
+        employee.setManagerId(id(parameters, "to"));
+        return true;
+    }
+
+    private static long id(Map<String, String> parameters, String name) {
+        String value = parameters.get(name);
+        if (value == null) {
+            throw new InvalidEmployeeBatchJobException("Parameter " + name + " is required");
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidEmployeeBatchJobException("Parameter " + name + " must be an employee id", e);
+        }
+    }
+}
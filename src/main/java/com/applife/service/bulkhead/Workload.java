@@ -0,0 +1,15 @@
+package com.applife.service.bulkhead;
+
+import java.lang.annotation.*;
+
+/**
+ * Runs the annotated method in the bulkhead of its {@link WorkloadClass}: within that class's concurrency limit
+ * and on connections of that class's pool. Calls made from inside it stay in the caller's bulkhead.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Workload {
+
+    WorkloadClass value();
+}
@@ -0,0 +1,51 @@
+package com.applife.service.bulkhead;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Enters the bulkhead of a {@link Workload} method and selects its pool for the connections taken during the
+ * call. Runs before the transaction advice, which takes the connection. Nested calls stay in the outer bulkhead:
+ * a connection taken by the outer call may still be held, and a second permit could deadlock a full bulkhead.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "employee.bulkhead.enabled", havingValue = "true")
+public class WorkloadBulkheadAspect {
+
+    private final WorkloadBulkheads bulkheads;
+
+    public WorkloadBulkheadAspect(WorkloadBulkheads bulkheads) {
+        this.bulkheads = bulkheads;
+    }
+
+    @Around("@annotation(com.applife.service.bulkhead.Workload)")
+    public Object inBulkhead(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (WorkloadRoutingDataSource.current() != null) {
+            return joinPoint.proceed();
+        }
+        Method method = AopUtils.getMostSpecificMethod(((MethodSignature) joinPoint.getSignature()).getMethod(),
+                joinPoint.getTarget().getClass());
+        Workload workload = AnnotationUtils.findAnnotation(method, Workload.class);
+        WorkloadBulkheads.Bulkhead bulkhead = bulkheads.bulkhead(workload.value());
+        bulkhead.enter();
+        WorkloadClass previous = WorkloadRoutingDataSource.select(workload.value());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            WorkloadRoutingDataSource.restore(previous);
+            bulkhead.leave();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.applife.service.bulkhead;
+
+import com.applife.exception.BulkheadFullException;
+import com.applife.model.BulkheadStats;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One bulkhead per {@link WorkloadClass}: a connection pool and a limit on the calls running in it at once.
+ * A call that cannot get into its bulkhead within the class's wait time fails with a 503, so a burst of one
+ * workload queues behind its own limit and pool instead of the ones of the others.
+ */
+public class WorkloadBulkheads implements Closeable {
+
+    private final Map<WorkloadClass, DataSource> dataSources;
+
+    private final Map<WorkloadClass, Bulkhead> bulkheads;
+
+    public WorkloadBulkheads(Map<WorkloadClass, DataSource> dataSources, Map<WorkloadClass, Bulkhead> bulkheads) {
+        if (!dataSources.keySet().containsAll(EnumSet.allOf(WorkloadClass.class))
+                || !bulkheads.keySet().containsAll(EnumSet.allOf(WorkloadClass.class))) {
+            throw new IllegalArgumentException("Every workload class needs a data source and a bulkhead");
+        }
+        this.dataSources = Collections.unmodifiableMap(new EnumMap<>(dataSources));
+        this.bulkheads = new EnumMap<>(bulkheads);
+    }
+
+    public Map<WorkloadClass, DataSource> dataSources() {
+        return dataSources;
+    }
+
+    public Bulkhead bulkhead(WorkloadClass workload) {
+        return bulkheads.get(workload);
+    }
+
+    public List<BulkheadStats> stats() {
+        List<BulkheadStats> stats = new ArrayList<>();
+        bulkheads.forEach((workload, bulkhead) -> {
+            BulkheadStats workloadStats = new BulkheadStats();
+            workloadStats.setWorkload(workload.key());
+            workloadStats.setMaxConcurrent(bulkhead.maxConcurrent);
+            workloadStats.setActive(bulkhead.maxConcurrent - bulkhead.permits.availablePermits());
+            workloadStats.setWaiting(bulkhead.permits.getQueueLength());
+            workloadStats.setCompleted(bulkhead.completed.sum());
+            workloadStats.setRejected(bulkhead.rejected.sum());
+            DataSource dataSource = dataSources.get(workload);
+            if (dataSource instanceof HikariDataSource) {
+                HikariDataSource hikari = (HikariDataSource) dataSource;
+                workloadStats.setPoolSize(hikari.getMaximumPoolSize());
+                // null until the pool has handed out its first connection
+                HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+                if (pool != null) {
+                    workloadStats.setActiveConnections(pool.getActiveConnections());
+                    workloadStats.setIdleConnections(pool.getIdleConnections());
+                    workloadStats.setThreadsAwaitingConnection(pool.getThreadsAwaitingConnection());
+                }
+            }
+            stats.add(workloadStats);
+        });
+        return stats;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource dataSource : dataSources.values()) {
+            if (dataSource instanceof Closeable) {
+                ((Closeable) dataSource).close();
+            }
+        }
+    }
+
+    public static class Bulkhead {
+
+        private final String name;
+
+        private final int maxConcurrent;
+
+        private final long maxWaitMillis;
+
+        private final Semaphore permits;
+
+        private final LongAdder completed = new LongAdder();
+
+        private final LongAdder rejected = new LongAdder();
+
+        public Bulkhead(String name, int maxConcurrent, long maxWaitMillis) {
+            this.name = name;
+            this.maxConcurrent = maxConcurrent;
+            this.maxWaitMillis = maxWaitMillis;
+            this.permits = new Semaphore(maxConcurrent, true);
+        }
+
+        public void enter() {
+            try {
+                if (!permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                    rejected.increment();
+                    throw new BulkheadFullException("The " + name + " bulkhead is full, " + maxConcurrent + " calls are running");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                rejected.increment();
+                throw new BulkheadFullException("Interrupted while waiting for the " + name + " bulkhead", e);
+            }
+        }
+
+        public void leave() {
+            completed.increment();
+            permits.release();
+        }
+    }
+}
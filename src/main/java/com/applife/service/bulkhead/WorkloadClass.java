@@ -0,0 +1,37 @@
+package com.applife.service.bulkhead;
+
+import java.util.Locale;
+
+/**
+ * The workloads that get a connection pool and a concurrency limit of their own, see {@link WorkloadBulkheads}.
+ */
+public enum WorkloadClass {
+
+    /**
+     * Single-row and small page reads a user waits for.
+     */
+    INTERACTIVE,
+
+    /**
+     * Creates, updates and deletes.
+     */
+    WRITE,
+
+    /**
+     * Full-table reads, exports and maintenance jobs.
+     */
+    BULK,
+
+    /**
+     * The reads and writes of batch job runs. A run keeps its stages busy for as long as it lasts, in the bulk
+     * bulkhead it would hold every place the full-table reads need.
+     */
+    BATCH;
+
+    /**
+     * The name used in the {@code employee.bulkhead.<key>.*} properties.
+     */
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
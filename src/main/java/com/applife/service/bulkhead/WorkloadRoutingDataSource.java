@@ -0,0 +1,40 @@
+package com.applife.service.bulkhead;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Hands out connections of the pool of the workload the current thread runs in. Work outside of any
+ * {@link Workload} (startup loads, scheduled jobs) is background work and gets the bulk pool, without taking
+ * a place in the bulk bulkhead's concurrency limit. The workload must be selected before the transaction
+ * takes its connection.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<WorkloadClass> CURRENT_WORKLOAD = new ThreadLocal<>();
+
+    /**
+     * Selects the workload for the current thread and returns the previous selection for {@link #restore}.
+     */
+    public static WorkloadClass select(WorkloadClass workload) {
+        WorkloadClass previous = CURRENT_WORKLOAD.get();
+        CURRENT_WORKLOAD.set(workload);
+        return previous;
+    }
+
+    public static void restore(WorkloadClass previous) {
+        if (previous == null) {
+            CURRENT_WORKLOAD.remove();
+        } else {
+            CURRENT_WORKLOAD.set(previous);
+        }
+    }
+
+    public static WorkloadClass current() {
+        return CURRENT_WORKLOAD.get();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return CURRENT_WORKLOAD.get();
+    }
+}
@@ -0,0 +1,256 @@
+package com.applife.service.emailfilter;
+
+import com.applife.event.EmployeeChangedEvent;
+import com.applife.model.Employee;
+import com.applife.repository.EmployeeEmail;
+import com.applife.repository.EmployeeRepository;
+import com.applife.service.invalidation.EmployeeInvalidationBus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Answers "no employee has this email" without a database round trip for the emails it has never seen. The
+ * filter is built from the email column after startup and rebuilt every {@code rebuild-interval-ms}, which is
+ * also what clears the emails of deleted or updated employees; in between it learns the emails of local writes
+ * from the change events and, with an invalidation channel, those of other nodes' writes. Until the first build
+ * is done, or with {@code employee.email-filter.enabled=false}, every check goes to the database, and so do the
+ * checks of emails that {@link #key} cannot fold down to ASCII.
+ */
+@Component
+public class EmployeeEmailFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeEmailFilter.class);
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    // letters without a Unicode decomposition that the collation sorts like these ASCII letters, or close enough
+    private static final Map<Character, String> EXPANSIONS = Map.ofEntries(
+            Map.entry('ß', "ss"), Map.entry('æ', "ae"), Map.entry('œ', "oe"), Map.entry('ø', "o"),
+            Map.entry('đ', "d"), Map.entry('ð', "d"), Map.entry('ł', "l"), Map.entry('ħ', "h"),
+            Map.entry('ı', "i"), Map.entry('ŧ', "t"), Map.entry('þ', "th"), Map.entry('ŋ', "n"));
+
+    private final EmployeeRepository employeeRepository;
+
+    private final boolean enabled;
+
+    private final long expectedEmployees;
+
+    private final double falsePositiveProbability;
+
+    private final int pageSize;
+
+    private volatile ScalableBloomFilter filter;
+
+    // the filter a rebuild is filling, it has to see the writes that happen meanwhile as well
+    private volatile ScalableBloomFilter building;
+
+    private final LongAdder definitelyNew = new LongAdder();
+
+    private final LongAdder matches = new LongAdder();
+
+    private final LongAdder falsePositives = new LongAdder();
+
+    public EmployeeEmailFilter(EmployeeRepository employeeRepository,
+                               ObjectProvider<EmployeeInvalidationBus> invalidationBus,
+                               @Value("${employee.email-filter.enabled:false}") boolean enabled,
+                               @Value("${employee.email-filter.expected-employees:100000}") long expectedEmployees,
+                               @Value("${employee.email-filter.false-positive-probability:0.01}") double falsePositiveProbability,
+                               @Value("${employee.email-filter.page-size:1000}") int pageSize) {
+        this.employeeRepository = employeeRepository;
+        this.enabled = enabled;
+        this.expectedEmployees = expectedEmployees;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.pageSize = pageSize;
+        if (enabled) {
+            invalidationBus.ifAvailable(bus -> bus.onRemoteChanges(this::onRemoteChanges));
+        }
+    }
+
+    /**
+     * Returns the employee with the email, asking {@code lookup} only if the filter cannot rule it out.
+     */
+    public Optional<Employee> find(String email, Function<String, Optional<Employee>> lookup) {
+        ScalableBloomFilter current = filter;
+        if (current == null || email == null) {
+            return lookup.apply(email);
+        }
+        byte[] key = key(email);
+        if (!isAscii(key)) {
+            return lookup.apply(email);
+        }
+        if (!current.mightContain(key)) {
+            definitelyNew.increment();
+            return Optional.empty();
+        }
+        Optional<Employee> employee = lookup.apply(email);
+        if (employee.isPresent()) {
+            matches.increment();
+        } else {
+            falsePositives.increment();
+        }
+        return employee;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (event.getType() != EmployeeChangedEvent.Type.DELETED) {
+            add(event.getEmployee().getEmail());
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${employee.email-filter.rebuild-interval-ms:3600000}",
+            initialDelayString = "${employee.email-filter.rebuild-interval-ms:3600000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Reads all emails into a new filter and swaps it in, returns the number of emails read.
+     */
+    public synchronized long rebuild() {
+        if (!enabled) {
+            return 0;
+        }
+        ScalableBloomFilter current = filter;
+        long capacity = Math.max(expectedEmployees, current == null ? 0 : current.size());
+        ScalableBloomFilter next = new ScalableBloomFilter(capacity, falsePositiveProbability);
+        building = next;
+        try {
+            long lastId = 0;
+            long count = 0;
+            List<EmployeeEmail> page;
+            do {
+                page = employeeRepository.findEmailsGreaterThan(lastId, PageRequest.of(0, pageSize));
+                for (EmployeeEmail employee : page) {
+                    if (employee.getEmail() != null) {
+                        next.put(key(employee.getEmail()));
+                    }
+                    lastId = employee.getId();
+                    count++;
+                }
+            } while (page.size() == pageSize);
+            filter = next;
+            definitelyNew.reset();
+            matches.reset();
+            falsePositives.reset();
+            log.info("Employee email filter built from {} emails in {} bits", count, next.bitSize());
+            return count;
+        } finally {
+            building = null;
+        }
+    }
+
+    public boolean isReady() {
+        return filter != null;
+    }
+
+    /**
+     * Share of the checks for absent emails that still went to the database, since the last rebuild.
+     */
+    public double observedFalsePositiveRate() {
+        long falsePositive = falsePositives.sum();
+        long negatives = falsePositive + definitelyNew.sum();
+        return negatives == 0 ? 0 : (double) falsePositive / negatives;
+    }
+
+    public String describe() {
+        ScalableBloomFilter current = filter;
+        if (current == null) {
+            return enabled ? "Employee email filter is loading" : "Employee email filter is disabled";
+        }
+        return String.format(Locale.ROOT,
+                "emails: %d%nstages: %d%nbits: %d%nexpected false positive rate: %.6f%nobserved false positive rate: %.6f%n"
+                        + "definitely new: %d%nmatches: %d%nfalse positives: %d",
+                current.size(), current.stageCount(), current.bitSize(), current.expectedFalsePositiveProbability(),
+                observedFalsePositiveRate(), definitelyNew.sum(), matches.sum(), falsePositives.sum());
+    }
+
+    private void add(String email) {
+        if (email == null) {
+            return;
+        }
+        byte[] key = key(email);
+        // building before filter: a rebuild that finishes in between has already swapped its filter in
+        ScalableBloomFilter next = building;
+        if (next != null) {
+            next.put(key);
+        }
+        ScalableBloomFilter current = filter;
+        if (current != null) {
+            current.put(key);
+        }
+    }
+
+    private void onRemoteChanges(long[] employeeIds) {
+        if (filter == null && building == null) {
+            return;
+        }
+        try {
+            List<Long> ids = Arrays.stream(employeeIds).boxed().collect(Collectors.toList());
+            employeeRepository.findAllById(ids).forEach(employee -> add(employee.getEmail()));
+        } catch (RuntimeException e) {
+            // without those emails the filter could call a taken email new, so checks go to the database until the next rebuild
+            filter = null;
+            log.warn("Could not read the emails of {} employees changed on other nodes, email filter off until the next rebuild", employeeIds.length, e);
+        }
+    }
+
+    /**
+     * Folds case, accents, compatibility forms (full-width letters, ligatures) and the expansions of the column's
+     * {@code utf8mb4_0900_ai_ci} collation such as {@code ß = ss} and {@code æ = ae}, so emails the database
+     * considers equal share a key; folding too much, like the trailing blanks the collation does not pad, only
+     * costs a lookup. Letters left outside ASCII may have collation equivalents not folded here, so
+     * {@link #find} does not trust the filter with those keys.
+     */
+    static byte[] key(String email) {
+        String folded = Normalizer.normalize(email.stripTrailing(), Normalizer.Form.NFKD);
+        folded = COMBINING_MARKS.matcher(folded).replaceAll("").toLowerCase(Locale.ROOT);
+        StringBuilder key = new StringBuilder(folded.length());
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            String expansion = c < 0x80 ? null : EXPANSIONS.get(c);
+            if (expansion == null) {
+                key.append(c);
+            } else {
+                key.append(expansion);
+            }
+        }
+        return key.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static boolean isAscii(byte[] key) {
+        for (byte b : key) {
+            if (b < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
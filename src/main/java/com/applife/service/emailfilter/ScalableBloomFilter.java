@@ -0,0 +1,190 @@
+package com.applife.service.emailfilter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter that grows with its content instead of degrading: once a stage holds its capacity a new stage
+ * with twice the capacity and half the false positive probability is added, so the combined probability stays
+ * below the configured one however many keys arrive. Safe for concurrent use; keys cannot be removed.
+ */
+public class ScalableBloomFilter {
+
+    private static final int GROWTH = 2;
+
+    private static final double TIGHTENING = 0.5;
+
+    private final List<Stage> stages = new CopyOnWriteArrayList<>();
+
+    private final long initialCapacity;
+
+    private final double falsePositiveProbability;
+
+    public ScalableBloomFilter(long initialCapacity, double falsePositiveProbability) {
+        if (initialCapacity < 1 || falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("Capacity must be positive and the false positive probability in (0, 1)");
+        }
+        this.initialCapacity = initialCapacity;
+        this.falsePositiveProbability = falsePositiveProbability;
+        // the stage probabilities form a geometric series that sums up to the configured probability
+        stages.add(new Stage(initialCapacity, falsePositiveProbability * (1 - TIGHTENING)));
+    }
+
+    public boolean mightContain(byte[] key) {
+        long h1 = hash(key, 0x9E3779B97F4A7C15L);
+        long h2 = hash(key, 0xC2B2AE3D27D4EB4FL);
+        for (Stage stage : stages) {
+            if (stage.mightContain(h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void put(byte[] key) {
+        long h1 = hash(key, 0x9E3779B97F4A7C15L);
+        long h2 = hash(key, 0xC2B2AE3D27D4EB4FL);
+        for (Stage stage : stages) {
+            if (stage.mightContain(h1, h2)) {
+                return;
+            }
+        }
+        current().put(h1, h2);
+    }
+
+    /**
+     * Number of distinct keys added, give or take the ones that collided with keys already present.
+     */
+    public long size() {
+        return stages.stream().mapToLong(stage -> stage.count.get()).sum();
+    }
+
+    public int stageCount() {
+        return stages.size();
+    }
+
+    public long bitSize() {
+        return stages.stream().mapToLong(stage -> stage.bits).sum();
+    }
+
+    /**
+     * Probability that an absent key is reported as present, estimated from how many bits are set.
+     */
+    public double expectedFalsePositiveProbability() {
+        double none = 1;
+        for (Stage stage : stages) {
+            none *= 1 - stage.expectedFalsePositiveProbability();
+        }
+        return 1 - none;
+    }
+
+    public double getFalsePositiveProbability() {
+        return falsePositiveProbability;
+    }
+
+    public long getInitialCapacity() {
+        return initialCapacity;
+    }
+
+    private Stage current() {
+        Stage last = stages.get(stages.size() - 1);
+        if (last.count.get() < last.capacity) {
+            return last;
+        }
+        synchronized (stages) {
+            last = stages.get(stages.size() - 1);
+            if (last.count.get() >= last.capacity) {
+                last = new Stage(last.capacity * GROWTH, last.falsePositiveProbability * TIGHTENING);
+                stages.add(last);
+            }
+            return last;
+        }
+    }
+
+    private static long hash(byte[] key, long seed) {
+        long h = seed ^ (key.length * 0xFF51AFD7ED558CCDL);
+        int i = 0;
+        for (; i + 8 <= key.length; i += 8) {
+            long word = 0;
+            for (int b = 7; b >= 0; b--) {
+                word = (word << 8) | (key[i + b] & 0xFF);
+            }
+            h = Long.rotateLeft(h ^ mix(word), 27) * 5 + 0x52DCE729;
+        }
+        long tail = 0;
+        for (int b = key.length - 1; b >= i; b--) {
+            tail = (tail << 8) | (key[b] & 0xFF);
+        }
+        return mix(h ^ mix(tail));
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    private static final class Stage {
+
+        private final long capacity;
+
+        private final double falsePositiveProbability;
+
+        private final long bits;
+
+        private final int hashes;
+
+        private final AtomicLongArray words;
+
+        private final AtomicLong count = new AtomicLong();
+
+        Stage(long capacity, double falsePositiveProbability) {
+            this.capacity = capacity;
+            this.falsePositiveProbability = falsePositiveProbability;
+            double ln2 = Math.log(2);
+            long wordCount = Math.max(1, (long) Math.ceil(-capacity * Math.log(falsePositiveProbability) / (ln2 * ln2) / 64));
+            if (wordCount > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Bloom filter stage for " + capacity + " keys does not fit into one array");
+            }
+            this.words = new AtomicLongArray((int) wordCount);
+            this.bits = wordCount * 64;
+            this.hashes = Math.max(1, (int) Math.round((double) bits / capacity * ln2));
+        }
+
+        boolean mightContain(long h1, long h2) {
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bits);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void put(long h1, long h2) {
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bits);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long value;
+                do {
+                    value = words.get(word);
+                } while ((value & mask) == 0 && !words.compareAndSet(word, value, value | mask));
+            }
+            count.incrementAndGet();
+        }
+
+        double expectedFalsePositiveProbability() {
+            long ones = 0;
+            for (int i = 0; i < words.length(); i++) {
+                ones += Long.bitCount(words.get(i));
+            }
+            return Math.pow((double) ones / bits, hashes);
+        }
+    }
+}
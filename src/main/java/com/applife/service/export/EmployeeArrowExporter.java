@@ -0,0 +1,124 @@
+package com.applife.service.export;
+
+import com.applife.repository.shard.EmployeeShardRouter;
+import com.applife.repository.shard.EmployeeShards;
+import com.applife.service.bulkhead.Workload;
+import com.applife.service.bulkhead.WorkloadClass;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Exports the employees table as an Arrow IPC stream for analytics. Rows are read from a forward-only cursor
+ * (MySQL streams them one at a time instead of buffering the result) and written out batch by batch through
+ * {@link EmployeeArrowWriter}, so neither side holds more than one batch. Arrow buffers come from a child
+ * allocator capped at {@code max-memory-bytes}. With sharding every shard is read in turn, skipping rows that a
+ * running move has copied but the shard does not own yet.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.export.enabled", havingValue = "true")
+public class EmployeeArrowExporter {
+
+    private static final String SQL = "select id, first_name, last_name, email, manager_id, department_id, updated_at from employees";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final EmployeeShards shards;
+
+    private final EmployeeShardRouter router;
+
+    private final int batchRows;
+
+    private final int fetchSize;
+
+    private final long maxMemoryBytes;
+
+    // created on the first export: on JDK 16+ Arrow needs java.nio opened to it, without that only exports fail
+    private BufferAllocator allocator;
+
+    public EmployeeArrowExporter(JdbcTemplate jdbcTemplate,
+                                 ObjectProvider<EmployeeShards> shards,
+                                 ObjectProvider<EmployeeShardRouter> router,
+                                 @Value("${employee.export.batch-rows:65536}") int batchRows,
+                                 @Value("${employee.export.fetch-size:1000}") int fetchSize,
+                                 @Value("${employee.export.max-memory-bytes:268435456}") long maxMemoryBytes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shards = shards.getIfAvailable();
+        this.router = router.getIfAvailable();
+        this.batchRows = batchRows;
+        this.fetchSize = fetchSize;
+        this.maxMemoryBytes = maxMemoryBytes;
+    }
+
+    /**
+     * Writes every employee to {@code out} and returns how many were written.
+     */
+    @Workload(WorkloadClass.BULK)
+    public long export(OutputStream out) throws IOException {
+        try (BufferAllocator exportAllocator = allocator().newChildAllocator("employee-export", 0, maxMemoryBytes);
+             EmployeeArrowWriter writer = new EmployeeArrowWriter(exportAllocator, out, batchRows)) {
+            if (shards == null) {
+                read(jdbcTemplate, -1, writer);
+            } else {
+                for (int shard : shards.ids()) {
+                    read(shards.jdbcTemplate(shard), shard, writer);
+                }
+            }
+            return writer.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (allocator != null) {
+            allocator.close();
+        }
+    }
+
+    private synchronized BufferAllocator allocator() {
+        if (allocator == null) {
+            allocator = new RootAllocator();
+        }
+        return allocator;
+    }
+
+    private void read(JdbcTemplate template, int shard, EmployeeArrowWriter writer) {
+        template.query(this::cursor, (RowCallbackHandler) resultSet -> {
+            long id = resultSet.getLong(1);
+            if (shard >= 0 && router.shardFor(id) != shard) {
+                return;
+            }
+            try {
+                writer.write(id, resultSet.getString(2), resultSet.getString(3), resultSet.getString(4),
+                        resultSet.getObject(5, Long.class), resultSet.getObject(6, Long.class), resultSet.getTimestamp(7));
+            } catch (IOException e) {
+                // the client went away, stop reading
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private PreparedStatement cursor(Connection connection) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        // Connector/J only streams the result for this fetch size, any other value reads all rows into memory
+        boolean mysql = "MySQL".equals(connection.getMetaData().getDatabaseProductName());
+        statement.setFetchSize(mysql ? Integer.MIN_VALUE : fetchSize);
+        return statement;
+    }
+}
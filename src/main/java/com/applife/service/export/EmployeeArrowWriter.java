@@ -0,0 +1,199 @@
+package com.applife.service.export;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.*;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.ipc.WriteChannel;
+import org.apache.arrow.vector.ipc.message.ArrowDictionaryBatch;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.ipc.message.IpcOption;
+import org.apache.arrow.vector.ipc.message.MessageSerializer;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes employees as an Arrow IPC stream in record batches of {@code batchRows} rows. First and last names are
+ * dictionary encoded; every batch is preceded by replacement dictionaries holding only that batch's names, so
+ * memory is bounded by the batch size whatever the number of distinct names in the table.
+ */
+public class EmployeeArrowWriter implements AutoCloseable {
+
+    public static final long FIRST_NAME_DICTIONARY = 1;
+
+    public static final long LAST_NAME_DICTIONARY = 2;
+
+    private static final ArrowType.Int INDEX_TYPE = new ArrowType.Int(32, true);
+
+    private static final DictionaryEncoding FIRST_NAME_ENCODING = new DictionaryEncoding(FIRST_NAME_DICTIONARY, false, INDEX_TYPE);
+
+    private static final DictionaryEncoding LAST_NAME_ENCODING = new DictionaryEncoding(LAST_NAME_DICTIONARY, false, INDEX_TYPE);
+
+    private static final ArrowType.Timestamp TIMESTAMP_TYPE = new ArrowType.Timestamp(TimeUnit.MILLISECOND, "UTC");
+
+    /**
+     * The schema as readers see it: dictionary encoded columns are declared with their value type.
+     */
+    public static final Schema SCHEMA = new Schema(List.of(
+            new Field("id", FieldType.notNullable(new ArrowType.Int(64, true)), null),
+            new Field("first_name", new FieldType(false, ArrowType.Utf8.INSTANCE, FIRST_NAME_ENCODING), null),
+            new Field("last_name", new FieldType(false, ArrowType.Utf8.INSTANCE, LAST_NAME_ENCODING), null),
+            new Field("email", FieldType.notNullable(ArrowType.Utf8.INSTANCE), null),
+            new Field("manager_id", FieldType.nullable(new ArrowType.Int(64, true)), null),
+            new Field("department_id", FieldType.nullable(new ArrowType.Int(64, true)), null),
+            new Field("updated_at", FieldType.nullable(TIMESTAMP_TYPE), null)));
+
+    private final WriteChannel channel;
+
+    private final int batchRows;
+
+    private final VectorSchemaRoot root;
+
+    private final BigIntVector ids;
+
+    private final IntVector firstNames;
+
+    private final IntVector lastNames;
+
+    private final VarCharVector emails;
+
+    private final BigIntVector managerIds;
+
+    private final BigIntVector departmentIds;
+
+    private final TimeStampMilliTZVector updatedAts;
+
+    private final Dictionary firstNameDictionary;
+
+    private final Dictionary lastNameDictionary;
+
+    private int rows;
+
+    private long written;
+
+    public EmployeeArrowWriter(BufferAllocator allocator, OutputStream out, int batchRows) throws IOException {
+        this.channel = new WriteChannel(Channels.newChannel(out));
+        this.batchRows = batchRows;
+        this.ids = new BigIntVector("id", allocator);
+        this.firstNames = new IntVector("first_name", new FieldType(false, INDEX_TYPE, FIRST_NAME_ENCODING), allocator);
+        this.lastNames = new IntVector("last_name", new FieldType(false, INDEX_TYPE, LAST_NAME_ENCODING), allocator);
+        this.emails = new VarCharVector("email", allocator);
+        this.managerIds = new BigIntVector("manager_id", allocator);
+        this.departmentIds = new BigIntVector("department_id", allocator);
+        this.updatedAts = new TimeStampMilliTZVector("updated_at", FieldType.nullable(TIMESTAMP_TYPE), allocator);
+        this.root = new VectorSchemaRoot(List.of(ids, firstNames, lastNames, emails, managerIds, departmentIds, updatedAts));
+        this.firstNameDictionary = new Dictionary(FIRST_NAME_DICTIONARY, new VarCharVector("first_name", allocator));
+        this.lastNameDictionary = new Dictionary(LAST_NAME_DICTIONARY, new VarCharVector("last_name", allocator));
+        MessageSerializer.serialize(channel, SCHEMA);
+    }
+
+    public void write(long id, String firstName, String lastName, String email,
+                      Long managerId, Long departmentId, Timestamp updatedAt) throws IOException {
+        if (rows == 0) {
+            root.allocateNew();
+        }
+        ids.setSafe(rows, id);
+        firstNames.setSafe(rows, firstNameDictionary.indexOf(firstName));
+        lastNames.setSafe(rows, lastNameDictionary.indexOf(lastName));
+        emails.setSafe(rows, email.getBytes(StandardCharsets.UTF_8));
+        if (managerId == null) {
+            managerIds.setNull(rows);
+        } else {
+            managerIds.setSafe(rows, managerId);
+        }
+        if (departmentId == null) {
+            departmentIds.setNull(rows);
+        } else {
+            departmentIds.setSafe(rows, departmentId);
+        }
+        if (updatedAt == null) {
+            updatedAts.setNull(rows);
+        } else {
+            updatedAts.setSafe(rows, updatedAt.getTime());
+        }
+        if (++rows == batchRows) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes the last batch and the end of stream marker, returns the number of rows written.
+     */
+    public long finish() throws IOException {
+        flush();
+        ArrowStreamWriter.writeEndOfStream(channel, IpcOption.DEFAULT);
+        return written;
+    }
+
+    @Override
+    public void close() {
+        root.close();
+        firstNameDictionary.close();
+        lastNameDictionary.close();
+    }
+
+    private void flush() throws IOException {
+        if (rows == 0) {
+            return;
+        }
+        firstNameDictionary.write(channel);
+        lastNameDictionary.write(channel);
+        root.setRowCount(rows);
+        try (ArrowRecordBatch batch = new VectorUnloader(root).getRecordBatch()) {
+            MessageSerializer.serialize(channel, batch);
+        }
+        written += rows;
+        rows = 0;
+        root.clear();
+    }
+
+    private static final class Dictionary implements AutoCloseable {
+
+        private final long id;
+
+        private final VarCharVector values;
+
+        private final VectorSchemaRoot root;
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        Dictionary(long id, VarCharVector values) {
+            this.id = id;
+            this.values = values;
+            this.root = VectorSchemaRoot.of(values);
+        }
+
+        int indexOf(String value) {
+            Integer index = indexes.get(value);
+            if (index == null) {
+                index = indexes.size();
+                indexes.put(value, index);
+                values.setSafe(index, value.getBytes(StandardCharsets.UTF_8));
+            }
+            return index;
+        }
+
+        void write(WriteChannel channel) throws IOException {
+            root.setRowCount(indexes.size());
+            // not a delta: each batch replaces the dictionary of the one before
+            try (ArrowDictionaryBatch batch = new ArrowDictionaryBatch(id, new VectorUnloader(root).getRecordBatch(), false)) {
+                MessageSerializer.serialize(channel, batch);
+            }
+            indexes.clear();
+            values.reset();
+        }
+
+        @Override
+        public void close() {
+            root.close();
+        }
+    }
+}
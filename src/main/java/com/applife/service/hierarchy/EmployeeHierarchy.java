@@ -0,0 +1,213 @@
+package com.applife.service.hierarchy;
+
+import com.applife.event.EmployeeChangedEvent;
+import com.applife.exception.InvalidEmployeeManagerException;
+import com.applife.model.Employee;
+import com.applife.repository.EmployeeKeysetIterator;
+import com.applife.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Closure table of the reporting lines: one {@code (ancestor, descendant, depth)} row for every manager above an
+ * employee, plus a depth 0 row for the employee itself. Whole subtrees and management chains are then a single
+ * range scan on an index, and moving a subtree rewrites only the rows that connect it to its old managers.
+ * <p>
+ * Kept up to date from the change events. With sharding the table lives in the directory database, next to
+ * the email index, since a reporting line crosses shards.
+ */
+@Component
+public class EmployeeHierarchy {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeHierarchy.class);
+
+    // the derived tables are materialized, which MySQL needs to read the table it is changing
+    private static final String SUBTREE = "select descendant_id from (select distinct descendant_id from employee_hierarchy"
+            + " where ancestor_id = ? and depth >= ?) subtree";
+
+    private static final String MANAGERS = "select ancestor_id from (select distinct ancestor_id from employee_hierarchy"
+            + " where descendant_id = ? and depth > 0) managers";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EmployeeRepository employeeRepository;
+
+    private final int pageSize;
+
+    public EmployeeHierarchy(DataSource dataSource,
+                             PlatformTransactionManager transactionManager,
+                             EmployeeRepository employeeRepository,
+                             @Value("${employee.hierarchy.backfill-page-size:1000}") int pageSize) {
+        new ResourceDatabasePopulator(new ClassPathResource("db/employee-hierarchy-schema.sql")).execute(dataSource);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // change events may be handled after the commit of the transaction that published them
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.employeeRepository = employeeRepository;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Rejects a manager that does not exist or that reports to the employee, directly or not.
+     */
+    public void checkManager(Employee employee) {
+        Long managerId = employee.getManagerId();
+        if (managerId == null) {
+            return;
+        }
+        if (!contains(managerId)) {
+            throw new InvalidEmployeeManagerException("Manager does not exist with given id:" + managerId);
+        }
+        if (depth(employee.getId(), managerId).isPresent()) {
+            throw new InvalidEmployeeManagerException("Employee " + employee.getId() + " cannot report to " + managerId
+                    + ", who is in their own reporting line");
+        }
+    }
+
+    /**
+     * Ids of the employees reporting to {@code id}, directly or up to {@code maxDepth} levels down, nearest first.
+     */
+    public List<Long> reportIds(long id, int maxDepth) {
+        return jdbcTemplate.queryForList("select descendant_id from employee_hierarchy where ancestor_id = ?"
+                + " and depth between 1 and ? order by depth, descendant_id", Long.class, id, maxDepth);
+    }
+
+    /**
+     * Ids of the managers above {@code id}, the direct manager first.
+     */
+    public List<Long> chainIds(long id) {
+        return jdbcTemplate.queryForList("select ancestor_id from employee_hierarchy where descendant_id = ?"
+                + " and depth > 0 order by depth", Long.class, id);
+    }
+
+    public Optional<Long> managerOf(long id) {
+        return jdbcTemplate.queryForList("select ancestor_id from employee_hierarchy where descendant_id = ? and depth = 1",
+                Long.class, id).stream().findFirst();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED:
+                transactionTemplate.executeWithoutResult(status -> add(event.getEmployee()));
+                break;
+            case UPDATED:
+                transactionTemplate.executeWithoutResult(status -> update(event.getEmployee()));
+                break;
+            case DELETED:
+                transactionTemplate.executeWithoutResult(status -> remove(event.getEmployeeId()));
+                break;
+        }
+    }
+
+    /**
+     * Adds the employees that have no rows yet, e.g. the ones that existed before the table. A manager has to
+     * be in the table before its reports, so those are retried until a pass makes no progress.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        Long rows = jdbcTemplate.queryForObject("select count(*) from employee_hierarchy where depth = 0", Long.class);
+        if (Objects.equals(rows, employeeRepository.count())) {
+            return;
+        }
+        List<Employee> pending = new ArrayList<>();
+        new EmployeeKeysetIterator(employeeRepository, pageSize).forEachRemaining(pending::add);
+        int added = 0;
+        while (!pending.isEmpty()) {
+            List<Employee> waiting = new ArrayList<>();
+            for (Employee employee : pending) {
+                if (contains(employee.getId())) {
+                    continue;
+                }
+                if (employee.getManagerId() != null && !contains(employee.getManagerId())) {
+                    waiting.add(employee);
+                    continue;
+                }
+                try {
+                    transactionTemplate.executeWithoutResult(status -> add(employee));
+                    added++;
+                } catch (DuplicateKeyException e) {
+                    // created concurrently, the change event has added it already
+                }
+            }
+            if (waiting.size() == pending.size()) {
+                log.warn("{} employees have managers that do not exist and were left out of the hierarchy", waiting.size());
+                break;
+            }
+            pending = waiting;
+        }
+        log.info("Employee hierarchy backfilled with {} employees", added);
+    }
+
+    private void add(Employee employee) {
+        if (employee.getManagerId() != null) {
+            jdbcTemplate.update("insert into employee_hierarchy (ancestor_id, descendant_id, depth)"
+                    + " select ancestor_id, ?, depth + 1 from employee_hierarchy where descendant_id = ?",
+                    employee.getId(), employee.getManagerId());
+        }
+        jdbcTemplate.update("insert into employee_hierarchy (ancestor_id, descendant_id, depth) values (?, ?, 0)",
+                employee.getId(), employee.getId());
+    }
+
+    private void update(Employee employee) {
+        if (!contains(employee.getId())) {
+            add(employee);
+            return;
+        }
+        Optional<Long> manager = managerOf(employee.getId());
+        if (manager.equals(Optional.ofNullable(employee.getManagerId()))) {
+            return;
+        }
+        long id = employee.getId();
+        // cut the subtree (the employee and everyone below) loose from the old managers ...
+        jdbcTemplate.update("delete from employee_hierarchy where descendant_id in (" + SUBTREE + ")"
+                + " and ancestor_id in (" + MANAGERS + ")", id, 0, id);
+        // ... and hang it below every manager of the new one
+        if (employee.getManagerId() != null) {
+            jdbcTemplate.update("insert into employee_hierarchy (ancestor_id, descendant_id, depth)"
+                    + " select managers.ancestor_id, subtree.descendant_id, managers.depth + subtree.depth + 1"
+                    + " from employee_hierarchy managers join employee_hierarchy subtree on subtree.ancestor_id = ?"
+                    + " where managers.descendant_id = ?", id, employee.getManagerId());
+        }
+    }
+
+    /**
+     * Splices the employee out: whoever still reported to it now reports to its manager.
+     */
+    private void remove(long id) {
+        jdbcTemplate.update("update employee_hierarchy set depth = depth - 1 where ancestor_id in (" + MANAGERS + ")"
+                + " and descendant_id in (" + SUBTREE + ")", id, id, 1);
+        jdbcTemplate.update("delete from employee_hierarchy where ancestor_id = ? or descendant_id = ?", id, id);
+    }
+
+    private boolean contains(long id) {
+        return depth(id, id).isPresent();
+    }
+
+    private Optional<Integer> depth(long ancestorId, long descendantId) {
+        return jdbcTemplate.queryForList("select depth from employee_hierarchy where ancestor_id = ? and descendant_id = ?",
+                Integer.class, ancestorId, descendantId).stream().findFirst();
+    }
+}
@@ -0,0 +1,199 @@
+package com.applife.service.history;
+
+import com.applife.event.EmployeeChangedEvent;
+import com.applife.model.Department;
+import com.applife.model.Employee;
+import com.applife.model.EmployeeChange;
+import com.applife.model.id.SnowflakeIds;
+import com.applife.repository.DepartmentRepository;
+import com.applife.service.bulkhead.Workload;
+import com.applife.service.bulkhead.WorkloadClass;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * Opt-in change history of the employees table. Committed changes are captured by
+ * {@link EmployeeHistoryCapture}, queued and written to {@code employee_history} in batches by a scheduled
+ * flush, so the request thread only pays for building the images. Reads go through the
+ * {@code (employee_id, changed_at)} primary key, which on MySQL is local to each monthly partition
+ * (see {@link EmployeeHistoryPartitions}).
+ */
+@Service
+@ConditionalOnProperty(name = "employee.history.enabled", havingValue = "true")
+public class EmployeeHistory {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeHistory.class);
+
+    // a retried batch may have been written in part, or in full with the acknowledgement lost; rows already
+    // there are the very same rows, so they are left as they are instead of failing the retry forever
+    private static final String INSERT = "insert into employee_history (employee_id, changed_at, id, change_type, before_image, after_image)"
+            + " values (?, ?, ?, ?, ?, ?) on duplicate key update id = id";
+
+    private static final RowMapper<EmployeeChange> CHANGE_MAPPER = (resultSet, rowNum) -> new EmployeeChange(
+            resultSet.getLong("employee_id"),
+            resultSet.getTimestamp("changed_at").toInstant(),
+            EmployeeChangedEvent.Type.valueOf(resultSet.getString("change_type")),
+            resultSet.getString("before_image"),
+            resultSet.getString("after_image"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final DepartmentRepository departmentRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final SnowflakeIds ids;
+
+    private final BlockingQueue<Object[]> queue;
+
+    private final int batchSize;
+
+    // a batch the database rejected, written before anything newer
+    private List<Object[]> unwritten = List.of();
+
+    public EmployeeHistory(DataSource dataSource,
+                           EntityManagerFactory entityManagerFactory,
+                           DepartmentRepository departmentRepository,
+                           ObjectMapper objectMapper,
+                           @Value("${employee.id.node-id:0}") long nodeId,
+                           @Value("${employee.history.capacity:100000}") int capacity,
+                           @Value("${employee.history.batch-size:500}") int batchSize) {
+        new ResourceDatabasePopulator(new ClassPathResource("db/employee-history-schema.sql")).execute(dataSource);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.departmentRepository = departmentRepository;
+        this.objectMapper = objectMapper;
+        this.ids = SnowflakeIds.forNode(nodeId);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        EventListenerRegistry listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        EmployeeHistoryCapture capture = new EmployeeHistoryCapture(this::enqueue);
+        listeners.appendListeners(EventType.POST_COMMIT_INSERT, capture);
+        listeners.appendListeners(EventType.POST_COMMIT_UPDATE, capture);
+        listeners.appendListeners(EventType.POST_COMMIT_DELETE, capture);
+    }
+
+    /**
+     * The changes of an employee, newest first.
+     */
+    @Workload(WorkloadClass.INTERACTIVE)
+    public List<EmployeeChange> history(long employeeId, int limit) {
+        return jdbcTemplate.query("select employee_id, changed_at, change_type, before_image, after_image from employee_history"
+                + " where employee_id = ? order by changed_at desc, id desc limit ?", CHANGE_MAPPER, employeeId, limit);
+    }
+
+    /**
+     * The employee as it was at {@code asOf}: the after image of the last change up to then or, for employees
+     * whose history starts later, the before image of the first change after it. Employees without any
+     * history have not changed since, {@code current} supplies them.
+     */
+    @Workload(WorkloadClass.INTERACTIVE)
+    public Optional<Employee> asOf(long employeeId, Instant asOf, Supplier<Optional<Employee>> current) {
+        Timestamp at = Timestamp.from(asOf);
+        List<EmployeeChange> before = jdbcTemplate.query("select employee_id, changed_at, change_type, before_image, after_image"
+                + " from employee_history where employee_id = ? and changed_at <= ? order by changed_at desc, id desc limit 1",
+                CHANGE_MAPPER, employeeId, at);
+        if (!before.isEmpty()) {
+            return employee(before.get(0).getAfter());
+        }
+        List<EmployeeChange> after = jdbcTemplate.query("select employee_id, changed_at, change_type, before_image, after_image"
+                + " from employee_history where employee_id = ? and changed_at > ? order by changed_at, id limit 1",
+                CHANGE_MAPPER, employeeId, at);
+        if (!after.isEmpty()) {
+            return employee(after.get(0).getBefore());
+        }
+        return current.get();
+    }
+
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    @Scheduled(fixedDelayString = "${employee.history.flush-interval-ms:500}")
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>(unwritten);
+        queue.drainTo(batch, Math.max(0, batchSize - batch.size()));
+        while (!batch.isEmpty()) {
+            try {
+                jdbcTemplate.batchUpdate(INSERT, batch);
+            } catch (RuntimeException e) {
+                log.warn("Could not write {} employee history entries, will retry", batch.size(), e);
+                unwritten = batch;
+                return;
+            }
+            unwritten = List.of();
+            batch = new ArrayList<>(batchSize);
+            queue.drainTo(batch, batchSize);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    void enqueue(EmployeeHistoryCapture.Change change) {
+        Object[] row = {change.employeeId, Timestamp.from(Instant.now()), ids.next(), change.type.name(),
+                json(change.before), json(change.after)};
+        if (!queue.offer(row)) {
+            // a full queue means the flush is falling behind, the history must not lose the change
+            log.warn("Employee history queue is full, writing the change of employee {} inline", change.employeeId);
+            jdbcTemplate.update(INSERT, row);
+        }
+    }
+
+    private String json(Map<String, Object> image) {
+        if (image == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(image);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize employee history image", e);
+        }
+    }
+
+    private Optional<Employee> employee(String image) {
+        if (image == null) {
+            return Optional.empty();
+        }
+        try {
+            Map<String, Object> attributes = objectMapper.readValue(image, new TypeReference<Map<String, Object>>() {
+            });
+            Object departmentId = attributes.remove("departmentId");
+            Employee employee = objectMapper.convertValue(attributes, Employee.class);
+            if (departmentId != null) {
+                // departments are never renamed, the current one is the one the employee had
+                employee.setDepartment(departmentRepository.findById(((Number) departmentId).longValue())
+                        .orElse(Department.builder().id(((Number) departmentId).longValue()).build()));
+            }
+            return Optional.of(employee);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable employee history image", e);
+        }
+    }
+}
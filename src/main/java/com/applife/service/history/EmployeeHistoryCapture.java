@@ -0,0 +1,120 @@
+package com.applife.service.history;
+
+import com.applife.event.EmployeeChangedEvent;
+import com.applife.model.Employee;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Hibernate post-commit listener that turns committed employee inserts, updates and deletes into before and
+ * after images. The before image is the state Hibernate loaded before the change, so capturing it costs no
+ * extra query, and rolled back changes never show up.
+ */
+class EmployeeHistoryCapture implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    /**
+     * A captured change, images as attribute maps with associations reduced to their id.
+     */
+    static class Change {
+
+        final long employeeId;
+
+        final EmployeeChangedEvent.Type type;
+
+        final Map<String, Object> before;
+
+        final Map<String, Object> after;
+
+        Change(long employeeId, EmployeeChangedEvent.Type type, Map<String, Object> before, Map<String, Object> after) {
+            this.employeeId = employeeId;
+            this.type = type;
+            this.before = before;
+            this.after = after;
+        }
+    }
+
+    private final Consumer<Change> changes;
+
+    EmployeeHistoryCapture(Consumer<Change> changes) {
+        this.changes = changes;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        changes.accept(new Change(id(event.getId()), EmployeeChangedEvent.Type.CREATED,
+                null, image(event.getPersister(), event.getId(), event.getState())));
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        changes.accept(new Change(id(event.getId()), EmployeeChangedEvent.Type.UPDATED,
+                image(event.getPersister(), event.getId(), event.getOldState()),
+                image(event.getPersister(), event.getId(), event.getState())));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        changes.accept(new Change(id(event.getId()), EmployeeChangedEvent.Type.DELETED,
+                image(event.getPersister(), event.getId(), event.getDeletedState()), null));
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.getMappedClass() == Employee.class;
+    }
+
+    /**
+     * Still abstract in Hibernate 5.6, which only calls it through {@link #requiresPostCommitHandling}.
+     */
+    @Override
+    @Deprecated
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return requiresPostCommitHandling(persister);
+    }
+
+    private static long id(Object id) {
+        return ((Number) id).longValue();
+    }
+
+    private static Map<String, Object> image(EntityPersister persister, Object id, Object[] state) {
+        if (state == null) {
+            return null;
+        }
+        Map<String, Object> image = new LinkedHashMap<>();
+        image.put(persister.getIdentifierPropertyName(), id);
+        String[] names = persister.getPropertyNames();
+        for (int i = 0; i < names.length; i++) {
+            Object value = state[i];
+            if (persister.getPropertyTypes()[i].isEntityType()) {
+                image.put(names[i] + "Id", value == null ? null : associationId(persister, names[i], value));
+            } else {
+                image.put(names[i], value);
+            }
+        }
+        return image;
+    }
+
+    private static Object associationId(EntityPersister persister, String name, Object value) {
+        if (value instanceof HibernateProxy) {
+            return ((HibernateProxy) value).getHibernateLazyInitializer().getIdentifier();
+        }
+        return persister.getFactory().getMetamodel().entityPersister(value.getClass()).getIdentifier(value, null);
+    }
+}
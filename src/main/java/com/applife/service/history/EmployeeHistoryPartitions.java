@@ -0,0 +1,113 @@
+package com.applife.service.history;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Keeps {@code employee_history} range-partitioned by month on MySQL: one partition per month named
+ * {@code pYYYYMM}, created {@code employee.history.months-ahead} months in advance out of the empty
+ * {@code p_future} catch-all, and dropped as a whole once older than {@code employee.history.retention-months}
+ * (0 keeps everything). Dropping a partition is a metadata change, not a row-by-row delete.
+ * Other databases keep the table unpartitioned.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.history.enabled", havingValue = "true")
+public class EmployeeHistoryPartitions {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeHistoryPartitions.class);
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final boolean mysql;
+
+    private final int monthsAhead;
+
+    private final int retentionMonths;
+
+    private final Clock clock;
+
+    // EmployeeHistory creates the table, it has to exist before it can be partitioned
+    public EmployeeHistoryPartitions(DataSource dataSource,
+                                     EmployeeHistory history,
+                                     @Value("${employee.history.months-ahead:3}") int monthsAhead,
+                                     @Value("${employee.history.retention-months:24}") int retentionMonths) throws MetaDataAccessException {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, metaData -> metaData.getDatabaseProductName());
+        this.mysql = "MySQL".equalsIgnoreCase(product);
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.clock = Clock.systemUTC();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${employee.history.maintenance-cron:0 0 3 * * *}", zone = "UTC")
+    public void maintain() {
+        if (!mysql) {
+            return;
+        }
+        YearMonth now = YearMonth.now(clock);
+        List<String> partitions = partitions();
+        if (partitions.isEmpty()) {
+            partition(now);
+            partitions = partitions();
+        }
+        for (YearMonth month = now; !month.isAfter(now.plusMonths(monthsAhead)); month = month.plusMonths(1)) {
+            if (!partitions.contains(month.format(PARTITION_NAME))) {
+                jdbcTemplate.execute("alter table employee_history reorganize partition p_future into ("
+                        + definition(month) + ", partition p_future values less than (maxvalue))");
+                log.info("Added employee history partition {}", month.format(PARTITION_NAME));
+            }
+        }
+        if (retentionMonths > 0) {
+            String oldest = now.minusMonths(retentionMonths).format(PARTITION_NAME);
+            for (String partition : partitions) {
+                // partitions older than retention; the names sort by month
+                if (!partition.equals("p_future") && partition.compareTo(oldest) < 0) {
+                    jdbcTemplate.execute("alter table employee_history drop partition " + partition);
+                    log.info("Dropped employee history partition {}", partition);
+                }
+            }
+        }
+    }
+
+    private List<String> partitions() {
+        return new ArrayList<>(jdbcTemplate.queryForList("select partition_name from information_schema.partitions"
+                + " where table_schema = database() and table_name = 'employee_history' and partition_name is not null"
+                + " order by partition_ordinal_position", String.class));
+    }
+
+    /**
+     * Partitions the table the first time, with everything written so far in the current month's partition
+     * or earlier.
+     */
+    private void partition(YearMonth now) {
+        StringJoiner definitions = new StringJoiner(", ");
+        definitions.add(definition(now));
+        definitions.add("partition p_future values less than (maxvalue)");
+        jdbcTemplate.execute("alter table employee_history partition by range columns (changed_at) (" + definitions + ")");
+        log.info("Partitioned employee history by month starting at {}", now);
+    }
+
+    private static String definition(YearMonth month) {
+        return "partition " + month.format(PARTITION_NAME) + " values less than ('" + month.plusMonths(1).atDay(1) + "')";
+    }
+}
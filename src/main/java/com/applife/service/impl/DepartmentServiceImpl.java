@@ -0,0 +1,126 @@
+package com.applife.service.impl;
+
+import com.applife.exception.DepartmentNotEmptyException;
+import com.applife.exception.InvalidEmployeeDepartmentException;
+import com.applife.exception.ResourceNotFoundException;
+import com.applife.model.Department;
+import com.applife.model.DepartmentStats;
+import com.applife.model.Employee;
+import com.applife.repository.DepartmentEmployeeCount;
+import com.applife.repository.DepartmentRepository;
+import com.applife.repository.EmployeeRepository;
+import com.applife.repository.shard.DepartmentShardReplicator;
+import com.applife.service.DepartmentService;
+import com.applife.service.bulkhead.Workload;
+import com.applife.service.bulkhead.WorkloadClass;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class DepartmentServiceImpl implements DepartmentService {
+
+    private final DepartmentRepository departmentRepository;
+
+    private final EmployeeRepository employeeRepository;
+
+    private final ObjectProvider<DepartmentShardReplicator> shardReplicator;
+
+    public DepartmentServiceImpl(DepartmentRepository departmentRepository,
+                                 EmployeeRepository employeeRepository,
+                                 ObjectProvider<DepartmentShardReplicator> shardReplicator) {
+        this.departmentRepository = departmentRepository;
+        this.employeeRepository = employeeRepository;
+        this.shardReplicator = shardReplicator;
+    }
+
+    @Override
+    @Workload(WorkloadClass.WRITE)
+    public Department createDepartment(Department department) {
+        if (departmentRepository.findByName(department.getName()).isPresent()) {
+            throw new ResourceNotFoundException("Department already exist with given name:" + department.getName());
+        }
+        department.setId(0);
+        Department savedDepartment = departmentRepository.save(department);
+        shardReplicator.ifAvailable(replicator -> replicator.replicate(savedDepartment));
+        return savedDepartment;
+    }
+
+    @Override
+    @Workload(WorkloadClass.INTERACTIVE)
+    public List<Department> getAllDepartments() {
+        return departmentRepository.findAllByOrderByNameAsc();
+    }
+
+    @Override
+    @Workload(WorkloadClass.INTERACTIVE)
+    public Optional<Department> getDepartmentById(long id) {
+        return departmentRepository.findById(id);
+    }
+
+    @Override
+    @Workload(WorkloadClass.WRITE)
+    public void deleteDepartment(long id) {
+        if (employeeRepository.existsByDepartmentId(id)) {
+            throw new DepartmentNotEmptyException("Department " + id + " still has employees");
+        }
+        departmentRepository.deleteById(id);
+        shardReplicator.ifAvailable(replicator -> replicator.remove(id));
+    }
+
+    @Override
+    @Workload(WorkloadClass.INTERACTIVE)
+    public List<Employee> getEmployees(long departmentId, long afterId, int limit) {
+        return employeeRepository.findByDepartmentIdAndIdGreaterThanOrderByIdAsc(departmentId, afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    @Workload(WorkloadClass.BULK)
+    public List<DepartmentStats> getDepartmentStats() {
+        // sharded deployments count per shard, so rows of the same department are added up here
+        Map<Long, DepartmentStats> stats = new LinkedHashMap<>();
+        for (Department department : departmentRepository.findAllByOrderByNameAsc()) {
+            stats.put(department.getId(), new DepartmentStats(department.getId(), department.getName(), 0, null));
+        }
+        for (DepartmentEmployeeCount count : employeeRepository.countByDepartment()) {
+            DepartmentStats departmentStats = stats.get(count.getDepartmentId());
+            if (departmentStats == null) {
+                continue;
+            }
+            departmentStats.setEmployees(departmentStats.getEmployees() + count.getEmployees());
+            if (departmentStats.getLastUpdatedAt() == null
+                    || count.getLastUpdatedAt() != null && count.getLastUpdatedAt().isAfter(departmentStats.getLastUpdatedAt())) {
+                departmentStats.setLastUpdatedAt(count.getLastUpdatedAt());
+            }
+        }
+        return new ArrayList<>(stats.values());
+    }
+
+    @Override
+    public void resolveDepartments(Collection<Employee> employees) {
+        Set<Long> ids = employees.stream()
+                .map(Employee::getDepartment)
+                .filter(Objects::nonNull)
+                .map(Department::getId)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return;
+        }
+        Map<Long, Department> departments = departmentRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Department::getId, Function.identity()));
+        for (Employee employee : employees) {
+            if (employee.getDepartment() == null) {
+                continue;
+            }
+            Department department = departments.get(employee.getDepartment().getId());
+            if (department == null) {
+                throw new InvalidEmployeeDepartmentException("Department does not exist with given id:" + employee.getDepartment().getId());
+            }
+            employee.setDepartment(department);
+        }
+    }
+}
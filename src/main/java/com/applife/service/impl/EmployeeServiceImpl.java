@@ -1,13 +1,33 @@
 package com.applife.service.impl;
 
+import com.applife.event.EmployeeChangedEvent;
 import com.applife.exception.ResourceNotFoundException;
 import com.applife.model.Employee;
+import com.applife.model.EmployeeFields;
 import com.applife.repository.EmployeeRepository;
+import com.applife.repository.shard.EmployeeShards;
+import com.applife.service.DepartmentService;
 import com.applife.service.EmployeeService;
+import com.applife.service.bulkhead.Workload;
+import com.applife.service.bulkhead.WorkloadClass;
+import com.applife.service.emailfilter.EmployeeEmailFilter;
+import com.applife.service.hierarchy.EmployeeHierarchy;
+import com.applife.service.readmodel.EmployeeReadModel;
+import com.applife.service.readstore.EmployeeReadPath;
+import com.applife.service.search.EmployeeSearchIndex;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class EmployeeServiceImpl implements EmployeeService {
@@ -15,39 +35,176 @@ public class EmployeeServiceImpl implements EmployeeService {
 
     private final EmployeeRepository employeeRepository;
 
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository) {
+    private final EmployeeReadPath readPath;
+
+    private final EmployeeSearchIndex searchIndex;
+
+    private final EmployeeEmailFilter emailFilter;
+
+    private final EmployeeHierarchy hierarchy;
+
+    private final DepartmentService departmentService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean sharded;
+
+    // null unless employee.read-model.enabled, lists are then served from the projection while it is fresh
+    private final EmployeeReadModel readModel;
+
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository,
+                               EmployeeReadPath readPath,
+                               EmployeeSearchIndex searchIndex,
+                               EmployeeEmailFilter emailFilter,
+                               EmployeeHierarchy hierarchy,
+                               DepartmentService departmentService,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager,
+                               ObjectProvider<EmployeeShards> shards,
+                               ObjectProvider<EmployeeReadModel> readModel) {
         this.employeeRepository = employeeRepository;
+        this.readPath = readPath;
+        this.searchIndex = searchIndex;
+        this.emailFilter = emailFilter;
+        this.hierarchy = hierarchy;
+        this.departmentService = departmentService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sharded = shards.getIfAvailable() != null;
+        this.readModel = readModel.getIfAvailable();
     }
 
     @Override
+    @Workload(WorkloadClass.WRITE)
     public Employee saveEmployee(Employee employee) {
 
-        Optional<Employee> savedEmployee = employeeRepository.findByEmail(employee.getEmail());
+        Optional<Employee> existingEmployee = emailFilter.find(employee.getEmail(), employeeRepository::findByEmail);
 
-        if (savedEmployee.isPresent()) {
+        if (existingEmployee.isPresent()) {
             throw new ResourceNotFoundException("Employee already exist with given email:" + employee.getEmail());
         }
+        hierarchy.checkManager(employee);
+        departmentService.resolveDepartments(List.of(employee));
 
-        return employeeRepository.save(employee);
+        Employee savedEmployee = employeeRepository.save(employee);
+        eventPublisher.publishEvent(EmployeeChangedEvent.created(savedEmployee));
+        return savedEmployee;
     }
 
     @Override
+    @Workload(WorkloadClass.BULK)
     public List<Employee> getAllEmployees() {
-        return employeeRepository.findAll();
+        return Optional.ofNullable(readModel).flatMap(EmployeeReadModel::findAll)
+                .orElseGet(employeeRepository::findAll);
+    }
+
+    @Override
+    @Workload(WorkloadClass.BULK)
+    public List<Employee> getAllEmployees(EmployeeFields fields) {
+        // the projection has every field, the controller leaves out the ones not asked for
+        return Optional.ofNullable(readModel).flatMap(EmployeeReadModel::findAll)
+                .orElseGet(() -> fields.isAll() ? employeeRepository.findAll() : employeeRepository.findAllFields(fields));
+    }
+
+    @Override
+    @Workload(WorkloadClass.INTERACTIVE)
+    public List<Employee> getEmployeesAfter(long afterId, int limit) {
+        return Optional.ofNullable(readModel).flatMap(model -> model.findAfter(afterId, limit))
+                .orElseGet(() -> employeeRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, limit)));
     }
 
     @Override
+    @Workload(WorkloadClass.INTERACTIVE)
+    public List<Employee> getEmployeesAfter(long afterId, int limit, EmployeeFields fields) {
+        return Optional.ofNullable(readModel).flatMap(model -> model.findAfter(afterId, limit))
+                .orElseGet(() -> fields.isAll() ? employeeRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, limit))
+                        : employeeRepository.findFieldsByIdGreaterThan(fields, afterId, PageRequest.of(0, limit)));
+    }
+
+    @Override
+    @Workload(WorkloadClass.INTERACTIVE)
     public Optional<Employee> getEmployeeById(long id) {
-        return employeeRepository.findById(id);
+        Optional<Employee> employee = readPath.find(id);
+        if (employee.isPresent()) {
+            return employee;
+        }
+        long stamp = readPath.stamp(id);
+        employee = employeeRepository.findById(id);
+        employee.ifPresent(loaded -> readPath.loaded(loaded, stamp));
+        return employee;
     }
 
     @Override
+    @Workload(WorkloadClass.INTERACTIVE)
+    public Optional<Employee> getEmployeeById(long id, EmployeeFields fields) {
+        if (fields.isAll()) {
+            return getEmployeeById(id);
+        }
+        // a cached employee has every field, partial ones from the database are not cached
+        Optional<Employee> employee = readPath.find(id);
+        return employee.isPresent() ? employee : employeeRepository.findFieldsById(id, fields);
+    }
+
+    @Override
+    @Workload(WorkloadClass.WRITE)
     public Employee updateEmployee(Employee updatedEmployee) {
-        return employeeRepository.save(updatedEmployee);
+        hierarchy.checkManager(updatedEmployee);
+        departmentService.resolveDepartments(List.of(updatedEmployee));
+        Employee savedEmployee = employeeRepository.save(updatedEmployee);
+        eventPublisher.publishEvent(EmployeeChangedEvent.updated(savedEmployee));
+        return savedEmployee;
     }
 
     @Override
+    @Workload(WorkloadClass.WRITE)
     public void deleteEmployee(long id) {
-     employeeRepository.deleteById(id);
+        if (sharded) {
+            // repository calls cannot join a transaction here, the reports may sit on other shards than the employee
+            deleteAndMoveReportsUp(id);
+            return;
+        }
+        // one transaction, so the change events only go out once the reports have moved and the employee is gone
+        transactionTemplate.executeWithoutResult(status -> deleteAndMoveReportsUp(id));
+    }
+
+    private void deleteAndMoveReportsUp(long id) {
+        // the direct reports move up to the deleted employee's manager
+        List<Long> reportIds = hierarchy.reportIds(id, 1);
+        if (!reportIds.isEmpty()) {
+            Long managerId = hierarchy.managerOf(id).orElse(null);
+            List<Employee> reports = employeeRepository.findAllById(reportIds);
+            reports.forEach(report -> report.setManagerId(managerId));
+            employeeRepository.saveAll(reports).forEach(report -> eventPublisher.publishEvent(EmployeeChangedEvent.updated(report)));
+        }
+        employeeRepository.deleteById(id);
+        eventPublisher.publishEvent(EmployeeChangedEvent.deleted(id));
+    }
+
+    @Override
+    @Workload(WorkloadClass.INTERACTIVE)
+    public List<Employee> getReports(long id, int maxDepth) {
+        return findInOrder(hierarchy.reportIds(id, maxDepth));
+    }
+
+    @Override
+    @Workload(WorkloadClass.INTERACTIVE)
+    public List<Employee> getManagementChain(long id) {
+        return findInOrder(hierarchy.chainIds(id));
+    }
+
+    @Override
+    public List<Employee> searchEmployees(String query, int limit) {
+        return searchIndex.search(query, limit);
+    }
+
+    private List<Employee> findInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Employee> employees = employeeRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+        return ids.stream().map(employees::get).filter(Objects::nonNull).collect(Collectors.toList());
     }
 }
@@ -0,0 +1,113 @@
+package com.applife.service.invalidation;
+
+import com.applife.event.EmployeeChangedEvent;
+import com.applife.event.EmployeeWriteVersion;
+import com.applife.service.readstore.EmployeeReadPath;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Tells the other nodes which employees this node changed, so their read stores drop them. Changed ids are
+ * collected (several writes to one id make one entry) and published in batches every
+ * {@code publish-interval-ms}; batches from other nodes are applied through {@link EmployeeReadPath#invalidate}
+ * and move the {@link EmployeeWriteVersion}. Components that track more than the read stores can follow the other
+ * nodes' changes through {@link #onRemoteChanges}.
+ */
+@Component
+@ConditionalOnExpression("'${employee.invalidation.channel:none}' != 'none'")
+public class EmployeeInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeInvalidationBus.class);
+
+    private final EmployeeInvalidationChannel channel;
+
+    private final EmployeeReadPath readPath;
+
+    private final EmployeeWriteVersion writeVersion;
+
+    private final int maxBatch;
+
+    private final String origin = UUID.randomUUID().toString();
+
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    private final List<Consumer<long[]>> remoteListeners = new CopyOnWriteArrayList<>();
+
+    public EmployeeInvalidationBus(EmployeeInvalidationChannel channel,
+                                   EmployeeReadPath readPath,
+                                   EmployeeWriteVersion writeVersion,
+                                   @Value("${employee.invalidation.max-batch:1000}") int maxBatch) {
+        this.channel = channel;
+        this.readPath = readPath;
+        this.writeVersion = writeVersion;
+        this.maxBatch = maxBatch;
+        channel.subscribe(this::onInvalidation);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        pending.add(event.getEmployeeId());
+    }
+
+    @Scheduled(fixedDelayString = "${employee.invalidation.publish-interval-ms:50}")
+    public synchronized void flush() {
+        while (!pending.isEmpty()) {
+            long[] batch = new long[Math.min(pending.size(), maxBatch)];
+            int size = 0;
+            for (Iterator<Long> ids = pending.iterator(); ids.hasNext() && size < batch.length; ) {
+                batch[size++] = ids.next();
+                ids.remove();
+            }
+            long[] employeeIds = size == batch.length ? batch : Arrays.copyOf(batch, size);
+            try {
+                channel.publish(origin, employeeIds);
+            } catch (RuntimeException e) {
+                for (long id : employeeIds) {
+                    pending.add(id);
+                }
+                log.warn("Could not publish {} employee invalidations, will retry", employeeIds.length, e);
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    public void onRemoteChanges(Consumer<long[]> listener) {
+        remoteListeners.add(listener);
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    private void onInvalidation(String batchOrigin, long[] employeeIds) {
+        if (origin.equals(batchOrigin)) {
+            return;
+        }
+        for (long id : employeeIds) {
+            readPath.invalidate(id);
+        }
+        // listeners see the change before the version counts it, as local change events do
+        remoteListeners.forEach(listener -> listener.accept(employeeIds));
+        writeVersion.bump();
+    }
+}
@@ -0,0 +1,14 @@
+package com.applife.service.invalidation;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Carries batches of changed employee ids between the nodes of a deployment. Every subscriber receives every
+ * batch, including the ones its own node published; {@code origin} tells them apart.
+ */
+public interface EmployeeInvalidationChannel {
+
+    void publish(String origin, long[] employeeIds);
+
+    void subscribe(BiConsumer<String, long[]> listener);
+}
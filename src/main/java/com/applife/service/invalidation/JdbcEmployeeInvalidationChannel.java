@@ -0,0 +1,157 @@
+package com.applife.service.invalidation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+/**
+ * Invalidation channel over the {@code employee_invalidations} table: publishing inserts one row per batch,
+ * every node polls for rows past the last sequence number it has seen. No extra infrastructure is needed.
+ * <p>
+ * Auto-increment values may become visible out of order (a lower {@code seq} committing after a higher one),
+ * so skipped sequence numbers are looked at again until {@link #GAP_TIMEOUT_MILLIS} has passed.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.invalidation.channel", havingValue = "jdbc")
+public class JdbcEmployeeInvalidationChannel implements EmployeeInvalidationChannel {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcEmployeeInvalidationChannel.class);
+
+    static final long GAP_TIMEOUT_MILLIS = 10_000;
+
+    private static final int MAX_GAPS = 10_000;
+
+    private static final int POLL_LIMIT = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final long retentionMillis;
+
+    private final List<BiConsumer<String, long[]>> listeners = new CopyOnWriteArrayList<>();
+
+    // sequence numbers skipped by a poll -> when they were first skipped
+    private final TreeMap<Long, Long> gaps = new TreeMap<>();
+
+    private long lastSeq;
+
+    public JdbcEmployeeInvalidationChannel(DataSource dataSource,
+                                           @Value("${employee.invalidation.retention-ms:600000}") long retentionMillis) {
+        new ResourceDatabasePopulator(new ClassPathResource("db/employee-invalidation-schema.sql")).execute(dataSource);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.retentionMillis = retentionMillis;
+        // a node starts with empty caches, so older invalidations do not concern it
+        Long maxSeq = jdbcTemplate.queryForObject("select coalesce(max(seq), 0) from employee_invalidations", Long.class);
+        this.lastSeq = maxSeq == null ? 0 : maxSeq;
+    }
+
+    @Override
+    public void publish(String origin, long[] employeeIds) {
+        jdbcTemplate.update("insert into employee_invalidations (origin, employee_ids, created_at) values (?, ?, ?)",
+                origin, encode(employeeIds), new Timestamp(System.currentTimeMillis()));
+    }
+
+    @Override
+    public void subscribe(BiConsumer<String, long[]> listener) {
+        listeners.add(listener);
+    }
+
+    @Scheduled(fixedDelayString = "${employee.invalidation.poll-interval-ms:200}")
+    public synchronized void poll() {
+        long now = System.currentTimeMillis();
+        gaps.values().removeIf(skippedAt -> now - skippedAt > GAP_TIMEOUT_MILLIS);
+        long from = gaps.isEmpty() ? lastSeq : Math.min(lastSeq, gaps.firstKey() - 1);
+        List<Object[]> rows;
+        do {
+            rows = jdbcTemplate.query("select seq, origin, employee_ids from employee_invalidations where seq > ? order by seq limit ?",
+                    (resultSet, rowNum) -> new Object[]{resultSet.getLong(1), resultSet.getString(2), resultSet.getBytes(3)},
+                    from, POLL_LIMIT);
+            for (Object[] row : rows) {
+                long seq = (Long) row[0];
+                from = seq;
+                if (seq <= lastSeq) {
+                    if (gaps.remove(seq) == null) {
+                        continue;
+                    }
+                } else {
+                    for (long skipped = lastSeq + 1; skipped < seq && gaps.size() < MAX_GAPS; skipped++) {
+                        gaps.put(skipped, now);
+                    }
+                    lastSeq = seq;
+                }
+                deliver((String) row[1], decode((byte[]) row[2]));
+            }
+        } while (rows.size() == POLL_LIMIT);
+    }
+
+    @Scheduled(fixedDelayString = "${employee.invalidation.retention-ms:600000}")
+    public void purge() {
+        int purged = jdbcTemplate.update("delete from employee_invalidations where created_at < ?",
+                new Timestamp(System.currentTimeMillis() - retentionMillis));
+        if (purged > 0) {
+            log.debug("Purged {} employee invalidation batches", purged);
+        }
+    }
+
+    private void deliver(String origin, long[] employeeIds) {
+        for (BiConsumer<String, long[]> listener : listeners) {
+            try {
+                listener.accept(origin, employeeIds);
+            } catch (RuntimeException e) {
+                log.warn("Employee invalidation listener failed for {} ids", employeeIds.length, e);
+            }
+        }
+    }
+
+    /**
+     * Sorted ids as unsigned varint deltas, a few bytes per id instead of eight.
+     */
+    static byte[] encode(long[] employeeIds) {
+        long[] sorted = employeeIds.clone();
+        Arrays.sort(sorted);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(sorted.length * 3);
+        long previous = 0;
+        for (long id : sorted) {
+            long delta = id - previous;
+            while ((delta & ~0x7FL) != 0) {
+                out.write((int) (delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            out.write((int) delta);
+            previous = id;
+        }
+        return out.toByteArray();
+    }
+
+    static long[] decode(byte[] bytes) {
+        long[] ids = new long[bytes.length];
+        int count = 0;
+        long previous = 0;
+        int position = 0;
+        while (position < bytes.length) {
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            previous += delta;
+            ids[count++] = previous;
+        }
+        return Arrays.copyOf(ids, count);
+    }
+}
@@ -0,0 +1,28 @@
+package com.applife.service.invalidation;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+/**
+ * Delivers batches synchronously to the subscribers in this JVM, for tests and single-node runs.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.invalidation.channel", havingValue = "loopback")
+public class LoopbackEmployeeInvalidationChannel implements EmployeeInvalidationChannel {
+
+    private final List<BiConsumer<String, long[]>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(String origin, long[] employeeIds) {
+        listeners.forEach(listener -> listener.accept(origin, employeeIds.clone()));
+    }
+
+    @Override
+    public void subscribe(BiConsumer<String, long[]> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,120 @@
+package com.applife.service.nearcache;
+
+import com.applife.event.EmployeeChangedEvent;
+import com.applife.model.Employee;
+import com.applife.service.readstore.EmployeeReadStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Small per-node cache in front of the other read stores. Local writes update it through the service's change
+ * events and writes on other nodes arrive as invalidations from {@code EmployeeInvalidationBus}; entries also
+ * expire after {@code ttl-ms}, which bounds the staleness should an invalidation ever be lost.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "employee.near-cache.enabled", havingValue = "true")
+public class EmployeeNearCache implements EmployeeReadStore {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeNearCache.class);
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    private final int maxEntries;
+
+    private final long ttlNanos;
+
+    public EmployeeNearCache(@Value("${employee.near-cache.max-entries:100000}") int maxEntries,
+                             @Value("${employee.near-cache.ttl-ms:30000}") long ttlMs,
+                             @Value("${employee.invalidation.channel:none}") String invalidationChannel) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlMs * 1_000_000;
+        if ("none".equals(invalidationChannel)) {
+            log.warn("Employee near cache without employee.invalidation.channel: other nodes' writes show up only after {} ms", ttlMs);
+        }
+    }
+
+    @Override
+    public Optional<Employee> find(long id) {
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (System.nanoTime() - entry.expiresAt > 0) {
+            entries.remove(id, entry);
+            return Optional.empty();
+        }
+        // callers modify what they get, e.g. the controller's update
+        return Optional.of(entry.employee.copy());
+    }
+
+    // a database read never replaces what a change event put here, that is at least as new
+    @Override
+    public void loaded(Employee employee) {
+        if (entries.putIfAbsent(employee.getId(), new Entry(employee.copy(), System.nanoTime() + ttlNanos)) == null
+                && entries.size() > maxEntries) {
+            evict();
+        }
+    }
+
+    @Override
+    public void invalidate(long id) {
+        entries.remove(id);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (event.getType() == EmployeeChangedEvent.Type.DELETED) {
+            entries.remove(event.getEmployeeId());
+        } else {
+            put(event.getEmployee());
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void put(Employee employee) {
+        entries.put(employee.getId(), new Entry(employee.copy(), System.nanoTime() + ttlNanos));
+        if (entries.size() > maxEntries) {
+            evict();
+        }
+    }
+
+    /**
+     * Drops expired entries and, if that is not enough, arbitrary ones (hash order) down to 90% of the limit.
+     */
+    private void evict() {
+        long now = System.nanoTime();
+        int target = maxEntries - maxEntries / 10;
+        entries.values().removeIf(entry -> now - entry.expiresAt > 0);
+        for (Iterator<Long> ids = entries.keySet().iterator(); ids.hasNext() && entries.size() > target; ) {
+            ids.next();
+            ids.remove();
+        }
+    }
+
+    private static final class Entry {
+
+        private final Employee employee;
+
+        private final long expiresAt;
+
+        private Entry(Employee employee, long expiresAt) {
+            this.employee = employee;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
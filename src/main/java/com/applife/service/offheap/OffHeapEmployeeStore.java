@@ -0,0 +1,62 @@
+package com.applife.service.offheap;
+
+import com.applife.event.EmployeeChangedEvent;
+import com.applife.model.Employee;
+import com.applife.service.readstore.EmployeeReadStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+
+/**
+ * Read-through store for the hot read set, backed by an {@link OffHeapEmployeeTable}.
+ * Filled from database reads and kept current by the service's change events.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "employee.off-heap.enabled", havingValue = "true")
+public class OffHeapEmployeeStore implements EmployeeReadStore {
+
+    private final OffHeapEmployeeTable table;
+
+    public OffHeapEmployeeStore(@Value("${employee.off-heap.segment-bytes:16777216}") int segmentBytes,
+                                @Value("${employee.off-heap.max-bytes:1073741824}") long maxBytes,
+                                @Value("${employee.off-heap.expected-entries:100000}") int expectedEntries,
+                                @Value("${employee.off-heap.tombstone-ttl-ms:60000}") long tombstoneTtlMs) {
+        this.table = new OffHeapEmployeeTable(segmentBytes, maxBytes, expectedEntries, tombstoneTtlMs);
+    }
+
+    @Override
+    public Optional<Employee> find(long id) {
+        return table.get(id);
+    }
+
+    @Override
+    public void loaded(Employee employee) {
+        table.putIfAbsent(employee);
+    }
+
+    @Override
+    public void invalidate(long id) {
+        // EmployeeReadPath discards the database reads this could race with, no tombstone needed
+        table.evict(id);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (event.getType() == EmployeeChangedEvent.Type.DELETED) {
+            table.remove(event.getEmployeeId());
+        } else if (!table.put(event.getEmployee())) {
+            // out of space: never leave the previous version behind
+            table.remove(event.getEmployeeId());
+        }
+    }
+
+    public int size() {
+        return table.size();
+    }
+}
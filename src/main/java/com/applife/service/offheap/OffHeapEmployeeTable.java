@@ -0,0 +1,390 @@
+package com.applife.service.offheap;
+
+import com.applife.model.Department;
+import com.applife.model.Employee;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Employees encoded into direct {@link ByteBuffer} segments, found through an open-addressing
+ * {@code long id -> long address} index held in two primitive arrays. No per-entry objects live on the heap.
+ * <p>
+ * Records are append-only: an update appends a new record and a delete leaves a tombstone in the index, which
+ * keeps a database read that was already running from caching the deleted employee again. Tombstones only have
+ * to outlive such reads, they expire after {@code tombstoneTtlMs} and are dropped when the index is rebuilt.
+ * {@link #evict} forgets an entry without a tombstone. When the segments are full the live records are compacted
+ * into fresh ones.
+ */
+public class OffHeapEmployeeTable {
+
+    private static final long EMPTY = 0;
+
+    // a slot whose id may be cached again; live addresses are positive
+    private static final long FREE = -1;
+
+    // tombstones are stored as TOMBSTONE - expiry, expiry in milliseconds since the table was created
+    private static final long TOMBSTONE = -2;
+
+    private static final float MAX_LOAD = 0.6f;
+
+    private final int segmentBytes;
+
+    private final long maxBytes;
+
+    private final long tombstoneTtlMs;
+
+    private final long createdAt = System.nanoTime();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] keys;
+
+    // segment index in the high 32 bits, position + 1 in the low 32 bits, so 0 never is a valid address
+    private long[] addresses;
+
+    private int used;
+
+    private int live;
+
+    private List<ByteBuffer> segments = new ArrayList<>();
+
+    private long liveBytes;
+
+    public OffHeapEmployeeTable(int segmentBytes, long maxBytes, int expectedEntries, long tombstoneTtlMs) {
+        this.segmentBytes = segmentBytes;
+        this.maxBytes = maxBytes;
+        this.tombstoneTtlMs = tombstoneTtlMs;
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedEntries / MAX_LOAD)) - 1) << 1;
+        this.keys = new long[capacity];
+        this.addresses = new long[capacity];
+    }
+
+    public Optional<Employee> get(long id) {
+        lock.readLock().lock();
+        try {
+            int slot = find(keys, id);
+            if (slot < 0 || addresses[slot] <= 0) {
+                return Optional.empty();
+            }
+            return Optional.of(decode(addresses[slot]));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stores the employee. Returns false when it does not fit into {@code maxBytes} even after compaction;
+     * the caller then simply keeps going to the database for it.
+     */
+    public boolean put(Employee employee) {
+        return put(employee, false);
+    }
+
+    /**
+     * Like {@link #put(Employee)} but keeps an existing entry or unexpired tombstone, for values read from the
+     * database that may already have been overtaken by a concurrent write.
+     */
+    public boolean putIfAbsent(Employee employee) {
+        return put(employee, true);
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotFor(id);
+            if (keys[slot] == id) {
+                release(slot);
+            } else {
+                keys[slot] = id;
+                used++;
+            }
+            addresses[slot] = TOMBSTONE - (now() + tombstoneTtlMs);
+            if (used > keys.length * MAX_LOAD) {
+                grow();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Forgets the employee, tombstone included, so that {@link #putIfAbsent} caches it again; for invalidations,
+     * whose racing database reads the caller already discards.
+     */
+    public void evict(long id) {
+        lock.writeLock().lock();
+        try {
+            int slot = find(keys, id);
+            if (slot >= 0) {
+                release(slot);
+                addresses[slot] = FREE;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long allocatedBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) segments.size() * segmentBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int capacity() {
+        lock.readLock().lock();
+        try {
+            return keys.length;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean put(Employee employee, boolean onlyIfAbsent) {
+        byte[] record = encode(employee);
+        if (record.length > segmentBytes) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            int slot = slotFor(employee.getId());
+            boolean present = keys[slot] == employee.getId() && !droppable(addresses[slot], now());
+            if (onlyIfAbsent && present) {
+                return false;
+            }
+            long address = append(record);
+            if (address == EMPTY) {
+                compact();
+                slot = slotFor(employee.getId());
+                address = append(record);
+                if (address == EMPTY) {
+                    return false;
+                }
+            }
+            if (keys[slot] == employee.getId()) {
+                release(slot);
+            } else {
+                keys[slot] = employee.getId();
+                used++;
+            }
+            addresses[slot] = address;
+            live++;
+            liveBytes += record.length;
+            if (used > keys.length * MAX_LOAD) {
+                grow();
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long append(byte[] record) {
+        ByteBuffer segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (segment == null || segment.remaining() < record.length) {
+            if ((long) (segments.size() + 1) * segmentBytes > maxBytes) {
+                return EMPTY;
+            }
+            segment = ByteBuffer.allocateDirect(segmentBytes);
+            segments.add(segment);
+        }
+        int position = segment.position();
+        segment.put(record);
+        return ((long) (segments.size() - 1) << 32) | (position + 1L);
+    }
+
+    /**
+     * Takes the record in {@code slot} out of the live counts, if there is one.
+     */
+    private void release(int slot) {
+        if (addresses[slot] > 0) {
+            liveBytes -= recordLength(addresses[slot]);
+            live--;
+        }
+    }
+
+    /**
+     * Copies the live records into new segments, provided that frees at least a quarter of the allocated space.
+     * Unexpired tombstones are kept, expired ones and freed slots dropped.
+     */
+    private void compact() {
+        long allocated = (long) segments.size() * segmentBytes;
+        if (allocated == 0 || liveBytes > allocated * 3 / 4) {
+            return;
+        }
+        List<ByteBuffer> oldSegments = segments;
+        long[] oldKeys = keys;
+        long[] oldAddresses = addresses;
+        segments = new ArrayList<>();
+        keys = new long[oldKeys.length];
+        addresses = new long[oldKeys.length];
+        used = 0;
+        long now = now();
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY || droppable(oldAddresses[i], now)) {
+                continue;
+            }
+            if (oldAddresses[i] < 0) {
+                int slot = slotFor(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                addresses[slot] = oldAddresses[i];
+                used++;
+                continue;
+            }
+            byte[] record = read(oldSegments, oldAddresses[i]);
+            long address = append(record);
+            if (address == EMPTY) {
+                // segment tail fragmentation left no room, the entry is read from the database again
+                live--;
+                liveBytes -= record.length;
+                continue;
+            }
+            int slot = slotFor(oldKeys[i]);
+            keys[slot] = oldKeys[i];
+            addresses[slot] = address;
+            used++;
+        }
+    }
+
+    /**
+     * Rebuilds the index without its freed slots and expired tombstones, twice as large if dropping them was not
+     * enough to get back under half the maximum load.
+     */
+    private void grow() {
+        long now = now();
+        int kept = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY && !droppable(addresses[i], now)) {
+                kept++;
+            }
+        }
+        rehash(kept > keys.length * MAX_LOAD / 2 ? keys.length * 2 : keys.length, now);
+    }
+
+    private void rehash(int capacity, long now) {
+        long[] oldKeys = keys;
+        long[] oldAddresses = addresses;
+        keys = new long[capacity];
+        addresses = new long[capacity];
+        used = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY || droppable(oldAddresses[i], now)) {
+                continue;
+            }
+            int slot = slotFor(oldKeys[i]);
+            keys[slot] = oldKeys[i];
+            addresses[slot] = oldAddresses[i];
+            used++;
+        }
+    }
+
+    private static boolean droppable(long address, long now) {
+        return address == FREE || address <= TOMBSTONE && TOMBSTONE - address <= now;
+    }
+
+    private long now() {
+        return (System.nanoTime() - createdAt) / 1_000_000;
+    }
+
+    private int slotFor(long id) {
+        int mask = keys.length - 1;
+        int slot = mix(id) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int find(long[] keys, long id) {
+        int mask = keys.length - 1;
+        int slot = mix(id) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == id) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static int mix(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private int recordLength(long address) {
+        ByteBuffer segment = segments.get((int) (address >>> 32));
+        return segment.getInt((int) address - 1);
+    }
+
+    private static byte[] read(List<ByteBuffer> segments, long address) {
+        ByteBuffer segment = segments.get((int) (address >>> 32)).duplicate();
+        segment.position((int) address - 1);
+        byte[] record = new byte[segment.getInt(segment.position())];
+        segment.get(record);
+        return record;
+    }
+
+    private Employee decode(long address) {
+        ByteBuffer record = ByteBuffer.wrap(read(segments, address));
+        record.getInt();
+        long id = record.getLong();
+        long managerId = record.getLong();
+        long departmentId = record.getLong();
+        Employee employee = Employee.builder()
+                .id(id)
+                .managerId(managerId == 0 ? null : managerId)
+                .firstName(readString(record))
+                .lastName(readString(record))
+                .email(readString(record))
+                .build();
+        String departmentName = readString(record);
+        if (departmentId != 0) {
+            employee.setDepartment(new Department(departmentId, departmentName));
+        }
+        return employee;
+    }
+
+    private static byte[] encode(Employee employee) {
+        byte[] firstName = employee.getFirstName().getBytes(StandardCharsets.UTF_8);
+        byte[] lastName = employee.getLastName().getBytes(StandardCharsets.UTF_8);
+        byte[] email = employee.getEmail().getBytes(StandardCharsets.UTF_8);
+        Department department = employee.getDepartment();
+        byte[] departmentName = department == null ? new byte[0] : department.getName().getBytes(StandardCharsets.UTF_8);
+        int length = Integer.BYTES + 3 * Long.BYTES + 4 * Integer.BYTES
+                + firstName.length + lastName.length + email.length + departmentName.length;
+        return ByteBuffer.allocate(length)
+                .putInt(length)
+                .putLong(employee.getId())
+                .putLong(employee.getManagerId() == null ? 0 : employee.getManagerId())
+                .putLong(department == null ? 0 : department.getId())
+                .putInt(firstName.length).put(firstName)
+                .putInt(lastName.length).put(lastName)
+                .putInt(email.length).put(email)
+                .putInt(departmentName.length).put(departmentName)
+                .array();
+    }
+
+    private static String readString(ByteBuffer record) {
+        byte[] bytes = new byte[record.getInt()];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
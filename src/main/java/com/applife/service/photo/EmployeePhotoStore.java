@@ -0,0 +1,300 @@
+package com.applife.service.photo;
+
+import com.applife.exception.EmployeePhotoTooLargeException;
+import com.applife.exception.InvalidEmployeePhotoException;
+import com.applife.repository.EmployeeRepository;
+import com.applife.service.bulkhead.Workload;
+import com.applife.service.bulkhead.WorkloadClass;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Profile photos as content-addressed files: a photo is stored once under the SHA-256 of its bytes and the
+ * employee row only keeps that reference ({@code <hash>.<ext>}), so employee reads and Hibernate snapshots never
+ * carry image bytes. Identical uploads share a file and the hash doubles as a strong ETag. Thumbnails are
+ * scaled on a single background thread after the upload; until one exists the original is served instead.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.photo.enabled", havingValue = "true")
+public class EmployeePhotoStore {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeePhotoStore.class);
+
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private static final byte[] GIF = {'G', 'I', 'F', '8'};
+
+    private final EmployeeRepository employeeRepository;
+
+    private final Path root;
+
+    private final Path uploads;
+
+    private final long maxBytes;
+
+    private final int thumbnailSize;
+
+    private final long maxPixels;
+
+    // references with a thumbnail queued, so a burst of reads schedules it once
+    private final Set<String> pendingThumbnails = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService thumbnailer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "employee-photo-thumbnails");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public EmployeePhotoStore(EmployeeRepository employeeRepository,
+                              @Value("${employee.photo.dir:./photos}") String dir,
+                              @Value("${employee.photo.max-bytes:5242880}") long maxBytes,
+                              @Value("${employee.photo.thumbnail-size:128}") int thumbnailSize,
+                              @Value("${employee.photo.max-pixels:40000000}") long maxPixels) throws IOException {
+        this.employeeRepository = employeeRepository;
+        this.root = Paths.get(dir).toAbsolutePath();
+        this.uploads = Files.createDirectories(root.resolve("uploads"));
+        this.maxBytes = maxBytes;
+        this.thumbnailSize = thumbnailSize;
+        this.maxPixels = maxPixels;
+    }
+
+    @Workload(WorkloadClass.INTERACTIVE)
+    public boolean exists(long employeeId) {
+        return employeeRepository.existsById(employeeId);
+    }
+
+    /**
+     * Stores the photo and returns its reference. The upload is streamed to disk while it is hashed and rejected
+     * once it passes {@code max-bytes} or when it is not a JPEG, PNG or GIF image.
+     */
+    public String store(InputStream content) throws IOException {
+        Path upload = Files.createTempFile(uploads, "photo", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(upload), digest)) {
+                byte[] buffer = new byte[64 * 1024];
+                long size = 0;
+                for (int read; (read = content.read(buffer)) != -1; ) {
+                    size += read;
+                    if (size > maxBytes) {
+                        throw new EmployeePhotoTooLargeException("Photos are limited to " + maxBytes + " bytes");
+                    }
+                    out.write(buffer, 0, read);
+                }
+            }
+            String reference = hex(digest.digest()) + "." + extension(upload);
+            Path file = path(reference);
+            Files.createDirectories(file.getParent());
+            try {
+                Files.move(upload, file, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // the same bytes were uploaded before
+            }
+            scheduleThumbnail(reference);
+            return reference;
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    /**
+     * Points the employee at a stored photo. False when the employee does not exist.
+     */
+    @Workload(WorkloadClass.WRITE)
+    public boolean attach(long employeeId, String reference) {
+        return employeeRepository.updatePhoto(employeeId, reference) > 0;
+    }
+
+    @Workload(WorkloadClass.INTERACTIVE)
+    public Optional<Photo> find(long employeeId, boolean thumbnail) {
+        Optional<String> reference = employeeRepository.findPhotoById(employeeId);
+        if (reference.isEmpty()) {
+            return Optional.empty();
+        }
+        if (thumbnail) {
+            Path file = thumbnailPath(reference.get());
+            if (Files.exists(file)) {
+                return Optional.of(new Photo(file, "\"" + hash(reference.get()) + "-" + thumbnailSize + "\""));
+            }
+            scheduleThumbnail(reference.get());
+        }
+        Path file = path(reference.get());
+        if (!Files.exists(file)) {
+            log.warn("Photo {} of employee {} is missing from {}", reference.get(), employeeId, root);
+            return Optional.empty();
+        }
+        return Optional.of(new Photo(file, "\"" + hash(reference.get()) + "\""));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        thumbnailer.shutdownNow();
+    }
+
+    private void scheduleThumbnail(String reference) {
+        if (!Files.exists(thumbnailPath(reference)) && pendingThumbnails.add(reference)) {
+            thumbnailer.execute(() -> {
+                try {
+                    writeThumbnail(reference);
+                } catch (Exception e) {
+                    log.warn("Could not create a thumbnail of photo {}", reference, e);
+                } finally {
+                    pendingThumbnails.remove(reference);
+                }
+            });
+        }
+    }
+
+    private void writeThumbnail(String reference) throws IOException {
+        BufferedImage image;
+        try (ImageInputStream in = ImageIO.createImageInputStream(path(reference).toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                throw new IOException("No image reader for photo " + reference);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                // the header is small, the decoded image is width * height * 4 bytes
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > maxPixels) {
+                    log.warn("Photo {} is {}x{}, no thumbnail is made of images over {} pixels",
+                            reference, reader.getWidth(0), reader.getHeight(0), maxPixels);
+                    return;
+                }
+                image = reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        double scale = Math.min(1.0, (double) thumbnailSize / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        boolean jpeg = reference.endsWith(".jpg");
+        BufferedImage thumbnail = new BufferedImage(width, height, jpeg ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        Path upload = Files.createTempFile(uploads, "thumbnail", ".tmp");
+        try {
+            ImageIO.write(thumbnail, jpeg ? "jpg" : "png", upload.toFile());
+            Files.move(upload, thumbnailPath(reference), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    private Path path(String reference) {
+        return root.resolve(reference.substring(0, 2)).resolve(reference);
+    }
+
+    private Path thumbnailPath(String reference) {
+        // gif thumbnails are written as png, ImageIO has no gif encoder everywhere
+        String extension = reference.endsWith(".jpg") ? "jpg" : "png";
+        return root.resolve(reference.substring(0, 2)).resolve(hash(reference) + "-" + thumbnailSize + "." + extension);
+    }
+
+    private static String hash(String reference) {
+        return reference.substring(0, reference.indexOf('.'));
+    }
+
+    private static String extension(Path upload) throws IOException {
+        byte[] header = new byte[PNG.length];
+        int read;
+        try (InputStream in = Files.newInputStream(upload)) {
+            read = in.readNBytes(header, 0, header.length);
+        }
+        if (startsWith(header, read, JPEG)) {
+            return "jpg";
+        }
+        if (startsWith(header, read, PNG)) {
+            return "png";
+        }
+        if (startsWith(header, read, GIF)) {
+            return "gif";
+        }
+        throw new InvalidEmployeePhotoException("Photos must be JPEG, PNG or GIF images");
+    }
+
+    private static boolean startsWith(byte[] header, int length, byte[] magic) {
+        return length >= magic.length && Arrays.equals(header, 0, magic.length, magic, 0, magic.length);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    public static final class Photo {
+
+        private final Path file;
+
+        private final MediaType mediaType;
+
+        private final String etag;
+
+        private Photo(Path file, String etag) {
+            this.file = file;
+            this.mediaType = file.toString().endsWith(".jpg") ? MediaType.IMAGE_JPEG
+                    : file.toString().endsWith(".gif") ? MediaType.IMAGE_GIF : MediaType.IMAGE_PNG;
+            this.etag = etag;
+        }
+
+        public Path getFile() {
+            return file;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+}
@@ -0,0 +1,418 @@
+package com.applife.service.readmodel;
+
+import com.applife.event.EmployeeChangedEvent;
+import com.applife.event.EmployeeWriteVersion;
+import com.applife.model.Department;
+import com.applife.model.Employee;
+import com.applife.model.EmployeeReadModelStats;
+import com.applife.repository.DepartmentRepository;
+import com.applife.repository.EmployeeRepository;
+import com.applife.service.invalidation.EmployeeInvalidationBus;
+import com.applife.service.readstore.EmployeeReadStore;
+import com.applife.service.search.EmployeeSearchIndex;
+import org.hibernate.Hibernate;
+import org.hibernate.proxy.HibernateProxy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * The read side of the directory: a denormalized copy of every employee, department name included, kept in id
+ * order so full lists and keyset pages are a walk over a sorted map instead of a join over the employees table.
+ * Writes only ever touch the table. Committed changes are queued by the writing thread and applied by a single
+ * projector thread, which also feeds {@link EmployeeSearchIndex}; changes made on other nodes arrive through the
+ * {@link EmployeeInvalidationBus} and are re-read by id.
+ * <p>
+ * Reads are answered here only once the projection has applied every write {@link EmployeeWriteVersion} has
+ * counted, local or remote; until then, or while it is (re)loading, they go to the table. Caches keyed on the
+ * write version, like the response cache, therefore never store a list older than their version. The lag, the age
+ * of the oldest change not applied yet, is measured and reported. A full queue drops the queued changes and
+ * reloads the projection from the table in keyset pages, as on startup. Search has no table to fall back to and
+ * keeps answering from the index while the projection catches up.
+ * <p>
+ * Rows written around the service (imports, SQL run by hand) publish no change; {@link #requestReload} picks
+ * them up.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@ConditionalOnProperty(name = "employee.read-model.enabled", havingValue = "true")
+public class EmployeeReadModel implements EmployeeReadStore {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeReadModel.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final long IDLE = Long.MIN_VALUE;
+
+    private static final long POLL_MILLIS = 100;
+
+    private final EmployeeRepository employeeRepository;
+
+    private final DepartmentRepository departmentRepository;
+
+    private final EmployeeSearchIndex searchIndex;
+
+    private final EmployeeWriteVersion writeVersion;
+
+    private final int pageSize;
+
+    private final ConcurrentSkipListMap<Long, Employee> employees = new ConcurrentSkipListMap<>();
+
+    // departments are never renamed, every employee of one shares a single copy
+    private final Map<Long, Department> departments = new ConcurrentHashMap<>();
+
+    private final BlockingQueue<Change> changes;
+
+    private final Thread projector = new Thread(this::project, "employee-read-model");
+
+    private final LongAdder servedReads = new LongAdder();
+
+    private final LongAdder staleReads = new LongAdder();
+
+    // enqueue time of the oldest change the projector has taken but not applied yet
+    private volatile long applyingSince = IDLE;
+
+    private volatile boolean rebuildRequested = true;
+
+    private volatile boolean reloading;
+
+    private volatile boolean stopping;
+
+    private volatile long applied;
+
+    // every write counted up to this version is in the projection
+    private volatile long appliedVersion = -1;
+
+    private volatile long maxLagNanos;
+
+    private volatile Instant loadedAt;
+
+    public EmployeeReadModel(EmployeeRepository employeeRepository,
+                             DepartmentRepository departmentRepository,
+                             EmployeeSearchIndex searchIndex,
+                             EmployeeWriteVersion writeVersion,
+                             ObjectProvider<EmployeeInvalidationBus> invalidationBus,
+                             @Value("${employee.read-model.load-page-size:5000}") int pageSize,
+                             @Value("${employee.read-model.queue-capacity:100000}") int queueCapacity) {
+        this.employeeRepository = employeeRepository;
+        this.departmentRepository = departmentRepository;
+        this.searchIndex = searchIndex;
+        this.writeVersion = writeVersion;
+        this.pageSize = pageSize;
+        this.changes = new ArrayBlockingQueue<>(queueCapacity);
+        projector.setDaemon(true);
+        invalidationBus.ifAvailable(bus -> bus.onRemoteChanges(this::onRemoteChanges));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        projector.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopping = true;
+        projector.interrupt();
+    }
+
+    // queued before EmployeeWriteVersion counts the write, so a version is never ahead of the queue
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        // copied on the writing thread, the caller keeps the entity and its session is about to close
+        Employee employee = event.getEmployee() == null ? null : event.getEmployee().copyWith(department(event.getEmployee().getDepartment()));
+        enqueue(new Change(event.getEmployeeId(), employee, false));
+    }
+
+    /**
+     * Reads the whole table again on the projector thread; reads go to the table until it is done.
+     */
+    public void requestReload() {
+        rebuildRequested = true;
+    }
+
+    /**
+     * Whether reads are answered here: loaded, and every write counted by the write version applied.
+     */
+    public boolean isFresh() {
+        return !reloading && !rebuildRequested && appliedVersion >= writeVersion.current();
+    }
+
+    @Override
+    public Optional<Employee> find(long id) {
+        if (!fresh()) {
+            return Optional.empty();
+        }
+        Employee employee = employees.get(id);
+        // callers modify what they get, e.g. the controller's update
+        return employee == null ? Optional.empty() : Optional.of(employee.copy());
+    }
+
+    /**
+     * Every employee in id order, empty while the projection is behind the writes.
+     */
+    public Optional<List<Employee>> findAll() {
+        return fresh() ? Optional.of(copies(employees.values(), Integer.MAX_VALUE)) : Optional.empty();
+    }
+
+    /**
+     * The first {@code limit} employees after {@code afterId} in id order, empty while the projection is behind
+     * the writes.
+     */
+    public Optional<List<Employee>> findAfter(long afterId, int limit) {
+        return fresh() ? Optional.of(copies(employees.tailMap(afterId, false).values(), limit)) : Optional.empty();
+    }
+
+    public EmployeeReadModelStats stats() {
+        return new EmployeeReadModelStats(employees.size(), isFresh(), TimeUnit.NANOSECONDS.toMillis(lagNanos()),
+                TimeUnit.NANOSECONDS.toMillis(maxLagNanos), Math.max(0, writeVersion.current() - appliedVersion),
+                changes.size(), applied, servedReads.sum(), staleReads.sum(), loadedAt);
+    }
+
+    private boolean fresh() {
+        if (isFresh()) {
+            servedReads.increment();
+            return true;
+        }
+        staleReads.increment();
+        return false;
+    }
+
+    private long lagNanos() {
+        long now = System.nanoTime();
+        long lag = 0;
+        long since = applyingSince;
+        if (since != IDLE) {
+            lag = now - since;
+        }
+        Change oldest = changes.peek();
+        if (oldest != null) {
+            lag = Math.max(lag, now - oldest.enqueuedAt);
+        }
+        return lag;
+    }
+
+    private void onRemoteChanges(long[] employeeIds) {
+        for (long id : employeeIds) {
+            enqueue(new Change(id, null, true));
+        }
+    }
+
+    private void enqueue(Change change) {
+        if (!changes.offer(change)) {
+            // everything dropped here is committed already, the reload reads it from the table
+            if (!rebuildRequested) {
+                log.warn("Employee read model queue is full, reloading the projection from the table");
+            }
+            rebuildRequested = true;
+        }
+    }
+
+    private void project() {
+        List<Change> batch = new ArrayList<>(BATCH_SIZE);
+        while (!stopping) {
+            try {
+                if (rebuildRequested) {
+                    reload();
+                    continue;
+                }
+                // a write is queued before it is counted, so every write up to this version is queued or applied
+                long version = writeVersion.current();
+                Change first = changes.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    appliedVersion = version;
+                    continue;
+                }
+                applyingSince = first.enqueuedAt;
+                batch.add(first);
+                int drained = changes.drainTo(batch, BATCH_SIZE - 1);
+                if (rebuildRequested) {
+                    // the reload reads these from the table
+                    continue;
+                }
+                apply(batch);
+                if (drained < BATCH_SIZE - 1) {
+                    // the batch emptied the queue
+                    appliedVersion = version;
+                }
+                maxLagNanos = Math.max(maxLagNanos, System.nanoTime() - first.enqueuedAt);
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                if (stopping) {
+                    return;
+                }
+                log.warn("Employee read model could not apply changes, reloading it from the table", e);
+                rebuildRequested = true;
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            } finally {
+                batch.clear();
+                applyingSince = IDLE;
+            }
+        }
+    }
+
+    private void reload() {
+        reloading = true;
+        rebuildRequested = false;
+        long version = writeVersion.current();
+        // changes queued so far are committed, the pages read below contain them
+        changes.clear();
+        long start = System.nanoTime();
+        Set<Long> seen = new HashSet<>(employees.size());
+        long lastId = 0;
+        List<Employee> page;
+        do {
+            page = employeeRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, pageSize));
+            for (Employee employee : page) {
+                put(employee.copyWith(department(employee.getDepartment())));
+                seen.add(employee.getId());
+                lastId = employee.getId();
+            }
+        } while (page.size() == pageSize && !stopping);
+        for (Long id : employees.keySet()) {
+            if (!seen.contains(id)) {
+                remove(id);
+            }
+        }
+        loadedAt = Instant.now();
+        appliedVersion = version;
+        reloading = false;
+        log.info("Employee read model loaded {} employees in {} ms", seen.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void apply(List<Change> batch) {
+        nameDepartments(batch);
+        List<Long> remoteIds = batch.stream().filter(change -> change.remote).map(change -> change.id).collect(Collectors.toList());
+        Map<Long, Employee> current = remoteIds.isEmpty() ? Map.of() : employeeRepository.findAllById(remoteIds).stream()
+                .collect(Collectors.toMap(Employee::getId, employee -> employee.copyWith(department(employee.getDepartment()))));
+        for (Change change : batch) {
+            Employee employee = change.remote ? current.get(change.id) : change.employee;
+            if (employee == null) {
+                remove(change.id);
+            } else {
+                put(employee);
+            }
+        }
+        applied += batch.size();
+    }
+
+    /**
+     * Gives the employees whose department was not loaded by the writer the department's name, one query for the
+     * departments this node has not seen yet.
+     */
+    private void nameDepartments(List<Change> batch) {
+        Set<Long> unnamed = new HashSet<>();
+        for (Change change : batch) {
+            if (change.employee != null && change.employee.getDepartment() != null && change.employee.getDepartment().getName() == null) {
+                unnamed.add(change.employee.getDepartment().getId());
+            }
+        }
+        if (unnamed.isEmpty()) {
+            return;
+        }
+        unnamed.removeIf(departments::containsKey);
+        if (!unnamed.isEmpty()) {
+            departmentRepository.findAllById(unnamed).forEach(this::department);
+        }
+        for (Change change : batch) {
+            if (change.employee != null && change.employee.getDepartment() != null && change.employee.getDepartment().getName() == null) {
+                // a department deleted in the meantime stays a bare id
+                change.employee.setDepartment(departments.getOrDefault(change.employee.getDepartment().getId(), change.employee.getDepartment()));
+            }
+        }
+    }
+
+    private void put(Employee employee) {
+        Employee previous = employees.put(employee.getId(), employee);
+        if (!same(previous, employee)) {
+            searchIndex.index(employee);
+        }
+    }
+
+    private void remove(long id) {
+        if (employees.remove(id) != null) {
+            searchIndex.remove(id);
+        }
+    }
+
+    /**
+     * The shared copy of the department; one the writer did not load is known by its id only until the projector
+     * names it.
+     */
+    private Department department(Department department) {
+        if (department == null) {
+            return null;
+        }
+        long id;
+        String name;
+        if (Hibernate.isInitialized(department)) {
+            id = department.getId();
+            name = department.getName();
+        } else {
+            id = (Long) ((HibernateProxy) department).getHibernateLazyInitializer().getIdentifier();
+            name = null;
+        }
+        Department known = departments.get(id);
+        if (known != null) {
+            return known;
+        }
+        if (name == null) {
+            return Department.builder().id(id).build();
+        }
+        Department named = Department.builder().id(id).name(name).build();
+        Department previous = departments.putIfAbsent(id, named);
+        return previous == null ? named : previous;
+    }
+
+    private static boolean same(Employee previous, Employee employee) {
+        // Employee equality leaves the department out
+        return employee.equals(previous) && Objects.equals(previous.getDepartment(), employee.getDepartment());
+    }
+
+    private static List<Employee> copies(Collection<Employee> employees, int limit) {
+        return employees.stream().limit(limit).map(Employee::copy).collect(Collectors.toList());
+    }
+
+    private static final class Change {
+
+        private final long id;
+
+        // null for deletes and for remote changes, which are read again
+        private final Employee employee;
+
+        private final boolean remote;
+
+        private final long enqueuedAt = System.nanoTime();
+
+        private Change(long id, Employee employee, boolean remote) {
+            this.id = id;
+            this.employee = employee;
+            this.remote = remote;
+        }
+    }
+}
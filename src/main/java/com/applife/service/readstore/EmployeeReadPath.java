@@ -0,0 +1,80 @@
+package com.applife.service.readstore;
+
+import com.applife.event.EmployeeChangedEvent;
+import com.applife.model.Employee;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+/**
+ * Chains the enabled {@link EmployeeReadStore}s in their {@code @Order}. With none enabled every lookup is a miss.
+ * <p>
+ * Database reads only fill the stores if no write for the id, local or from another node, landed while they
+ * were running, otherwise a slow read could put back the version that write just replaced or deleted.
+ */
+@Component
+public class EmployeeReadPath {
+
+    private static final int STRIPES = 1024;
+
+    private final List<EmployeeReadStore> readStores;
+
+    // bumped per id stripe by every invalidation and local change
+    private final AtomicLongArray invalidations = new AtomicLongArray(STRIPES);
+
+    public EmployeeReadPath(ObjectProvider<EmployeeReadStore> readStores) {
+        this.readStores = readStores.orderedStream().collect(Collectors.toList());
+    }
+
+    public Optional<Employee> find(long id) {
+        for (EmployeeReadStore readStore : readStores) {
+            Optional<Employee> employee = readStore.find(id);
+            if (employee.isPresent()) {
+                return employee;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Taken before the database read and handed to {@link #loaded(Employee, long)} with its result.
+     */
+    public long stamp(long id) {
+        return invalidations.get(stripe(id));
+    }
+
+    public void loaded(Employee employee, long stamp) {
+        int stripe = stripe(employee.getId());
+        if (invalidations.get(stripe) != stamp) {
+            return;
+        }
+        readStores.forEach(readStore -> readStore.loaded(employee));
+        // an invalidation that slipped in between the check and the fill removes what was just filled
+        if (invalidations.get(stripe) != stamp) {
+            readStores.forEach(readStore -> readStore.invalidate(employee.getId()));
+        }
+    }
+
+    public void invalidate(long id) {
+        invalidations.incrementAndGet(stripe(id));
+        readStores.forEach(readStore -> readStore.invalidate(id));
+    }
+
+    // the stores apply local changes themselves, this only has to come first so a read racing it is discarded
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        invalidations.incrementAndGet(stripe(event.getEmployeeId()));
+    }
+
+    private static int stripe(long id) {
+        return (int) (id ^ (id >>> 32)) & (STRIPES - 1);
+    }
+}
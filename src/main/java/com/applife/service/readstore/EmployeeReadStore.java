@@ -0,0 +1,23 @@
+package com.applife.service.readstore;
+
+import com.applife.model.Employee;
+
+import java.util.Optional;
+
+/**
+ * A read-optimized source consulted by {@code EmployeeService.getEmployeeById} before the database.
+ * An empty result means "not known here", never "does not exist".
+ */
+public interface EmployeeReadStore {
+
+    Optional<Employee> find(long id);
+
+    default void loaded(Employee employee) {
+    }
+
+    /**
+     * Drops what is known about the employee because another node changed it.
+     */
+    default void invalidate(long id) {
+    }
+}
@@ -0,0 +1,242 @@
+package com.applife.service.search;
+
+import com.applife.model.Employee;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory inverted index over first name, last name and email for type-ahead search.
+ * Terms live in a sorted map for prefix lookups; a trigram index over the terms finds
+ * candidates for typo-tolerant matches, which are confirmed with a bounded prefix edit distance.
+ */
+@Component
+public class EmployeeSearchIndex {
+
+    private static final char START = '^';
+
+    private final Map<Long, Employee> documents = new ConcurrentHashMap<>();
+
+    private final ConcurrentSkipListMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+
+    private final Map<String, Set<String>> trigrams = new ConcurrentHashMap<>();
+
+    public synchronized void index(Employee employee) {
+        remove(employee.getId());
+        Employee document = employee.copy();
+        documents.put(document.getId(), document);
+        for (String term : terms(document)) {
+            postings.computeIfAbsent(term, key -> {
+                for (String trigram : trigrams(key)) {
+                    trigrams.computeIfAbsent(trigram, t -> ConcurrentHashMap.newKeySet()).add(key);
+                }
+                return ConcurrentHashMap.newKeySet();
+            }).add(document.getId());
+        }
+    }
+
+    public synchronized boolean indexIfAbsent(Employee employee) {
+        if (documents.containsKey(employee.getId())) {
+            return false;
+        }
+        index(employee);
+        return true;
+    }
+
+    public synchronized void remove(long id) {
+        Employee document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String term : terms(document)) {
+            Set<Long> ids = postings.get(term);
+            if (ids == null) {
+                continue;
+            }
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(term);
+                for (String trigram : trigrams(term)) {
+                    Set<String> trigramTerms = trigrams.get(trigram);
+                    if (trigramTerms != null) {
+                        trigramTerms.remove(term);
+                        if (trigramTerms.isEmpty()) {
+                            trigrams.remove(trigram);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    /**
+     * Every whitespace separated token of the query has to match a term of the employee, either as
+     * a prefix or, failing that, as a prefix within one (short tokens) or two edits.
+     * Prefix hits come first, in term order, followed by fuzzy hits by distance.
+     */
+    public List<Employee> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        // a single token can stop at the first `limit` prefix hits, intersections need every candidate
+        int cap = tokens.size() == 1 ? limit : Integer.MAX_VALUE;
+        Map<Long, Integer> scores = null;
+        for (String token : tokens) {
+            Map<Long, Integer> tokenScores = match(token, cap);
+            if (scores == null) {
+                scores = tokenScores;
+            } else {
+                Map<Long, Integer> merged = new LinkedHashMap<>();
+                for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+                    Integer score = tokenScores.get(entry.getKey());
+                    if (score != null) {
+                        merged.put(entry.getKey(), entry.getValue() + score);
+                    }
+                }
+                scores = merged;
+            }
+            if (scores.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+
+        List<Employee> result = new ArrayList<>(Math.min(limit, scores.size()));
+        scores.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .limit(limit)
+                .forEach(entry -> {
+                    Employee document = documents.get(entry.getKey());
+                    if (document != null) {
+                        result.add(document);
+                    }
+                });
+        return result;
+    }
+
+    private Map<Long, Integer> match(String token, int cap) {
+        Map<Long, Integer> scores = new LinkedHashMap<>();
+        for (Set<Long> ids : postings.subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+            for (Long id : ids) {
+                scores.putIfAbsent(id, 0);
+            }
+            if (scores.size() >= cap) {
+                return scores;
+            }
+        }
+
+        int maxEdits = token.length() < 3 ? 0 : token.length() <= 5 ? 1 : 2;
+        if (maxEdits == 0) {
+            return scores;
+        }
+
+        Set<String> queryTrigrams = trigrams(token);
+        int requiredShared = queryTrigrams.size() - 3 * maxEdits;
+        Map<String, Integer> shared = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            Set<String> terms = trigrams.get(trigram);
+            if (terms != null) {
+                for (String term : terms) {
+                    shared.merge(term, 1, Integer::sum);
+                }
+            }
+        }
+        for (Map.Entry<String, Integer> candidate : shared.entrySet()) {
+            if (candidate.getValue() < requiredShared || candidate.getKey().startsWith(token)) {
+                continue;
+            }
+            int distance = prefixDistance(token, candidate.getKey(), maxEdits);
+            if (distance <= maxEdits) {
+                Set<Long> ids = postings.get(candidate.getKey());
+                if (ids != null) {
+                    for (Long id : ids) {
+                        scores.merge(id, distance, Math::min);
+                    }
+                }
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Smallest Levenshtein distance between {@code query} and any prefix of {@code term}.
+     */
+    static int prefixDistance(String query, String term, int maxEdits) {
+        int columns = Math.min(term.length(), query.length() + maxEdits);
+        int[] previous = new int[columns + 1];
+        int[] current = new int[columns + 1];
+        for (int j = 0; j <= columns; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= query.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= columns; j++) {
+                int cost = query.charAt(i - 1) == term.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return rowMin;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        int best = Integer.MAX_VALUE;
+        for (int j = 0; j <= columns; j++) {
+            best = Math.min(best, previous[j]);
+        }
+        return best;
+    }
+
+    private static Set<String> terms(Employee employee) {
+        Set<String> terms = new HashSet<>();
+        terms.addAll(tokenize(employee.getFirstName()));
+        terms.addAll(tokenize(employee.getLastName()));
+        String email = normalize(employee.getEmail());
+        if (!email.isEmpty()) {
+            terms.add(email);
+            terms.addAll(tokenize(email.replaceAll("[^\\p{L}\\p{N}]+", " ")));
+        }
+        return terms;
+    }
+
+    private static List<String> tokenize(String value) {
+        String normalized = normalize(value);
+        if (normalized.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : normalized.split("\\s+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> trigrams(String term) {
+        String padded = START + term;
+        Set<String> result = new LinkedHashSet<>();
+        if (padded.length() < 3) {
+            result.add(padded);
+            return result;
+        }
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,87 @@
+package com.applife.service.search;
+
+import com.applife.event.EmployeeChangedEvent;
+import com.applife.model.Employee;
+import com.applife.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps {@link EmployeeSearchIndex} in sync with the service's write methods and fills it from the
+ * database in keyset-ordered pages after startup, so search is available (partially) right away.
+ * With {@code employee.read-model.enabled} the read model's projector feeds the index instead.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.read-model.enabled", havingValue = "false", matchIfMissing = true)
+public class EmployeeSearchIndexUpdater {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSearchIndexUpdater.class);
+
+    private final EmployeeSearchIndex searchIndex;
+
+    private final EmployeeRepository employeeRepository;
+
+    private final int pageSize;
+
+    // deletes seen while the initial load is still running, so a stale page cannot resurrect them
+    private final Set<Long> deletedDuringLoad = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean loading;
+
+    public EmployeeSearchIndexUpdater(EmployeeSearchIndex searchIndex,
+                                      EmployeeRepository employeeRepository,
+                                      @Value("${employee.search.load-page-size:1000}") int pageSize) {
+        this.searchIndex = searchIndex;
+        this.employeeRepository = employeeRepository;
+        this.pageSize = pageSize;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (event.getType() == EmployeeChangedEvent.Type.DELETED) {
+            if (loading) {
+                deletedDuringLoad.add(event.getEmployeeId());
+            }
+            searchIndex.remove(event.getEmployeeId());
+        } else {
+            searchIndex.index(event.getEmployee());
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        loading = true;
+        try {
+            long lastId = 0;
+            long loaded = 0;
+            List<Employee> page;
+            do {
+                page = employeeRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, pageSize));
+                for (Employee employee : page) {
+                    // entries indexed from change events are newer than the page that was just read
+                    if (!deletedDuringLoad.contains(employee.getId()) && searchIndex.indexIfAbsent(employee)) {
+                        loaded++;
+                    }
+                    lastId = employee.getId();
+                }
+            } while (page.size() == pageSize);
+            log.info("Employee search index loaded {} employees", loaded);
+        } finally {
+            loading = false;
+            deletedDuringLoad.clear();
+        }
+    }
+}
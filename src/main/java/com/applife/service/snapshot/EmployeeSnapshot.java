@@ -0,0 +1,215 @@
+package com.applife.service.snapshot;
+
+import com.applife.model.Department;
+import com.applife.model.Employee;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Optional;
+
+/**
+ * Read-only, memory-mapped snapshot of the employees table.
+ * <pre>
+ * header  magic:int version:int createdAt:long maxId:long count:int reserved:int
+ * index   count x (id:long heapOffset:int), sorted by id
+ * heap    per employee: managerId:long, departmentId:long (0 for none), then firstName, lastName, email
+ *         and, with a department, its name as (length:unsigned short, UTF-8 bytes)
+ * </pre>
+ */
+public final class EmployeeSnapshot implements Closeable {
+
+    static final int MAGIC = 0x454D5053;
+
+    static final int VERSION = 3;
+
+    private static final int HEADER_BYTES = 32;
+
+    private static final int INDEX_ENTRY_BYTES = Long.BYTES + Integer.BYTES;
+
+    private final FileChannel channel;
+
+    private final MappedByteBuffer buffer;
+
+    private final long createdAt;
+
+    private final long maxId;
+
+    private final int count;
+
+    private final int heapStart;
+
+    private EmployeeSnapshot(FileChannel channel, MappedByteBuffer buffer) throws IOException {
+        this.channel = channel;
+        this.buffer = buffer;
+        if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not an employee snapshot");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported employee snapshot version " + buffer.getInt(4));
+        }
+        this.createdAt = buffer.getLong(8);
+        this.maxId = buffer.getLong(16);
+        this.count = buffer.getInt(24);
+        this.heapStart = HEADER_BYTES + count * INDEX_ENTRY_BYTES;
+    }
+
+    public static EmployeeSnapshot open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Employee snapshot larger than 2 GB: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            return new EmployeeSnapshot(channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the employees, which must come in ascending id order, to {@code file}.
+     * The file is written next to the target and moved into place atomically.
+     */
+    public static int write(Path file, long createdAt, Iterator<Employee> employees) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path heapFile = Files.createTempFile(directory, "employees-heap", ".tmp");
+        Path snapshotFile = Files.createTempFile(directory, "employees-snapshot", ".tmp");
+        try {
+            long[] ids = new long[1024];
+            int[] offsets = new int[1024];
+            int count = 0;
+            long maxId = 0;
+            try (DataOutputStream heap = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(heapFile)))) {
+                while (employees.hasNext()) {
+                    Employee employee = employees.next();
+                    if (count == ids.length) {
+                        ids = Arrays.copyOf(ids, count * 2);
+                        offsets = Arrays.copyOf(offsets, count * 2);
+                    }
+                    if (heap.size() == Integer.MAX_VALUE) {
+                        throw new IOException("Employee snapshot heap exceeds 2 GB");
+                    }
+                    ids[count] = employee.getId();
+                    offsets[count] = heap.size();
+                    Department department = employee.getDepartment();
+                    heap.writeLong(employee.getManagerId() == null ? 0 : employee.getManagerId());
+                    heap.writeLong(department == null ? 0 : department.getId());
+                    writeString(heap, employee.getFirstName());
+                    writeString(heap, employee.getLastName());
+                    writeString(heap, employee.getEmail());
+                    if (department != null) {
+                        writeString(heap, department.getName());
+                    }
+                    maxId = Math.max(maxId, employee.getId());
+                    count++;
+                }
+            }
+
+            try (FileChannel out = FileChannel.open(snapshotFile, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                 FileChannel heap = FileChannel.open(heapFile, StandardOpenOption.READ)) {
+                ByteBuffer head = ByteBuffer.allocate(HEADER_BYTES + count * INDEX_ENTRY_BYTES);
+                head.putInt(MAGIC).putInt(VERSION).putLong(createdAt).putLong(maxId).putInt(count).putInt(0);
+                for (int i = 0; i < count; i++) {
+                    head.putLong(ids[i]).putInt(offsets[i]);
+                }
+                head.flip();
+                while (head.hasRemaining()) {
+                    out.write(head);
+                }
+                long position = 0;
+                while (position < heap.size()) {
+                    position += heap.transferTo(position, heap.size() - position, out);
+                }
+                out.force(true);
+            }
+            Files.move(snapshotFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return count;
+        } finally {
+            Files.deleteIfExists(heapFile);
+            Files.deleteIfExists(snapshotFile);
+        }
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getMaxId() {
+        return maxId;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public long idAt(int position) {
+        return buffer.getLong(HEADER_BYTES + position * INDEX_ENTRY_BYTES);
+    }
+
+    public Optional<Employee> find(long id) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = idAt(mid);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return Optional.of(read(mid));
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private Employee read(int position) {
+        int entry = HEADER_BYTES + position * INDEX_ENTRY_BYTES;
+        ByteBuffer heap = buffer.duplicate();
+        heap.position(heapStart + buffer.getInt(entry + Long.BYTES));
+        long managerId = heap.getLong();
+        long departmentId = heap.getLong();
+        Employee employee = Employee.builder()
+                .id(buffer.getLong(entry))
+                .managerId(managerId == 0 ? null : managerId)
+                .firstName(readString(heap))
+                .lastName(readString(heap))
+                .email(readString(heap))
+                .build();
+        if (departmentId != 0) {
+            employee.setDepartment(new Department(departmentId, readString(heap)));
+        }
+        return employee;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IOException("Value too long for employee snapshot: " + bytes.length + " bytes");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer heap) {
+        int length = Short.toUnsignedInt(heap.getShort());
+        byte[] bytes = new byte[length];
+        heap.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,179 @@
+package com.applife.service.snapshot;
+
+import com.applife.event.EmployeeChangedEvent;
+import com.applife.model.Employee;
+import com.applife.repository.EmployeeKeysetIterator;
+import com.applife.repository.EmployeeRepository;
+import com.applife.service.readstore.EmployeeReadStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves {@code getEmployeeById} from a memory-mapped {@link EmployeeSnapshot} right after startup.
+ * Rows changed or deleted since the snapshot was taken are caught up from the database into an
+ * overlay, which the service's change events keep current from then on.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ConditionalOnProperty(name = "employee.snapshot.enabled", havingValue = "true")
+public class EmployeeSnapshotStore implements EmployeeReadStore {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSnapshotStore.class);
+
+    // updated_at is stamped by the JVM that wrote the row, so allow for clock skew between pods
+    private static final Duration CLOCK_SKEW_MARGIN = Duration.ofMinutes(1);
+
+    private static final Employee TOMBSTONE = new Employee();
+
+    // changed on another node: unknown here until the next database read
+    private static final Employee INVALIDATED = new Employee();
+
+    private final EmployeeRepository employeeRepository;
+
+    private final Path snapshotFile;
+
+    private final int pageSize;
+
+    private final Map<Long, Employee> overlay = new ConcurrentHashMap<>();
+
+    private volatile EmployeeSnapshot snapshot;
+
+    public EmployeeSnapshotStore(EmployeeRepository employeeRepository,
+                                 @Value("${employee.snapshot.file:./snapshot/employees.snap}") String snapshotFile,
+                                 @Value("${employee.snapshot.page-size:1000}") int pageSize) {
+        this.employeeRepository = employeeRepository;
+        this.snapshotFile = Paths.get(snapshotFile);
+        this.pageSize = pageSize;
+        if (Files.exists(this.snapshotFile)) {
+            try {
+                this.snapshot = EmployeeSnapshot.open(this.snapshotFile);
+                log.info("Mapped employee snapshot {} with {} employees", snapshotFile, snapshot.size());
+            } catch (IOException e) {
+                log.warn("Ignoring unreadable employee snapshot {}", snapshotFile, e);
+            }
+        }
+    }
+
+    @Override
+    public Optional<Employee> find(long id) {
+        Employee employee = overlay.get(id);
+        if (employee == TOMBSTONE || employee == INVALIDATED) {
+            return Optional.empty();
+        }
+        if (employee != null) {
+            return Optional.of(employee.copy());
+        }
+        EmployeeSnapshot current = snapshot;
+        return current == null ? Optional.empty() : current.find(id);
+    }
+
+    @Override
+    public void loaded(Employee employee) {
+        overlay.replace(employee.getId(), INVALIDATED, employee.copy());
+    }
+
+    @Override
+    public void invalidate(long id) {
+        overlay.put(id, INVALIDATED);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (event.getType() == EmployeeChangedEvent.Type.DELETED) {
+            overlay.put(event.getEmployeeId(), TOMBSTONE);
+        } else {
+            overlay.put(event.getEmployeeId(), event.getEmployee().copy());
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUp() {
+        EmployeeSnapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        Instant since = Instant.ofEpochMilli(current.getCreatedAt()).minus(CLOCK_SKEW_MARGIN);
+
+        // change events seen during the catch-up are at least as new as anything read here
+        long changed = 0;
+        long lastId = 0;
+        List<Employee> page;
+        do {
+            page = employeeRepository.findByUpdatedAtAfterAndIdGreaterThanOrderByIdAsc(since, lastId, PageRequest.of(0, pageSize));
+            for (Employee employee : page) {
+                if (overlay.putIfAbsent(employee.getId(), employee.copy()) == null) {
+                    changed++;
+                }
+                lastId = employee.getId();
+            }
+        } while (page.size() == pageSize);
+
+        // merge the sorted id lists; ids only present in the snapshot have been deleted since
+        long deleted = 0;
+        int position = 0;
+        lastId = 0;
+        List<Long> ids;
+        do {
+            ids = employeeRepository.findIdsGreaterThan(lastId, PageRequest.of(0, pageSize));
+            for (Long id : ids) {
+                while (position < current.size() && current.idAt(position) < id) {
+                    if (overlay.putIfAbsent(current.idAt(position), TOMBSTONE) == null) {
+                        deleted++;
+                    }
+                    position++;
+                }
+                if (position < current.size() && current.idAt(position) == id) {
+                    position++;
+                }
+                lastId = id;
+            }
+        } while (ids.size() == pageSize);
+        for (; position < current.size(); position++) {
+            if (overlay.putIfAbsent(current.idAt(position), TOMBSTONE) == null) {
+                deleted++;
+            }
+        }
+
+        log.info("Employee snapshot caught up: {} changed, {} deleted since {}", changed, deleted, since);
+    }
+
+    @Scheduled(cron = "${employee.snapshot.write-cron:-}")
+    public int writeSnapshot() throws IOException {
+        long startedAt = System.currentTimeMillis();
+        int count = EmployeeSnapshot.write(snapshotFile, startedAt, new EmployeeKeysetIterator(employeeRepository, pageSize));
+        log.info("Wrote employee snapshot {} with {} employees in {} ms", snapshotFile, count, System.currentTimeMillis() - startedAt);
+        return count;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        EmployeeSnapshot current = snapshot;
+        if (current != null) {
+            current.close();
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.applife.service.stats;
+
+import com.applife.event.EmployeeChangedEvent;
+import com.applife.model.Employee;
+import com.applife.model.EmployeeFields;
+import com.applife.model.EmployeeStats;
+import com.applife.repository.EmployeeRepository;
+import com.applife.service.bulkhead.Workload;
+import com.applife.service.bulkhead.WorkloadClass;
+import com.applife.service.invalidation.EmployeeInvalidationBus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Headcount, employees per email domain and per last-name initial, kept up to date from committed employee
+ * changes so a report reads counters instead of the table. Counts are {@link LongAdder}s, which stripe concurrent
+ * increments over cells; the bucket every employee is counted in is remembered per id, so an update or delete
+ * moves exactly that employee between buckets. Changes made on other nodes arrive through the
+ * {@link EmployeeInvalidationBus} and are re-read by id. A reconciliation pass recounts the table in keyset
+ * pages on startup and every {@code reconcile-interval-ms} and corrects whatever drifted.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.stats.enabled", havingValue = "true")
+public class EmployeeDirectoryStats {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeDirectoryStats.class);
+
+    private static final EmployeeFields FIELDS = EmployeeFields.parse("id,lastName,email");
+
+    private final EmployeeRepository employeeRepository;
+
+    private final int pageSize;
+
+    private final LongAdder headcount = new LongAdder();
+
+    private final Map<String, LongAdder> byEmailDomain = new ConcurrentHashMap<>();
+
+    private final Map<String, LongAdder> byLastNameInitial = new ConcurrentHashMap<>();
+
+    // buckets are interned, so the per employee cost is the map entry
+    private final Map<Bucket, Bucket> buckets = new ConcurrentHashMap<>();
+
+    private final Map<Long, Bucket> counted = new ConcurrentHashMap<>();
+
+    // ids changed while a reconciliation runs, the pass must not overwrite them with what its page read
+    private final Set<Long> changedDuringReconcile = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean reconciling;
+
+    private volatile Instant reconciledAt;
+
+    // runs the startup pass, so the application is ready without waiting for it
+    private final ExecutorService startupReconciler = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "employee-stats-reconcile");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public EmployeeDirectoryStats(EmployeeRepository employeeRepository,
+                                  ObjectProvider<EmployeeInvalidationBus> invalidationBus,
+                                  @Value("${employee.stats.reconcile-page-size:5000}") int pageSize) {
+        this.employeeRepository = employeeRepository;
+        this.pageSize = pageSize;
+        invalidationBus.ifAvailable(bus -> bus.onRemoteChanges(this::onRemoteChanges));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (reconciling) {
+            changedDuringReconcile.add(event.getEmployeeId());
+        }
+        count(event.getEmployeeId(), event.getEmployee());
+    }
+
+    public EmployeeStats stats() {
+        return new EmployeeStats(headcount.sum(), counts(byEmailDomain), counts(byLastNameInitial), reconciledAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup(ApplicationReadyEvent event) {
+        // through the proxy, which puts the pass into its bulkhead
+        EmployeeDirectoryStats stats = event.getApplicationContext().getBean(EmployeeDirectoryStats.class);
+        startupReconciler.execute(stats::reconcile);
+    }
+
+    /**
+     * Recounts every employee and corrects the ones counted in the wrong bucket, or not at all, or that no longer
+     * exist. Returns once the pass is done.
+     */
+    @Scheduled(initialDelayString = "${employee.stats.reconcile-interval-ms:600000}",
+            fixedDelayString = "${employee.stats.reconcile-interval-ms:600000}")
+    @Workload(WorkloadClass.BULK)
+    public synchronized void reconcile() {
+        // cleared before the flag is up, an id added by a change that saw the previous pass's flag is dropped here
+        changedDuringReconcile.clear();
+        reconciling = true;
+        try {
+            Set<Long> seen = new HashSet<>(counted.size());
+            int corrected = 0;
+            long lastId = 0;
+            List<Employee> page;
+            do {
+                page = employeeRepository.findFieldsByIdGreaterThan(FIELDS, lastId, PageRequest.of(0, pageSize));
+                for (Employee employee : page) {
+                    seen.add(employee.getId());
+                    if (recount(employee.getId(), employee)) {
+                        corrected++;
+                    }
+                    lastId = employee.getId();
+                }
+            } while (page.size() == pageSize);
+
+            for (Long id : counted.keySet()) {
+                if (!seen.contains(id) && recount(id, null)) {
+                    corrected++;
+                }
+            }
+            reconciledAt = Instant.now();
+            if (corrected > 0) {
+                log.info("Employee stats reconciled, corrected {} of {} employees", corrected, seen.size());
+            }
+        } finally {
+            reconciling = false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        startupReconciler.shutdownNow();
+    }
+
+    private void onRemoteChanges(long[] employeeIds) {
+        List<Long> ids = Arrays.stream(employeeIds).boxed().collect(Collectors.toList());
+        if (reconciling) {
+            changedDuringReconcile.addAll(ids);
+        }
+        Map<Long, Employee> employees = employeeRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Employee::getId, employee -> employee));
+        for (Long id : ids) {
+            count(id, employees.get(id));
+        }
+    }
+
+    /**
+     * Moves the employee to the bucket of {@code employee}, out of the counts when it is null. Returns whether
+     * anything changed.
+     */
+    private boolean count(long id, Employee employee) {
+        return count(id, employee, false);
+    }
+
+    /**
+     * Like {@link #count}, for what a reconciliation read; left alone when the employee changed since the pass
+     * started. Changes are recorded before they are counted, and the check runs under the same lock as the count,
+     * so a change either is seen here or is counted after, over what the pass wrote.
+     */
+    private boolean recount(long id, Employee employee) {
+        return count(id, employee, true);
+    }
+
+    private boolean count(long id, Employee employee, boolean unlessChanged) {
+        Bucket bucket = employee == null ? null : buckets.computeIfAbsent(Bucket.of(employee), key -> key);
+        boolean[] changed = new boolean[1];
+        // compute holds the id's bin lock, two changes to one employee cannot both move it
+        counted.compute(id, (key, previous) -> {
+            if (Objects.equals(previous, bucket) || unlessChanged && changedDuringReconcile.contains(key)) {
+                return previous;
+            }
+            if (previous != null) {
+                add(previous, -1);
+            }
+            if (bucket != null) {
+                add(bucket, 1);
+            }
+            changed[0] = true;
+            return bucket;
+        });
+        return changed[0];
+    }
+
+    private void add(Bucket bucket, int delta) {
+        headcount.add(delta);
+        byEmailDomain.computeIfAbsent(bucket.emailDomain, key -> new LongAdder()).add(delta);
+        byLastNameInitial.computeIfAbsent(bucket.lastNameInitial, key -> new LongAdder()).add(delta);
+    }
+
+    private static Map<String, Long> counts(Map<String, LongAdder> adders) {
+        Map<String, Long> counts = new TreeMap<>();
+        adders.forEach((key, adder) -> {
+            long sum = adder.sum();
+            if (sum > 0) {
+                counts.put(key, sum);
+            }
+        });
+        return counts;
+    }
+
+    private static final class Bucket {
+
+        private final String emailDomain;
+
+        private final String lastNameInitial;
+
+        private Bucket(String emailDomain, String lastNameInitial) {
+            this.emailDomain = emailDomain;
+            this.lastNameInitial = lastNameInitial;
+        }
+
+        static Bucket of(Employee employee) {
+            String email = employee.getEmail() == null ? "" : employee.getEmail();
+            String lastName = employee.getLastName() == null ? "" : employee.getLastName().strip();
+            return new Bucket(email.substring(email.lastIndexOf('@') + 1).toLowerCase(Locale.ROOT),
+                    lastName.isEmpty() ? "" : lastName.substring(0, lastName.offsetByCodePoints(0, 1)).toUpperCase(Locale.ROOT));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Bucket)) {
+                return false;
+            }
+            Bucket bucket = (Bucket) o;
+            return emailDomain.equals(bucket.emailDomain) && lastNameInitial.equals(bucket.lastNameInitial);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(emailDomain, lastNameInitial);
+        }
+    }
+}
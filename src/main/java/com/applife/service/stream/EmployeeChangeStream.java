@@ -0,0 +1,403 @@
+package com.applife.service.stream;
+
+import com.applife.event.EmployeeChangedEvent;
+import com.applife.model.Department;
+import com.applife.model.Employee;
+import com.applife.service.invalidation.EmployeeInvalidationBus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.Hibernate;
+import org.hibernate.proxy.HibernateProxy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes committed employee changes to Server-Sent Events subscribers. Every change is serialized once and
+ * handed to a single dispatcher thread that queues it for the subscribers wanting it; idle subscribers are parked
+ * servlet async requests and hold no thread. The subscribers' queues are drained by a fixed pool of
+ * {@code writer-threads}, at most {@code WRITE_TURN} events per turn so that busy subscribers take turns. A
+ * client that stops reading blocks its own writes and the one writer thread in them, until the container's write
+ * timeout fails the write. It is dropped once {@code buffer-size} events wait for it or a write has been blocked
+ * for {@code write-timeout-ms}, and can resume like any reconnecting client. The last {@code replay-size} changes are kept so a reconnecting client that sends
+ * {@code Last-Event-ID} gets what it missed, or a {@code reset} event when that is no longer possible (the change
+ * was evicted or the id comes from before a restart) and it has to reload. Other nodes' changes arrive through
+ * the {@link EmployeeInvalidationBus} as {@code CHANGED} events carrying the id only.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.stream.enabled", havingValue = "true")
+public class EmployeeChangeStream {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeChangeStream.class);
+
+    private static final String REMOTE_CHANGE = "CHANGED";
+
+    private static final int WRITE_TURN = 64;
+
+    private final ObjectMapper objectMapper;
+
+    private final long timeoutMs;
+
+    private final int replaySize;
+
+    private final int bufferSize;
+
+    private final long writeTimeoutNanos;
+
+    // event ids are <epoch>-<sequence>, ids from an earlier run of the node cannot be resumed
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "employee-change-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // a subscriber with events waiting is queued here once, however many events it has
+    private final ExecutorService writers;
+
+    // confined to the dispatcher thread
+    private final ArrayDeque<Change> replay = new ArrayDeque<>();
+
+    private long sequence;
+
+    public EmployeeChangeStream(ObjectMapper objectMapper,
+                                ObjectProvider<EmployeeInvalidationBus> invalidationBus,
+                                @Value("${employee.stream.timeout-ms:1800000}") long timeoutMs,
+                                @Value("${employee.stream.replay-size:10000}") int replaySize,
+                                @Value("${employee.stream.buffer-size:1000}") int bufferSize,
+                                @Value("${employee.stream.write-timeout-ms:10000}") long writeTimeoutMs,
+                                @Value("${employee.stream.writer-threads:4}") int writerThreads) {
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeoutMs;
+        this.replaySize = replaySize;
+        this.bufferSize = bufferSize;
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs);
+        this.writers = Executors.newFixedThreadPool(writerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "employee-change-stream-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        invalidationBus.ifAvailable(bus -> bus.onRemoteChanges(this::onRemoteChanges));
+    }
+
+    /**
+     * Opens a stream of the changes to {@code employeeIds}, or to all employees when it is empty, starting after
+     * {@code lastEventId} when that is given.
+     */
+    public SseEmitter subscribe(Set<Long> employeeIds, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, employeeIds);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        // on the dispatcher, so no change is published between the replay and the registration
+        dispatcher.execute(() -> {
+            if (lastEventId != null && !replay(subscriber, lastEventId)) {
+                return;
+            }
+            subscribers.add(subscriber);
+        });
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        // serialized on the writing thread, the employee may not be readable outside of it
+        publish(event.getEmployeeId(), event.getType().name(), json(streamed(event)));
+    }
+
+    @Scheduled(fixedDelayString = "${employee.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        // lets proxies keep idle streams open and finds the subscribers that went away or stopped reading
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long writeStartedAt = subscriber.writeStartedAt;
+            if (writeStartedAt != 0 && now - writeStartedAt > writeTimeoutNanos) {
+                log.info("Dropping an employee change stream subscriber, a write is blocked for more than {} ms",
+                        TimeUnit.NANOSECONDS.toMillis(writeTimeoutNanos));
+                drop(subscriber);
+            }
+        }
+        dispatcher.execute(() -> {
+            for (Subscriber subscriber : subscribers) {
+                send(subscriber, SseEmitter.event().comment("heartbeat"));
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.forEach(this::drop);
+        writers.shutdownNow();
+    }
+
+    private void onRemoteChanges(long[] employeeIds) {
+        for (long employeeId : employeeIds) {
+            publish(employeeId, REMOTE_CHANGE, json(Map.of("type", REMOTE_CHANGE, "employeeId", employeeId)));
+        }
+    }
+
+    private void publish(long employeeId, String type, String data) {
+        if (data == null) {
+            return;
+        }
+        dispatcher.execute(() -> {
+            Change change = new Change(++sequence, employeeId, type, data);
+            replay.addLast(change);
+            if (replay.size() > replaySize) {
+                replay.removeFirst();
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.wants(employeeId)) {
+                    send(subscriber, event(change));
+                }
+            }
+        });
+    }
+
+    /**
+     * Queues the changes after {@code lastEventId}, or a reset when some of them are gone or they do not fit the
+     * subscriber's buffer. False when the subscriber was dropped.
+     */
+    private boolean replay(Subscriber subscriber, String lastEventId) {
+        long last = sequenceOf(lastEventId);
+        long oldest = replay.isEmpty() ? sequence + 1 : replay.getFirst().sequence;
+        if (last < 0 || last > sequence || last < oldest - 1) {
+            return send(subscriber, SseEmitter.event().name("reset").data("{}"));
+        }
+        List<Change> missed = new ArrayList<>();
+        for (Change change : replay) {
+            if (change.sequence > last && subscriber.wants(change.employeeId)) {
+                missed.add(change);
+            }
+        }
+        if (missed.size() > bufferSize) {
+            // the subscriber would be dropped before it has them all
+            return send(subscriber, SseEmitter.event().name("reset").data("{}"));
+        }
+        for (Change change : missed) {
+            if (!send(subscriber, event(change))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long sequenceOf(String eventId) {
+        int separator = eventId.indexOf('-');
+        if (separator < 0 || !epoch.equals(eventId.substring(0, separator))) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private SseEmitter.SseEventBuilder event(Change change) {
+        return SseEmitter.event().id(epoch + "-" + change.sequence).name(change.type).data(change.data);
+    }
+
+    /**
+     * Queues {@code event} for the subscriber and starts its writer if it is idle. A subscriber whose buffer is
+     * full is dropped; false when it was.
+     */
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        switch (subscriber.offer(event, bufferSize)) {
+            case QUEUED:
+                return true;
+            case WRITER_NEEDED:
+                writers.execute(() -> write(subscriber));
+                return true;
+            default:
+                log.info("Dropping an employee change stream subscriber, {} events are waiting for it", bufferSize);
+                drop(subscriber);
+                return false;
+        }
+    }
+
+    private void write(Subscriber subscriber) {
+        for (int written = 0; written < WRITE_TURN; written++) {
+            SseEmitter.SseEventBuilder event = subscriber.next();
+            if (event == null) {
+                if (subscriber.completeAfterWrite) {
+                    // dropped while a write was blocked, the emitter could not be completed then
+                    subscriber.emitter.complete();
+                }
+                return;
+            }
+            subscriber.writeStartedAt = System.nanoTime();
+            try {
+                subscriber.emitter.send(event);
+            } catch (Exception e) {
+                // the client went away, the container completes the request
+                remove(subscriber);
+                return;
+            } finally {
+                subscriber.writeStartedAt = 0;
+            }
+        }
+        // still writing, the subscriber goes to the back of the queue behind the others with events waiting
+        try {
+            writers.execute(() -> write(subscriber));
+        } catch (RejectedExecutionException e) {
+            // shutting down
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.close();
+    }
+
+    /**
+     * Removes the subscriber and ends its stream, right away or, when its writer is blocked in a write, once
+     * that write returns.
+     */
+    private void drop(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        if (subscriber.drop()) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    private static EmployeeChangedEvent streamed(EmployeeChangedEvent event) {
+        Employee employee = event.getEmployee();
+        if (employee == null || Hibernate.isInitialized(employee.getDepartment())) {
+            return event;
+        }
+        // without open-in-view the session is closed after commit, an unloaded department goes out as its id
+        Object departmentId = ((HibernateProxy) employee.getDepartment()).getHibernateLazyInitializer().getIdentifier();
+        Employee copy = employee.copyWith(Department.builder().id((Long) departmentId).build());
+        return new EmployeeChangedEvent(event.getType(), event.getEmployeeId(), copy);
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize employee change {}, it is not streamed", value, e);
+            return null;
+        }
+    }
+
+    private static final class Change {
+
+        private final long sequence;
+
+        private final long employeeId;
+
+        private final String type;
+
+        private final String data;
+
+        private Change(long sequence, long employeeId, String type, String data) {
+            this.sequence = sequence;
+            this.employeeId = employeeId;
+            this.type = type;
+            this.data = data;
+        }
+    }
+
+    private enum Offer {
+        QUEUED, WRITER_NEEDED, FULL
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final Set<Long> employeeIds;
+
+        // guarded by this
+        private final ArrayDeque<SseEmitter.SseEventBuilder> buffer = new ArrayDeque<>();
+
+        // guarded by this, true while a writer is draining the buffer
+        private boolean writing;
+
+        // guarded by this
+        private boolean dropped;
+
+        private volatile boolean completeAfterWrite;
+
+        // System.nanoTime() of the write in progress, 0 between writes
+        private volatile long writeStartedAt;
+
+        private Subscriber(SseEmitter emitter, Set<Long> employeeIds) {
+            this.emitter = emitter;
+            this.employeeIds = employeeIds;
+        }
+
+        private boolean wants(long employeeId) {
+            return employeeIds.isEmpty() || employeeIds.contains(employeeId);
+        }
+
+        private synchronized Offer offer(SseEmitter.SseEventBuilder event, int bufferSize) {
+            if (dropped || buffer.size() >= bufferSize) {
+                return Offer.FULL;
+            }
+            buffer.addLast(event);
+            if (writing) {
+                return Offer.QUEUED;
+            }
+            writing = true;
+            return Offer.WRITER_NEEDED;
+        }
+
+        private synchronized SseEmitter.SseEventBuilder next() {
+            SseEmitter.SseEventBuilder event = dropped ? null : buffer.pollFirst();
+            if (event == null) {
+                writing = false;
+            }
+            return event;
+        }
+
+        /**
+         * Stops the writes to this subscriber. True when the emitter can be completed now; while a write is in
+         * progress its writer completes it once the write returns.
+         */
+        private synchronized boolean drop() {
+            if (dropped) {
+                return false;
+            }
+            close();
+            completeAfterWrite = writing;
+            return !writing;
+        }
+
+        /**
+         * Stops the writes to this subscriber, whose stream has ended already.
+         */
+        private synchronized void close() {
+            dropped = true;
+            buffer.clear();
+        }
+    }
+}
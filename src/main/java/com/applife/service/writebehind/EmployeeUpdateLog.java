@@ -0,0 +1,146 @@
+package com.applife.service.writebehind;
+
+import com.applife.model.Department;
+import com.applife.model.Employee;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * File-backed append log of accepted employee updates. Each flush rotates to a new segment,
+ * and segments are only deleted once everything they contain has been written to the database.
+ */
+public class EmployeeUpdateLog implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "employee-updates-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+
+    private long activeSegment;
+
+    private FileChannel channel;
+
+    public EmployeeUpdateLog(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        List<Long> segments = segments();
+        this.activeSegment = segments.isEmpty() ? 0 : segments.get(segments.size() - 1) + 1;
+        this.channel = open(activeSegment);
+    }
+
+    public synchronized void append(Employee employee) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(employee.getId());
+            out.writeUTF(employee.getFirstName());
+            out.writeUTF(employee.getLastName());
+            out.writeUTF(employee.getEmail());
+            out.writeLong(employee.getManagerId() == null ? 0 : employee.getManagerId());
+            out.writeLong(employee.getDepartment() == null ? 0 : employee.getDepartment().getId());
+        }
+        ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + bytes.size());
+        record.putInt(bytes.size()).put(bytes.toByteArray()).flip();
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Starts a new segment and returns its id. Every older segment is covered by the batch
+     * the caller took together with the rotation.
+     */
+    public synchronized long rotate() throws IOException {
+        channel.close();
+        activeSegment++;
+        channel = open(activeSegment);
+        return activeSegment;
+    }
+
+    public synchronized void discardBefore(long segment) throws IOException {
+        for (Long id : segments()) {
+            if (id < segment) {
+                Files.deleteIfExists(segmentPath(id));
+            }
+        }
+    }
+
+    /**
+     * Reads every segment in order and collapses the records per employee id, last writer wins.
+     * A torn record at the tail of a segment (crash during append) is ignored.
+     */
+    public synchronized Map<Long, Employee> replay() throws IOException {
+        Map<Long, Employee> updates = new LinkedHashMap<>();
+        for (Long id : segments()) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segmentPath(id))))) {
+                while (true) {
+                    Employee employee = readRecord(in);
+                    if (employee == null) {
+                        break;
+                    }
+                    updates.remove(employee.getId());
+                    updates.put(employee.getId(), employee);
+                }
+            }
+        }
+        return updates;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private Employee readRecord(DataInputStream in) throws IOException {
+        try {
+            int length = in.readInt();
+            byte[] payload = in.readNBytes(length);
+            if (payload.length < length) {
+                return null;
+            }
+            DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+            Employee employee = Employee.builder()
+                    .id(record.readLong())
+                    .firstName(record.readUTF())
+                    .lastName(record.readUTF())
+                    .email(record.readUTF())
+                    .build();
+            // records appended before employees had managers or departments end early
+            long managerId = record.available() >= Long.BYTES ? record.readLong() : 0;
+            employee.setManagerId(managerId == 0 ? null : managerId);
+            long departmentId = record.available() >= Long.BYTES ? record.readLong() : 0;
+            // only the id is logged, the flush resolves the department again
+            employee.setDepartment(departmentId == 0 ? null : Department.builder().id(departmentId).build());
+            return employee;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private FileChannel open(long segment) throws IOException {
+        return FileChannel.open(segmentPath(segment),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(SEGMENT_PREFIX + segment + SEGMENT_SUFFIX);
+    }
+
+    private List<Long> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.applife.service.writebehind;
+
+import com.applife.event.EmployeeChangedEvent;
+import com.applife.exception.WriteBehindQueueFullException;
+import com.applife.model.Employee;
+import com.applife.repository.EmployeeRepository;
+import com.applife.service.DepartmentService;
+import com.applife.service.bulkhead.Workload;
+import com.applife.service.bulkhead.WorkloadClass;
+import com.applife.service.hierarchy.EmployeeHierarchy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Opt-in write-behind path for {@code PUT /api/employees/{id}}. Updates are acknowledged once they are
+ * in the local {@link EmployeeUpdateLog}, collapsed per id (last writer wins) and flushed to the
+ * database in batched transactions.
+ */
+@Service
+@ConditionalOnProperty(name = "employee.write-behind.enabled", havingValue = "true")
+public class WriteBehindEmployeeUpdater {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindEmployeeUpdater.class);
+
+    private final EmployeeRepository employeeRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final EmployeeHierarchy hierarchy;
+
+    private final DepartmentService departmentService;
+
+    private final EmployeeUpdateLog updateLog;
+
+    private final int capacity;
+
+    private final int batchSize;
+
+    private Map<Long, Employee> pending = new LinkedHashMap<>();
+
+    public WriteBehindEmployeeUpdater(EmployeeRepository employeeRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      ApplicationEventPublisher eventPublisher,
+                                      EmployeeHierarchy hierarchy,
+                                      DepartmentService departmentService,
+                                      @Value("${employee.write-behind.log-dir:./write-behind}") String logDir,
+                                      @Value("${employee.write-behind.capacity:10000}") int capacity,
+                                      @Value("${employee.write-behind.batch-size:500}") int batchSize) throws IOException {
+        this.employeeRepository = employeeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.hierarchy = hierarchy;
+        this.departmentService = departmentService;
+        this.updateLog = new EmployeeUpdateLog(Paths.get(logDir));
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.pending.putAll(updateLog.replay());
+        if (!pending.isEmpty()) {
+            log.info("Recovered {} pending employee updates from {}", pending.size(), logDir);
+        }
+    }
+
+    public synchronized void enqueue(Employee employee) {
+        hierarchy.checkManager(employee);
+        departmentService.resolveDepartments(List.of(employee));
+        if (!pending.containsKey(employee.getId()) && pending.size() >= capacity) {
+            throw new WriteBehindQueueFullException("Write-behind queue is full, retry later");
+        }
+        try {
+            updateLog.append(employee);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append update for employee " + employee.getId(), e);
+        }
+        pending.remove(employee.getId());
+        pending.put(employee.getId(), employee);
+    }
+
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${employee.write-behind.flush-interval-ms:1000}")
+    @Workload(WorkloadClass.WRITE)
+    public void flush() {
+        Map<Long, Employee> batch;
+        long flushedBefore;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new LinkedHashMap<>();
+            try {
+                flushedBefore = updateLog.rotate();
+            } catch (IOException e) {
+                pending = batch;
+                throw new UncheckedIOException("Could not rotate write-behind log", e);
+            }
+        }
+
+        try {
+            List<Employee> updates = new ArrayList<>(batch.values());
+            for (int from = 0; from < updates.size(); from += batchSize) {
+                writeChunk(updates.subList(from, Math.min(from + batchSize, updates.size())));
+            }
+            updateLog.discardBefore(flushedBefore);
+        } catch (RuntimeException | IOException e) {
+            log.warn("Write-behind flush of {} employee updates failed, will retry", batch.size(), e);
+            synchronized (this) {
+                // updates accepted while the flush was running are newer and win
+                batch.forEach(pending::putIfAbsent);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        flush();
+        updateLog.close();
+    }
+
+    private void writeChunk(List<Employee> chunk) {
+        Map<Long, Employee> updates = new HashMap<>();
+        chunk.forEach(employee -> updates.put(employee.getId(), employee));
+        // updates replayed from the log only carry the department id
+        departmentService.resolveDepartments(chunk);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // one SELECT ... IN for the chunk; rows deleted in the meantime simply drop out
+            List<Employee> savedEmployees = employeeRepository.findAllById(updates.keySet());
+            for (Employee savedEmployee : savedEmployees) {
+                Employee employee = updates.get(savedEmployee.getId());
+                savedEmployee.setFirstName(employee.getFirstName());
+                savedEmployee.setLastName(employee.getLastName());
+                savedEmployee.setEmail(employee.getEmail());
+                savedEmployee.setManagerId(employee.getManagerId());
+                savedEmployee.setDepartment(employee.getDepartment());
+            }
+            employeeRepository.saveAll(savedEmployees);
+            savedEmployees.forEach(savedEmployee -> eventPublisher.publishEvent(EmployeeChangedEvent.updated(savedEmployee)));
+        });
+    }
+}
@@ -0,0 +1,14 @@
+create table if not exists employee_batch_jobs (
+    name varchar(64) not null,
+    parameters varchar(1024) not null,
+    status varchar(16) not null,
+    last_id bigint not null,
+    processed bigint not null,
+    changed bigint not null,
+    owner varchar(64) not null,
+    heartbeat_at datetime(3) not null,
+    started_at datetime(3) not null,
+    finished_at datetime(3),
+    error varchar(1024),
+    primary key (name)
+);
@@ -0,0 +1,13 @@
+create table if not exists employee_email_index (
+    email varchar(255) not null,
+    employee_id bigint not null,
+    primary key (email),
+    key employee_email_index_employee_id (employee_id)
+);
+
+create table if not exists employee_shard_buckets (
+    bucket int not null,
+    shard int not null,
+    moving bit not null,
+    primary key (bucket)
+);
@@ -0,0 +1,8 @@
+create table if not exists employee_hierarchy (
+    ancestor_id bigint not null,
+    descendant_id bigint not null,
+    depth int not null,
+    primary key (ancestor_id, descendant_id),
+    key employee_hierarchy_ancestor_depth (ancestor_id, depth, descendant_id),
+    key employee_hierarchy_descendant_depth (descendant_id, depth, ancestor_id)
+);
@@ -0,0 +1,9 @@
+create table if not exists employee_history (
+    employee_id bigint not null,
+    changed_at datetime(6) not null,
+    id bigint not null,
+    change_type varchar(16) not null,
+    before_image text,
+    after_image text,
+    primary key (employee_id, changed_at, id)
+);
@@ -0,0 +1,7 @@
+create table if not exists employee_invalidations (
+    seq bigint not null auto_increment,
+    origin varchar(64) not null,
+    employee_ids blob not null,
+    created_at datetime(3) not null,
+    primary key (seq)
+);
@@ -0,0 +1,20 @@
+create table if not exists employees (
+    id bigint not null,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    email varchar(255) not null,
+    updated_at datetime(6),
+    manager_id bigint,
+    department_id bigint,
+    photo varchar(80),
+    primary key (id),
+    key employees_manager_id (manager_id),
+    key employees_department_id (department_id, id)
+);
+
+create table if not exists departments (
+    id bigint not null,
+    name varchar(255) not null,
+    primary key (id),
+    unique key departments_name (name)
+);
@@ -4,15 +4,21 @@ import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.MySQLContainer;
 
+/**
+ * Shared MySQL container of the integration tests. {@code LOAD DATA LOCAL INFILE} is enabled on the server and in
+ * the driver so that {@link Dataset} fixtures load in seconds.
+ */
 public abstract class AbstractContainerBaseTest {
 
     private static final MySQLContainer MY_SQL_CONTAINER;
 
     static {
-        MY_SQL_CONTAINER = new MySQLContainer("mysql:latest")
+        MY_SQL_CONTAINER = (MySQLContainer) new MySQLContainer("mysql:latest")
                 .withUsername("username")
                 .withPassword("password")
-                .withDatabaseName("ems");
+                .withDatabaseName("ems")
+                .withUrlParam("allowLoadLocalInfile", "true")
+                .withCommand("mysqld", "--local-infile=1");
         MY_SQL_CONTAINER.start();
     }
 
@@ -22,4 +28,8 @@ public abstract class AbstractContainerBaseTest {
         registry.add("spring.datasource.username", MY_SQL_CONTAINER::getUsername);
         registry.add("spring.datasource.password", MY_SQL_CONTAINER::getPassword);
     }
+
+    protected static MySQLContainer mySqlContainer() {
+        return MY_SQL_CONTAINER;
+    }
 }
@@ -0,0 +1,43 @@
+package com.applife.base;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+
+public abstract class AbstractShardedContainerBaseTest {
+
+    protected static final int SHARD_COUNT = 3;
+
+    private static final MySQLContainer DIRECTORY_CONTAINER;
+
+    private static final MySQLContainer[] SHARD_CONTAINERS = new MySQLContainer[SHARD_COUNT];
+
+    static {
+        DIRECTORY_CONTAINER = container("ems");
+        DIRECTORY_CONTAINER.start();
+        for (int shard = 0; shard < SHARD_COUNT; shard++) {
+            SHARD_CONTAINERS[shard] = container("ems_shard_" + shard);
+            SHARD_CONTAINERS[shard].start();
+        }
+    }
+
+    @DynamicPropertySource
+    public static void dynamicPropertySource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", DIRECTORY_CONTAINER::getJdbcUrl);
+        registry.add("spring.datasource.username", DIRECTORY_CONTAINER::getUsername);
+        registry.add("spring.datasource.password", DIRECTORY_CONTAINER::getPassword);
+        for (int shard = 0; shard < SHARD_COUNT; shard++) {
+            MySQLContainer container = SHARD_CONTAINERS[shard];
+            registry.add("employee.sharding.shards[" + shard + "].url", container::getJdbcUrl);
+            registry.add("employee.sharding.shards[" + shard + "].username", container::getUsername);
+            registry.add("employee.sharding.shards[" + shard + "].password", container::getPassword);
+        }
+    }
+
+    private static MySQLContainer container(String databaseName) {
+        return new MySQLContainer("mysql:latest")
+                .withUsername("username")
+                .withPassword("password")
+                .withDatabaseName(databaseName);
+    }
+}
@@ -0,0 +1,22 @@
+package com.applife.base;
+
+import com.applife.config.SqlStatementCountingConfig;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.lang.annotation.*;
+
+/**
+ * Puts the statement-counting proxy in front of the test's data sources and enforces the
+ * {@link MaxQueries} budgets of its methods. Works with {@code @SpringBootTest} and the test slices.
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@ExtendWith(SqlStatementBudgetExtension.class)
+@Import(SqlStatementCountingConfig.class)
+@TestPropertySource(properties = "employee.sql-statements.enabled=true")
+public @interface CountSqlStatements {
+}
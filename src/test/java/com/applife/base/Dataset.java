@@ -0,0 +1,23 @@
+package com.applife.base;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.*;
+
+/**
+ * Seeds the employees table with {@code rows} generated employees before each test method, see
+ * {@link EmployeeDataGenerator} and {@link EmployeeDatasetLoader}. A method annotation wins over the class one.
+ * The table is only reloaded when it does not hold this dataset already, so tests sharing a dataset must not
+ * change it.
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+@ExtendWith(DatasetExtension.class)
+public @interface Dataset {
+
+    long rows();
+
+    long seed() default 42;
+}
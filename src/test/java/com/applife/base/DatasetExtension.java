@@ -0,0 +1,41 @@
+package com.applife.base;
+
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Loads the {@link Dataset} of a test method or class before it runs, using the data source of the test's
+ * application context.
+ */
+public class DatasetExtension implements BeforeEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        Optional<Dataset> found = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), Dataset.class);
+        Dataset dataset = found.orElseGet(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), Dataset.class)
+                .orElseThrow(() -> new IllegalStateException("No @Dataset on " + context.getDisplayName())));
+        DataSource dataSource = SpringExtension.getApplicationContext(context).getBean(DataSource.class);
+        EmployeeDataGenerator generator = new EmployeeDataGenerator(dataset.seed());
+        if (!loaded(new JdbcTemplate(dataSource), generator, dataset.rows())) {
+            EmployeeDatasetLoader.load(dataSource, generator, dataset.rows());
+        }
+    }
+
+    private static boolean loaded(JdbcTemplate jdbcTemplate, EmployeeDataGenerator generator, long rows) {
+        // the row count and the first and last generated emails tell a dataset apart from any other contents
+        Long count = jdbcTemplate.queryForObject("select count(*) from employees", Long.class);
+        if (count == null || count != rows) {
+            return false;
+        }
+        List<String> emails = jdbcTemplate.queryForList(
+                "select email from employees where id in (?, ?) order by id", String.class, 1L, rows);
+        return rows == 0 || emails.equals(rows == 1 ? List.of(generator.email(1)) : List.of(generator.email(1), generator.email(rows)));
+    }
+}
@@ -0,0 +1,130 @@
+package com.applife.base;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic employees: every field of employee {@code id} is a pure function of the seed and the id,
+ * so rows can be generated by any number of threads in any order and a seed always gives the same table.
+ * <p>
+ * Ids run through a seeded permutation of all first name / last name pairs, so names look random but no pair
+ * repeats before every pair was used; after that the pairs come round again with a counter in the email, which
+ * keeps emails unique for any number of rows.
+ */
+public final class EmployeeDataGenerator {
+
+    private static final String[] FIRST_NAMES = {
+            "Furkan", "Fatma", "Mehmet", "Ayse", "Ali", "Zeynep", "Emre", "Elif", "Mustafa", "Emine",
+            "Ahmet", "Hatice", "Huseyin", "Merve", "Hasan", "Esra", "Ibrahim", "Busra", "Ismail", "Kubra",
+            "Osman", "Seda", "Yusuf", "Ozge", "Murat", "Gamze", "Omer", "Derya", "Burak", "Ebru",
+            "Kemal", "Sibel", "Cem", "Tugba", "Can", "Pinar", "Serkan", "Gizem", "Volkan", "Yasemin",
+            "Onur", "Melike", "Baris", "Irem", "Kaan", "Deniz", "Tolga", "Ceren", "Umut", "Selin",
+            "Eren", "Damla", "Arda", "Ecem", "Berk", "Duygu", "Efe", "Hande", "Kerem", "Nazli",
+            "Oguz", "Sinem", "Sinan", "Tuba", "Taner", "Yagmur", "Ugur", "Asli", "Levent", "Burcu",
+            "Selim", "Cansu", "Hakan", "Dilara", "Erkan", "Eda", "Gokhan", "Funda", "Halil", "Gulsen",
+            "James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda", "David", "Sarah",
+            "William", "Emma", "Thomas", "Olivia", "Daniel", "Sophia", "Lucas", "Mia", "Noah", "Laura",
+            "Jonas", "Anna", "Felix", "Lena", "Paul", "Clara", "Leon", "Marie", "Luca", "Giulia",
+            "Marco", "Chiara", "Pablo", "Lucia", "Diego", "Sofia", "Hugo", "Ines", "Jan", "Eva",
+            "Piotr", "Zofia", "Mateo", "Nora", "Omar", "Layla", "Ivan", "Elena"
+    };
+
+    private static final String[] LAST_NAME_ROOTS = {
+            "Kara", "Ak", "Demir", "Yil", "Oz", "Cel", "Ar", "Er", "Ay", "Gul",
+            "Kaya", "Sahin", "Yildiz", "Aydin", "Arslan", "Dogan", "Kilic", "Aslan", "Cetin", "Kurt",
+            "Koc", "Ozdemir", "Polat", "Tekin", "Erdem", "Bulut", "Gunes", "Aksoy", "Keskin", "Uzun",
+            "Tas", "Bozkurt", "Yalcin", "Sen", "Altin", "Coskun", "Toprak", "Korkmaz", "Cakir", "Ozkan",
+            "Bay", "Tun", "Ince", "Sari", "Acar", "Yaman", "Duman", "Gok", "Karaca", "Baysal",
+            "Ekin", "Ceylan", "Kocak", "Atay", "Onal", "Uysal", "Kaplan", "Tuncer", "Eren", "Bilgin",
+            "Sonmez", "Avci", "Ozer", "Kalkan"
+    };
+
+    private static final String[] LAST_NAME_SUFFIXES = {
+            "", "oglu", "er", "can", "han", "soy", "tas", "kaya", "dag", "tekin",
+            "el", "ay", "man", "li", "ci", "gil", "bas", "turk", "demir", "ok",
+            "yurt", "bey", "alp", "gol", "su", "tan", "ova", "kurt", "dere", "men",
+            "gun", "sever"
+    };
+
+    private static final String[] DOMAINS = {
+            "gmail.com", "gmail.com", "gmail.com", "gmail.com", "hotmail.com", "hotmail.com", "hotmail.com",
+            "outlook.com", "outlook.com", "yahoo.com", "icloud.com", "yandex.com", "applife.com", "applife.com",
+            "protonmail.com", "mail.com"
+    };
+
+    private static final String[] LAST_NAMES = lastNames();
+
+    private static final long PAIRS = (long) FIRST_NAMES.length * LAST_NAMES.length;
+
+    private final long seed;
+
+    private final long multiplier;
+
+    private final long offset;
+
+    public EmployeeDataGenerator(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long multiplier = random.nextLong(1, PAIRS);
+        while (gcd(multiplier, PAIRS) != 1) {
+            multiplier++;
+        }
+        this.seed = seed;
+        this.multiplier = multiplier;
+        this.offset = random.nextLong(PAIRS);
+    }
+
+    /**
+     * How many employees get distinct first name / last name pairs.
+     */
+    public static long uniqueNames() {
+        return PAIRS;
+    }
+
+    public String firstName(long id) {
+        return FIRST_NAMES[(int) (pair(id) % FIRST_NAMES.length)];
+    }
+
+    public String lastName(long id) {
+        return LAST_NAMES[(int) (pair(id) / FIRST_NAMES.length)];
+    }
+
+    public String email(long id) {
+        long round = (id - 1) / PAIRS;
+        StringBuilder email = new StringBuilder(48)
+                .append(firstName(id).toLowerCase(Locale.ROOT)).append('.').append(lastName(id).toLowerCase(Locale.ROOT));
+        if (round > 0) {
+            email.append(round);
+        }
+        return email.append('@').append(DOMAINS[(int) Long.remainderUnsigned(mix(seed ^ id), DOMAINS.length)]).toString();
+    }
+
+    private long pair(long id) {
+        // an affine map with a multiplier coprime to PAIRS is a permutation of [0, PAIRS); PAIRS is a few
+        // hundred thousand, so the product stays far from overflowing
+        return (multiplier * ((id - 1) % PAIRS) + offset) % PAIRS;
+    }
+
+    private static String[] lastNames() {
+        // root + suffix can spell another root ("Oz" + "demir"), keep each name once
+        Set<String> names = new LinkedHashSet<>();
+        for (String suffix : LAST_NAME_SUFFIXES) {
+            for (String root : LAST_NAME_ROOTS) {
+                names.add(root + suffix);
+            }
+        }
+        return names.toArray(new String[0]);
+    }
+
+    private static long mix(long z) {
+        // SplitMix64 finalizer
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+}
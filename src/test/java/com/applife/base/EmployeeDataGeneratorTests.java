@@ -0,0 +1,59 @@
+package com.applife.base;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeDataGeneratorTests {
+
+    @DisplayName("A seed always generates the same employees, another seed different ones")
+    @Test
+    public void givenSeed_whenGenerate_thenEmployeesAreDeterministic() {
+
+        // given - precondition or setup
+        EmployeeDataGenerator generator = new EmployeeDataGenerator(42);
+        EmployeeDataGenerator sameSeed = new EmployeeDataGenerator(42);
+        EmployeeDataGenerator otherSeed = new EmployeeDataGenerator(7);
+
+        // when - action or behaviour that we are going test
+        String[] parallel = LongStream.rangeClosed(1, 10_000).parallel().mapToObj(generator::email).toArray(String[]::new);
+
+        // then - verify the output
+        for (long id = 1; id <= 10_000; id++) {
+            assertThat(sameSeed.email(id)).isEqualTo(parallel[(int) id - 1]);
+        }
+        assertThat(LongStream.rangeClosed(1, 100).filter(id -> !otherSeed.email(id).equals(generator.email(id))).count())
+                .isGreaterThan(90);
+        assertThat(generator.email(1)).matches("[a-z]+\\.[a-z]+@[a-z]+\\.com");
+    }
+
+    @DisplayName("Names are unique until every pair was used, emails stay unique after that")
+    @Test
+    public void givenMoreRowsThanNamePairs_whenGenerate_thenEmailsStayUnique() {
+
+        // given - precondition or setup
+        EmployeeDataGenerator generator = new EmployeeDataGenerator(42);
+        long pairs = EmployeeDataGenerator.uniqueNames();
+
+        // when - action or behaviour that we are going test
+        Set<String> names = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (long id = 1; id <= pairs + 1_000; id++) {
+            if (id <= pairs) {
+                names.add(generator.firstName(id) + " " + generator.lastName(id));
+            }
+            emails.add(generator.email(id));
+        }
+
+        // then - verify the output
+        assertThat(names).hasSize((int) pairs);
+        assertThat(emails).hasSize((int) pairs + 1_000);
+        assertThat(generator.firstName(pairs + 1)).isEqualTo(generator.firstName(1));
+        assertThat(generator.email(pairs + 1)).contains("1@");
+    }
+}
@@ -0,0 +1,128 @@
+package com.applife.base;
+
+import com.mysql.cj.jdbc.JdbcStatement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Fills the employees table with ids {@code 1..rows} from an {@link EmployeeDataGenerator}. The ids are split into
+ * chunks that are generated and written in parallel, each on its own connection. On MySQL with {@code local_infile}
+ * on, a chunk is sent as one {@code LOAD DATA LOCAL INFILE} from memory; elsewhere as multi-row inserts of
+ * {@value #ROWS_PER_INSERT} rows.
+ * <p>
+ * Rows go straight into the table: nothing is published, so in-memory views fed by employee change events, the
+ * hierarchy and the email index do not see them.
+ */
+public final class EmployeeDatasetLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeDatasetLoader.class);
+
+    private static final int CHUNK_ROWS = 50_000;
+
+    private static final int ROWS_PER_INSERT = 100;
+
+    private static final String LOAD_DATA = "load data local infile 'employees.tsv' into table employees character set utf8mb4"
+            + " fields terminated by '\\t' lines terminated by '\\n' (id, first_name, last_name, email)";
+
+    private EmployeeDatasetLoader() {
+    }
+
+    /**
+     * Replaces the contents of the employees table with {@code rows} generated employees.
+     */
+    public static void load(DataSource dataSource, EmployeeDataGenerator generator, long rows) {
+        long start = System.nanoTime();
+        boolean loadData;
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            boolean mysql = "MySQL".equals(connection.getMetaData().getDatabaseProductName());
+            // truncate drops and recreates the table instead of deleting a million rows one by one
+            statement.execute(mysql ? "truncate table employees" : "delete from employees");
+            loadData = mysql && localInfile(statement);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not prepare the employees table", e);
+        }
+
+        int threads = Integer.getInteger("dataset.threads", Math.min(4, Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (long first = 1; first <= rows; first += CHUNK_ROWS) {
+                long from = first;
+                long to = Math.min(rows, first + CHUNK_ROWS - 1);
+                chunks.add(executor.submit(() -> {
+                    try (Connection connection = dataSource.getConnection()) {
+                        if (loadData) {
+                            loadData(connection, generator, from, to);
+                        } else {
+                            insert(connection, generator, from, to);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading employees", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not load employees", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info("Loaded {} employees in {} ms with {} on {} threads", rows, (System.nanoTime() - start) / 1_000_000,
+                loadData ? "LOAD DATA LOCAL INFILE" : "multi-row inserts", threads);
+    }
+
+    private static boolean localInfile(Statement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery("select @@global.local_infile")) {
+            return resultSet.next() && resultSet.getBoolean(1) && statement.isWrapperFor(JdbcStatement.class);
+        }
+    }
+
+    private static void loadData(Connection connection, EmployeeDataGenerator generator, long from, long to) throws SQLException {
+        StringBuilder tsv = new StringBuilder((int) (to - from + 1) * 64);
+        for (long id = from; id <= to; id++) {
+            tsv.append(id).append('\t').append(generator.firstName(id)).append('\t')
+                    .append(generator.lastName(id)).append('\t').append(generator.email(id)).append('\n');
+        }
+        try (Statement statement = connection.createStatement()) {
+            // Connector/J reads the "file" from this stream instead of the file system
+            statement.unwrap(JdbcStatement.class)
+                    .setLocalInfileInputStream(new ByteArrayInputStream(tsv.toString().getBytes(StandardCharsets.UTF_8)));
+            statement.execute(LOAD_DATA);
+        }
+    }
+
+    private static void insert(Connection connection, EmployeeDataGenerator generator, long from, long to) throws SQLException {
+        for (long first = from; first <= to; first += ROWS_PER_INSERT) {
+            int size = (int) Math.min(ROWS_PER_INSERT, to - first + 1);
+            StringBuilder sql = new StringBuilder("insert into employees (id, first_name, last_name, email) values ");
+            for (int i = 0; i < size; i++) {
+                sql.append(i == 0 ? "(?, ?, ?, ?)" : ", (?, ?, ?, ?)");
+            }
+            try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+                int parameter = 1;
+                for (long id = first; id < first + size; id++) {
+                    statement.setLong(parameter++, id);
+                    statement.setString(parameter++, generator.firstName(id));
+                    statement.setString(parameter++, generator.lastName(id));
+                    statement.setString(parameter++, generator.email(id));
+                }
+                statement.executeUpdate();
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.applife.base;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Makes every statement of the test's data sources take {@link #inject} longer, inside the JVM and while the
+ * connection is checked out, which is how a slow database drains the pool. Import it into a Spring test;
+ * data sources that are a datasource-proxy already get the delay added to their listeners.
+ */
+@TestConfiguration
+public class LatencyInjection {
+
+    private static volatile long delayMillis;
+
+    public static void inject(Duration delay) {
+        delayMillis = delay.toMillis();
+    }
+
+    public static void reset() {
+        delayMillis = 0;
+    }
+
+    @Bean
+    public static LatencyInjectingPostProcessor latencyInjectingPostProcessor() {
+        QueryExecutionListener delay = new QueryExecutionListener() {
+            @Override
+            public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                long millis = delayMillis;
+                if (millis > 0) {
+                    try {
+                        Thread.sleep(millis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+
+            @Override
+            public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            }
+        };
+        return new LatencyInjectingPostProcessor(delay);
+    }
+
+    static class LatencyInjectingPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final QueryExecutionListener delay;
+
+        private LatencyInjectingPostProcessor(QueryExecutionListener delay) {
+            this.delay = delay;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource)) {
+                return bean;
+            }
+            if (bean instanceof ProxyDataSource) {
+                ((ProxyDataSource) bean).addListener(delay);
+                return bean;
+            }
+            return ProxyDataSourceBuilder.create((DataSource) bean).name(beanName).listener(delay).build();
+        }
+
+        @Override
+        public int getOrder() {
+            // after the request deadline proxy, whose query timeouts have to be set before the delay
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
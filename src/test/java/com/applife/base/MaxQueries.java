@@ -0,0 +1,24 @@
+package com.applife.base;
+
+import java.lang.annotation.*;
+
+/**
+ * Statement budget of a test method, or of every method of a test class, checked by
+ * {@link SqlStatementBudgetExtension}. A type that is not listed may not run at all.
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface MaxQueries {
+
+    int select() default 0;
+
+    int insert() default 0;
+
+    int update() default 0;
+
+    int delete() default 0;
+
+    int other() default 0;
+}
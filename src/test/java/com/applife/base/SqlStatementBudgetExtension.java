@@ -0,0 +1,76 @@
+package com.applife.base;
+
+import com.applife.profiling.SqlStatementCounter;
+import com.applife.profiling.SqlStatementCounts;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Counts the statements a test method runs, without its {@code @BeforeEach} setup, and fails the test when
+ * they exceed its {@link MaxQueries} budget. {@link #count(Executable)} counts a single request instead.
+ */
+public class SqlStatementBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(SqlStatementBudgetExtension.class);
+
+    public static SqlStatementCounts count(Executable executable) throws Throwable {
+        SqlStatementCounts counts = SqlStatementCounter.start();
+        try {
+            executable.execute();
+        } finally {
+            SqlStatementCounter.stop(counts);
+        }
+        return counts;
+    }
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(context.getUniqueId(), SqlStatementCounter.start());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        SqlStatementCounts counts = context.getStore(NAMESPACE).remove(context.getUniqueId(), SqlStatementCounts.class);
+        SqlStatementCounter.stop(counts);
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+        budgetOf(context).ifPresent(budget -> check(budget, counts));
+    }
+
+    private static Optional<MaxQueries> budgetOf(ExtensionContext context) {
+        Optional<MaxQueries> budget = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), MaxQueries.class);
+        return budget.isPresent() ? budget : AnnotationSupport.findAnnotation(context.getRequiredTestClass(), MaxQueries.class);
+    }
+
+    private static void check(MaxQueries budget, SqlStatementCounts counts) {
+        List<String> exceeded = new ArrayList<>();
+        exceed(exceeded, "select", counts.select(), budget.select());
+        exceed(exceeded, "insert", counts.insert(), budget.insert());
+        exceed(exceeded, "update", counts.update(), budget.update());
+        exceed(exceeded, "delete", counts.delete(), budget.delete());
+        exceed(exceeded, "other", counts.other(), budget.other());
+        if (exceeded.isEmpty()) {
+            return;
+        }
+        StringBuilder message = new StringBuilder("SQL statement budget exceeded: ")
+                .append(String.join(", ", exceeded))
+                .append(System.lineSeparator()).append("Statements run:");
+        counts.statements().forEach((sql, times) -> message.append(System.lineSeparator())
+                .append("  ").append(times).append(" x ").append(sql));
+        throw new AssertionError(message.toString());
+    }
+
+    private static void exceed(List<String> exceeded, String type, int count, int max) {
+        if (count > max) {
+            exceeded.add(type + " " + count + " > " + max);
+        }
+    }
+}
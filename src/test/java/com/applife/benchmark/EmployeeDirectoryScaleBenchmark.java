@@ -0,0 +1,64 @@
+package com.applife.benchmark;
+
+import com.applife.base.AbstractContainerBaseTest;
+import com.applife.base.Dataset;
+import com.applife.model.Employee;
+import com.applife.service.EmployeeService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+@SpringBootTest
+@Dataset(rows = EmployeeDirectoryScaleBenchmark.ROWS)
+public class EmployeeDirectoryScaleBenchmark extends AbstractContainerBaseTest {
+
+    static final long ROWS = 1_000_000;
+
+    private static final int LOOKUPS = Integer.getInteger("benchmark.lookups", 10_000);
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @DisplayName("Keyset walk and lookups over a production-sized directory")
+    @Test
+    public void walkAndLookUpMillionEmployees() {
+
+        // given - precondition or setup
+        long[] ids = new SplittableRandom(42).longs(LOOKUPS, 1, ROWS + 1).toArray();
+
+        // when - action or behaviour that we are going test
+        long walkStart = System.nanoTime();
+        long walked = 0;
+        long after = 0;
+        for (List<Employee> page; !(page = employeeService.getEmployeesAfter(after, 1000)).isEmpty(); ) {
+            walked += page.size();
+            after = page.get(page.size() - 1).getId();
+        }
+        long walkNanos = System.nanoTime() - walkStart;
+
+        long[] nanos = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            long start = System.nanoTime();
+            assertThat(employeeService.getEmployeeById(ids[i])).isPresent();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+
+        // then - verify the output
+        System.out.printf("%n%d employees%n", ROWS);
+        System.out.printf("keyset walk, pages of 1000: %d ms%n", walkNanos / 1_000_000);
+        System.out.printf("%d lookups by id: p50 %.1f us, p99 %.1f us%n", LOOKUPS,
+                nanos[nanos.length / 2] / 1000.0, nanos[(int) (nanos.length * 0.99)] / 1000.0);
+
+        assertThat(walked).isEqualTo(ROWS);
+    }
+}
@@ -0,0 +1,75 @@
+package com.applife.benchmark;
+
+import com.applife.base.AbstractContainerBaseTest;
+import com.applife.base.EmployeeDataGenerator;
+import com.applife.base.EmployeeDatasetLoader;
+import com.applife.controller.EmployeeExportController;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+
+import javax.sql.DataSource;
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class EmployeeExportBenchmark extends AbstractContainerBaseTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 200_000);
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @DisplayName("Directory export: JSON list vs Arrow stream, bytes and time")
+    @Test
+    public void compareExportFormats() {
+
+        // given - precondition or setup
+        EmployeeDatasetLoader.load(dataSource, new EmployeeDataGenerator(42), ROWS);
+
+        // when - action or behaviour that we are going test
+        // warm up both paths once, then measure
+        download("/api/employees", MediaType.APPLICATION_JSON_VALUE);
+        download("/api/employees/export", EmployeeExportController.ARROW_STREAM);
+        long jsonStart = System.nanoTime();
+        long jsonBytes = download("/api/employees", MediaType.APPLICATION_JSON_VALUE);
+        long jsonNanos = System.nanoTime() - jsonStart;
+        long arrowStart = System.nanoTime();
+        long arrowBytes = download("/api/employees/export", EmployeeExportController.ARROW_STREAM);
+        long arrowNanos = System.nanoTime() - arrowStart;
+
+        // then - verify the output
+        System.out.printf("%n%d employees%n", ROWS);
+        System.out.printf("%-14s %14s %10s%n", "format", "bytes", "ms");
+        System.out.printf("%-14s %14d %10d%n", "JSON", jsonBytes, jsonNanos / 1_000_000);
+        System.out.printf("%-14s %14d %10d%n", "Arrow stream", arrowBytes, arrowNanos / 1_000_000);
+
+        assertThat(arrowBytes).isPositive().isLessThan(jsonBytes);
+    }
+
+    private long download(String path, String accept) {
+        return restTemplate.execute(path, HttpMethod.GET,
+                request -> request.getHeaders().set(HttpHeaders.ACCEPT, accept),
+                response -> {
+                    long bytes = 0;
+                    byte[] buffer = new byte[64 * 1024];
+                    try (InputStream body = response.getBody()) {
+                        for (int read; (read = body.read(buffer)) != -1; ) {
+                            bytes += read;
+                        }
+                    }
+                    return bytes;
+                });
+    }
+}
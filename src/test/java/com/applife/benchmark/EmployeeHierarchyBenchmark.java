@@ -0,0 +1,119 @@
+package com.applife.benchmark;
+
+import com.applife.base.AbstractContainerBaseTest;
+import com.applife.model.Employee;
+import com.applife.service.EmployeeService;
+import com.applife.service.hierarchy.EmployeeHierarchy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+@SpringBootTest
+public class EmployeeHierarchyBenchmark extends AbstractContainerBaseTest {
+
+    private static final int EMPLOYEES = Integer.getInteger("benchmark.employees", 100_000);
+
+    private static final int FAN_OUT = 10;
+
+    private static final int ROUNDS = Integer.getInteger("benchmark.rounds", 50);
+
+    private static final String RECURSIVE_REPORTS = "with recursive reports (id, depth) as ("
+            + " select id, 0 from employees where id = ?"
+            + " union all select e.id, r.depth + 1 from employees e join reports r on e.manager_id = r.id)"
+            + " select id from reports where depth > 0";
+
+    private static final String RECURSIVE_CHAIN = "with recursive chain (id, manager_id, depth) as ("
+            + " select id, manager_id, 0 from employees where id = ?"
+            + " union all select e.id, e.manager_id, c.depth + 1 from employees e join chain c on e.id = c.manager_id)"
+            + " select id from chain where depth > 0 order by depth";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EmployeeHierarchy hierarchy;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @DisplayName("Subtree and chain queries: closure table vs recursive CTE on a 100k employee tree")
+    @Test
+    public void compareHierarchyQueries() {
+
+        // given - precondition or setup
+        // employee i reports to (i - 2) / FAN_OUT + 1, so 1 is the root and the tree is complete
+        jdbcTemplate.update("delete from employees");
+        jdbcTemplate.update("delete from employee_hierarchy");
+        List<Object[]> employees = new ArrayList<>();
+        List<Object[]> closure = new ArrayList<>();
+        for (long id = 1; id <= EMPLOYEES; id++) {
+            employees.add(new Object[]{id, "First" + id, "Last" + id, "employee" + id + "@hotmail.com", id == 1 ? null : manager(id)});
+            closure.add(new Object[]{id, id, 0});
+            int depth = 1;
+            for (long ancestor = id; ancestor != 1; ancestor = manager(ancestor)) {
+                closure.add(new Object[]{manager(ancestor), id, depth++});
+            }
+            if (employees.size() == 5_000 || id == EMPLOYEES) {
+                jdbcTemplate.batchUpdate("insert into employees (id, first_name, last_name, email, manager_id) values (?, ?, ?, ?, ?)", employees);
+                jdbcTemplate.batchUpdate("insert into employee_hierarchy (ancestor_id, descendant_id, depth) values (?, ?, ?)", closure);
+                employees.clear();
+                closure.clear();
+            }
+        }
+        long subtreeRoot = 2;
+        long leaf = EMPLOYEES;
+
+        // when - action or behaviour that we are going test
+        long closureReports = time(() -> hierarchy.reportIds(subtreeRoot, Integer.MAX_VALUE));
+        long recursiveReports = time(() -> jdbcTemplate.queryForList(RECURSIVE_REPORTS, Long.class, subtreeRoot));
+        long closureChain = time(() -> hierarchy.chainIds(leaf));
+        long recursiveChain = time(() -> jdbcTemplate.queryForList(RECURSIVE_CHAIN, Long.class, leaf));
+
+        Employee moved = employeeService.getEmployeeById(3).orElseThrow();
+        moved.setManagerId(2L);
+        long startedAt = System.nanoTime();
+        employeeService.updateEmployee(moved);
+        long moveNanos = System.nanoTime() - startedAt;
+
+        // then - verify the output
+        int subtreeSize = hierarchy.reportIds(subtreeRoot, Integer.MAX_VALUE).size();
+        System.out.printf("%n%d employees, fan-out %d, subtree of %d, %d rounds%n", EMPLOYEES, FAN_OUT, subtreeSize, ROUNDS);
+        System.out.printf("%-26s %14s %14s%n", "query", "closure us", "recursive us");
+        System.out.printf("%-26s %14d %14d%n", "reports of employee 2", closureReports / 1_000, recursiveReports / 1_000);
+        System.out.printf("%-26s %14d %14d%n", "chain of the last leaf", closureChain / 1_000, recursiveChain / 1_000);
+        System.out.printf("moving employee 3 below 2 took %d ms%n", moveNanos / 1_000_000);
+
+        assertThat(new HashSet<>(hierarchy.reportIds(subtreeRoot, Integer.MAX_VALUE)))
+                .isEqualTo(new HashSet<>(jdbcTemplate.queryForList(RECURSIVE_REPORTS, Long.class, subtreeRoot)));
+        assertThat(hierarchy.chainIds(leaf)).containsExactlyElementsOf(jdbcTemplate.queryForList(RECURSIVE_CHAIN, Long.class, leaf));
+    }
+
+    private static long manager(long id) {
+        return (id - 2) / FAN_OUT + 1;
+    }
+
+    /**
+     * Average nanoseconds per call after as many warm-up calls.
+     */
+    private static long time(Supplier<List<Long>> query) {
+        for (int i = 0; i < ROUNDS; i++) {
+            query.get();
+        }
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            query.get();
+        }
+        return (System.nanoTime() - startedAt) / ROUNDS;
+    }
+}
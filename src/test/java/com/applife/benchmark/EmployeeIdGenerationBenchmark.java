@@ -0,0 +1,120 @@
+package com.applife.benchmark;
+
+import com.applife.base.AbstractContainerBaseTest;
+import com.applife.model.id.SnowflakeIds;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+@SpringBootTest
+public class EmployeeIdGenerationBenchmark extends AbstractContainerBaseTest {
+
+    private static final int WRITERS = Integer.getInteger("benchmark.writers", 8);
+
+    private static final int ROWS_PER_WRITER = Integer.getInteger("benchmark.rows-per-writer", 5_000);
+
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DisplayName("Insert throughput: auto-increment ids vs application-assigned snowflake ids")
+    @Test
+    public void compareIdStrategies() throws Exception {
+
+        // given - precondition or setup
+        jdbcTemplate.update("delete from employees");
+        SnowflakeIds snowflakeIds = new SnowflakeIds(1);
+
+        // when - action or behaviour that we are going test
+        // IDENTITY: every row needs its own round trip to read back the generated key
+        long identityNanos = runWriters(writer -> {
+            for (int i = 0; i < ROWS_PER_WRITER; i++) {
+                Object[] row = row(writer, i);
+                KeyHolder keyHolder = new GeneratedKeyHolder();
+                jdbcTemplate.update(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(
+                            "insert into employees (first_name, last_name, email) values (?, ?, ?)",
+                            Statement.RETURN_GENERATED_KEYS);
+                    statement.setObject(1, row[0]);
+                    statement.setObject(2, row[1]);
+                    statement.setObject(3, row[2]);
+                    return statement;
+                }, keyHolder);
+            }
+        });
+        jdbcTemplate.update("delete from employees");
+
+        // application-assigned: ids are known up front, so the inserts can be batched
+        long snowflakeNanos = runWriters(writer -> {
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < ROWS_PER_WRITER; i++) {
+                Object[] row = row(writer, i);
+                batch.add(new Object[]{snowflakeIds.next(), row[0], row[1], row[2]});
+                if (batch.size() == BATCH_SIZE || i == ROWS_PER_WRITER - 1) {
+                    jdbcTemplate.batchUpdate("insert into employees (id, first_name, last_name, email) values (?, ?, ?, ?)", batch);
+                    batch.clear();
+                }
+            }
+        });
+
+        // then - verify the output
+        int rows = WRITERS * ROWS_PER_WRITER;
+        System.out.printf("%n%d writers x %d rows%n", WRITERS, ROWS_PER_WRITER);
+        System.out.printf("%-26s %12s %14s%n", "strategy", "ms", "rows/s");
+        print("IDENTITY, single inserts", identityNanos, rows);
+        print("snowflake, batched", snowflakeNanos, rows);
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from employees", Integer.class)).isEqualTo(rows);
+    }
+
+    private interface Writer {
+        void write(int writer) throws Exception;
+    }
+
+    private static long runWriters(Writer writer) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                int index = w;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    writer.write(index);
+                    return null;
+                }));
+            }
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return System.nanoTime() - startedAt;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static Object[] row(int writer, int i) {
+        return new Object[]{"First" + i, "Last" + writer, "employee" + writer + "-" + i + "@hotmail.com"};
+    }
+
+    private static void print(String name, long nanos, int rows) {
+        System.out.printf("%-26s %12d %14.0f%n", name, nanos / 1_000_000, rows / (nanos / 1e9));
+    }
+}
@@ -0,0 +1,112 @@
+package com.applife.benchmark;
+
+import com.applife.base.AbstractContainerBaseTest;
+import com.applife.base.EmployeeDataGenerator;
+import com.applife.base.EmployeeDatasetLoader;
+import com.applife.model.Employee;
+import com.applife.repository.EmployeeRepository;
+import com.applife.service.offheap.OffHeapEmployeeTable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+@SpringBootTest
+public class EmployeeReadStoreBenchmark extends AbstractContainerBaseTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 100_000);
+
+    private static final int LOOKUPS = Integer.getInteger("benchmark.lookups", 20_000);
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @DisplayName("Heap footprint and lookup latency: JPA vs HashMap vs off-heap table")
+    @Test
+    public void compareReadPaths() {
+
+        // given - precondition or setup
+        EmployeeDatasetLoader.load(dataSource, new EmployeeDataGenerator(42), ROWS);
+        List<Employee> employees = employeeRepository.findAll();
+        long[] ids = employees.stream().mapToLong(Employee::getId).toArray();
+        long[] lookups = new Random(42).longs(LOOKUPS, 0, ids.length).map(i -> ids[(int) i]).toArray();
+
+        // when - action or behaviour that we are going test
+        long heapBefore = usedHeap();
+        Map<Long, Employee> heapMap = new HashMap<>();
+        for (Employee employee : employees) {
+            heapMap.put(employee.getId(), copy(employee));
+        }
+        long heapMapBytes = usedHeap() - heapBefore;
+
+        heapBefore = usedHeap();
+        OffHeapEmployeeTable table = new OffHeapEmployeeTable(16 << 20, 4L << 30, ROWS, 60_000);
+        employees.forEach(table::put);
+        long offHeapTableHeapBytes = usedHeap() - heapBefore;
+
+        long[] jpaNanos = measure(lookups, id -> employeeRepository.findById(id).isPresent());
+        long[] heapMapNanos = measure(lookups, id -> heapMap.get(id) != null);
+        long[] offHeapNanos = measure(lookups, id -> table.get(id).isPresent());
+
+        // then - verify the output
+        System.out.printf("%n%d employees, %d lookups%n", ROWS, LOOKUPS);
+        System.out.printf("%-22s %14s %14s %10s %10s%n", "read path", "heap bytes", "direct bytes", "p50 us", "p99 us");
+        print("JPA findById", 0, 0, jpaNanos);
+        print("HashMap<Long,Employee>", heapMapBytes, 0, heapMapNanos);
+        print("OffHeapEmployeeTable", offHeapTableHeapBytes, table.allocatedBytes(), offHeapNanos);
+
+        assertThat(table.size()).isEqualTo(ROWS);
+        assertThat(heapMap.size()).isEqualTo(ROWS);
+    }
+
+    private interface Lookup {
+        boolean find(long id);
+    }
+
+    private static long[] measure(long[] ids, Lookup lookup) {
+        // warm-up pass so the JIT has compiled the path being measured
+        for (int i = 0; i < Math.min(ids.length, 2_000); i++) {
+            lookup.find(ids[i]);
+        }
+        long[] nanos = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            long start = System.nanoTime();
+            assertThat(lookup.find(ids[i])).isTrue();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static void print(String name, long heapBytes, long directBytes, long[] nanos) {
+        System.out.printf("%-22s %14d %14d %10.1f %10.1f%n", name, heapBytes, directBytes,
+                nanos[nanos.length / 2] / 1000.0, nanos[(int) (nanos.length * 0.99)] / 1000.0);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static Employee copy(Employee employee) {
+        return Employee.builder()
+                .id(employee.getId())
+                .firstName(employee.getFirstName())
+                .lastName(employee.getLastName())
+                .email(employee.getEmail())
+                .build();
+    }
+}
@@ -0,0 +1,129 @@
+package com.applife.benchmark;
+
+import com.applife.TestInfrastructureApplication;
+import com.applife.base.AbstractContainerBaseTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the application in a fresh JVM per mode and measures the time until the first request is served. The
+ * modes take turns, so a machine getting faster or slower during the run affects all of them alike, and each must
+ * beat the one before it in the same run. The default mode goes first because it creates the schema the
+ * fast-startup profile expects. The CDS mode only runs when the archive from {@code mvn package -Pappcds} exists.
+ */
+@Tag("benchmark")
+public class StartupBenchmark extends AbstractContainerBaseTest {
+
+    private static final int RUNS = Integer.getInteger("benchmark.startup.runs", 3);
+
+    private static final long MAX_MILLIS = Long.getLong("benchmark.startup.max-ms", 20_000);
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    private static final Path CDS_ARCHIVE = Paths.get(System.getProperty("benchmark.startup.cds-archive", "target/app-cds.jsa"));
+
+    private static final String CDS_CLASSPATH = System.getProperty("benchmark.startup.cds-classpath", "target/appcds/*");
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    @DisplayName("Time to first request: default vs fast-startup vs fast-startup with an AppCDS archive")
+    @Test
+    public void compareStartupModes() throws Exception {
+
+        // given - precondition or setup
+        String classpath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("default", List.of("-cp", classpath));
+        modes.put("fast-startup", List.of("-Dspring.profiles.active=fast-startup", "-cp", classpath));
+        if (Files.exists(CDS_ARCHIVE)) {
+            modes.put("fast-startup + AppCDS", List.of("-XX:SharedArchiveFile=" + CDS_ARCHIVE,
+                    "-Dspring.profiles.active=fast-startup", "-cp", CDS_CLASSPATH));
+        }
+
+        // when - action or behaviour that we are going test
+        Map<String, Long> bestMillis = new LinkedHashMap<>();
+        for (int run = 0; run < RUNS; run++) {
+            for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+                bestMillis.merge(mode.getKey(), timeToFirstRequest(mode.getValue()), Math::min);
+            }
+        }
+
+        // then - verify the output
+        System.out.printf("%nbest of %d starts%n", RUNS);
+        System.out.printf("%-24s %12s%n", "mode", "ms");
+        bestMillis.forEach((mode, millis) -> System.out.printf("%-24s %12d%n", mode, millis));
+
+        assertThat(bestMillis.get("fast-startup")).isLessThan(MAX_MILLIS);
+        assertThat(bestMillis.get("fast-startup")).as("fast-startup vs default").isLessThan(bestMillis.get("default"));
+        if (bestMillis.containsKey("fast-startup + AppCDS")) {
+            assertThat(bestMillis.get("fast-startup + AppCDS")).as("fast-startup + AppCDS vs fast-startup")
+                    .isLessThan(bestMillis.get("fast-startup"));
+        }
+    }
+
+    private long timeToFirstRequest(List<String> modeArguments) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Dserver.port=" + port);
+        command.add("-Dspring.datasource.url=" + mySqlContainer().getJdbcUrl());
+        command.add("-Dspring.datasource.username=" + mySqlContainer().getUsername());
+        command.add("-Dspring.datasource.password=" + mySqlContainer().getPassword());
+        command.addAll(modeArguments);
+        command.add(TestInfrastructureApplication.class.getName());
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/employees?after=0&limit=1"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long startedAt = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(new File(System.getProperty("java.io.tmpdir"), "startup-benchmark.log"))
+                .start();
+        try {
+            while (System.nanoTime() - startedAt < TIMEOUT.toNanos()) {
+                assertThat(process.isAlive()).as("application exited during startup").isTrue();
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+                    }
+                } catch (ConnectException e) {
+                    // not listening yet
+                }
+                Thread.sleep(20);
+            }
+            throw new IllegalStateException("Application did not serve a request within " + TIMEOUT);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.applife.controller;
+
+import com.applife.exception.DepartmentNotEmptyException;
+import com.applife.model.Department;
+import com.applife.model.DepartmentStats;
+import com.applife.model.Employee;
+import com.applife.service.DepartmentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(DepartmentController.class)
+public class DepartmentControllerTests {
+
+    public static final String API_DEPARTMENTS_PATH = "/api/departments";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DepartmentService departmentService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DisplayName("Department Controller createDepartment")
+    @Test
+    public void givenDepartmentObject_whenCreateDepartment_thenReturnSavedDepartment() throws Exception {
+
+        // given - precondition or setup
+        given(departmentService.createDepartment(any(Department.class)))
+                .willAnswer(invocation -> new Department(1L, invocation.<Department>getArgument(0).getName()));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(post(API_DEPARTMENTS_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Department.builder().name("Engineering").build())));
+
+        // then - verify the output
+        response.andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", is(1)))
+                .andExpect(jsonPath("$.name", is("Engineering")));
+    }
+
+    @DisplayName("Department Controller getEmployees embeds the department of each employee")
+    @Test
+    public void givenDepartmentEmployees_whenGetEmployees_thenReturnEmployeesWithDepartment() throws Exception {
+
+        // given - precondition or setup
+        Department engineering = new Department(1L, "Engineering");
+        Employee employee = Employee.builder().id(5L).firstName("Furkan").lastName("Uzun")
+                .email("frknuzn34@hotmail.com").department(engineering).build();
+        given(departmentService.getEmployees(1L, 0L, 100)).willReturn(List.of(employee));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(get(API_DEPARTMENTS_PATH + "/{id}/employees", 1L));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].department.id", is(1)))
+                .andExpect(jsonPath("$[0].department.name", is("Engineering")));
+    }
+
+    @DisplayName("Department Controller getDepartmentStats")
+    @Test
+    public void givenStats_whenGetDepartmentStats_thenReturnStats() throws Exception {
+
+        // given - precondition or setup
+        given(departmentService.getDepartmentStats()).willReturn(List.of(new DepartmentStats(1L, "Engineering", 12L, null)));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(get(API_DEPARTMENTS_PATH + "/stats"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$[0].name", is("Engineering")))
+                .andExpect(jsonPath("$[0].employees", is(12)));
+    }
+
+    @DisplayName("Department Controller deleteDepartment with employees returns 409")
+    @Test
+    public void givenDepartmentWithEmployees_whenDeleteDepartment_thenReturnConflict() throws Exception {
+
+        // given - precondition or setup
+        willThrow(new DepartmentNotEmptyException("Department 1 still has employees")).given(departmentService).deleteDepartment(1L);
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(delete(API_DEPARTMENTS_PATH + "/{id}", 1L));
+
+        // then - verify the output
+        response.andExpect(status().isConflict())
+                .andDo(print());
+    }
+}
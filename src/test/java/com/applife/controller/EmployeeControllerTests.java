@@ -1,6 +1,7 @@
 package com.applife.controller;
 
 import com.applife.model.Employee;
+import com.applife.model.EmployeeFields;
 import com.applife.service.EmployeeService;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -28,7 +29,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@WebMvcTest
+@WebMvcTest(EmployeeController.class)
 public class EmployeeControllerTests {
 
     public static final String API_EMPLOYEES_PATH = "/api/employees";
@@ -209,4 +210,110 @@ public class EmployeeControllerTests {
         response.andExpect(status().isOk())
                 .andDo(print());
     }
+
+    @DisplayName("Employee Controller typeahead")
+    @Test
+    public void givenSearchQuery_whenTypeahead_thenReturnMatchingEmployees() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("Furkan")
+                .lastName("Uzun")
+                .email("frknuzn34@hotmail.com")
+                .build();
+        given(employeeService.searchEmployees("furk", 10)).willReturn(List.of(employee));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(get(API_EMPLOYEES_PATH + "/typeahead").param("q", "furk"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].email", is(employee.getEmail())));
+    }
+
+    @DisplayName("Employee Controller getEmployeesAfter keyset page")
+    @Test
+    public void givenCursor_whenGetEmployeesAfter_thenReturnNextPage() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .id(11L)
+                .firstName("Furkan")
+                .lastName("Uzun")
+                .email("frknuzn34@hotmail.com")
+                .build();
+        given(employeeService.getEmployeesAfter(10L, 2)).willReturn(List.of(employee));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(get(API_EMPLOYEES_PATH).param("after", "10").param("limit", "2"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].id", is(11)));
+    }
+
+    @DisplayName("Employee Controller getEmployeeById with fields writes only those fields")
+    @Test
+    public void givenFields_whenGetEmployeeById_thenReturnOnlyRequestedFields() throws Exception {
+
+        // given - precondition or setup
+        long employeeId = 1L;
+        Employee employee = Employee.builder()
+                .id(employeeId)
+                .email("frknuzn34@hotmail.com")
+                .build();
+        given(employeeService.getEmployeeById(employeeId, EmployeeFields.parse("id,email"))).willReturn(Optional.of(employee));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(get(API_EMPLOYEES_PATH + "/{id}", employeeId).param("fields", "email,id"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.id", is(1)))
+                .andExpect(jsonPath("$.email", is(employee.getEmail())))
+                .andExpect(jsonPath("$.firstName").doesNotExist())
+                .andExpect(jsonPath("$.lastName").doesNotExist());
+    }
+
+    @DisplayName("Employee Controller rejects unknown fields")
+    @Test
+    public void givenUnknownField_whenGetAllEmployees_thenReturnBadRequest() throws Exception {
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(get(API_EMPLOYEES_PATH).param("fields", "email,salary"));
+
+        // then - verify the output
+        response.andExpect(status().isBadRequest())
+                .andDo(print());
+        verify(employeeService, never()).getAllEmployees(any(EmployeeFields.class));
+    }
+
+    @DisplayName("Employee Controller getReports with depth")
+    @Test
+    public void givenDepth_whenGetReports_thenReturnReportsFromService() throws Exception {
+
+        // given - precondition or setup
+        Employee report = Employee.builder()
+                .id(2L)
+                .firstName("Fatma")
+                .lastName("Yilmaz")
+                .email("fatma@gmail.com")
+                .managerId(1L)
+                .build();
+        given(employeeService.getReports(1L, 1)).willReturn(List.of(report));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(get(API_EMPLOYEES_PATH + "/{id}/reports", 1L).param("depth", "1"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].managerId", is(1)));
+    }
 }
@@ -0,0 +1,108 @@
+package com.applife.controller.cache;
+
+import com.applife.event.EmployeeChangedEvent;
+import com.applife.event.EmployeeWriteVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeResponseCacheFilterTests {
+
+    private EmployeeWriteVersion writeVersion;
+
+    private EmployeeResponseCacheFilter filter;
+
+    private AtomicInteger controllerCalls;
+
+    private FilterChain controller;
+
+    @BeforeEach
+    public void setup() {
+        writeVersion = new EmployeeWriteVersion();
+        filter = new EmployeeResponseCacheFilter(writeVersion, 16, 1 << 20, true);
+        controllerCalls = new AtomicInteger();
+        controller = (request, response) -> {
+            int call = controllerCalls.incrementAndGet();
+            response.setContentType("application/json");
+            response.getOutputStream().write(("[{\"id\":1,\"call\":" + call + "}]").getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    @DisplayName("EmployeeResponseCacheFilter serves repeated requests from the cached bytes")
+    @Test
+    public void givenCachedResponse_whenSameRequestAgain_thenControllerIsNotCalled() throws Exception {
+
+        // given - precondition or setup
+        MockHttpServletResponse first = get("after=0&limit=10", false);
+
+        // when - action or behaviour that we are going test
+        MockHttpServletResponse second = get("limit=10&after=0", false);
+        MockHttpServletResponse otherPage = get("after=10&limit=10", false);
+
+        // then - verify the output
+        assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString()).isEqualTo("[{\"id\":1,\"call\":1}]");
+        assertThat(second.getContentType()).isEqualTo("application/json");
+        assertThat(otherPage.getContentAsString()).contains("\"call\":2");
+        assertThat(controllerCalls.get()).isEqualTo(2);
+    }
+
+    @DisplayName("EmployeeResponseCacheFilter keeps a pre-gzipped variant for clients that accept gzip")
+    @Test
+    public void givenGzipClient_whenCachedResponse_thenServesCompressedBytes() throws Exception {
+
+        // given - precondition or setup
+        get(null, false);
+
+        // when - action or behaviour that we are going test
+        MockHttpServletResponse response = get(null, true);
+
+        // then - verify the output
+        assertThat(controllerCalls.get()).isEqualTo(1);
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("[{\"id\":1,\"call\":1}]");
+        }
+    }
+
+    @DisplayName("EmployeeResponseCacheFilter stops serving cached bytes after an employee write")
+    @Test
+    public void givenCachedResponse_whenEmployeeChanged_thenResponseIsRebuilt() throws Exception {
+
+        // given - precondition or setup
+        get(null, false);
+
+        // when - action or behaviour that we are going test
+        writeVersion.onEmployeeChanged(EmployeeChangedEvent.deleted(1L));
+        MockHttpServletResponse response = get(null, false);
+
+        // then - verify the output
+        assertThat(controllerCalls.get()).isEqualTo(2);
+        assertThat(response.getContentAsString()).contains("\"call\":2");
+    }
+
+    private MockHttpServletResponse get(String query, boolean acceptGzip) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees");
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                String[] nameAndValue = parameter.split("=");
+                request.addParameter(nameAndValue[0], nameAndValue[1]);
+            }
+        }
+        if (acceptGzip) {
+            request.addHeader("Accept-Encoding", "gzip, deflate");
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, controller);
+        return response;
+    }
+}
@@ -0,0 +1,80 @@
+package com.applife.deadline;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestDeadlineFilterTests {
+
+    private final RequestDeadlineFilter filter = new RequestDeadlineFilter(5000,
+            new String[]{"/api/employees/stream=0", "/api/employees/typeahead=500"});
+
+    @DisplayName("The route budget applies, shortened by the client's header")
+    @Test
+    public void givenRouteAndHeader_whenFilter_thenShorterBudgetIsTheDeadline() throws Exception {
+
+        // given - precondition or setup
+        MockHttpServletRequest typeahead = new MockHttpServletRequest("GET", "/api/employees/typeahead");
+        MockHttpServletRequest withHeader = new MockHttpServletRequest("GET", "/api/employees/1");
+        withHeader.addHeader(RequestDeadlineFilter.HEADER, "200");
+        MockHttpServletRequest stream = new MockHttpServletRequest("GET", "/api/employees/stream");
+
+        // when - action or behaviour that we are going test
+        long typeaheadBudget = remainingMillisSeenBy(typeahead);
+        long headerBudget = remainingMillisSeenBy(withHeader);
+        long streamBudget = remainingMillisSeenBy(stream);
+
+        // then - verify the output
+        assertThat(typeaheadBudget).isBetween(400L, 500L);
+        assertThat(headerBudget).isBetween(100L, 200L);
+        assertThat(streamBudget).isEqualTo(Long.MAX_VALUE);
+        assertThat(RequestDeadline.current()).isNull();
+    }
+
+    @DisplayName("Spent budgets and statement timeouts are answered with 503")
+    @Test
+    public void givenSpentBudgetOrTimedOutStatement_whenFilter_thenServiceUnavailable() throws Exception {
+
+        // given - precondition or setup
+        MockHttpServletRequest spent = new MockHttpServletRequest("GET", "/api/employees/1");
+        spent.addHeader(RequestDeadlineFilter.HEADER, "0");
+        MockFilterChain notCalled = new MockFilterChain();
+        MockHttpServletResponse spentResponse = new MockHttpServletResponse();
+        MockHttpServletResponse timedOutResponse = new MockHttpServletResponse();
+
+        // when - action or behaviour that we are going test
+        filter.doFilter(spent, spentResponse, notCalled);
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/employees"), timedOutResponse, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) {
+                throw new IllegalStateException(new SQLTimeoutException("Statement cancelled due to timeout"));
+            }
+        }));
+
+        // then - verify the output
+        assertThat(spentResponse.getStatus()).isEqualTo(503);
+        assertThat(notCalled.getRequest()).isNull();
+        assertThat(timedOutResponse.getStatus()).isEqualTo(503);
+    }
+
+    private long remainingMillisSeenBy(MockHttpServletRequest request) throws Exception {
+        AtomicLong remaining = new AtomicLong();
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) {
+                remaining.set(RequestDeadline.remainingMillis());
+            }
+        }));
+        return remaining.get();
+    }
+}
@@ -0,0 +1,108 @@
+package com.applife.integration;
+
+import com.applife.base.AbstractContainerBaseTest;
+import com.applife.base.CountSqlStatements;
+import com.applife.profiling.SqlStatementCounts;
+import com.applife.model.Department;
+import com.applife.model.Employee;
+import com.applife.repository.DepartmentRepository;
+import com.applife.repository.EmployeeRepository;
+import com.applife.service.DepartmentService;
+import com.applife.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static com.applife.base.SqlStatementBudgetExtension.count;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@CountSqlStatements
+public class DepartmentIntegrationTests extends AbstractContainerBaseTest {
+
+    private static final int EMPLOYEES = 30;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    private List<Department> departments;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setup() {
+        employeeRepository.deleteAll();
+        departmentRepository.deleteAll();
+        departments = List.of(
+                departmentService.createDepartment(Department.builder().name("Engineering").build()),
+                departmentService.createDepartment(Department.builder().name("Finance").build()),
+                departmentService.createDepartment(Department.builder().name("Sales").build()));
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employee = employeeService.saveEmployee(Employee.builder()
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .email("employee" + i + "@hotmail.com")
+                    // only an id, the service resolves the department
+                    .department(Department.builder().id(departments.get(i % departments.size()).getId()).build())
+                    .build());
+        }
+    }
+
+    @DisplayName("Employee reads serialize the department of every employee without extra statements")
+    @Test
+    public void givenEmployeesInDepartments_whenReadEmployees_thenOneStatementPerRequest() throws Throwable {
+
+        // when - action or behaviour that we are going test
+        // then - verify the output
+        assertStatements(1, "/api/employees");
+        assertStatements(1, "/api/employees?after=0&limit=20");
+        assertStatements(1, "/api/employees/{id}", employee.getId());
+        assertStatements(1, "/api/departments/{id}/employees", departments.get(0).getId());
+
+        mockMvc.perform(get("/api/employees/{id}", employee.getId()))
+                .andExpect(jsonPath("$.department.name", is(employee.getDepartment().getName())));
+    }
+
+    @DisplayName("Department list and aggregates need a fixed number of statements")
+    @Test
+    public void givenEmployeesInDepartments_whenReadDepartments_thenStatementCountIsFixed() throws Throwable {
+
+        // when - action or behaviour that we are going test
+        // then - verify the output
+        assertStatements(1, "/api/departments");
+        assertStatements(2, "/api/departments/stats");
+
+        mockMvc.perform(get("/api/departments/stats"))
+                .andExpect(jsonPath("$[0].name", is("Engineering")))
+                .andExpect(jsonPath("$[0].employees", is(EMPLOYEES / departments.size())));
+    }
+
+    private void assertStatements(int expected, String uri, Object... uriVariables) throws Throwable {
+        SqlStatementCounts counts = count(() -> mockMvc.perform(get(uri, uriVariables)).andExpect(status().isOk()));
+        assertThat(counts.select()).as("selects for GET %s: %s", uri, counts.statements().keySet()).isEqualTo(expected);
+        assertThat(counts.total()).as("statements for GET %s", uri).isEqualTo(expected);
+    }
+}
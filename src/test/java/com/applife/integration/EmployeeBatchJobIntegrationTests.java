@@ -0,0 +1,191 @@
+package com.applife.integration;
+
+import com.applife.base.AbstractContainerBaseTest;
+import com.applife.exception.InvalidEmployeeManagerException;
+import com.applife.model.BulkheadStats;
+import com.applife.model.Employee;
+import com.applife.model.EmployeeBatchJobStatus;
+import com.applife.repository.EmployeeRepository;
+import com.applife.service.EmployeeService;
+import com.applife.service.batch.EmployeeBatchJobs;
+import com.applife.service.bulkhead.WorkloadBulkheads;
+import com.applife.service.bulkhead.WorkloadClass;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "employee.batch.enabled=true",
+        "employee.batch.page-size=2",
+        "employee.bulkhead.enabled=true",
+        "spring.jpa.open-in-view=false"
+})
+public class EmployeeBatchJobIntegrationTests extends AbstractContainerBaseTest {
+
+    @Autowired
+    private EmployeeBatchJobs batchJobs;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private WorkloadBulkheads bulkheads;
+
+    @BeforeEach
+    void setup() {
+        employeeRepository.deleteAll();
+        jdbcTemplate.update("delete from employee_hierarchy");
+        jdbcTemplate.update("delete from employee_batch_jobs");
+    }
+
+    @DisplayName("normalize-emails rewrites the emails that need it across every page")
+    @Test
+    public void givenMixedCaseEmails_whenNormalizeEmails_thenDomainsLowerCased() throws InterruptedException {
+
+        // given - precondition or setup
+        Employee furkan = save("Furkan", "frknuzn34@Hotmail.COM", null);
+        Employee fatma = save("Fatma", "fatma@gmail.com", null);
+        Employee mehmet = save("Mehmet", " Mehmet@GMAIL.com", null);
+
+        // when - action or behaviour that we are going test
+        boolean started = batchJobs.start("normalize-emails", Map.of());
+        EmployeeBatchJobStatus status = await("normalize-emails");
+
+        // then - verify the output
+        assertThat(started).isTrue();
+        assertThat(status.getStatus()).isEqualTo("SUCCEEDED");
+        assertThat(status.getProcessed()).isEqualTo(3);
+        assertThat(status.getChanged()).isEqualTo(2);
+        assertThat(status.getLastId()).isEqualTo(mehmet.getId());
+        assertThat(employeeRepository.findById(furkan.getId()).get().getEmail()).isEqualTo("frknuzn34@hotmail.com");
+        assertThat(employeeRepository.findById(fatma.getId()).get().getEmail()).isEqualTo("fatma@gmail.com");
+        assertThat(employeeRepository.findById(mehmet.getId()).get().getEmail()).isEqualTo("Mehmet@gmail.com");
+    }
+
+    @DisplayName("normalize-emails leaves an email alone when its normalized form belongs to another employee")
+    @Test
+    public void givenEmailsThatNormalizeToTakenOnes_whenNormalizeEmails_thenTheyAreSkipped() throws InterruptedException {
+
+        // given - precondition or setup
+        Employee furkan = save("Furkan", "frknuzn34@hotmail.com", null);
+        Employee copy = save("Furkan", " frknuzn34@hotmail.com", null);
+        Employee fatma = save("Fatma", "fatma@gmail.com", null);
+        Employee fatmaCopy = save("Fatma", "fatma@GMAIL.com ", null);
+        Employee mehmet = save("Mehmet", "mehmet@GMAIL.com", null);
+
+        // when - action or behaviour that we are going test
+        batchJobs.start("normalize-emails", Map.of());
+        EmployeeBatchJobStatus status = await("normalize-emails");
+
+        // then - verify the output
+        assertThat(status.getStatus()).isEqualTo("SUCCEEDED");
+        assertThat(status.getChanged()).isEqualTo(1);
+        assertThat(employeeRepository.findById(furkan.getId()).get().getEmail()).isEqualTo("frknuzn34@hotmail.com");
+        assertThat(employeeRepository.findById(copy.getId()).get().getEmail()).isEqualTo(" frknuzn34@hotmail.com");
+        assertThat(employeeRepository.findById(fatma.getId()).get().getEmail()).isEqualTo("fatma@gmail.com");
+        assertThat(employeeRepository.findById(fatmaCopy.getId()).get().getEmail()).isEqualTo("fatma@GMAIL.com ");
+        assertThat(employeeRepository.findById(mehmet.getId()).get().getEmail()).isEqualTo("mehmet@gmail.com");
+    }
+
+    @DisplayName("reassign-manager moves the direct reports and the hierarchy follows")
+    @Test
+    public void givenReports_whenReassignManager_thenReportsMoveWithTheirSubtrees() throws InterruptedException {
+
+        // given - precondition or setup
+        Employee ceo = save("Ceo", "ceo@applife.com", null);
+        Employee cto = save("Cto", "cto@applife.com", ceo);
+        Employee cfo = save("Cfo", "cfo@applife.com", ceo);
+        Employee developer = save("Developer", "developer@applife.com", cto);
+        Employee vp = save("Vp", "vp@applife.com", null);
+
+        // when - action or behaviour that we are going test
+        batchJobs.start("reassign-manager", Map.of("from", String.valueOf(ceo.getId()), "to", String.valueOf(vp.getId())));
+        EmployeeBatchJobStatus status = await("reassign-manager");
+
+        // then - verify the output
+        assertThat(status.getStatus()).isEqualTo("SUCCEEDED");
+        assertThat(status.getChanged()).isEqualTo(2);
+        assertThat(employeeService.getReports(vp.getId(), 1)).extracting(Employee::getId)
+                .containsExactlyInAnyOrder(cto.getId(), cfo.getId());
+        assertThat(employeeService.getManagementChain(developer.getId())).extracting(Employee::getFirstName)
+                .containsExactly("Cto", "Vp");
+        assertThat(employeeService.getReports(ceo.getId(), Integer.MAX_VALUE)).isEmpty();
+    }
+
+    @DisplayName("reassign-manager refuses a new manager below the old one before reading anything")
+    @Test
+    public void givenNewManagerInSubtree_whenReassignManager_thenRejected() {
+
+        // given - precondition or setup
+        Employee ceo = save("Ceo", "ceo@applife.com", null);
+        Employee cto = save("Cto", "cto@applife.com", ceo);
+
+        // when - action or behaviour that we are going test
+        // then - verify the output
+        assertThatThrownBy(() -> batchJobs.start("reassign-manager",
+                Map.of("from", String.valueOf(ceo.getId()), "to", String.valueOf(cto.getId()))))
+                .isInstanceOf(InvalidEmployeeManagerException.class);
+        assertThat(batchJobs.status("reassign-manager")).isEmpty();
+    }
+
+    @DisplayName("A batch job runs in the batch bulkhead and leaves the bulk one to the full-table reads")
+    @Test
+    public void givenEmployees_whenBatchJobRuns_thenBulkBulkheadIsNotUsed() throws InterruptedException {
+
+        // given - precondition or setup
+        for (int i = 0; i < 5; i++) {
+            save("Employee" + i, "employee" + i + "@GMAIL.com", null);
+        }
+        long bulkCompleted = stats(WorkloadClass.BULK).getCompleted();
+        long batchCompleted = stats(WorkloadClass.BATCH).getCompleted();
+
+        // when - action or behaviour that we are going test
+        batchJobs.start("normalize-emails", Map.of());
+        EmployeeBatchJobStatus status = await("normalize-emails");
+
+        // then - verify the output
+        assertThat(status.getStatus()).isEqualTo("SUCCEEDED");
+        assertThat(stats(WorkloadClass.BULK).getCompleted()).isEqualTo(bulkCompleted);
+        // three pages read and three chunks written
+        assertThat(stats(WorkloadClass.BATCH).getCompleted() - batchCompleted).isGreaterThanOrEqualTo(6);
+        assertThat(employeeService.getAllEmployees()).hasSize(5);
+    }
+
+    private BulkheadStats stats(WorkloadClass workload) {
+        return bulkheads.stats().get(workload.ordinal());
+    }
+
+    private EmployeeBatchJobStatus await(String name) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            EmployeeBatchJobStatus status = batchJobs.status(name).orElseThrow();
+            if (!"RUNNING".equals(status.getStatus())) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Batch job " + name + " did not finish");
+    }
+
+    private Employee save(String firstName, String email, Employee manager) {
+        return employeeService.saveEmployee(Employee.builder()
+                .firstName(firstName)
+                .lastName("Uzun")
+                .email(email)
+                .managerId(manager == null ? null : manager.getId())
+                .build());
+    }
+}
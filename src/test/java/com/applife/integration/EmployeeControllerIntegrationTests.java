@@ -1,8 +1,12 @@
 package com.applife.integration;
 
 import com.applife.base.AbstractContainerBaseTest;
+import com.applife.base.CountSqlStatements;
+import com.applife.base.MaxQueries;
 import com.applife.model.Employee;
+import com.applife.profiling.SqlStatementCounts;
 import com.applife.repository.EmployeeRepository;
+import com.applife.service.stats.EmployeeDirectoryStats;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,7 +21,9 @@ import org.springframework.test.web.servlet.ResultActions;
 import java.util.ArrayList;
 import java.util.List;
 
+import static com.applife.base.SqlStatementBudgetExtension.count;
 import static com.applife.controller.EmployeeControllerTests.API_EMPLOYEES_PATH;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.boot.test.context.SpringBootTest.*;
 import static org.hamcrest.CoreMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -26,6 +32,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
 @AutoConfigureMockMvc
+@CountSqlStatements
 public class EmployeeControllerIntegrationTests extends AbstractContainerBaseTest {
 
     @Autowired
@@ -37,6 +44,9 @@ public class EmployeeControllerIntegrationTests extends AbstractContainerBaseTes
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EmployeeDirectoryStats directoryStats;
+
     @BeforeEach
     void setup() {
         employeeRepository.deleteAll();
@@ -45,6 +55,7 @@ public class EmployeeControllerIntegrationTests extends AbstractContainerBaseTes
 
     @DisplayName("Employee Controller createEmployee integration test")
     @Test
+    @MaxQueries(select = 1, insert = 2)
     public void givenEmployeeObject_whenCreateEmployee_thenReturnSavedEmployee() throws Exception {
 
         // given - precondition or setup
@@ -70,6 +81,7 @@ public class EmployeeControllerIntegrationTests extends AbstractContainerBaseTes
 
     @DisplayName("Employee Controller getAllEmployees integration test ")
     @Test
+    @MaxQueries(select = 1, insert = 2)
     public void givenListOfEmployees_whenGetAllEmployees_thenReturnEmployeesList() throws Exception {
 
         // given - precondition or setup
@@ -89,6 +101,7 @@ public class EmployeeControllerIntegrationTests extends AbstractContainerBaseTes
 
     @DisplayName("Employee Controller getEmployeeById (positive) integration test ")
     @Test
+    @MaxQueries(select = 1, insert = 1)
     public void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject() throws Exception {
 
         // given - precondition or setup
@@ -113,6 +126,7 @@ public class EmployeeControllerIntegrationTests extends AbstractContainerBaseTes
 
     @DisplayName("Employee Controller getEmployeeById (negative) integration test ")
     @Test
+    @MaxQueries(select = 1, insert = 1)
     public void givenInvalidEmployeeId_whenGetEmployeeById_thenReturnEmpty() throws Exception {
 
         // given - precondition or setup
@@ -134,6 +148,7 @@ public class EmployeeControllerIntegrationTests extends AbstractContainerBaseTes
 
     @DisplayName("Employee Controller updateEmployee (positive) integration test ")
     @Test
+    @MaxQueries(select = 2, insert = 2, update = 1)
     public void givenUpdatedEmployee_whenUpdateEmployee_thenReturnUpdateEmployeeObject() throws Exception {
 
         // given - precondition or setup
@@ -165,6 +180,7 @@ public class EmployeeControllerIntegrationTests extends AbstractContainerBaseTes
 
     @DisplayName("Employee Controller updateEmployee (negative) integration test ")
     @Test
+    @MaxQueries(select = 1)
     public void givenUpdatedEmployee_whenUpdateEmployee_thenReturn404() throws Exception {
 
         // given - precondition or setup
@@ -193,6 +209,7 @@ public class EmployeeControllerIntegrationTests extends AbstractContainerBaseTes
 
     @DisplayName("Employee Controller deleteEmployee integration test ")
     @Test
+    @MaxQueries(select = 2, insert = 1, update = 1, delete = 2)
     public void givenEmployeeId_whenDeleteEmployee_thenReturn200() throws Exception {
 
         // given - precondition or setup
@@ -210,4 +227,32 @@ public class EmployeeControllerIntegrationTests extends AbstractContainerBaseTes
         response.andExpect(status().isOk())
                 .andDo(print());
     }
+
+    @DisplayName("Employee Controller getStats integration test ")
+    @Test
+    public void givenCreatedEmployees_whenGetStats_thenReturnCountsWithoutQueries() throws Throwable {
+
+        // given - precondition or setup
+        directoryStats.reconcile();
+        for (String email : List.of("furkan@hotmail.com", "deneme@hotmail.com", "fatma@gmail.com")) {
+            mockMvc.perform(post(API_EMPLOYEES_PATH)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(Employee.builder()
+                                    .firstName("Furkan").lastName("Uzun").email(email).build())))
+                    .andExpect(status().isCreated());
+        }
+
+        // when - action or behaviour that we are going test
+        List<ResultActions> response = new ArrayList<>();
+        SqlStatementCounts counts = count(() -> response.add(mockMvc.perform(get(API_EMPLOYEES_PATH + "/stats"))));
+
+        // then - verify the output
+        response.get(0).andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.headcount", is(3)))
+                .andExpect(jsonPath("$.byEmailDomain['hotmail.com']", is(2)))
+                .andExpect(jsonPath("$.byEmailDomain['gmail.com']", is(1)))
+                .andExpect(jsonPath("$.byLastNameInitial.U", is(3)));
+        assertThat(counts.total()).isZero();
+    }
 }
@@ -0,0 +1,119 @@
+package com.applife.integration;
+
+import com.applife.base.AbstractContainerBaseTest;
+import com.applife.exception.InvalidEmployeeManagerException;
+import com.applife.model.Employee;
+import com.applife.repository.EmployeeRepository;
+import com.applife.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+public class EmployeeHierarchyIntegrationTests extends AbstractContainerBaseTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Employee ceo;
+
+    private Employee cto;
+
+    private Employee cfo;
+
+    private Employee developer;
+
+    private Employee intern;
+
+    @BeforeEach
+    void setup() {
+        employeeRepository.deleteAll();
+        jdbcTemplate.update("delete from employee_hierarchy");
+        ceo = save("Ceo", null);
+        cto = save("Cto", ceo);
+        cfo = save("Cfo", ceo);
+        developer = save("Developer", cto);
+        intern = save("Intern", developer);
+    }
+
+    @DisplayName("Reports and management chain come from the closure table in hierarchy order")
+    @Test
+    public void givenHierarchy_whenGetReportsAndChain_thenReturnSubtreeAndManagers() {
+
+        // when - action or behaviour that we are going test
+        // then - verify the output
+        assertThat(employeeService.getReports(ceo.getId(), 1)).extracting(Employee::getId)
+                .containsExactlyInAnyOrder(cto.getId(), cfo.getId());
+        assertThat(employeeService.getReports(ceo.getId(), Integer.MAX_VALUE)).extracting(Employee::getFirstName)
+                .containsExactlyInAnyOrder("Cto", "Cfo", "Developer", "Intern")
+                .endsWith("Intern");
+        assertThat(employeeService.getManagementChain(intern.getId())).extracting(Employee::getFirstName)
+                .containsExactly("Developer", "Cto", "Ceo");
+    }
+
+    @DisplayName("Moving a manager moves its whole subtree")
+    @Test
+    public void givenSubtree_whenChangeManager_thenSubtreeMoves() {
+
+        // when - action or behaviour that we are going test
+        cto.setManagerId(cfo.getId());
+        employeeService.updateEmployee(cto);
+
+        // then - verify the output
+        assertThat(employeeService.getManagementChain(intern.getId())).extracting(Employee::getFirstName)
+                .containsExactly("Developer", "Cto", "Cfo", "Ceo");
+        assertThat(employeeService.getReports(cfo.getId(), Integer.MAX_VALUE)).extracting(Employee::getFirstName)
+                .containsExactly("Cto", "Developer", "Intern");
+        assertThat(employeeService.getReports(ceo.getId(), 1)).extracting(Employee::getFirstName).containsExactly("Cfo");
+    }
+
+    @DisplayName("An employee cannot report to someone in their own subtree")
+    @Test
+    public void givenReport_whenBecomeManagerOfOwnManager_thenThrows() {
+
+        // when - action or behaviour that we are going test
+        cto.setManagerId(intern.getId());
+
+        // then - verify the output
+        assertThatThrownBy(() -> employeeService.updateEmployee(cto)).isInstanceOf(InvalidEmployeeManagerException.class);
+        assertThatThrownBy(() -> employeeService.saveEmployee(Employee.builder()
+                .firstName("New").lastName("Hire").email("new-hire@hotmail.com").managerId(-1L).build()))
+                .isInstanceOf(InvalidEmployeeManagerException.class);
+    }
+
+    @DisplayName("Deleting a manager moves its direct reports up")
+    @Test
+    public void givenManager_whenDelete_thenReportsMoveUp() {
+
+        // when - action or behaviour that we are going test
+        employeeService.deleteEmployee(cto.getId());
+
+        // then - verify the output
+        assertThat(employeeRepository.findById(developer.getId())).get().extracting(Employee::getManagerId).isEqualTo(ceo.getId());
+        assertThat(employeeService.getManagementChain(intern.getId())).extracting(Employee::getFirstName)
+                .containsExactly("Developer", "Ceo");
+        assertThat(employeeService.getReports(ceo.getId(), Integer.MAX_VALUE)).extracting(Employee::getFirstName)
+                .containsExactly("Cfo", "Developer", "Intern");
+    }
+
+    private Employee save(String name, Employee manager) {
+        return employeeService.saveEmployee(Employee.builder()
+                .firstName(name)
+                .lastName(name)
+                .email(name.toLowerCase() + "@hotmail.com")
+                .managerId(manager == null ? null : manager.getId())
+                .build());
+    }
+}
@@ -0,0 +1,118 @@
+package com.applife.integration;
+
+import com.applife.base.AbstractContainerBaseTest;
+import com.applife.event.EmployeeChangedEvent;
+import com.applife.model.Employee;
+import com.applife.model.EmployeeChange;
+import com.applife.repository.EmployeeRepository;
+import com.applife.service.EmployeeService;
+import com.applife.service.history.EmployeeHistory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "employee.history.enabled=true",
+        "employee.history.flush-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+public class EmployeeHistoryIntegrationTests extends AbstractContainerBaseTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeHistory history;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setup() {
+        employeeRepository.deleteAll();
+        employee = employeeService.saveEmployee(Employee.builder()
+                .firstName("Ramesh")
+                .lastName("Fadatare")
+                .email("ramesh@gmail.com")
+                .build());
+    }
+
+    @DisplayName("Creating, updating and deleting an employee records before and after images")
+    @Test
+    public void givenEmployee_whenUpdatedAndDeleted_thenHistoryHasImages() {
+
+        // given - precondition or setup
+        employee.setFirstName("Ram");
+
+        // when - action or behaviour that we are going test
+        employeeService.updateEmployee(employee);
+        employeeService.deleteEmployee(employee.getId());
+        history.flush();
+
+        // then - verify the output
+        List<EmployeeChange> changes = history.history(employee.getId(), 10);
+        assertThat(changes).extracting(EmployeeChange::getType).containsExactly(
+                EmployeeChangedEvent.Type.DELETED, EmployeeChangedEvent.Type.UPDATED, EmployeeChangedEvent.Type.CREATED);
+        assertThat(changes.get(2).getBefore()).isNull();
+        assertThat(changes.get(2).getAfter()).contains("\"firstName\":\"Ramesh\"");
+        assertThat(changes.get(1).getBefore()).contains("\"firstName\":\"Ramesh\"");
+        assertThat(changes.get(1).getAfter()).contains("\"firstName\":\"Ram\"");
+        assertThat(changes.get(0).getBefore()).contains("\"firstName\":\"Ram\"");
+        assertThat(changes.get(0).getAfter()).isNull();
+        assertThat(history.pendingCount()).isZero();
+    }
+
+    @DisplayName("asOf reads return the employee as it was at that time")
+    @Test
+    public void givenChanges_whenGetAsOf_thenReturnsStateAtThatTime() throws Exception {
+
+        // given - precondition or setup
+        Instant beforeUpdate = pause();
+        employee.setFirstName("Ram");
+        employeeService.updateEmployee(employee);
+        Instant afterUpdate = pause();
+        employeeService.deleteEmployee(employee.getId());
+        history.flush();
+
+        // when - action or behaviour that we are going test
+        // then - verify the output
+        mockMvc.perform(get("/api/employees/{id}", employee.getId()).param("asOf", beforeUpdate.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName", is("Ramesh")));
+        mockMvc.perform(get("/api/employees/{id}", employee.getId()).param("asOf", afterUpdate.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName", is("Ram")));
+        mockMvc.perform(get("/api/employees/{id}", employee.getId()).param("asOf", Instant.now().toString()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/employees/{id}/history", employee.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(3)))
+                .andExpect(jsonPath("$[1].before.firstName", is("Ramesh")))
+                .andExpect(jsonPath("$[1].after.firstName", is("Ram")));
+    }
+
+    private static Instant pause() throws InterruptedException {
+        Thread.sleep(10);
+        Instant now = Instant.now();
+        Thread.sleep(10);
+        return now;
+    }
+}
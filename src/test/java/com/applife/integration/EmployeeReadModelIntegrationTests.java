@@ -0,0 +1,105 @@
+package com.applife.integration;
+
+import com.applife.base.AbstractContainerBaseTest;
+import com.applife.model.Employee;
+import com.applife.repository.EmployeeRepository;
+import com.applife.service.EmployeeService;
+import com.applife.service.readmodel.EmployeeReadModel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "employee.read-model.enabled=true",
+        "employee.response-cache.enabled=true"
+})
+@AutoConfigureMockMvc
+public class EmployeeReadModelIntegrationTests extends AbstractContainerBaseTest {
+
+    private static final String API_EMPLOYEES_PATH = "/api/employees";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeReadModel readModel;
+
+    @BeforeEach
+    void setup() throws InterruptedException {
+        employeeRepository.deleteAll();
+        // the rows were deleted around the service
+        readModel.requestReload();
+        awaitCaughtUp();
+    }
+
+    @DisplayName("A list requested right after a write contains the write, also when the response is cached")
+    @Test
+    public void givenCachedList_whenEmployeeCreated_thenNextListContainsIt() throws Exception {
+
+        // given - precondition or setup
+        mockMvc.perform(get(API_EMPLOYEES_PATH)).andExpect(status().isOk()).andExpect(jsonPath("$.size()", is(0)));
+
+        for (int i = 1; i <= 20; i++) {
+            // when - action or behaviour that we are going test
+            mockMvc.perform(post(API_EMPLOYEES_PATH)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(employee("Employee" + i, "employee" + i + "@gmail.com"))))
+                    .andExpect(status().isCreated());
+
+            // then - verify the output
+            mockMvc.perform(get(API_EMPLOYEES_PATH)).andExpect(status().isOk()).andExpect(jsonPath("$.size()", is(i)));
+        }
+    }
+
+    @DisplayName("An update right after a delete does not bring the deleted employee back")
+    @Test
+    public void givenDeletedEmployee_whenUpdateEmployee_thenReturn404() throws Exception {
+
+        // given - precondition or setup
+        Employee saved = employeeService.saveEmployee(employee("Furkan", "frknuzn34@hotmail.com"));
+        awaitCaughtUp();
+        mockMvc.perform(get(API_EMPLOYEES_PATH + "/{id}", saved.getId())).andExpect(status().isOk());
+
+        // when - action or behaviour that we are going test
+        mockMvc.perform(delete(API_EMPLOYEES_PATH + "/{id}", saved.getId())).andExpect(status().isOk());
+
+        // then - verify the output
+        mockMvc.perform(put(API_EMPLOYEES_PATH + "/{id}", saved.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employee("Ramesh", "ramesh@gmail.com"))))
+                .andExpect(status().isNotFound());
+        assertThat(employeeRepository.count()).isZero();
+    }
+
+    private static Employee employee(String firstName, String email) {
+        return Employee.builder().firstName(firstName).lastName("Uzun").email(email).build();
+    }
+
+    private void awaitCaughtUp() throws InterruptedException {
+        for (int i = 0; i < 500 && !readModel.isFresh(); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(readModel.isFresh()).isTrue();
+    }
+}
@@ -0,0 +1,193 @@
+package com.applife.integration;
+
+import com.applife.base.AbstractShardedContainerBaseTest;
+import com.applife.exception.ResourceNotFoundException;
+import com.applife.model.Department;
+import com.applife.model.Employee;
+import com.applife.repository.EmployeeKeysetIterator;
+import com.applife.repository.EmployeeRepository;
+import com.applife.repository.shard.EmployeeShardRebalancer;
+import com.applife.repository.shard.EmployeeShardRouter;
+import com.applife.repository.shard.EmployeeShards;
+import com.applife.service.DepartmentService;
+import com.applife.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "employee.sharding.enabled=true",
+        "employee.sharding.refresh-interval-ms=100",
+        "employee.id.strategy=snowflake",
+        "spring.jpa.open-in-view=false"
+})
+public class EmployeeShardingIntegrationTests extends AbstractShardedContainerBaseTest {
+
+    private static final int EMPLOYEES = 60;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private EmployeeShards shards;
+
+    @Autowired
+    private EmployeeShardRouter router;
+
+    @Autowired
+    private EmployeeShardRebalancer rebalancer;
+
+    private List<Employee> employees;
+
+    @BeforeEach
+    void setup() {
+        employeeRepository.deleteAll();
+        departmentService.getAllDepartments().forEach(department -> departmentService.deleteDepartment(department.getId()));
+        employees = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(employeeService.saveEmployee(Employee.builder()
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .email("employee" + i + "@hotmail.com")
+                    .build()));
+        }
+    }
+
+    @DisplayName("Sharded employees are stored on the shard of their id and found by id and email")
+    @Test
+    public void givenSavedEmployees_whenFindByIdAndEmail_thenReadFromTheirShard() {
+
+        // given - precondition or setup
+
+        // when - action or behaviour that we are going test
+        long total = 0;
+        for (int shard : shards.ids()) {
+            Long rows = shards.jdbcTemplate(shard).queryForObject("select count(*) from employees", Long.class);
+            assertThat(rows).isPositive();
+            total += rows;
+        }
+
+        // then - verify the output
+        assertThat(total).isEqualTo(EMPLOYEES);
+        for (Employee employee : employees) {
+            Integer onShard = shards.jdbcTemplate(router.shardFor(employee.getId()))
+                    .queryForObject("select count(*) from employees where id = ?", Integer.class, employee.getId());
+            assertThat(onShard).isEqualTo(1);
+            assertThat(employeeService.getEmployeeById(employee.getId())).get().extracting(Employee::getEmail).isEqualTo(employee.getEmail());
+            assertThat(employeeRepository.findByEmail(employee.getEmail())).get().extracting(Employee::getId).isEqualTo(employee.getId());
+        }
+        assertThat(employeeRepository.findByEmail("nobody@hotmail.com")).isEmpty();
+        assertThatThrownBy(() -> employeeService.saveEmployee(Employee.builder()
+                .firstName("Again").lastName("Again").email("employee0@hotmail.com").build()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @DisplayName("An update cannot take another employee's email, a changed email moves in the index")
+    @Test
+    public void givenTakenEmail_whenUpdateEmployee_thenRejectedAndIndexKeepsTheOwner() {
+
+        // given - precondition or setup
+        Employee owner = employees.get(0);
+        Employee other = employeeService.getEmployeeById(employees.get(1).getId()).orElseThrow();
+        other.setEmail(owner.getEmail());
+
+        // when - action or behaviour that we are going test
+        assertThatThrownBy(() -> employeeService.updateEmployee(other)).isInstanceOf(ResourceNotFoundException.class);
+        Employee moved = employeeService.getEmployeeById(other.getId()).orElseThrow();
+        moved.setEmail("moved@hotmail.com");
+        employeeService.updateEmployee(moved);
+
+        // then - verify the output
+        assertThat(employeeRepository.findByEmail(owner.getEmail())).get().extracting(Employee::getId).isEqualTo(owner.getId());
+        assertThat(employeeRepository.findByEmail("moved@hotmail.com")).get().extracting(Employee::getId).isEqualTo(other.getId());
+        assertThat(employeeRepository.findByEmail("employee1@hotmail.com")).isEmpty();
+    }
+
+    @DisplayName("getAllEmployees and keyset pages merge all shards in id order")
+    @Test
+    public void givenShardedEmployees_whenGetAll_thenMergedInIdOrder() {
+
+        // given - precondition or setup
+        List<Long> expectedIds = employees.stream().map(Employee::getId).sorted().collect(Collectors.toList());
+
+        // when - action or behaviour that we are going test
+        List<Long> allIds = employeeService.getAllEmployees().stream().map(Employee::getId).collect(Collectors.toList());
+        List<Long> keysetIds = new ArrayList<>();
+        new EmployeeKeysetIterator(employeeRepository, 7).forEachRemaining(employee -> keysetIds.add(employee.getId()));
+
+        // then - verify the output
+        assertThat(allIds).isEqualTo(expectedIds);
+        assertThat(keysetIds).isEqualTo(expectedIds);
+        assertThat(employeeRepository.count()).isEqualTo(EMPLOYEES);
+    }
+
+    @DisplayName("Splitting a shard moves its rows and keeps every employee reachable")
+    @Test
+    public void givenShardedEmployees_whenSplitShard_thenRowsMoveAndStayReachable() throws Exception {
+
+        // given - precondition or setup
+        Set<Integer> movedBuckets = new HashSet<>(router.bucketsOf(0));
+
+        // when - action or behaviour that we are going test
+        int moved = rebalancer.split(0, 2);
+        movedBuckets.removeAll(router.bucketsOf(0));
+
+        // then - verify the output
+        assertThat(moved).isPositive();
+        List<Long> idsLeftOnShard0 = shards.jdbcTemplate(0).queryForList("select id from employees", Long.class);
+        assertThat(idsLeftOnShard0).noneMatch(id -> movedBuckets.contains(EmployeeShardRouter.bucketFor(id)));
+        for (Employee employee : employees) {
+            assertThat(employeeService.getEmployeeById(employee.getId())).isPresent();
+            assertThat(employeeRepository.findByEmail(employee.getEmail())).isPresent();
+        }
+        assertThat(employeeService.getAllEmployees()).hasSize(EMPLOYEES);
+
+        Employee deleted = employees.get(0);
+        employeeService.deleteEmployee(deleted.getId());
+        assertThat(employeeService.getEmployeeById(deleted.getId())).isEmpty();
+        assertThat(employeeRepository.findByEmail(deleted.getEmail())).isEmpty();
+    }
+
+    @DisplayName("Departments are copied to every shard and sharded employee reads join them")
+    @Test
+    public void givenDepartment_whenShardedEmployeesJoinIt_thenEveryShardReturnsIt() {
+
+        // given - precondition or setup
+        Department engineering = departmentService.createDepartment(Department.builder().name("Engineering").build());
+
+        // when - action or behaviour that we are going test
+        for (Employee employee : employees) {
+            employee.setDepartment(Department.builder().id(engineering.getId()).build());
+            employeeService.updateEmployee(employee);
+        }
+
+        // then - verify the output
+        for (int shard : shards.ids()) {
+            assertThat(shards.jdbcTemplate(shard).queryForObject("select name from departments where id = ?", String.class, engineering.getId()))
+                    .isEqualTo("Engineering");
+        }
+        assertThat(employeeService.getAllEmployees()).allSatisfy(employee ->
+                assertThat(employee.getDepartment().getName()).isEqualTo("Engineering"));
+        assertThat(departmentService.getEmployees(engineering.getId(), 0, 7)).hasSize(7);
+        assertThat(departmentService.getEmployees(engineering.getId(), 0, EMPLOYEES)).hasSize(EMPLOYEES);
+        assertThat(departmentService.getDepartmentStats()).singleElement()
+                .extracting(stats -> stats.getEmployees()).isEqualTo((long) EMPLOYEES);
+    }
+}
@@ -0,0 +1,74 @@
+package com.applife.integration;
+
+import com.applife.base.AbstractContainerBaseTest;
+import com.applife.base.CountSqlStatements;
+import com.applife.model.Employee;
+import com.applife.profiling.SqlStatementCounts;
+import com.applife.repository.EmployeeRepository;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.applife.base.SqlStatementBudgetExtension.count;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// the fast-startup profile leaves the schema alone, the container starts empty
+@SpringBootTest(properties = "spring.jpa.hibernate.ddl-auto=update")
+@ActiveProfiles("fast-startup")
+@CountSqlStatements
+public class FastStartupIntegrationTests extends AbstractContainerBaseTest {
+
+    private static final int EMPLOYEES = 100;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setup() {
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("The fast-startup profile keeps JDBC batching and generated keys")
+    @Test
+    public void givenFastStartupProfile_whenSessionFactoryStarted_thenBatchingAndGeneratedKeysAreOn() {
+
+        // given - precondition or setup
+        // when - action or behaviour that we are going test
+        SessionFactoryOptions options = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getSessionFactoryOptions();
+
+        // then - verify the output
+        assertThat(options.getJdbcBatchSize()).isEqualTo(50);
+        assertThat(options.isGetGeneratedKeysEnabled()).isTrue();
+    }
+
+    @DisplayName("The fast-startup profile reads auto-increment ids from the insert, without a select per row")
+    @Test
+    public void givenFastStartupProfile_whenSaveAll_thenNoSelectPerInsert() throws Throwable {
+
+        // given - precondition or setup
+        List<Employee> employees = IntStream.range(0, EMPLOYEES)
+                .mapToObj(i -> Employee.builder().firstName("Furkan").lastName("Uzun").email("employee" + i + "@hotmail.com").build())
+                .collect(Collectors.toList());
+
+        // when - action or behaviour that we are going test
+        SqlStatementCounts counts = count(() -> employeeRepository.saveAll(employees));
+
+        // then - verify the output
+        assertThat(counts.insert()).as("inserts: %s", counts.statements()).isEqualTo(EMPLOYEES);
+        assertThat(counts.total()).as("statements: %s", counts.statements()).isEqualTo(EMPLOYEES);
+        assertThat(employeeRepository.count()).isEqualTo(EMPLOYEES);
+    }
+}
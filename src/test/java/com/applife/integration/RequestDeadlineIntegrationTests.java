@@ -0,0 +1,108 @@
+package com.applife.integration;
+
+import com.applife.base.AbstractContainerBaseTest;
+import com.applife.base.LatencyInjection;
+import com.applife.deadline.RequestDeadlineFilter;
+import com.applife.model.Employee;
+import com.applife.repository.EmployeeRepository;
+import com.applife.service.EmployeeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "employee.deadline.enabled=true",
+        "employee.deadline.default-ms=500",
+        "spring.datasource.hikari.maximum-pool-size=2"
+})
+@AutoConfigureMockMvc
+@Import(LatencyInjection.class)
+public class RequestDeadlineIntegrationTests extends AbstractContainerBaseTest {
+
+    private static final int REQUESTS = 6;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setup() {
+        employeeRepository.deleteAll();
+        employee = employeeService.saveEmployee(Employee.builder()
+                .firstName("Ramesh")
+                .lastName("Fadatare")
+                .email("ramesh@gmail.com")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        LatencyInjection.reset();
+    }
+
+    @DisplayName("Requests waiting on a pool drained by slow statements fail fast with 503 and the pool recovers")
+    @Test
+    public void givenSlowDatabase_whenPoolIsExhausted_thenWaitingRequestsFailFast() throws Exception {
+
+        // given - precondition or setup
+        LatencyInjection.inject(Duration.ofMillis(2000));
+        ExecutorService clients = Executors.newFixedThreadPool(REQUESTS);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when - action or behaviour that we are going test
+        List<Future<long[]>> responses = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            responses.add(clients.submit(() -> {
+                start.await();
+                long startedAt = System.nanoTime();
+                int status = mockMvc.perform(get("/api/employees/{id}", employee.getId()))
+                        .andReturn().getResponse().getStatus();
+                return new long[]{status, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)};
+            }));
+        }
+        start.countDown();
+        List<long[]> results = new ArrayList<>();
+        for (Future<long[]> response : responses) {
+            results.add(response.get(30, TimeUnit.SECONDS));
+        }
+        clients.shutdown();
+
+        // then - verify the output
+        assertThat(results).filteredOn(result -> result[0] == 503).isNotEmpty()
+                .allSatisfy(result -> assertThat(result[1]).isLessThan(1500));
+        LatencyInjection.reset();
+        mockMvc.perform(get("/api/employees/{id}", employee.getId()))
+                .andExpect(status().isOk());
+    }
+
+    @DisplayName("A request whose client budget is already spent is rejected with 503")
+    @Test
+    public void givenSpentClientBudget_whenGetEmployee_thenServiceUnavailable() throws Exception {
+        mockMvc.perform(get("/api/employees/{id}", employee.getId()).header(RequestDeadlineFilter.HEADER, "0"))
+                .andExpect(status().isServiceUnavailable());
+        mockMvc.perform(get("/api/employees/{id}", employee.getId()).header(RequestDeadlineFilter.HEADER, "2000"))
+                .andExpect(status().isOk());
+    }
+}
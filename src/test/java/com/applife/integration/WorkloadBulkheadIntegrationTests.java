@@ -0,0 +1,130 @@
+package com.applife.integration;
+
+import com.applife.base.AbstractContainerBaseTest;
+import com.applife.model.Employee;
+import com.applife.repository.EmployeeRepository;
+import com.applife.service.bulkhead.WorkloadBulkheads;
+import com.applife.service.bulkhead.WorkloadClass;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "employee.bulkhead.enabled=true",
+        "spring.jpa.open-in-view=false"
+})
+@AutoConfigureMockMvc
+@Import(WorkloadBulkheadIntegrationTests.PoolRecording.class)
+public class WorkloadBulkheadIntegrationTests extends AbstractContainerBaseTest {
+
+    private static final String API_EMPLOYEES_PATH = "/api/employees";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setup() {
+        employeeRepository.deleteAll();
+        employee = employeeRepository.save(Employee.builder().firstName("Furkan").lastName("Uzun").email("frknuzn34@hotmail.com").build());
+        PoolRecording.STATEMENTS.clear();
+    }
+
+    @DisplayName("The lookup of an update request runs on the interactive pool and its write on the write pool")
+    @Test
+    public void givenEmployee_whenUpdateEmployee_thenWriteRunsOnTheWritePool() throws Exception {
+
+        // given - precondition or setup
+        Employee updatedEmployee = Employee.builder().firstName("Ramesh").lastName("Fadatare").email("ramesh@gmail.com").build();
+
+        // when - action or behaviour that we are going test
+        mockMvc.perform(put(API_EMPLOYEES_PATH + "/{id}", employee.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updatedEmployee)))
+                .andExpect(status().isOk());
+
+        // then - verify the output
+        assertThat(PoolRecording.poolsOf("update employees")).containsOnly(WorkloadClass.WRITE.key());
+        // the write merges the looked up employee, which loads it again on the write pool
+        assertThat(PoolRecording.poolsOf("from employees")).first().isEqualTo(WorkloadClass.INTERACTIVE.key());
+    }
+
+    /**
+     * Records the pool every statement ran on, by proxying the pools of the bulkheads before the routing data
+     * source is built from them.
+     */
+    @TestConfiguration
+    static class PoolRecording {
+
+        static final Queue<String[]> STATEMENTS = new ConcurrentLinkedQueue<>();
+
+        static List<String> poolsOf(String statement) {
+            return STATEMENTS.stream().filter(executed -> executed[1].toLowerCase().contains(statement))
+                    .map(executed -> executed[0]).collect(Collectors.toList());
+        }
+
+        @Bean
+        public static BeanPostProcessor poolRecordingPostProcessor() {
+            QueryExecutionListener recorder = new QueryExecutionListener() {
+                @Override
+                public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                    queryInfoList.forEach(query -> STATEMENTS.add(new String[]{execInfo.getDataSourceName(), query.getQuery()}));
+                }
+
+                @Override
+                public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                }
+            };
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof WorkloadBulkheads)) {
+                        return bean;
+                    }
+                    WorkloadBulkheads bulkheads = (WorkloadBulkheads) bean;
+                    Map<WorkloadClass, DataSource> dataSources = new EnumMap<>(WorkloadClass.class);
+                    Map<WorkloadClass, WorkloadBulkheads.Bulkhead> limits = new EnumMap<>(WorkloadClass.class);
+                    for (WorkloadClass workload : WorkloadClass.values()) {
+                        dataSources.put(workload, ProxyDataSourceBuilder.create(bulkheads.dataSources().get(workload))
+                                .name(workload.key()).listener(recorder).build());
+                        limits.put(workload, bulkheads.bulkhead(workload));
+                    }
+                    return new WorkloadBulkheads(dataSources, limits);
+                }
+            };
+        }
+    }
+}
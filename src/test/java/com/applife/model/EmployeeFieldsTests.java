@@ -0,0 +1,52 @@
+package com.applife.model;
+
+import com.applife.exception.InvalidEmployeeFieldsException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class EmployeeFieldsTests {
+
+    @DisplayName("EmployeeFields keeps the requested attributes in declaration order")
+    @Test
+    public void givenFieldList_whenParse_thenAttributesInDeclarationOrder() {
+
+        // when - action or behaviour that we are going test
+        EmployeeFields fields = EmployeeFields.parse(" email, id,email ");
+
+        // then - verify the output
+        assertThat(fields.names()).containsExactly("id", "email");
+        assertThat(fields.isAll()).isFalse();
+        assertThat(EmployeeFields.parse("managerId,lastName,email,firstName,id")).isSameAs(EmployeeFields.ALL);
+    }
+
+    @DisplayName("EmployeeFields rejects unknown, ignored and empty field lists")
+    @Test
+    public void givenInvalidFieldList_whenParse_thenThrows() {
+        assertThatThrownBy(() -> EmployeeFields.parse("email,salary"))
+                .isInstanceOf(InvalidEmployeeFieldsException.class)
+                .hasMessageContaining("salary");
+        assertThatThrownBy(() -> EmployeeFields.parse("updatedAt"))
+                .isInstanceOf(InvalidEmployeeFieldsException.class);
+        assertThatThrownBy(() -> EmployeeFields.parse(" , "))
+                .isInstanceOf(InvalidEmployeeFieldsException.class);
+    }
+
+    @DisplayName("EmployeeFields reads and writes attributes by name")
+    @Test
+    public void givenEmployee_whenReadAndWrite_thenUsesProperties() {
+
+        // given - precondition or setup
+        Employee employee = new Employee();
+
+        // when - action or behaviour that we are going test
+        EmployeeFields.write(employee, "id", 7L);
+        EmployeeFields.write(employee, "email", "frknuzn34@hotmail.com");
+
+        // then - verify the output
+        assertThat(employee.getId()).isEqualTo(7L);
+        assertThat(EmployeeFields.read(employee, "email")).isEqualTo("frknuzn34@hotmail.com");
+    }
+}
@@ -0,0 +1,78 @@
+package com.applife.model.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SnowflakeIdsTests {
+
+    @DisplayName("SnowflakeIds hands out unique, per-thread increasing ids under contention")
+    @Test
+    public void givenConcurrentThreads_whenNext_thenIdsAreUniqueAndIncreasing() throws Exception {
+
+        // given - precondition or setup
+        SnowflakeIds ids = new SnowflakeIds(5);
+        int threads = 8;
+        int perThread = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when - action or behaviour that we are going test
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                long[] generated = new long[perThread];
+                for (int i = 0; i < perThread; i++) {
+                    generated[i] = ids.next();
+                }
+                return generated;
+            }));
+        }
+        start.countDown();
+        long[] all = new long[threads * perThread];
+        for (int t = 0; t < threads; t++) {
+            long[] generated = futures.get(t).get(30, TimeUnit.SECONDS);
+            for (int i = 1; i < generated.length; i++) {
+                assertThat(generated[i]).isGreaterThan(generated[i - 1]);
+            }
+            System.arraycopy(generated, 0, all, t * perThread, perThread);
+        }
+        executor.shutdown();
+
+        // then - verify the output
+        assertThat(Arrays.stream(all).distinct().count()).isEqualTo(all.length);
+        assertThat(Arrays.stream(all).allMatch(id -> id > 0 && SnowflakeIds.nodeId(id) == 5)).isTrue();
+    }
+
+    @DisplayName("SnowflakeIds encodes the creation time")
+    @Test
+    public void givenId_whenTimestampMillis_thenReturnsCreationTime() {
+
+        // given - precondition or setup
+        long before = System.currentTimeMillis();
+
+        // when - action or behaviour that we are going test
+        long id = new SnowflakeIds(SnowflakeIds.MAX_NODE_ID).next();
+
+        // then - verify the output
+        assertThat(SnowflakeIds.timestampMillis(id)).isBetween(before, System.currentTimeMillis());
+        assertThat(SnowflakeIds.nodeId(id)).isEqualTo(SnowflakeIds.MAX_NODE_ID);
+    }
+
+    @DisplayName("SnowflakeIds rejects node ids that do not fit into the node bits")
+    @Test
+    public void givenOutOfRangeNodeId_whenCreate_thenThrows() {
+        assertThatThrownBy(() -> new SnowflakeIds(SnowflakeIds.MAX_NODE_ID + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SnowflakeIds(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,52 @@
+package com.applife.profiling;
+
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JfrRequestAnalyzerTests {
+
+    @TempDir
+    Path directory;
+
+    @DisplayName("JfrRequestAnalyzer groups request events per endpoint")
+    @Test
+    public void givenRecordingWithRequestEvents_whenSummarize_thenReturnPerEndpointBreakdown() throws Exception {
+
+        // given - precondition or setup
+        Path file = directory.resolve("employees.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(EmployeeRequestEvent.class);
+            recording.enable("jdk.ThreadPark").withoutThreshold();
+            recording.start();
+            for (int i = 0; i < 3; i++) {
+                EmployeeRequestEvent event = new EmployeeRequestEvent();
+                event.begin();
+                // istek sirasinda thread in beklemesini simule ediyoruz
+                LockSupport.parkNanos(1_000_000);
+                event.method = "GET";
+                event.endpoint = "/api/employees/{id}";
+                event.status = 200;
+                event.bytesWritten = 100;
+                event.commit();
+            }
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // when - action or behaviour that we are going test
+        String summary = JfrRequestAnalyzer.summarize(file);
+
+        // then - verify the output
+        assertThat(summary).contains("GET /api/employees/{id}");
+        assertThat(summary.lines().filter(line -> line.startsWith("GET /api/employees/{id}")).findFirst().get())
+                .contains(" 3 ")
+                .contains(" 300 ");
+    }
+}
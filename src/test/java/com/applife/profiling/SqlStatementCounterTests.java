@@ -0,0 +1,65 @@
+package com.applife.profiling;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SqlStatementCounterTests {
+
+    private final SqlStatementCounter counter = new SqlStatementCounter();
+
+    @DisplayName("SqlStatementCounter counts by type in every open scope and ignores statements outside scopes")
+    @Test
+    public void givenNestedScopes_whenStatementsRun_thenEachScopeCountsItsOwn() {
+
+        // given - precondition or setup
+        execute("select * from employees");
+        SqlStatementCounts test = SqlStatementCounter.start();
+        execute("insert into employees (first_name) values (?)");
+
+        // when - action or behaviour that we are going test
+        SqlStatementCounts request = SqlStatementCounter.start();
+        execute("select * from employees where id = ?");
+        execute("update employees set email = ? where id = ?");
+        SqlStatementCounter.stop(request);
+        execute("delete from employees where id = ?");
+        SqlStatementCounter.stop(test);
+        execute("select * from employees");
+
+        // then - verify the output
+        assertThat(request.select()).isEqualTo(1);
+        assertThat(request.update()).isEqualTo(1);
+        assertThat(request.total()).isEqualTo(2);
+        assertThat(test.toString()).isEqualTo("select=1, insert=1, update=1, delete=1, other=0");
+    }
+
+    @DisplayName("SqlStatementCounts reports SELECTs repeated with different parameters as possible N+1s")
+    @Test
+    public void givenRepeatedSelect_whenRepeatedSelects_thenReturnsItAboveThreshold() {
+
+        // given - precondition or setup
+        SqlStatementCounts counts = SqlStatementCounter.start();
+
+        // when - action or behaviour that we are going test
+        execute("select * from employees");
+        for (int i = 0; i < 5; i++) {
+            execute("select * from departments where id = ?");
+            execute("update employees set email = ? where id = ?");
+        }
+        SqlStatementCounter.stop(counts);
+
+        // then - verify the output
+        assertThat(counts.repeatedSelects(5)).isEqualTo(Map.of("select * from departments where id = ?", 5));
+        assertThat(counts.repeatedSelects(6)).isEmpty();
+    }
+
+    private void execute(String sql) {
+        counter.afterQuery(new ExecutionInfo(), List.of(new QueryInfo(sql)));
+    }
+}
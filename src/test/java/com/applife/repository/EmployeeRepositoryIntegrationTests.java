@@ -1,6 +1,8 @@
 package com.applife.repository;
 
 import com.applife.base.AbstractContainerBaseTest;
+import com.applife.base.CountSqlStatements;
+import com.applife.base.MaxQueries;
 import com.applife.model.Employee;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,6 +18,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@CountSqlStatements
 public class EmployeeRepositoryIntegrationTests extends AbstractContainerBaseTest {
 
     @Autowired
@@ -38,6 +41,7 @@ public class EmployeeRepositoryIntegrationTests extends AbstractContainerBaseTes
     //    JUnit test for save employee operation
     @DisplayName("Save employee operation")
     @Test
+    @MaxQueries(insert = 1)
     public void givenEmployeeObject_whenSave_thenReturnSavedEmployee() {
 
         //        given - precondition or setup
@@ -53,6 +57,7 @@ public class EmployeeRepositoryIntegrationTests extends AbstractContainerBaseTes
     //    JUnit test for
     @DisplayName("Find All Employee operation")
     @Test
+    @MaxQueries(select = 1, insert = 2)
     public void givenEmployeeList_whenFindAll_thenEmployeeList() {
 
         //given - precondition or setup
@@ -77,6 +82,7 @@ public class EmployeeRepositoryIntegrationTests extends AbstractContainerBaseTes
     //    JUnit test for
     @DisplayName("Get Employee by id")
     @Test
+    @MaxQueries(insert = 1)
     public void givenEmployee_whenFindById_thenReturnEmployeeObject() {
 
         // given - precondition or setup
@@ -94,6 +100,7 @@ public class EmployeeRepositoryIntegrationTests extends AbstractContainerBaseTes
     //    JUnit test for get employee by email operation
     @DisplayName("Get employee by email operation")
     @Test
+    @MaxQueries(select = 1, insert = 1)
     public void givenEmployeeEmail_whenFindByEmail_thenEmployeeObject() {
 
         // given - precondition or setup
@@ -110,6 +117,7 @@ public class EmployeeRepositoryIntegrationTests extends AbstractContainerBaseTes
     //    JUnit test for
     @DisplayName("Update Employee operation")
     @Test
+    @MaxQueries(insert = 1)
     public void givenEmployeeObject_whenUpdateEmployee_thenReturnUpdatedEmployee() {
 
         // given - precondition or setup
@@ -131,6 +139,7 @@ public class EmployeeRepositoryIntegrationTests extends AbstractContainerBaseTes
 
     @DisplayName("Delete by id Employee Operation")
     @Test
+    @MaxQueries(insert = 1)
     public void givenEmployeeObject_whenDeleteById_thenRemoveEmployee() {
 
         // given - precondition or setup
@@ -149,6 +158,7 @@ public class EmployeeRepositoryIntegrationTests extends AbstractContainerBaseTes
     //    JUnit test for
     @DisplayName("Custom query using JPQL")
     @Test
+    @MaxQueries(select = 1, insert = 1)
     public void givenFirstNameAndLastName_whenFindByJPQL_thenReturnEmployeeObject() {
 
         // given - precondition or setup
@@ -167,6 +177,7 @@ public class EmployeeRepositoryIntegrationTests extends AbstractContainerBaseTes
 
     @DisplayName("Custom query using JPQL with named params")
     @Test
+    @MaxQueries(select = 1, insert = 1)
     public void givenFirstNameAndLastName_whenFindByJPQLNamed_thenReturnEmployeeObject() {
 
         // given - precondition or setup
@@ -187,6 +198,7 @@ public class EmployeeRepositoryIntegrationTests extends AbstractContainerBaseTes
     //    JUnit test for
     @DisplayName("Custom query using native SQL with index(?)")
     @Test
+    @MaxQueries(select = 1, insert = 1)
     public void givenFirstNameAndLastName_whenFindByNativeSQL_thenReturnEmployeeObject() {
 
         // given - precondition or setup
@@ -206,6 +218,7 @@ public class EmployeeRepositoryIntegrationTests extends AbstractContainerBaseTes
 
     @DisplayName("Custom query using native SQL with params")
     @Test
+    @MaxQueries(select = 1, insert = 1)
     public void givenFirstNameAndLastName_whenFindByNativeSQLWithParams_thenReturnEmployeeObject() {
 
         // given - precondition or setup
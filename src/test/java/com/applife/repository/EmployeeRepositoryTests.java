@@ -2,11 +2,13 @@ package com.applife.repository;
 
 
 import com.applife.model.Employee;
+import com.applife.model.EmployeeFields;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -219,4 +221,24 @@ public class EmployeeRepositoryTests {
         // then - verify the output
         assertThat(savedEmployee).isNotNull();
     }
+
+    @DisplayName("Find employee fields selects only the requested columns")
+    @Test
+    public void givenEmployeeObject_whenFindFields_thenOnlyRequestedAttributesAreSet() {
+
+        // given - precondition or setup
+        Employee savedEmployee = employeeRepository.save(employee);
+        employeeRepository.save(Employee.builder().firstName("deneme").lastName("deneme").email("deneme@hotmail.com").build());
+        EmployeeFields fields = EmployeeFields.parse("email");
+
+        // when - action or behaviour that we are going test
+        Optional<Employee> byId = employeeRepository.findFieldsById(savedEmployee.getId(), fields);
+        List<Employee> page = employeeRepository.findFieldsByIdGreaterThan(fields, 0, PageRequest.of(0, 1));
+
+        // then - verify the output
+        assertThat(byId).get().extracting(Employee::getId, Employee::getEmail, Employee::getFirstName)
+                .containsExactly(savedEmployee.getId(), "frknuzn34@hotmail.com", null);
+        assertThat(page).extracting(Employee::getId).containsExactly(savedEmployee.getId());
+        assertThat(employeeRepository.findAllFields(fields)).extracting(Employee::getLastName).containsOnlyNulls().hasSize(2);
+    }
 }
@@ -0,0 +1,139 @@
+package com.applife.service;
+
+import com.applife.exception.DepartmentNotEmptyException;
+import com.applife.exception.InvalidEmployeeDepartmentException;
+import com.applife.model.Department;
+import com.applife.model.DepartmentStats;
+import com.applife.model.Employee;
+import com.applife.repository.DepartmentEmployeeCount;
+import com.applife.repository.DepartmentRepository;
+import com.applife.repository.EmployeeRepository;
+import com.applife.repository.shard.DepartmentShardReplicator;
+import com.applife.service.impl.DepartmentServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DepartmentServiceTests {
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private ObjectProvider<DepartmentShardReplicator> shardReplicator;
+
+    private DepartmentServiceImpl departmentService;
+
+    @BeforeEach
+    public void setup() {
+        departmentService = new DepartmentServiceImpl(departmentRepository, employeeRepository, shardReplicator);
+    }
+
+    @DisplayName("DepartmentService resolveDepartments loads every referenced department with one query")
+    @Test
+    public void givenEmployeesWithDepartmentIds_whenResolveDepartments_thenReferencesAreReplaced() {
+
+        // given - precondition or setup
+        Employee first = employee(1L, Department.builder().id(10L).build());
+        Employee second = employee(2L, Department.builder().id(10L).build());
+        Employee third = employee(3L, null);
+        given(departmentRepository.findAllById(Set.of(10L))).willReturn(List.of(new Department(10L, "Engineering")));
+
+        // when - action or behaviour that we are going test
+        departmentService.resolveDepartments(List.of(first, second, third));
+
+        // then - verify the output
+        assertThat(first.getDepartment().getName()).isEqualTo("Engineering");
+        assertThat(second.getDepartment().getName()).isEqualTo("Engineering");
+        assertThat(third.getDepartment()).isNull();
+        verify(departmentRepository, times(1)).findAllById(any());
+    }
+
+    @DisplayName("DepartmentService resolveDepartments rejects unknown departments")
+    @Test
+    public void givenUnknownDepartment_whenResolveDepartments_thenThrowsException() {
+
+        // given - precondition or setup
+        Employee employee = employee(1L, Department.builder().id(99L).build());
+        given(departmentRepository.findAllById(Set.of(99L))).willReturn(List.of());
+
+        // when - action or behaviour that we are going test
+        assertThatThrownBy(() -> departmentService.resolveDepartments(List.of(employee)))
+                .isInstanceOf(InvalidEmployeeDepartmentException.class);
+    }
+
+    @DisplayName("DepartmentService getDepartmentStats adds up the rows of each department")
+    @Test
+    public void givenCountsPerShard_whenGetDepartmentStats_thenCountsAreMerged() {
+
+        // given - precondition or setup
+        Instant older = Instant.parse("2024-01-01T00:00:00Z");
+        Instant newer = Instant.parse("2024-02-01T00:00:00Z");
+        given(departmentRepository.findAllByOrderByNameAsc())
+                .willReturn(List.of(new Department(1L, "Engineering"), new Department(2L, "Sales")));
+        given(employeeRepository.countByDepartment())
+                .willReturn(List.of(count(1L, 3, newer), count(1L, 4, older)));
+
+        // when - action or behaviour that we are going test
+        List<DepartmentStats> stats = departmentService.getDepartmentStats();
+
+        // then - verify the output
+        assertThat(stats).containsExactly(
+                new DepartmentStats(1L, "Engineering", 7, newer),
+                new DepartmentStats(2L, "Sales", 0, null));
+    }
+
+    @DisplayName("DepartmentService deleteDepartment refuses departments that still have employees")
+    @Test
+    public void givenDepartmentWithEmployees_whenDeleteDepartment_thenThrowsException() {
+
+        // given - precondition or setup
+        given(employeeRepository.existsByDepartmentId(1L)).willReturn(true);
+
+        // when - action or behaviour that we are going test
+        assertThatThrownBy(() -> departmentService.deleteDepartment(1L))
+                .isInstanceOf(DepartmentNotEmptyException.class);
+
+        // then - verify the output
+        verify(departmentRepository, never()).deleteById(any());
+    }
+
+    private static Employee employee(long id, Department department) {
+        return Employee.builder().id(id).firstName("First" + id).lastName("Last" + id)
+                .email("employee" + id + "@hotmail.com").department(department).build();
+    }
+
+    private static DepartmentEmployeeCount count(long departmentId, long employees, Instant lastUpdatedAt) {
+        return new DepartmentEmployeeCount() {
+            @Override
+            public long getDepartmentId() {
+                return departmentId;
+            }
+
+            @Override
+            public long getEmployees() {
+                return employees;
+            }
+
+            @Override
+            public Instant getLastUpdatedAt() {
+                return lastUpdatedAt;
+            }
+        };
+    }
+}
@@ -1,9 +1,16 @@
 package com.applife.service;
 
+import com.applife.event.EmployeeChangedEvent;
 import com.applife.exception.ResourceNotFoundException;
 import com.applife.model.Employee;
 import com.applife.repository.EmployeeRepository;
+import com.applife.service.DepartmentService;
+import com.applife.service.emailfilter.EmployeeEmailFilter;
+import com.applife.service.hierarchy.EmployeeHierarchy;
+import com.applife.service.readmodel.EmployeeReadModel;
 import com.applife.service.impl.EmployeeServiceImpl;
+import com.applife.service.readstore.EmployeeReadPath;
+import com.applife.service.search.EmployeeSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,10 +18,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,6 +38,30 @@ public class EmployeeServiceTests {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private EmployeeReadPath readPath;
+
+    @Mock
+    private EmployeeSearchIndex searchIndex;
+
+    @Mock
+    private EmployeeEmailFilter emailFilter;
+
+    @Mock
+    private EmployeeHierarchy hierarchy;
+
+    @Mock
+    private DepartmentService departmentService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ObjectProvider<EmployeeReadModel> readModel;
+
     //    testimizi yazacagimiz yer
     @InjectMocks
     private EmployeeServiceImpl employeeService;
@@ -44,6 +79,10 @@ public class EmployeeServiceTests {
                 .lastName("Uzun")
                 .email("frknuzn34@hotmail.com")
                 .build();
+
+        // the filter cannot rule anything out unless a test says so
+        lenient().when(emailFilter.find(anyString(), any())).thenAnswer(invocation ->
+                invocation.<Function<String, Optional<Employee>>>getArgument(1).apply(invocation.getArgument(0)));
     }
 
 
@@ -81,6 +120,22 @@ public class EmployeeServiceTests {
         verify(employeeRepository, never()).save(any(Employee.class));
     }
 
+    @DisplayName("EmployeeService saveEmployee skips the email query for emails the filter rules out")
+    @Test
+    public void givenEmailRuledOutByFilter_whenSaveEmployee_thenEmailIsNotQueried() {
+
+        // given - precondition or setup
+        given(emailFilter.find(eq(employee.getEmail()), any())).willReturn(Optional.empty());
+        given(employeeRepository.save(employee)).willReturn(employee);
+
+        // when - action or behaviour that we are going test
+        Employee savedEmployee = employeeService.saveEmployee(employee);
+
+        // then - verify the output
+        assertThat(savedEmployee).isEqualTo(employee);
+        verify(employeeRepository, never()).findByEmail(anyString());
+    }
+
     @DisplayName("EmployeeService getAllEmployees method")
     @Test
     public void givenEmployeesList_whenGetAllEmployees_thenReturnEmployeesList() {
@@ -140,6 +195,21 @@ public class EmployeeServiceTests {
         assertThat(savedEmployee).isNotNull();
     }
 
+    @DisplayName("EmployeeService getEmployeeById method served by a read store")
+    @Test
+    public void givenEmployeeInReadStore_whenGetEmployeeById_thenDatabaseIsNotQueried() {
+
+        // given - precondition or setup
+        given(readPath.find(1L)).willReturn(Optional.of(employee));
+
+        // when - action or behaviour that we are going test
+        Employee savedEmployee = employeeService.getEmployeeById(this.employee.getId()).get();
+
+        // then - verify the output
+        assertThat(savedEmployee).isEqualTo(employee);
+        verify(employeeRepository, never()).findById(anyLong());
+    }
+
     @DisplayName("EmployeeService updateEmployee method")
     @Test
     public void givenEmployeeObject_whenUpdateEmployee_thenReturnUpdatedEmployee() {
@@ -171,6 +241,60 @@ public class EmployeeServiceTests {
         // then - verify the output
         // times  deleteById metodunu 1 kere cagir anlamina geliyor
         verify(employeeRepository, times(1)).deleteById(employee.getId());
+        verify(eventPublisher, times(1)).publishEvent(any(EmployeeChangedEvent.class));
+    }
+
+    @DisplayName("EmployeeService deleteEmployee moves the direct reports up to the deleted employee's manager")
+    @Test
+    public void givenEmployeeWithReports_whenDeleteEmployee_thenReportsMoveUp() {
+
+        // given - precondition or setup
+        Employee report = Employee.builder().id(2L).firstName("Fatma").lastName("Yilmaz").email("fatma@gmail.com").managerId(1L).build();
+        given(hierarchy.reportIds(1L, 1)).willReturn(List.of(2L));
+        given(hierarchy.managerOf(1L)).willReturn(Optional.of(7L));
+        given(employeeRepository.findAllById(List.of(2L))).willReturn(List.of(report));
+        given(employeeRepository.saveAll(List.of(report))).willReturn(List.of(report));
+
+        // when - action or behaviour that we are going test
+        employeeService.deleteEmployee(1L);
+
+        // then - verify the output
+        assertThat(report.getManagerId()).isEqualTo(7L);
+        verify(employeeRepository).deleteById(1L);
+        verify(eventPublisher, times(2)).publishEvent(any(EmployeeChangedEvent.class));
+        verify(transactionManager).commit(any());
+    }
+
+    @DisplayName("EmployeeService getReports returns the employees in hierarchy order")
+    @Test
+    public void givenReportIds_whenGetReports_thenReturnEmployeesNearestFirst() {
+
+        // given - precondition or setup
+        Employee report = Employee.builder().id(2L).firstName("Fatma").lastName("Yilmaz").email("fatma@gmail.com").managerId(1L).build();
+        Employee indirectReport = Employee.builder().id(3L).firstName("Mehmet").lastName("Uzunoglu").email("mehmet@hotmail.com").managerId(2L).build();
+        given(hierarchy.reportIds(1L, 2)).willReturn(List.of(2L, 3L));
+        given(employeeRepository.findAllById(List.of(2L, 3L))).willReturn(List.of(indirectReport, report));
+
+        // when - action or behaviour that we are going test
+        List<Employee> reports = employeeService.getReports(1L, 2);
+
+        // then - verify the output
+        assertThat(reports).containsExactly(report, indirectReport);
+    }
+
+    @DisplayName("EmployeeService searchEmployees method")
+    @Test
+    public void givenSearchQuery_whenSearchEmployees_thenReturnMatchesFromIndex() {
+
+        // given - precondition or setup
+        given(searchIndex.search("furk", 10)).willReturn(List.of(employee));
+
+        // when - action or behaviour that we are going test
+        List<Employee> employeeList = employeeService.searchEmployees("furk", 10);
+
+        // then - verify the output
+        assertThat(employeeList).containsExactly(employee);
+        verify(employeeRepository, never()).findAll();
     }
 
 }
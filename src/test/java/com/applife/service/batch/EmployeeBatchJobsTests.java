@@ -0,0 +1,118 @@
+package com.applife.service.batch;
+
+import com.applife.model.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeBatchJobsTests {
+
+    @Mock
+    private EmployeeBatchSteps steps;
+
+    @Mock
+    private EmployeeBatchCheckpoints checkpoints;
+
+    private EmployeeBatchJobs batchJobs;
+
+    @BeforeEach
+    public void setup() {
+        batchJobs = new EmployeeBatchJobs(List.of(new NormalizeEmailsJob(steps)), steps, checkpoints, new ObjectMapper(), 10, 3, 2, 60_000);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        batchJobs.shutdown();
+    }
+
+    @DisplayName("A run writes only the changed rows and checkpoints every page in id order")
+    @Test
+    public void givenEmployees_whenStart_thenChangedRowsWrittenAndPagesCheckpointedInOrder() {
+
+        // given - precondition or setup
+        given(checkpoints.start(eq("normalize-emails"), eq("{}"), anyString(), any(), any())).willReturn(true);
+        given(checkpoints.advance(eq("normalize-emails"), anyString(), anyLong(), anyLong(), anyLong(), any())).willReturn(true);
+        given(steps.readPage(anyLong(), eq(10))).willAnswer(invocation -> page(invocation.getArgument(0), 35));
+        given(steps.write(any(), any(), anyCollection())).willAnswer(invocation -> invocation.<List<Long>>getArgument(2).size());
+
+        // when - action or behaviour that we are going test
+        boolean started = batchJobs.start("normalize-emails", Map.of());
+
+        // then - verify the output
+        assertThat(started).isTrue();
+        verify(checkpoints, timeout(5_000)).finish(eq("normalize-emails"), anyString(), eq(EmployeeBatchCheckpoints.SUCCEEDED), isNull(), any());
+        InOrder inOrder = inOrder(checkpoints);
+        inOrder.verify(checkpoints).advance(eq("normalize-emails"), anyString(), eq(10L), eq(10L), eq(2L), any());
+        inOrder.verify(checkpoints).advance(eq("normalize-emails"), anyString(), eq(20L), eq(20L), eq(4L), any());
+        inOrder.verify(checkpoints).advance(eq("normalize-emails"), anyString(), eq(30L), eq(30L), eq(6L), any());
+        inOrder.verify(checkpoints).advance(eq("normalize-emails"), anyString(), eq(35L), eq(35L), eq(7L), any());
+        verify(steps).write(any(), any(), eq(List.of(5L, 10L)));
+        verify(steps).write(any(), any(), eq(List.of(35L)));
+    }
+
+    @DisplayName("A job whose owner stopped heartbeating resumes after its checkpoint")
+    @Test
+    public void givenStaleCheckpoint_whenResumeStale_thenRunContinuesAfterLastId() {
+
+        // given - precondition or setup
+        given(checkpoints.claimStale(anyString(), any(), any())).willReturn(List.of(new EmployeeBatchCheckpoints.Checkpoint(
+                "normalize-emails", "{}", EmployeeBatchCheckpoints.RUNNING, 30, 30, 6, "crashed",
+                Timestamp.from(Instant.now()), Instant.now(), null, null)));
+        given(checkpoints.advance(eq("normalize-emails"), anyString(), anyLong(), anyLong(), anyLong(), any())).willReturn(true);
+        given(steps.readPage(anyLong(), eq(10))).willAnswer(invocation -> page(invocation.getArgument(0), 35));
+        given(steps.write(any(), any(), anyCollection())).willReturn(1);
+
+        // when - action or behaviour that we are going test
+        batchJobs.resumeStale();
+
+        // then - verify the output
+        verify(checkpoints, timeout(5_000)).finish(eq("normalize-emails"), anyString(), eq(EmployeeBatchCheckpoints.SUCCEEDED), isNull(), any());
+        verify(steps).readPage(30, 10);
+        verify(steps, never()).readPage(0, 10);
+        verify(checkpoints).advance(eq("normalize-emails"), anyString(), eq(35L), eq(35L), eq(7L), any());
+    }
+
+    @DisplayName("A failing write ends the run as failed and keeps the last checkpoint")
+    @Test
+    public void givenFailingWrite_whenStart_thenRunFails() {
+
+        // given - precondition or setup
+        given(checkpoints.start(eq("normalize-emails"), eq("{}"), anyString(), any(), any())).willReturn(true);
+        given(steps.readPage(anyLong(), eq(10))).willAnswer(invocation -> page(invocation.getArgument(0), 35));
+        given(steps.write(any(), any(), anyCollection())).willThrow(new IllegalStateException("database gone"));
+
+        // when - action or behaviour that we are going test
+        batchJobs.start("normalize-emails", Map.of());
+
+        // then - verify the output
+        verify(checkpoints, timeout(5_000)).finish(eq("normalize-emails"), anyString(), eq(EmployeeBatchCheckpoints.FAILED), eq("database gone"), any());
+        verify(checkpoints, never()).advance(any(), any(), anyLong(), anyLong(), anyLong(), any());
+    }
+
+    // ids 1..total, every fifth email has an upper-case domain
+    private static List<Employee> page(long afterId, long total) {
+        return LongStream.rangeClosed(afterId + 1, Math.min(afterId + 10, total))
+                .mapToObj(id -> Employee.builder().id(id).firstName("First").lastName("Last")
+                        .email("employee" + id + (id % 5 == 0 ? "@Hotmail.com" : "@hotmail.com")).build())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,97 @@
+package com.applife.service.bulkhead;
+
+import com.applife.exception.BulkheadFullException;
+import com.applife.model.BulkheadStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+public class WorkloadBulkheadAspectTests {
+
+    private WorkloadBulkheads bulkheads;
+
+    private Calls calls;
+
+    @BeforeEach
+    void setup() {
+        Map<WorkloadClass, DataSource> dataSources = new EnumMap<>(WorkloadClass.class);
+        Map<WorkloadClass, WorkloadBulkheads.Bulkhead> limits = new EnumMap<>(WorkloadClass.class);
+        for (WorkloadClass workload : WorkloadClass.values()) {
+            dataSources.put(workload, mock(DataSource.class));
+            limits.put(workload, new WorkloadBulkheads.Bulkhead(workload.key(), 1, 100));
+        }
+        bulkheads = new WorkloadBulkheads(dataSources, limits);
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new Calls());
+        proxyFactory.addAspect(new WorkloadBulkheadAspect(bulkheads));
+        calls = proxyFactory.getProxy();
+    }
+
+    @DisplayName("Workload methods run on their class's pool, calls made from inside them stay in the caller's")
+    @Test
+    public void givenWorkloadMethods_whenCalled_thenTheirWorkloadIsSelected() throws Exception {
+
+        // given - precondition or setup
+
+        // when - action or behaviour that we are going test
+        WorkloadClass interactive = calls.interactive();
+        WorkloadClass nested = calls.bulk(() -> calls.interactive());
+
+        // then - verify the output
+        assertThat(interactive).isEqualTo(WorkloadClass.INTERACTIVE);
+        assertThat(nested).isEqualTo(WorkloadClass.BULK);
+        assertThat(WorkloadRoutingDataSource.current()).isNull();
+        assertThat(bulkheads.stats()).extracting(BulkheadStats::getCompleted).containsExactly(1L, 0L, 1L, 0L);
+    }
+
+    @DisplayName("A full bulkhead rejects calls of its class after the wait time and leaves the others alone")
+    @Test
+    public void givenFullBulkhead_whenCalled_thenRejectedWhileOtherClassesRun() throws Exception {
+
+        // given - precondition or setup
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<WorkloadClass> running = executor.submit(() -> calls.bulk(() -> {
+            inside.countDown();
+            release.await();
+            return null;
+        }));
+        inside.await(5, TimeUnit.SECONDS);
+
+        // when - action or behaviour that we are going test
+        // then - verify the output
+        assertThatThrownBy(() -> calls.bulk(() -> null)).isInstanceOf(BulkheadFullException.class);
+        assertThat(calls.interactive()).isEqualTo(WorkloadClass.INTERACTIVE);
+        BulkheadStats bulk = bulkheads.stats().get(WorkloadClass.BULK.ordinal());
+        assertThat(bulk.getActive()).isEqualTo(1);
+        assertThat(bulk.getRejected()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo(WorkloadClass.BULK);
+        executor.shutdown();
+    }
+
+    public static class Calls {
+
+        @Workload(WorkloadClass.INTERACTIVE)
+        public WorkloadClass interactive() {
+            return WorkloadRoutingDataSource.current();
+        }
+
+        @Workload(WorkloadClass.BULK)
+        public WorkloadClass bulk(Callable<WorkloadClass> inside) throws Exception {
+            WorkloadClass nested = inside.call();
+            return nested != null ? nested : WorkloadRoutingDataSource.current();
+        }
+    }
+}
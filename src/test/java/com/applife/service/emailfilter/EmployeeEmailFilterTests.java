@@ -0,0 +1,165 @@
+package com.applife.service.emailfilter;
+
+import com.applife.event.EmployeeChangedEvent;
+import com.applife.model.Employee;
+import com.applife.repository.EmployeeEmail;
+import com.applife.repository.EmployeeRepository;
+import com.applife.service.invalidation.EmployeeInvalidationBus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeEmailFilterTests {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private ObjectProvider<EmployeeInvalidationBus> invalidationBus;
+
+    private EmployeeEmailFilter emailFilter;
+
+    private final List<String> lookups = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        emailFilter = new EmployeeEmailFilter(employeeRepository, invalidationBus, true, 1_000, 0.01, 2);
+    }
+
+    @DisplayName("EmployeeEmailFilter sends every check to the database until it is built")
+    @Test
+    public void givenFilterNotBuilt_whenFind_thenLooksUp() {
+
+        // when - action or behaviour that we are going test
+        Optional<Employee> employee = emailFilter.find("new@hotmail.com", this::lookup);
+
+        // then - verify the output
+        assertThat(employee).isEmpty();
+        assertThat(lookups).containsExactly("new@hotmail.com");
+        assertThat(emailFilter.isReady()).isFalse();
+    }
+
+    @DisplayName("EmployeeEmailFilter answers unknown emails without a lookup and looks up known ones")
+    @Test
+    public void givenBuiltFilter_whenFind_thenOnlyPossibleMatchesAreLookedUp() {
+
+        // given - precondition or setup
+        givenEmailsInDatabase("frknuzn34@hotmail.com", "fatma@gmail.com", "mehmet@hotmail.com");
+
+        // when - action or behaviour that we are going test
+        long count = emailFilter.rebuild();
+        emailFilter.find("new-hire@hotmail.com", this::lookup);
+        emailFilter.find("fatma@gmail.com", this::lookup);
+        emailFilter.find("Frknuzn34@HOTMAIL.com ", this::lookup);
+
+        // then - verify the output
+        assertThat(count).isEqualTo(3);
+        assertThat(lookups).containsExactly("fatma@gmail.com", "Frknuzn34@HOTMAIL.com ");
+        assertThat(emailFilter.observedFalsePositiveRate()).isEqualTo(2.0 / 3);
+    }
+
+    @DisplayName("EmployeeEmailFilter folds emails like the collation and looks up the ones it cannot fold to ASCII")
+    @Test
+    public void givenEmailsEqualUnderCollation_whenFind_thenTheyAreLookedUp() {
+
+        // given - precondition or setup
+        givenEmailsInDatabase("strasse@hotmail.com", "aegir@gmail.com", "office@hotmail.com");
+
+        // when - action or behaviour that we are going test
+        emailFilter.rebuild();
+        emailFilter.find("Straße@hotmail.com", this::lookup);
+        emailFilter.find("Ægir@gmail.com", this::lookup);
+        emailFilter.find("oﬃce@ｈｏｔｍａｉｌ.com", this::lookup);
+        emailFilter.find("иван@hotmail.com", this::lookup);
+        emailFilter.find("new-hire@hotmail.com", this::lookup);
+
+        // then - verify the output
+        assertThat(lookups).containsExactly("Straße@hotmail.com", "Ægir@gmail.com", "oﬃce@ｈｏｔｍａｉｌ.com", "иван@hotmail.com");
+    }
+
+    @DisplayName("EmployeeEmailFilter learns the emails of created and updated employees")
+    @Test
+    public void givenChangeEvents_whenFind_thenNewEmailsAreLookedUp() {
+
+        // given - precondition or setup
+        givenEmailsInDatabase();
+        emailFilter.rebuild();
+
+        // when - action or behaviour that we are going test
+        emailFilter.onEmployeeChanged(EmployeeChangedEvent.created(employee(1, "created@hotmail.com")));
+        emailFilter.onEmployeeChanged(EmployeeChangedEvent.updated(employee(2, "updated@hotmail.com")));
+        emailFilter.find("created@hotmail.com", this::lookup);
+        emailFilter.find("updated@hotmail.com", this::lookup);
+
+        // then - verify the output
+        assertThat(lookups).containsExactly("created@hotmail.com", "updated@hotmail.com");
+    }
+
+    @DisplayName("EmployeeEmailFilter rebuild drops the emails of deleted employees")
+    @Test
+    public void givenDeletedEmployee_whenRebuild_thenEmailIsNewAgain() {
+
+        // given - precondition or setup
+        givenEmailsInDatabase("frknuzn34@hotmail.com");
+        emailFilter.rebuild();
+        emailFilter.onEmployeeChanged(EmployeeChangedEvent.deleted(1));
+        emailFilter.find("frknuzn34@hotmail.com", this::lookup);
+
+        // when - action or behaviour that we are going test
+        givenEmailsInDatabase();
+        emailFilter.rebuild();
+        emailFilter.find("frknuzn34@hotmail.com", this::lookup);
+
+        // then - verify the output
+        assertThat(lookups).containsExactly("frknuzn34@hotmail.com");
+    }
+
+    private Optional<Employee> lookup(String email) {
+        lookups.add(email);
+        return Optional.empty();
+    }
+
+    private void givenEmailsInDatabase(String... emails) {
+        List<EmployeeEmail> rows = new ArrayList<>();
+        for (int i = 0; i < emails.length; i++) {
+            rows.add(email(i + 1, emails[i]));
+        }
+        given(employeeRepository.findEmailsGreaterThan(anyLong(), any(Pageable.class))).willAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            int limit = invocation.<Pageable>getArgument(1).getPageSize();
+            return rows.stream().filter(row -> row.getId() > after).limit(limit).collect(Collectors.toList());
+        });
+    }
+
+    private static EmployeeEmail email(long id, String email) {
+        return new EmployeeEmail() {
+            @Override
+            public long getId() {
+                return id;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
+
+    private static Employee employee(long id, String email) {
+        return Employee.builder().id(id).firstName("First").lastName("Last").email(email).build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.applife.service.emailfilter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ScalableBloomFilterTests {
+
+    @DisplayName("ScalableBloomFilter grows past its initial capacity without false negatives")
+    @Test
+    public void givenMoreKeysThanCapacity_whenPut_thenEveryKeyIsFound() {
+
+        // given - precondition or setup
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+
+        // when - action or behaviour that we are going test
+        for (int i = 0; i < 20_000; i++) {
+            filter.put(key("employee" + i + "@hotmail.com"));
+        }
+
+        // then - verify the output
+        for (int i = 0; i < 20_000; i++) {
+            assertThat(filter.mightContain(key("employee" + i + "@hotmail.com"))).isTrue();
+        }
+        assertThat(filter.stageCount()).isGreaterThan(1);
+        assertThat(filter.size()).isBetween(19_000L, 20_000L);
+    }
+
+    @DisplayName("ScalableBloomFilter keeps the false positive rate below the configured probability while growing")
+    @Test
+    public void givenGrownFilter_whenCheckAbsentKeys_thenFalsePositiveRateStaysBelowTarget() {
+
+        // given - precondition or setup
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 50_000; i++) {
+            filter.put(key("employee" + i + "@hotmail.com"));
+        }
+
+        // when - action or behaviour that we are going test
+        int falsePositives = 0;
+        int checks = 100_000;
+        for (int i = 0; i < checks; i++) {
+            if (filter.mightContain(key("new-hire" + i + "@gmail.com"))) {
+                falsePositives++;
+            }
+        }
+
+        // then - verify the output
+        assertThat((double) falsePositives / checks).isLessThan(0.01);
+        assertThat(filter.expectedFalsePositiveProbability()).isLessThan(0.01);
+    }
+
+    @DisplayName("ScalableBloomFilter rejects a capacity or probability that cannot be sized")
+    @Test
+    public void givenInvalidSizing_whenCreate_thenThrows() {
+        assertThatThrownBy(() -> new ScalableBloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ScalableBloomFilter(1_000, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static byte[] key(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
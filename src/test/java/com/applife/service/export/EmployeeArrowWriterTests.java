@@ -0,0 +1,96 @@
+package com.applife.service.export;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.TimeStampMilliTZVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryEncoder;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeArrowWriterTests {
+
+    private final BufferAllocator allocator = new RootAllocator();
+
+    @AfterEach
+    void tearDown() {
+        allocator.close();
+    }
+
+    @DisplayName("Employees written in several batches read back with their dictionary encoded names")
+    @Test
+    public void givenMoreRowsThanABatch_whenWritten_thenReadBackBatchByBatch() throws Exception {
+
+        // given - precondition or setup
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written;
+        try (EmployeeArrowWriter writer = new EmployeeArrowWriter(allocator, out, 2)) {
+            writer.write(1, "Furkan", "Uzun", "furkan@hotmail.com", null, 7L, new Timestamp(1_000));
+            writer.write(2, "Fatma", "Uzun", "fatma@gmail.com", 1L, null, null);
+            writer.write(3, "Furkan", "Yilmaz", "furkan.y@gmail.com", 1L, 7L, null);
+            writer.write(4, "Mehmet", "Aydin", "mehmet@hotmail.com", 3L, null, null);
+            writer.write(5, "Fatma", "Uzun", "fatma.u@gmail.com", null, null, null);
+
+            // when - action or behaviour that we are going test
+            written = writer.finish();
+        }
+
+        // then - verify the output
+        List<Long> ids = new ArrayList<>();
+        List<String> firstNames = new ArrayList<>();
+        List<String> lastNames = new ArrayList<>();
+        List<Long> managerIds = new ArrayList<>();
+        int batches = 0;
+        try (ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(out.toByteArray()), allocator)) {
+            assertThat(reader.getVectorSchemaRoot().getSchema().getFields())
+                    .extracting(field -> field.getName())
+                    .containsExactly("id", "first_name", "last_name", "email", "manager_id", "department_id", "updated_at");
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            while (reader.loadNextBatch()) {
+                batches++;
+                BigIntVector idVector = (BigIntVector) root.getVector("id");
+                BigIntVector managerIdVector = (BigIntVector) root.getVector("manager_id");
+                for (int row = 0; row < root.getRowCount(); row++) {
+                    ids.add(idVector.get(row));
+                    managerIds.add(managerIdVector.isNull(row) ? null : managerIdVector.get(row));
+                }
+                firstNames.addAll(decode(root.getVector("first_name"), reader.getDictionaryVectors().get(EmployeeArrowWriter.FIRST_NAME_DICTIONARY)));
+                lastNames.addAll(decode(root.getVector("last_name"), reader.getDictionaryVectors().get(EmployeeArrowWriter.LAST_NAME_DICTIONARY)));
+                if (batches == 1) {
+                    assertThat(((TimeStampMilliTZVector) root.getVector("updated_at")).get(0)).isEqualTo(1_000);
+                    assertThat(reader.getDictionaryVectors().get(EmployeeArrowWriter.LAST_NAME_DICTIONARY).getVector().getValueCount()).isEqualTo(1);
+                }
+            }
+        }
+        assertThat(written).isEqualTo(5);
+        assertThat(batches).isEqualTo(3);
+        assertThat(ids).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(firstNames).containsExactly("Furkan", "Fatma", "Furkan", "Mehmet", "Fatma");
+        assertThat(lastNames).containsExactly("Uzun", "Uzun", "Yilmaz", "Aydin", "Uzun");
+        assertThat(managerIds).containsExactly(null, 1L, 1L, 3L, null);
+    }
+
+    private static List<String> decode(FieldVector indexes, Dictionary dictionary) {
+        List<String> values = new ArrayList<>();
+        try (VarCharVector decoded = (VarCharVector) DictionaryEncoder.decode(indexes, dictionary)) {
+            for (int row = 0; row < decoded.getValueCount(); row++) {
+                values.add(decoded.getObject(row).toString());
+            }
+        }
+        return values;
+    }
+}
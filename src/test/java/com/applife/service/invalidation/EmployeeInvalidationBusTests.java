@@ -0,0 +1,77 @@
+package com.applife.service.invalidation;
+
+import com.applife.event.EmployeeChangedEvent;
+import com.applife.event.EmployeeWriteVersion;
+import com.applife.model.Employee;
+import com.applife.service.nearcache.EmployeeNearCache;
+import com.applife.service.readstore.EmployeeReadPath;
+import com.applife.service.readstore.EmployeeReadStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeInvalidationBusTests {
+
+    @DisplayName("A write on one node invalidates the other node's near cache in one coalesced batch")
+    @Test
+    public void givenTwoNodes_whenOneUpdatesEmployee_thenOtherNodeDropsIt() {
+
+        // given - precondition or setup
+        LoopbackEmployeeInvalidationChannel channel = new LoopbackEmployeeInvalidationChannel();
+        List<long[]> batches = new ArrayList<>();
+        channel.subscribe((origin, ids) -> batches.add(ids));
+
+        EmployeeNearCache cacheA = new EmployeeNearCache(100, 60_000, "loopback");
+        EmployeeNearCache cacheB = new EmployeeNearCache(100, 60_000, "loopback");
+        EmployeeInvalidationBus busA = new EmployeeInvalidationBus(channel, readPath(cacheA), new EmployeeWriteVersion(), 1000);
+        new EmployeeInvalidationBus(channel, readPath(cacheB), new EmployeeWriteVersion(), 1000);
+        cacheA.loaded(employee(1L, "frknuzn34@hotmail.com"));
+        cacheB.loaded(employee(1L, "frknuzn34@hotmail.com"));
+        cacheB.loaded(employee(2L, "other@hotmail.com"));
+
+        // when - action or behaviour that we are going test
+        Employee updated = employee(1L, "updated@hotmail.com");
+        cacheA.onEmployeeChanged(EmployeeChangedEvent.updated(updated));
+        busA.onEmployeeChanged(EmployeeChangedEvent.updated(updated));
+        busA.onEmployeeChanged(EmployeeChangedEvent.updated(updated));
+        busA.flush();
+
+        // then - verify the output
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).containsExactly(1L);
+        assertThat(cacheA.find(1L).get().getEmail()).isEqualTo("updated@hotmail.com");
+        assertThat(cacheB.find(1L)).isEmpty();
+        assertThat(cacheB.find(2L)).isPresent();
+    }
+
+    @DisplayName("Invalidation batches are encoded as varint deltas and decoded back")
+    @Test
+    public void givenIds_whenEncodeAndDecode_thenSameIdsSorted() {
+
+        // given - precondition or setup
+        long[] ids = {634997876832882688L, 5L, 1L, 634997876459589632L, 300L};
+
+        // when - action or behaviour that we are going test
+        byte[] encoded = JdbcEmployeeInvalidationChannel.encode(ids);
+
+        // then - verify the output
+        assertThat(JdbcEmployeeInvalidationChannel.decode(encoded))
+                .containsExactly(1L, 5L, 300L, 634997876459589632L, 634997876832882688L);
+        assertThat(encoded.length).isLessThan(ids.length * Long.BYTES);
+        assertThat(JdbcEmployeeInvalidationChannel.decode(JdbcEmployeeInvalidationChannel.encode(new long[0]))).isEmpty();
+    }
+
+    private static EmployeeReadPath readPath(EmployeeReadStore readStore) {
+        return new EmployeeReadPath(new StaticListableBeanFactory(Map.of("readStore", readStore)).getBeanProvider(EmployeeReadStore.class));
+    }
+
+    private static Employee employee(long id, String email) {
+        return Employee.builder().id(id).firstName("Furkan").lastName("Uzun").email(email).build();
+    }
+}
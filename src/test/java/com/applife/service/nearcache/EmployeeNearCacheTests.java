@@ -0,0 +1,115 @@
+package com.applife.service.nearcache;
+
+import com.applife.event.EmployeeChangedEvent;
+import com.applife.model.Employee;
+import com.applife.service.readstore.EmployeeReadPath;
+import com.applife.service.readstore.EmployeeReadStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeNearCacheTests {
+
+    @DisplayName("EmployeeNearCache serves copies and follows local change events")
+    @Test
+    public void givenCachedEmployee_whenChangedLocally_thenCacheFollows() {
+
+        // given - precondition or setup
+        EmployeeNearCache nearCache = new EmployeeNearCache(100, 60_000, "loopback");
+        nearCache.loaded(employee(1L, "frknuzn34@hotmail.com"));
+
+        // when - action or behaviour that we are going test
+        nearCache.find(1L).get().setEmail("changed-by-caller@hotmail.com");
+        Employee cached = nearCache.find(1L).get();
+        nearCache.onEmployeeChanged(EmployeeChangedEvent.updated(employee(1L, "updated@hotmail.com")));
+        Employee updated = nearCache.find(1L).get();
+        nearCache.onEmployeeChanged(EmployeeChangedEvent.deleted(1L));
+
+        // then - verify the output
+        assertThat(cached.getEmail()).isEqualTo("frknuzn34@hotmail.com");
+        assertThat(updated.getEmail()).isEqualTo("updated@hotmail.com");
+        assertThat(nearCache.find(1L)).isEmpty();
+    }
+
+    @DisplayName("EmployeeNearCache expires entries and stays within max-entries")
+    @Test
+    public void givenShortTtlAndSmallLimit_whenFilled_thenExpiresAndEvicts() throws InterruptedException {
+
+        // given - precondition or setup
+        EmployeeNearCache expiring = new EmployeeNearCache(100, 1, "loopback");
+        EmployeeNearCache bounded = new EmployeeNearCache(50, 60_000, "loopback");
+
+        // when - action or behaviour that we are going test
+        expiring.loaded(employee(1L, "frknuzn34@hotmail.com"));
+        Thread.sleep(5);
+        for (long id = 1; id <= 200; id++) {
+            bounded.loaded(employee(id, "employee" + id + "@hotmail.com"));
+        }
+
+        // then - verify the output
+        assertThat(expiring.find(1L)).isEmpty();
+        assertThat(bounded.size()).isLessThanOrEqualTo(50);
+        assertThat(bounded.find(200L)).isPresent();
+    }
+
+    @DisplayName("EmployeeReadPath does not fill the cache with a read that an invalidation overtook")
+    @Test
+    public void givenInvalidationDuringDatabaseRead_whenLoaded_thenStaleValueIsNotCached() {
+
+        // given - precondition or setup
+        EmployeeNearCache nearCache = new EmployeeNearCache(100, 60_000, "loopback");
+        EmployeeReadPath readPath = new EmployeeReadPath(
+                new StaticListableBeanFactory(Map.of("nearCache", nearCache)).getBeanProvider(EmployeeReadStore.class));
+
+        // when - action or behaviour that we are going test
+        long stamp = readPath.stamp(1L);
+        Employee staleRead = employee(1L, "old@hotmail.com");
+        readPath.invalidate(1L);
+        readPath.loaded(staleRead, stamp);
+
+        long freshStamp = readPath.stamp(2L);
+        readPath.loaded(employee(2L, "fresh@hotmail.com"), freshStamp);
+
+        // then - verify the output
+        assertThat(readPath.find(1L)).isEmpty();
+        assertThat(readPath.find(2L)).isPresent();
+    }
+
+    @DisplayName("A database read that a local delete or update overtook does not bring the old employee back")
+    @Test
+    public void givenLocalChangeDuringDatabaseRead_whenLoaded_thenOldValueIsNotCached() {
+
+        // given - precondition or setup
+        EmployeeNearCache nearCache = new EmployeeNearCache(100, 60_000, "loopback");
+        EmployeeReadPath readPath = new EmployeeReadPath(
+                new StaticListableBeanFactory(Map.of("nearCache", nearCache)).getBeanProvider(EmployeeReadStore.class));
+
+        // when - action or behaviour that we are going test
+        long deletedStamp = readPath.stamp(1L);
+        Employee readBeforeDelete = employee(1L, "deleted@hotmail.com");
+        EmployeeChangedEvent deleted = EmployeeChangedEvent.deleted(1L);
+        readPath.onEmployeeChanged(deleted);
+        nearCache.onEmployeeChanged(deleted);
+        readPath.loaded(readBeforeDelete, deletedStamp);
+
+        long updatedStamp = readPath.stamp(2L);
+        Employee readBeforeUpdate = employee(2L, "old@hotmail.com");
+        EmployeeChangedEvent updated = EmployeeChangedEvent.updated(employee(2L, "updated@hotmail.com"));
+        readPath.onEmployeeChanged(updated);
+        nearCache.onEmployeeChanged(updated);
+        readPath.loaded(readBeforeUpdate, updatedStamp);
+        nearCache.loaded(readBeforeUpdate);
+
+        // then - verify the output
+        assertThat(readPath.find(1L)).isEmpty();
+        assertThat(readPath.find(2L)).get().extracting(Employee::getEmail).isEqualTo("updated@hotmail.com");
+    }
+
+    private static Employee employee(long id, String email) {
+        return Employee.builder().id(id).firstName("Furkan").lastName("Uzun").email(email).build();
+    }
+}
@@ -0,0 +1,133 @@
+package com.applife.service.offheap;
+
+import com.applife.model.Department;
+import com.applife.model.Employee;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OffHeapEmployeeTableTests {
+
+    @DisplayName("OffHeapEmployeeTable put, update and remove")
+    @Test
+    public void givenEmployees_whenPutUpdateAndRemove_thenGetReturnsLatestState() {
+
+        // given - precondition or setup
+        OffHeapEmployeeTable table = new OffHeapEmployeeTable(4096, 1 << 20, 4, 60_000);
+
+        // when - action or behaviour that we are going test
+        for (long id = 1; id <= 100; id++) {
+            table.put(employee(id, "employee" + id + "@hotmail.com"));
+        }
+        Employee moved = employee(42L, "updated@hotmail.com");
+        moved.setDepartment(new Department(3L, "Engineering"));
+        table.put(moved);
+        table.remove(7L);
+
+        // then - verify the output
+        assertThat(table.size()).isEqualTo(99);
+        assertThat(table.get(1L)).contains(employee(1L, "employee1@hotmail.com"));
+        assertThat(table.get(42L).get().getEmail()).isEqualTo("updated@hotmail.com");
+        assertThat(table.get(42L).get().getDepartment()).isEqualTo(new Department(3L, "Engineering"));
+        assertThat(table.get(1L).get().getDepartment()).isNull();
+        assertThat(table.get(7L)).isEmpty();
+        assertThat(table.get(1000L)).isEmpty();
+    }
+
+    @DisplayName("OffHeapEmployeeTable putIfAbsent keeps newer writes and deletes")
+    @Test
+    public void givenWriteAndDelete_whenPutIfAbsentStaleRead_thenStaleValueIsIgnored() {
+
+        // given - precondition or setup
+        OffHeapEmployeeTable table = new OffHeapEmployeeTable(4096, 1 << 20, 16, 60_000);
+        table.put(employee(1L, "new@hotmail.com"));
+        table.remove(2L);
+
+        // when - action or behaviour that we are going test
+        // veritabanindan daha once okunmus eski degerler
+        table.putIfAbsent(employee(1L, "old@hotmail.com"));
+        table.putIfAbsent(employee(2L, "deleted@hotmail.com"));
+
+        // then - verify the output
+        assertThat(table.get(1L).get().getEmail()).isEqualTo("new@hotmail.com");
+        assertThat(table.get(2L)).isEmpty();
+    }
+
+    @DisplayName("OffHeapEmployeeTable caches an evicted employee again on the next read")
+    @Test
+    public void givenEvictedEmployee_whenPutIfAbsent_thenEmployeeIsCachedAgain() {
+
+        // given - precondition or setup
+        OffHeapEmployeeTable table = new OffHeapEmployeeTable(4096, 1 << 20, 16, 60_000);
+        table.put(employee(1L, "old@hotmail.com"));
+
+        // when - action or behaviour that we are going test
+        table.evict(1L);
+        table.evict(2L);
+        table.putIfAbsent(employee(1L, "new@hotmail.com"));
+        table.putIfAbsent(employee(2L, "other@hotmail.com"));
+
+        // then - verify the output
+        assertThat(table.size()).isEqualTo(2);
+        assertThat(table.get(1L).get().getEmail()).isEqualTo("new@hotmail.com");
+        assertThat(table.get(2L).get().getEmail()).isEqualTo("other@hotmail.com");
+    }
+
+    @DisplayName("OffHeapEmployeeTable compacts when the segments are full")
+    @Test
+    public void givenManyUpdates_whenSegmentsAreFull_thenTableCompactsAndKeepsLiveEntries() {
+
+        // given - precondition or setup
+        OffHeapEmployeeTable table = new OffHeapEmployeeTable(1024, 4096, 16, 60_000);
+        table.remove(9L);
+
+        // when - action or behaviour that we are going test
+        for (int round = 0; round < 200; round++) {
+            for (long id = 1; id <= 5; id++) {
+                assertThat(table.put(employee(id, "round" + round + "@hotmail.com"))).isTrue();
+            }
+        }
+
+        // then - verify the output
+        assertThat(table.size()).isEqualTo(5);
+        assertThat(table.allocatedBytes()).isLessThanOrEqualTo(4096);
+        assertThat(table.get(3L).get().getEmail()).isEqualTo("round199@hotmail.com");
+        assertThat(table.putIfAbsent(employee(9L, "deleted@hotmail.com"))).isFalse();
+    }
+
+    @DisplayName("OffHeapEmployeeTable drops expired tombstones, deletes of uncached ids do not grow the index")
+    @Test
+    public void givenManyUncachedDeletes_whenTombstonesExpire_thenIndexStaysBounded() throws InterruptedException {
+
+        // given - precondition or setup
+        OffHeapEmployeeTable table = new OffHeapEmployeeTable(4096, 1 << 20, 16, 20);
+        table.put(employee(1L, "frknuzn34@hotmail.com"));
+
+        // when - action or behaviour that we are going test
+        long id = 1_000;
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 1_000; i++) {
+                table.remove(id++);
+            }
+            Thread.sleep(25);
+        }
+        table.remove(id);
+
+        // then - verify the output
+        // 20,000 tombstones kept forever would need 65,536 slots
+        assertThat(table.capacity()).isLessThanOrEqualTo(8_192);
+        assertThat(table.get(1L)).isPresent();
+        assertThat(table.putIfAbsent(employee(id, "deleted@hotmail.com"))).isFalse();
+        assertThat(table.putIfAbsent(employee(1_000L, "cached-again@hotmail.com"))).isTrue();
+    }
+
+    private static Employee employee(long id, String email) {
+        return Employee.builder()
+                .id(id)
+                .firstName("Furkan")
+                .lastName("Uzun")
+                .email(email)
+                .build();
+    }
+}
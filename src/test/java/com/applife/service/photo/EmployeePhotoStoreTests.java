@@ -0,0 +1,122 @@
+package com.applife.service.photo;
+
+import com.applife.controller.EmployeePhotoController;
+import com.applife.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class EmployeePhotoStoreTests {
+
+    @TempDir
+    Path dir;
+
+    private EmployeeRepository employeeRepository;
+
+    private EmployeePhotoStore photoStore;
+
+    private MockMvc mockMvc;
+
+    private byte[] png;
+
+    @BeforeEach
+    void setup() throws Exception {
+        employeeRepository = mock(EmployeeRepository.class);
+        photoStore = new EmployeePhotoStore(employeeRepository, dir.toString(), 1_000_000, 16, 1_000_000);
+        mockMvc = MockMvcBuilders.standaloneSetup(new EmployeePhotoController(photoStore)).build();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(300, 200, BufferedImage.TYPE_INT_RGB), "png", out);
+        png = out.toByteArray();
+    }
+
+    @AfterEach
+    void tearDown() {
+        photoStore.shutdown();
+    }
+
+    @DisplayName("An uploaded photo is stored once under its hash and served with ETag and ranges")
+    @Test
+    public void givenUploadedPhoto_whenGetPhoto_thenServedWithEtagAndRanges() throws Exception {
+
+        // given - precondition or setup
+        given(employeeRepository.existsById(1L)).willReturn(true);
+        given(employeeRepository.updatePhoto(eq(1L), anyString())).willReturn(1);
+        String etag = mockMvc.perform(put("/api/employees/{id}/photo", 1L).contentType(MediaType.IMAGE_PNG).content(png))
+                .andExpect(status().isNoContent())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String reference = etag.substring(1, etag.length() - 1) + ".png";
+        then(employeeRepository).should().updatePhoto(1L, reference);
+        given(employeeRepository.findPhotoById(1L)).willReturn(Optional.of(reference));
+
+        // when - action or behaviour that we are going test
+        MockHttpServletResponse full = mockMvc.perform(get("/api/employees/{id}/photo", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/png"))
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andReturn().getResponse();
+        MockHttpServletResponse partial = mockMvc.perform(get("/api/employees/{id}/photo", 1L).header(HttpHeaders.RANGE, "bytes=10-19"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-19/" + png.length))
+                .andReturn().getResponse();
+
+        // then - verify the output
+        assertThat(full.getContentAsByteArray()).isEqualTo(png);
+        assertThat(partial.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(png, 10, 20));
+        mockMvc.perform(get("/api/employees/{id}/photo", 1L).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/employees/{id}/photo", 1L).header(HttpHeaders.RANGE, "bytes=" + png.length + "-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable());
+        assertThat(photoStore.store(new ByteArrayInputStream(png))).isEqualTo(reference);
+    }
+
+    @DisplayName("Thumbnails are scaled in the background and served once they exist")
+    @Test
+    public void givenStoredPhoto_whenThumbnailIsReady_thenThumbnailIsServed() throws Exception {
+
+        // given - precondition or setup
+        String reference = photoStore.store(new ByteArrayInputStream(png));
+        given(employeeRepository.findPhotoById(1L)).willReturn(Optional.of(reference));
+
+        // when - action or behaviour that we are going test
+        long deadline = System.currentTimeMillis() + 10_000;
+        Optional<EmployeePhotoStore.Photo> thumbnail = photoStore.find(1L, true);
+        while (thumbnail.get().getEtag().equals(photoStore.find(1L, false).get().getEtag()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            thumbnail = photoStore.find(1L, true);
+        }
+
+        // then - verify the output
+        BufferedImage image = ImageIO.read(thumbnail.get().getFile().toFile());
+        assertThat(image.getWidth()).isEqualTo(16);
+        assertThat(image.getHeight()).isEqualTo(11);
+        given(employeeRepository.existsById(1L)).willReturn(true);
+        mockMvc.perform(put("/api/employees/{id}/photo", 1L).contentType(MediaType.IMAGE_PNG).content("not an image"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+}
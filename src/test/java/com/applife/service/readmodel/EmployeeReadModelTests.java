@@ -0,0 +1,195 @@
+package com.applife.service.readmodel;
+
+import com.applife.event.EmployeeChangedEvent;
+import com.applife.event.EmployeeWriteVersion;
+import com.applife.model.Department;
+import com.applife.model.Employee;
+import com.applife.model.EmployeeReadModelStats;
+import com.applife.repository.DepartmentRepository;
+import com.applife.repository.EmployeeRepository;
+import com.applife.service.invalidation.EmployeeInvalidationBus;
+import com.applife.service.search.EmployeeSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeReadModelTests {
+
+    private static final Department ENGINEERING = new Department(7L, "Engineering");
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @Mock
+    private ObjectProvider<EmployeeInvalidationBus> invalidationBus;
+
+    private final EmployeeSearchIndex searchIndex = new EmployeeSearchIndex();
+
+    private final EmployeeWriteVersion writeVersion = new EmployeeWriteVersion();
+
+    private EmployeeReadModel readModel;
+
+    @AfterEach
+    public void tearDown() {
+        if (readModel != null) {
+            readModel.stop();
+        }
+    }
+
+    @DisplayName("Committed changes reach lists, lookups and search after the initial load")
+    @Test
+    public void givenLoadedProjection_whenEmployeesChange_thenReadsFollowTheChanges() throws InterruptedException {
+
+        // given - precondition or setup
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any()))
+                .willReturn(List.of(employee(1L, "Furkan"), employee(2L, "Fatma"), employee(3L, "Mehmet")));
+        readModel = new EmployeeReadModel(employeeRepository, departmentRepository, searchIndex, writeVersion, invalidationBus, 100, 100);
+        readModel.start();
+        await(readModel::isFresh);
+
+        // when - action or behaviour that we are going test
+        changed(EmployeeChangedEvent.updated(employee(1L, "Emre")));
+        changed(EmployeeChangedEvent.deleted(2L));
+        changed(EmployeeChangedEvent.created(employee(4L, "Zeynep")));
+        await(readModel::isFresh);
+
+        // then - verify the output
+        assertThat(readModel.findAll()).get().extracting(employees -> firstNames(employees))
+                .isEqualTo(List.of("Emre", "Mehmet", "Zeynep"));
+        assertThat(readModel.findAfter(1L, 1)).get().extracting(employees -> firstNames(employees))
+                .isEqualTo(List.of("Mehmet"));
+        Optional<Employee> zeynep = readModel.find(4L);
+        assertThat(zeynep).isPresent();
+        assertThat(zeynep.get().getDepartment()).isEqualTo(ENGINEERING);
+        assertThat(readModel.find(4L).get()).isNotSameAs(zeynep.get());
+        assertThat(firstNames(searchIndex.search("emre", 10))).isEqualTo(List.of("Emre"));
+        assertThat(searchIndex.search("fatma", 10)).isEmpty();
+    }
+
+    @DisplayName("Reads fall back to the table until the projection has applied every counted write")
+    @Test
+    public void givenLaggingProjection_whenRead_thenReadsFallBackUntilItCatchesUp() throws InterruptedException {
+
+        // given - precondition or setup
+        Consumer<long[]> remoteChanges = remoteChanges();
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).willReturn(List.of(employee(1L, "Furkan")));
+        CountDownLatch slowTable = new CountDownLatch(1);
+        given(employeeRepository.findAllById(List.of(1L))).willAnswer(invocation -> {
+            slowTable.await();
+            return List.of(employee(1L, "Ayse"));
+        });
+        readModel = new EmployeeReadModel(employeeRepository, departmentRepository, searchIndex, writeVersion, invalidationBus, 100, 100);
+        readModel.start();
+        await(readModel::isFresh);
+
+        // when - action or behaviour that we are going test
+        remoteChanges.accept(new long[]{1L});
+        writeVersion.bump();
+        Thread.sleep(60);
+        Optional<List<Employee>> whileLagging = readModel.findAll();
+        slowTable.countDown();
+        await(readModel::isFresh);
+
+        // then - verify the output
+        assertThat(whileLagging).isEmpty();
+        assertThat(readModel.findAll()).get().extracting(employees -> firstNames(employees)).isEqualTo(List.of("Ayse"));
+        EmployeeReadModelStats stats = readModel.stats();
+        assertThat(stats.getStaleReads()).isEqualTo(1);
+        assertThat(stats.getMaxLagMs()).isGreaterThanOrEqualTo(60);
+    }
+
+    @DisplayName("A lookup right after a delete does not find the deleted employee in a lagging projection")
+    @Test
+    public void givenUnappliedDelete_whenFind_thenProjectionDoesNotAnswer() throws InterruptedException {
+
+        // given - precondition or setup
+        Consumer<long[]> remoteChanges = remoteChanges();
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any()))
+                .willReturn(List.of(employee(1L, "Furkan"), employee(2L, "Fatma")));
+        CountDownLatch slowTable = new CountDownLatch(1);
+        given(employeeRepository.findAllById(List.of(1L))).willAnswer(invocation -> {
+            slowTable.await();
+            return List.of(employee(1L, "Furkan"));
+        });
+        readModel = new EmployeeReadModel(employeeRepository, departmentRepository, searchIndex, writeVersion, invalidationBus, 100, 100);
+        readModel.start();
+        await(readModel::isFresh);
+        // keeps the projector busy, the delete stays queued behind it
+        remoteChanges.accept(new long[]{1L});
+        writeVersion.bump();
+
+        // when - action or behaviour that we are going test
+        changed(EmployeeChangedEvent.deleted(2L));
+        Optional<Employee> whileQueued = readModel.find(2L);
+        slowTable.countDown();
+        await(readModel::isFresh);
+
+        // then - verify the output
+        assertThat(whileQueued).isEmpty();
+        assertThat(readModel.stats().getStaleReads()).isEqualTo(1);
+        assertThat(readModel.find(2L)).isEmpty();
+        assertThat(readModel.find(1L)).isPresent();
+    }
+
+    // the order of the after-commit listeners: the read model queues the change, then the version counts it
+    private void changed(EmployeeChangedEvent event) {
+        readModel.onEmployeeChanged(event);
+        writeVersion.bump();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Consumer<long[]> remoteChanges() {
+        EmployeeInvalidationBus bus = mock(EmployeeInvalidationBus.class);
+        willAnswer(invocation -> {
+            invocation.<Consumer<EmployeeInvalidationBus>>getArgument(0).accept(bus);
+            return null;
+        }).given(invalidationBus).ifAvailable(any());
+        return ids -> {
+            ArgumentCaptor<Consumer<long[]>> listener = ArgumentCaptor.forClass(Consumer.class);
+            verify(bus).onRemoteChanges(listener.capture());
+            listener.getValue().accept(ids);
+        };
+    }
+
+    private static Employee employee(long id, String firstName) {
+        return Employee.builder().id(id).firstName(firstName).lastName("Uzun")
+                .email(firstName.toLowerCase() + "@hotmail.com").department(ENGINEERING).build();
+    }
+
+    private static List<String> firstNames(List<Employee> employees) {
+        return employees.stream().map(Employee::getFirstName).collect(Collectors.toList());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime() - deadline).as("condition not met within 5 s").isNegative();
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.applife.service.search;
+
+import com.applife.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeSearchIndexTests {
+
+    private EmployeeSearchIndex searchIndex;
+
+    @BeforeEach
+    public void setup() {
+        searchIndex = new EmployeeSearchIndex();
+        searchIndex.index(Employee.builder().id(1L).firstName("Furkan").lastName("Uzun").email("frknuzn34@hotmail.com").build());
+        searchIndex.index(Employee.builder().id(2L).firstName("Fatma").lastName("Yilmaz").email("fatma@gmail.com").build());
+        searchIndex.index(Employee.builder().id(3L).firstName("Mehmet").lastName("Uzunoglu").email("mehmet@hotmail.com").build());
+    }
+
+    @DisplayName("EmployeeSearchIndex prefix search")
+    @Test
+    public void givenPrefix_whenSearch_thenReturnEmployeesWithMatchingTerm() {
+
+        // when - action or behaviour that we are going test
+        List<Employee> employeeList = searchIndex.search("uzu", 10);
+
+        // then - verify the output
+        assertThat(employeeList).extracting(Employee::getId).containsExactly(1L, 3L);
+    }
+
+    @DisplayName("EmployeeSearchIndex typo tolerant search")
+    @Test
+    public void givenTypo_whenSearch_thenReturnClosestEmployee() {
+
+        // when - action or behaviour that we are going test
+        List<Employee> employeeList = searchIndex.search("furakn", 10);
+
+        // then - verify the output
+        assertThat(employeeList).extracting(Employee::getId).containsExactly(1L);
+    }
+
+    @DisplayName("EmployeeSearchIndex multi token search")
+    @Test
+    public void givenSeveralTokens_whenSearch_thenEveryTokenHasToMatch() {
+
+        // when - action or behaviour that we are going test
+        List<Employee> employeeList = searchIndex.search("mehmet uzun", 10);
+
+        // then - verify the output
+        assertThat(employeeList).extracting(Employee::getId).containsExactly(3L);
+    }
+
+    @DisplayName("EmployeeSearchIndex email search")
+    @Test
+    public void givenEmailPrefix_whenSearch_thenReturnEmployee() {
+
+        // when - action or behaviour that we are going test
+        List<Employee> employeeList = searchIndex.search("fatma@gm", 10);
+
+        // then - verify the output
+        assertThat(employeeList).extracting(Employee::getId).containsExactly(2L);
+    }
+
+    @DisplayName("EmployeeSearchIndex keeps terms in sync on update and remove")
+    @Test
+    public void givenUpdatedAndRemovedEmployees_whenSearch_thenOldTermsAreGone() {
+
+        // given - precondition or setup
+        searchIndex.index(Employee.builder().id(1L).firstName("Ahmet").lastName("Uzun").email("ahmet@hotmail.com").build());
+        searchIndex.remove(3L);
+
+        // then - verify the output
+        assertThat(searchIndex.search("furkan", 10)).isEmpty();
+        assertThat(searchIndex.search("ahm", 10)).extracting(Employee::getId).containsExactly(1L);
+        assertThat(searchIndex.search("uzunoglu", 10)).isEmpty();
+        assertThat(searchIndex.size()).isEqualTo(2);
+    }
+}
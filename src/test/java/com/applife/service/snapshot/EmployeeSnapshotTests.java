@@ -0,0 +1,60 @@
+package com.applife.service.snapshot;
+
+import com.applife.model.Department;
+import com.applife.model.Employee;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class EmployeeSnapshotTests {
+
+    @TempDir
+    Path directory;
+
+    @DisplayName("EmployeeSnapshot write and memory-mapped read")
+    @Test
+    public void givenEmployees_whenWriteAndOpenSnapshot_thenFindById() throws IOException {
+
+        // given - precondition or setup
+        Path file = directory.resolve("employees.snap");
+        List<Employee> employees = List.of(
+                Employee.builder().id(1L).firstName("Furkan").lastName("Uzun").email("frknuzn34@hotmail.com").build(),
+                Employee.builder().id(7L).firstName("Şükrü").lastName("Öztürk").email("sukru@hotmail.com")
+                        .department(new Department(3L, "Mühendislik")).build());
+
+        // when - action or behaviour that we are going test
+        int count = EmployeeSnapshot.write(file, 1000L, employees.iterator());
+
+        // then - verify the output
+        assertThat(count).isEqualTo(2);
+        try (EmployeeSnapshot snapshot = EmployeeSnapshot.open(file)) {
+            assertThat(snapshot.size()).isEqualTo(2);
+            assertThat(snapshot.getMaxId()).isEqualTo(7L);
+            assertThat(snapshot.getCreatedAt()).isEqualTo(1000L);
+            assertThat(snapshot.find(7L)).contains(employees.get(1));
+            assertThat(snapshot.find(1L)).contains(employees.get(0));
+            assertThat(snapshot.find(7L).get().getDepartment()).isEqualTo(new Department(3L, "Mühendislik"));
+            assertThat(snapshot.find(1L).get().getDepartment()).isNull();
+            assertThat(snapshot.find(3L)).isEmpty();
+        }
+    }
+
+    @DisplayName("EmployeeSnapshot rejects foreign files")
+    @Test
+    public void givenForeignFile_whenOpenSnapshot_thenThrowsException() throws IOException {
+
+        // given - precondition or setup
+        Path file = Files.writeString(directory.resolve("employees.snap"), "not a snapshot, just some text");
+
+        // when - action or behaviour that we are going test
+        // then - verify the output
+        assertThatThrownBy(() -> EmployeeSnapshot.open(file)).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,111 @@
+package com.applife.service.stats;
+
+import com.applife.event.EmployeeChangedEvent;
+import com.applife.model.Employee;
+import com.applife.model.EmployeeStats;
+import com.applife.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeDirectoryStatsTests {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private EmployeeDirectoryStats stats;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        stats = new EmployeeDirectoryStats(employeeRepository, mock(ObjectProvider.class), 100);
+    }
+
+    @DisplayName("Saves, updates and deletes move the employee between the counters")
+    @Test
+    public void givenChanges_whenStats_thenCountersFollowTheChanges() {
+
+        // given - precondition or setup
+        Employee furkan = employee(1L, "Uzun", "frknuzn34@hotmail.com");
+        Employee fatma = employee(2L, "Yilmaz", "fatma@gmail.com");
+        stats.onEmployeeChanged(EmployeeChangedEvent.created(furkan));
+        stats.onEmployeeChanged(EmployeeChangedEvent.created(fatma));
+
+        // when - action or behaviour that we are going test
+        stats.onEmployeeChanged(EmployeeChangedEvent.updated(employee(1L, "Aydin", "furkan@Gmail.com")));
+        stats.onEmployeeChanged(EmployeeChangedEvent.updated(employee(1L, "Aydin", "furkan@gmail.com")));
+        stats.onEmployeeChanged(EmployeeChangedEvent.deleted(2L));
+        stats.onEmployeeChanged(EmployeeChangedEvent.deleted(3L));
+        EmployeeStats employeeStats = stats.stats();
+
+        // then - verify the output
+        assertThat(employeeStats.getHeadcount()).isEqualTo(1);
+        assertThat(employeeStats.getByEmailDomain()).isEqualTo(Map.of("gmail.com", 1L));
+        assertThat(employeeStats.getByLastNameInitial()).isEqualTo(Map.of("A", 1L));
+    }
+
+    @DisplayName("Reconciliation recounts the table and drops employees that no longer exist")
+    @Test
+    public void givenDriftedCounters_whenReconcile_thenCountersMatchTheTable() {
+
+        // given - precondition or setup
+        stats.onEmployeeChanged(EmployeeChangedEvent.created(employee(1L, "Uzun", "frknuzn34@hotmail.com")));
+        stats.onEmployeeChanged(EmployeeChangedEvent.created(employee(5L, "Gone", "gone@hotmail.com")));
+        given(employeeRepository.findFieldsByIdGreaterThan(any(), anyLong(), any())).willReturn(List.of(
+                employee(1L, "Uzun", "frknuzn34@hotmail.com"),
+                employee(2L, "Yilmaz", "fatma@gmail.com"),
+                employee(3L, "Uzunoglu", "mehmet@hotmail.com")));
+
+        // when - action or behaviour that we are going test
+        stats.reconcile();
+        EmployeeStats employeeStats = stats.stats();
+
+        // then - verify the output
+        assertThat(employeeStats.getHeadcount()).isEqualTo(3);
+        assertThat(employeeStats.getByEmailDomain()).isEqualTo(Map.of("hotmail.com", 2L, "gmail.com", 1L));
+        assertThat(employeeStats.getByLastNameInitial()).isEqualTo(Map.of("U", 2L, "Y", 1L));
+        assertThat(employeeStats.getReconciledAt()).isNotNull();
+    }
+
+    @DisplayName("A change committed while reconciliation reads the table is not undone by the page it read")
+    @Test
+    public void givenChangeDuringReconcile_whenReconcile_thenTheChangeWins() {
+
+        // given - precondition or setup
+        stats.onEmployeeChanged(EmployeeChangedEvent.created(employee(1L, "Uzun", "frknuzn34@hotmail.com")));
+        stats.onEmployeeChanged(EmployeeChangedEvent.created(employee(2L, "Yilmaz", "fatma@gmail.com")));
+        given(employeeRepository.findFieldsByIdGreaterThan(any(), anyLong(), any())).willAnswer(invocation -> {
+            // committed after the page was read
+            stats.onEmployeeChanged(EmployeeChangedEvent.updated(employee(1L, "Aydin", "furkan@gmail.com")));
+            stats.onEmployeeChanged(EmployeeChangedEvent.deleted(2L));
+            return List.of(employee(1L, "Uzun", "frknuzn34@hotmail.com"), employee(2L, "Yilmaz", "fatma@gmail.com"));
+        });
+
+        // when - action or behaviour that we are going test
+        stats.reconcile();
+        EmployeeStats employeeStats = stats.stats();
+
+        // then - verify the output
+        assertThat(employeeStats.getHeadcount()).isEqualTo(1);
+        assertThat(employeeStats.getByEmailDomain()).isEqualTo(Map.of("gmail.com", 1L));
+        assertThat(employeeStats.getByLastNameInitial()).isEqualTo(Map.of("A", 1L));
+    }
+
+    private static Employee employee(long id, String lastName, String email) {
+        return Employee.builder().id(id).firstName("First").lastName(lastName).email(email).build();
+    }
+}
@@ -0,0 +1,253 @@
+package com.applife.service.stream;
+
+import com.applife.controller.EmployeeStreamController;
+import com.applife.event.EmployeeChangedEvent;
+import com.applife.model.Employee;
+import com.applife.service.invalidation.EmployeeInvalidationBus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import javax.servlet.Filter;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+public class EmployeeChangeStreamTests {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\S+)");
+
+    private EmployeeChangeStream changeStream;
+
+    private MockMvc mockMvc;
+
+    private MockMvc stalledMockMvc;
+
+    // the client of stalledMockMvc reads nothing until this opens
+    private final CountDownLatch reading = new CountDownLatch(1);
+
+    private final CountDownLatch writeBlocked = new CountDownLatch(1);
+
+    private final AtomicInteger blockedWrites = new AtomicInteger();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        changeStream = new EmployeeChangeStream(new ObjectMapper(), mock(ObjectProvider.class), 60_000, 3, 100, 200, 2);
+        mockMvc = MockMvcBuilders.standaloneSetup(new EmployeeStreamController(changeStream)).build();
+        stalledMockMvc = MockMvcBuilders.standaloneSetup(new EmployeeStreamController(changeStream))
+                .addFilter(stalledClient()).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        reading.countDown();
+        changeStream.shutdown();
+    }
+
+    @DisplayName("Subscribers receive the changes of the employees they asked for")
+    @Test
+    public void givenIdFilter_whenEmployeesChange_thenOnlyTheirChangesArePushed() throws Exception {
+
+        // given - precondition or setup
+        MockHttpServletResponse response = subscribe("1,2", null);
+
+        // when - action or behaviour that we are going test
+        changeStream.onEmployeeChanged(EmployeeChangedEvent.updated(employee(1, "Ramesh")));
+        changeStream.onEmployeeChanged(EmployeeChangedEvent.updated(employee(3, "Tony")));
+        changeStream.onEmployeeChanged(EmployeeChangedEvent.deleted(2));
+
+        // then - verify the output
+        String body = awaitBody(response, "event:DELETED");
+        assertThat(body).contains("event:UPDATED", "\"firstName\":\"Ramesh\"", "\"employeeId\":2");
+        assertThat(body).doesNotContain("Tony");
+        assertThat(changeStream.subscriberCount()).isEqualTo(1);
+    }
+
+    @DisplayName("Reconnecting subscribers get the missed changes, or a reset once they are no longer buffered")
+    @Test
+    public void givenLastEventId_whenSubscribe_thenMissedChangesAreReplayed() throws Exception {
+
+        // given - precondition or setup
+        MockHttpServletResponse first = subscribe(null, null);
+        for (int i = 1; i <= 5; i++) {
+            changeStream.onEmployeeChanged(EmployeeChangedEvent.updated(employee(i, "First" + i)));
+        }
+        Matcher ids = EVENT_ID.matcher(awaitBody(first, "First5"));
+        String firstId = ids.find() ? ids.group(1) : null;
+        String fourthId = null;
+        for (int i = 2; i <= 4 && ids.find(); i++) {
+            fourthId = ids.group(1);
+        }
+
+        // when - action or behaviour that we are going test
+        MockHttpServletResponse resumed = subscribe(null, fourthId);
+        MockHttpServletResponse tooOld = subscribe(null, firstId);
+        MockHttpServletResponse otherRun = subscribe(null, "other-1");
+        changeStream.onEmployeeChanged(EmployeeChangedEvent.deleted(6));
+
+        // then - verify the output
+        String resumedBody = awaitBody(resumed, "event:DELETED");
+        assertThat(resumedBody).contains("First5").doesNotContain("First4");
+        assertThat(awaitBody(tooOld, "event:DELETED")).startsWith("event:reset").doesNotContain("First");
+        assertThat(awaitBody(otherRun, "event:DELETED")).startsWith("event:reset");
+    }
+
+    @DisplayName("A subscriber that stops reading is dropped once its buffer is full and does not hold back the others")
+    @Test
+    public void givenSubscriberNotReading_whenEmployeesChange_thenItIsDroppedAndOthersGetEveryChange() throws Exception {
+
+        // given - precondition or setup
+        stalledMockMvc.perform(get("/api/employees/stream")).andExpect(request().asyncStarted());
+        MockHttpServletResponse response = subscribe(null, null);
+
+        // when - action or behaviour that we are going test
+        // one at a time, a burst could fill the buffer of the reading subscriber too
+        for (int i = 1; i <= 110; i++) {
+            changeStream.onEmployeeChanged(EmployeeChangedEvent.updated(employee(i, "First" + i)));
+            awaitBody(response, "\"firstName\":\"First" + i + "\"");
+        }
+
+        // then - verify the output
+        assertThat(writeBlocked.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(changeStream.subscriberCount()).isEqualTo(1);
+    }
+
+    @DisplayName("A subscriber whose write is blocked for longer than the write timeout is dropped at the next heartbeat")
+    @Test
+    public void givenBlockedWrite_whenHeartbeatAfterWriteTimeout_thenSubscriberIsDropped() throws Exception {
+
+        // given - precondition or setup
+        stalledMockMvc.perform(get("/api/employees/stream")).andExpect(request().asyncStarted());
+        awaitSubscribers(1);
+        changeStream.onEmployeeChanged(EmployeeChangedEvent.updated(employee(1, "Ramesh")));
+        assertThat(writeBlocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when - action or behaviour that we are going test
+        changeStream.heartbeat();
+        int beforeTimeout = changeStream.subscriberCount();
+        Thread.sleep(300);
+        changeStream.heartbeat();
+
+        // then - verify the output
+        assertThat(beforeTimeout).isEqualTo(1);
+        assertThat(changeStream.subscriberCount()).isZero();
+    }
+
+    @DisplayName("A change sent to many subscribers that stopped reading blocks no more than writer-threads threads")
+    @Test
+    public void givenManySubscribersNotReading_whenEmployeeChanges_thenBlockedWritersAreBounded() throws Exception {
+
+        // given - precondition or setup
+        for (int i = 0; i < 10; i++) {
+            stalledMockMvc.perform(get("/api/employees/stream")).andExpect(request().asyncStarted());
+        }
+        awaitSubscribers(10);
+
+        // when - action or behaviour that we are going test
+        changeStream.onEmployeeChanged(EmployeeChangedEvent.updated(employee(1, "Ramesh")));
+        assertThat(writeBlocked.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(200);
+
+        // then - verify the output
+        assertThat(blockedWrites.get()).isEqualTo(2);
+        assertThat(changeStream.subscriberCount()).isEqualTo(10);
+    }
+
+    private MockHttpServletResponse subscribe(String ids, String lastEventId) throws Exception {
+        MockHttpServletRequestBuilder subscription = get("/api/employees/stream");
+        if (ids != null) {
+            subscription.param("ids", ids);
+        }
+        if (lastEventId != null) {
+            subscription.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(subscription)
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+    }
+
+    private static String awaitBody(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String body = response.getContentAsString();
+        // an event is written in several parts, it is complete at the blank line
+        while (!(body.contains(expected) && body.endsWith("\n\n")) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            body = response.getContentAsString();
+        }
+        assertThat(body).contains(expected);
+        return body;
+    }
+
+    private void awaitSubscribers(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (changeStream.subscriberCount() != count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(changeStream.subscriberCount()).isEqualTo(count);
+    }
+
+    /**
+     * Blocks every write to the response, the way a write blocks once a client stops reading and the socket
+     * buffers are full.
+     */
+    private Filter stalledClient() {
+        return (request, response, chain) -> chain.doFilter(request, new HttpServletResponseWrapper((HttpServletResponse) response) {
+            @Override
+            public ServletOutputStream getOutputStream() throws IOException {
+                ServletOutputStream out = super.getOutputStream();
+                return new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        write(new byte[]{(byte) b}, 0, 1);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        writeBlocked.countDown();
+                        blockedWrites.incrementAndGet();
+                        try {
+                            reading.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new IOException(e);
+                        }
+                        out.write(b, off, len);
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return false;
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                    }
+                };
+            }
+        });
+    }
+
+    private static Employee employee(long id, String firstName) {
+        return Employee.builder().id(id).firstName(firstName).lastName("Last").email(firstName + "@hotmail.com").build();
+    }
+}
@@ -0,0 +1,136 @@
+package com.applife.service.writebehind;
+
+import com.applife.exception.WriteBehindQueueFullException;
+import com.applife.model.Employee;
+import com.applife.repository.EmployeeRepository;
+import com.applife.service.DepartmentService;
+import com.applife.service.hierarchy.EmployeeHierarchy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WriteBehindEmployeeUpdaterTests {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EmployeeHierarchy hierarchy;
+
+    @Mock
+    private DepartmentService departmentService;
+
+    @TempDir
+    Path logDir;
+
+    private WriteBehindEmployeeUpdater updater;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        updater = new WriteBehindEmployeeUpdater(employeeRepository, transactionManager, eventPublisher, hierarchy, departmentService, logDir.toString(), 2, 100);
+    }
+
+    @DisplayName("WriteBehindEmployeeUpdater collapses updates for the same id")
+    @Test
+    public void givenUpdatesForSameId_whenFlush_thenOnlyLastUpdateIsWritten() {
+
+        // given - precondition or setup
+        updater.enqueue(employee(1L, "first@hotmail.com"));
+        updater.enqueue(employee(1L, "second@hotmail.com"));
+        given(employeeRepository.findAllById(anyCollection()))
+                .willAnswer(invocation -> List.of(employee(1L, "old@hotmail.com")));
+
+        // when - action or behaviour that we are going test
+        updater.flush();
+
+        // then - verify the output
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Employee>> saved = ArgumentCaptor.forClass(List.class);
+        verify(employeeRepository, times(1)).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(Employee::getEmail).containsExactly("second@hotmail.com");
+        assertThat(updater.pendingCount()).isZero();
+    }
+
+    @DisplayName("WriteBehindEmployeeUpdater rejects new ids when the queue is full")
+    @Test
+    public void givenFullQueue_whenEnqueueNewId_thenThrowsException() {
+
+        // given - precondition or setup
+        updater.enqueue(employee(1L, "one@hotmail.com"));
+        updater.enqueue(employee(2L, "two@hotmail.com"));
+
+        // when - action or behaviour that we are going test
+        // ayni id icin gelen guncelleme yer kaplamadigi icin kabul edilmeli
+        updater.enqueue(employee(2L, "two-again@hotmail.com"));
+
+        // then - verify the output
+        assertThrows(WriteBehindQueueFullException.class, () -> updater.enqueue(employee(3L, "three@hotmail.com")));
+    }
+
+    @DisplayName("WriteBehindEmployeeUpdater recovers unflushed updates from the log")
+    @Test
+    public void givenUnflushedUpdates_whenRestart_thenUpdatesAreReplayed() throws Exception {
+
+        // given - precondition or setup
+        updater.enqueue(employee(1L, "one@hotmail.com"));
+        updater.enqueue(employee(1L, "latest@hotmail.com"));
+
+        // when - action or behaviour that we are going test
+        WriteBehindEmployeeUpdater restarted =
+                new WriteBehindEmployeeUpdater(employeeRepository, transactionManager, eventPublisher, hierarchy, departmentService, logDir.toString(), 2, 100);
+
+        // then - verify the output
+        assertThat(restarted.pendingCount()).isEqualTo(1);
+    }
+
+    @DisplayName("WriteBehindEmployeeUpdater keeps updates when the flush fails")
+    @Test
+    public void givenFailingDatabase_whenFlush_thenUpdatesStayPending() throws Exception {
+
+        // given - precondition or setup
+        updater.enqueue(employee(1L, "one@hotmail.com"));
+        given(employeeRepository.findAllById(anyCollection())).willThrow(new IllegalStateException("database down"));
+
+        // when - action or behaviour that we are going test
+        updater.flush();
+
+        // then - verify the output
+        assertThat(updater.pendingCount()).isEqualTo(1);
+        verify(employeeRepository, never()).saveAll(any());
+        WriteBehindEmployeeUpdater restarted =
+                new WriteBehindEmployeeUpdater(employeeRepository, transactionManager, eventPublisher, hierarchy, departmentService, logDir.toString(), 2, 100);
+        assertThat(restarted.pendingCount()).isEqualTo(1);
+    }
+
+    private static Employee employee(long id, String email) {
+        return Employee.builder()
+                .id(id)
+                .firstName("Furkan")
+                .lastName("Uzun")
+                .email(email)
+                .build();
+    }
+}